@@ -10,6 +10,7 @@ dependencies {
     implementation(project(":totaleconomy-api"))
     implementation(libs.hikari)
 
+    testImplementation(libs.h2)
     testImplementation(libs.junit.jupiter.api)
 
     testRuntimeOnly(libs.junit.jupiter.engine)
@@ -0,0 +1,69 @@
+package com.ericgrandt.totaleconomy.common.data;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/// Decides which failed transactions [TransactionUtil] retries and how long it waits between attempts.
+///
+/// Only serialization failures and deadlocks are retried. The database has rolled the transaction back and running it
+/// again is expected to succeed once the competing transaction has finished.
+///
+/// Lock wait timeouts are not retried. Each attempt can already have waited `innodb_lock_wait_timeout`, 50 seconds by
+/// default, while holding one of the task runner's slots.
+///
+/// @param maxAttempts the total number of attempts, including the first
+/// @param baseDelay   the upper bound of the delay before the first retry, doubled for every further retry
+/// @param maxDelay    the cap on the upper bound of any delay
+public record RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+    private static final Set<String> RETRYABLE_SQL_STATES = Set.of(
+        "40001", // Serialization failure, also reported for InnoDB deadlocks
+        "40P01"  // Deadlock detected (PostgreSQL)
+    );
+    private static final Set<Integer> RETRYABLE_MYSQL_ERROR_CODES = Set.of(
+        1213 // ER_LOCK_DEADLOCK
+    );
+
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(4, Duration.ofMillis(10), Duration.ofMillis(250));
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO);
+    }
+
+    public boolean isRetryable(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sqlException && isRetryableError(sqlException)) {
+                return true;
+            }
+        }
+
+        for (var next = e.getNextException(); next != null; next = next.getNextException()) {
+            if (isRetryableError(next)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /// Picks a random delay between zero and the exponentially growing bound, so transactions that collided once don't
+    /// retry in lockstep and collide again.
+    ///
+    /// @param retry the retry about to be made, starting at 1
+    public Duration backoff(int retry) {
+        var bound = baseDelay.toNanos() << Math.min(retry - 1, 20);
+        var cappedBound = Math.min(bound, maxDelay.toNanos());
+        if (cappedBound <= 0) {
+            return Duration.ZERO;
+        }
+
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(cappedBound + 1));
+    }
+
+    private static boolean isRetryableError(SQLException e) {
+        return RETRYABLE_SQL_STATES.contains(e.getSQLState()) || RETRYABLE_MYSQL_ERROR_CODES.contains(e.getErrorCode());
+    }
+}
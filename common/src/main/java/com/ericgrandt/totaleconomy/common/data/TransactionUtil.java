@@ -3,12 +3,23 @@ package com.ericgrandt.totaleconomy.common.data;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
 
 public class TransactionUtil {
     private final DataSource dataSource;
+    private final RetryPolicy retryPolicy;
+
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder exhaustedRetryCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
 
     public TransactionUtil(DataSource dataSource) {
+        this(dataSource, RetryPolicy.defaults());
+    }
+
+    public TransactionUtil(DataSource dataSource, RetryPolicy retryPolicy) {
         this.dataSource = dataSource;
+        this.retryPolicy = retryPolicy;
     }
 
     @FunctionalInterface
@@ -16,7 +27,45 @@ public class TransactionUtil {
         T execute(Connection conn) throws SQLException;
     }
 
+    /// Runs a transaction, retrying it according to the [RetryPolicy] if it fails with a deadlock or serialization
+    /// failure. A transaction may run more than once, so it must not have side effects outside the database.
     public <T> T runInTransaction(Transaction<T> transaction) throws SQLException {
+        for (var attempt = 1; ; attempt++) {
+            try {
+                return runOnce(transaction);
+            } catch (SQLException e) {
+                if (!retryPolicy.isRetryable(e)) {
+                    failureCount.increment();
+                    throw e;
+                }
+                if (attempt >= retryPolicy.maxAttempts()) {
+                    exhaustedRetryCount.increment();
+                    failureCount.increment();
+                    throw e;
+                }
+
+                retryCount.increment();
+                sleep(retryPolicy, attempt, e);
+            }
+        }
+    }
+
+    /// @return the number of retries made after a deadlock or serialization failure
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    /// @return the number of transactions that still failed after their last allowed attempt
+    public long getExhaustedRetryCount() {
+        return exhaustedRetryCount.sum();
+    }
+
+    /// @return the number of transactions that failed with an [SQLException], after any retries
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    private <T> T runOnce(Transaction<T> transaction) throws SQLException {
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try {
@@ -33,4 +82,13 @@ public class TransactionUtil {
             }
         }
     }
+
+    private static void sleep(RetryPolicy retryPolicy, int retry, SQLException cause) throws SQLException {
+        try {
+            Thread.sleep(retryPolicy.backoff(retry));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
 }
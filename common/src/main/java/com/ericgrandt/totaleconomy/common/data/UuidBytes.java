@@ -0,0 +1,29 @@
+package com.ericgrandt.totaleconomy.common.data;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/// Converts UUIDs to and from the 16-byte form stored in `BINARY(16)` columns. The bytes are big-endian, so binary
+/// order in an index matches the order of [UUID#toString()].
+public final class UuidBytes {
+    private static final int UUID_LENGTH = 16;
+
+    private UuidBytes() {
+    }
+
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(UUID_LENGTH)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+    }
+
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes.length != UUID_LENGTH) {
+            throw new IllegalArgumentException("expected %d bytes but got %d".formatted(UUID_LENGTH, bytes.length));
+        }
+
+        var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
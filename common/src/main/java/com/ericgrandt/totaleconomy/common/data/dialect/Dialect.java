@@ -0,0 +1,80 @@
+package com.ericgrandt.totaleconomy.common.data.dialect;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/// The SQL that differs between the databases the plugin can store its data in.
+///
+/// Data classes build their statements from a dialect once, when they are created, so each statement is still a
+/// constant string that the driver's statement cache can reuse.
+public interface Dialect {
+    /// Picks the dialect for the database behind a connection.
+    ///
+    /// @throws SQLException if the database is not one the plugin supports
+    static Dialect of(Connection conn) throws SQLException {
+        var metaData = conn.getMetaData();
+        var product = metaData.getDatabaseProductName();
+        if (product.equalsIgnoreCase("H2")) {
+            return new H2Dialect();
+        }
+        if (product.equalsIgnoreCase("MariaDB") || metaData.getDatabaseProductVersion().contains("MariaDB")) {
+            return new MySqlDialect(false);
+        }
+        if (product.equalsIgnoreCase("MySQL")) {
+            return new MySqlDialect(MySqlDialect.supportsRowAlias(metaData));
+        }
+
+        throw new SQLException("unsupported database: " + product);
+    }
+
+    /// @return the definition of an auto-incrementing `INT` primary key column, without the column name
+    default String autoIncrementPrimaryKey() {
+        return autoIncrementPrimaryKey("INT");
+    }
+
+    /// @param type the integer type of the column, e.g. `BIGINT`
+    /// @return the definition of an auto-incrementing primary key column, without the column name
+    String autoIncrementPrimaryKey(String type);
+
+    /// @return the clause appended to an `ALTER TABLE` to make it run without blocking reads and writes, or an empty
+    /// string if the database has no such clause
+    String onlineDdlClause();
+
+    /// @return an expression for the value a row would have been inserted with, for use in [#upsert]
+    String insertedValue(String column);
+
+    /// @return an `INSERT` of one row with a parameter per column, which does nothing if the row would break a unique
+    /// key
+    default String insertIgnore(String table, List<String> columns) {
+        return insertIgnore(table, columns, 1);
+    }
+
+    /// @return an `INSERT` of `rowCount` rows with a parameter per column, which skips each row that would break a
+    /// unique key
+    default String insertIgnore(String table, List<String> columns, int rowCount) {
+        return "INSERT IGNORE INTO %s(%s) VALUES %s".formatted(
+            table,
+            String.join(", ", columns),
+            String.join(", ", Collections.nCopies(rowCount, "(" + parameters(columns.size()) + ")"))
+        );
+    }
+
+    /// @param assignments the `SET` assignments applied to the existing row when the insert would break a unique key.
+    ///                    Use [#insertedValue(String)] to refer to the values of the row that wasn't inserted.
+    /// @return an `INSERT` of one row with a parameter per column, which updates the existing row instead if the row
+    /// would break a unique key
+    default String upsert(String table, List<String> columns, String assignments) {
+        return "INSERT INTO %s(%s) VALUES (%s) ON DUPLICATE KEY UPDATE %s".formatted(
+            table,
+            String.join(", ", columns),
+            parameters(columns.size()),
+            assignments
+        );
+    }
+
+    private static String parameters(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
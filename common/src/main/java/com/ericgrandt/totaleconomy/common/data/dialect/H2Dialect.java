@@ -0,0 +1,23 @@
+package com.ericgrandt.totaleconomy.common.data.dialect;
+
+/// H2, used for the embedded storage mode and in tests.
+///
+/// The database must be opened with `MODE=MySQL`. H2 then accepts `INSERT IGNORE`, `ON DUPLICATE KEY UPDATE` and the
+/// MySQL forms of `ALTER TABLE` the migrations use, but not the MySQL 8 row alias in upserts.
+public record H2Dialect() implements Dialect {
+    @Override
+    public String autoIncrementPrimaryKey(String type) {
+        return type + " GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY";
+    }
+
+    /// H2 has no online DDL options, and an embedded database has no other clients to block.
+    @Override
+    public String onlineDdlClause() {
+        return "";
+    }
+
+    @Override
+    public String insertedValue(String column) {
+        return "VALUES(%s)".formatted(column);
+    }
+}
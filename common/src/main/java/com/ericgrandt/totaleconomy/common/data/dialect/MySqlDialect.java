@@ -0,0 +1,61 @@
+package com.ericgrandt.totaleconomy.common.data.dialect;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/// MySQL and MariaDB.
+///
+/// @param rowAlias whether upserts refer to the inserted row through an alias. MySQL 8.0.20 deprecated the `VALUES()`
+///                 function for this, but MariaDB and MySQL before 8.0.19 only support the function.
+public record MySqlDialect(boolean rowAlias) implements Dialect {
+    private static final String ROW_ALIAS = "inserted";
+
+    @Override
+    public String autoIncrementPrimaryKey(String type) {
+        return type + " NOT NULL AUTO_INCREMENT PRIMARY KEY";
+    }
+
+    /// Fails the statement rather than letting it fall back to copying or locking the table.
+    @Override
+    public String onlineDdlClause() {
+        return ", ALGORITHM=INPLACE, LOCK=NONE";
+    }
+
+    @Override
+    public String insertedValue(String column) {
+        return rowAlias ? ROW_ALIAS + "." + column : "VALUES(%s)".formatted(column);
+    }
+
+    @Override
+    public String upsert(String table, List<String> columns, String assignments) {
+        if (!rowAlias) {
+            return Dialect.super.upsert(table, columns, assignments);
+        }
+
+        return "INSERT INTO %s(%s) VALUES (%s) AS %s ON DUPLICATE KEY UPDATE %s".formatted(
+            table,
+            String.join(", ", columns),
+            String.join(", ", Collections.nCopies(columns.size(), "?")),
+            ROW_ALIAS,
+            assignments
+        );
+    }
+
+    static boolean supportsRowAlias(DatabaseMetaData metaData) throws SQLException {
+        var major = metaData.getDatabaseMajorVersion();
+        var minor = metaData.getDatabaseMinorVersion();
+        if (major != 8 || minor != 0) {
+            return major >= 8;
+        }
+
+        // JDBC only reports the major and minor version, so the patch version comes from the version string
+        var version = metaData.getDatabaseProductVersion().split("[.-]");
+        try {
+            return version.length > 2 && Integer.parseInt(version[2]) >= 19;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
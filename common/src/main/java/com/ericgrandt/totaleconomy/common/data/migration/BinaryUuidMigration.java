@@ -0,0 +1,144 @@
+package com.ericgrandt.totaleconomy.common.data.migration;
+
+import com.ericgrandt.totaleconomy.common.data.UuidBytes;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.UUID;
+
+/// Converts a table's `player_id` column from `VARCHAR(36)` to `BINARY(16)`.
+///
+/// The binary values are written to a new `player_uuid` column in small batches, each in its own transaction, so no
+/// transaction holds locks on more than one batch of rows. The columns are then swapped and the unique key that
+/// covered `player_id` is rebuilt on the new column. Every step checks the current schema first, so a migration
+/// interrupted by a crash or restart continues where it left off.
+///
+/// This is not an online migration. Every other server sharing the database must be stopped while it runs, since a row
+/// written after the backfill would be left without a `player_uuid`, and duplicates could be inserted while the unique
+/// key is rebuilt. The migration fails rather than finishing with such rows.
+///
+/// The table must have an auto-increment `id` primary key.
+public class BinaryUuidMigration {
+    private static final String OLD_COLUMN = "player_id";
+    private static final String NEW_COLUMN = "player_uuid";
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final String table;
+    private final String uniqueKeyName;
+    private final String uniqueKeyColumns;
+    private final int chunkSize;
+
+    /// @param table            the table to migrate
+    /// @param uniqueKeyName    the name of the unique key that includes `player_id`
+    /// @param uniqueKeyColumns the comma-separated columns of that key
+    public BinaryUuidMigration(String table, String uniqueKeyName, String uniqueKeyColumns) {
+        this(table, uniqueKeyName, uniqueKeyColumns, DEFAULT_CHUNK_SIZE);
+    }
+
+    public BinaryUuidMigration(String table, String uniqueKeyName, String uniqueKeyColumns, int chunkSize) {
+        this.table = table;
+        this.uniqueKeyName = uniqueKeyName;
+        this.uniqueKeyColumns = uniqueKeyColumns;
+        this.chunkSize = chunkSize;
+    }
+
+    public void migrate(Connection conn) throws SQLException {
+        var oldColumnType = SchemaChanges.getColumnType(conn, table, OLD_COLUMN);
+        var isMigrated = oldColumnType != null && isBinary(oldColumnType);
+        if (isMigrated && SchemaChanges.hasUniqueIndexOn(conn, table, OLD_COLUMN)) {
+            return;
+        }
+
+        if (oldColumnType != null && !isMigrated) {
+            if (SchemaChanges.getColumnType(conn, table, NEW_COLUMN) == null) {
+                var addColumn = "ALTER TABLE %s ADD COLUMN %s BINARY(16) NULL".formatted(table, NEW_COLUMN);
+                SchemaChanges.execute(conn, addColumn);
+            }
+
+            backfill(conn);
+
+            if (SchemaChanges.hasUniqueIndexOn(conn, table, OLD_COLUMN)) {
+                SchemaChanges.alterTableOnline(conn, table, "DROP INDEX " + uniqueKeyName);
+            }
+            SchemaChanges.alterTableOnline(conn, table, "DROP COLUMN " + OLD_COLUMN);
+        }
+
+        if (SchemaChanges.getColumnType(conn, table, NEW_COLUMN) != null) {
+            SchemaChanges.alterTableOnline(conn, table, "RENAME COLUMN %s TO %s".formatted(NEW_COLUMN, OLD_COLUMN));
+        }
+        requireEveryRowConverted(conn);
+        SchemaChanges.alterTableOnline(conn, table, "MODIFY COLUMN %s BINARY(16) NOT NULL".formatted(OLD_COLUMN));
+        SchemaChanges.addIndex(conn, table, uniqueKeyName, uniqueKeyColumns, true);
+    }
+
+    // Converted in Java rather than SQL, since MySQL and H2 have no common function for parsing a UUID
+    private void backfill(Connection conn) throws SQLException {
+        var selectQuery = "SELECT id, %s FROM %s WHERE id > ? AND %s IS NULL ORDER BY id LIMIT ?".formatted(
+            OLD_COLUMN,
+            table,
+            NEW_COLUMN
+        );
+        var updateQuery = "UPDATE %s SET %s = ? WHERE id = ?".formatted(table, NEW_COLUMN);
+
+        var autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            var lastId = 0L;
+            while (true) {
+                var ids = new ArrayList<Long>();
+                var playerIds = new ArrayList<UUID>();
+                try (var stmt = conn.prepareStatement(selectQuery)) {
+                    stmt.setLong(1, lastId);
+                    stmt.setInt(2, chunkSize);
+
+                    try (var rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getLong("id"));
+                            playerIds.add(UUID.fromString(rs.getString(OLD_COLUMN)));
+                        }
+                    }
+                }
+
+                if (ids.isEmpty()) {
+                    conn.commit();
+                    return;
+                }
+
+                try (var stmt = conn.prepareStatement(updateQuery)) {
+                    for (var i = 0; i < ids.size(); i++) {
+                        stmt.setBytes(1, UuidBytes.toBytes(playerIds.get(i)));
+                        stmt.setLong(2, ids.get(i));
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+
+                conn.commit();
+                lastId = ids.getLast();
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    // Outside strict mode, MySQL would otherwise turn missing ids into zero bytes when the column becomes NOT NULL
+    private void requireEveryRowConverted(Connection conn) throws SQLException {
+        var countQuery = "SELECT COUNT(*) FROM %s WHERE %s IS NULL".formatted(table, OLD_COLUMN);
+        try (var stmt = conn.createStatement(); var rs = stmt.executeQuery(countQuery)) {
+            if (rs.next() && rs.getLong(1) > 0) {
+                throw new SQLException(
+                    "%d rows of %s were written during its player_id migration and have no player_id".formatted(
+                        rs.getLong(1),
+                        table
+                    )
+                );
+            }
+        }
+    }
+
+    private static boolean isBinary(int columnType) {
+        return columnType == Types.BINARY || columnType == Types.VARBINARY;
+    }
+}
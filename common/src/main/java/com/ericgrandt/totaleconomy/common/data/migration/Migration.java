@@ -0,0 +1,60 @@
+package com.ericgrandt.totaleconomy.common.data.migration;
+
+import com.ericgrandt.totaleconomy.common.data.SchemaInitializer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HexFormat;
+
+/// One versioned change to a module's schema, run at most once per database by [MigrationRunner].
+///
+/// DDL commits implicitly on MySQL, so a migration can be interrupted part way through. Every migration must
+/// therefore be safe to run again from the start.
+///
+/// @param version     the position of this migration in its module, starting at 1
+/// @param description a short summary of the change, recorded with the version
+/// @param checksum    identifies the migration's content, so a migration changed after it was applied is detected
+/// @param step        the change itself
+public record Migration(int version, String description, String checksum, SchemaInitializer step) {
+    /// A migration made of SQL statements, run in order. Its checksum covers the statements themselves.
+    public static Migration sql(int version, String description, String... statements) {
+        return new Migration(
+            version,
+            description,
+            sha256(String.join("\n", statements)),
+            conn -> {
+                for (var statement : statements) {
+                    try (var stmt = conn.createStatement()) {
+                        stmt.execute(statement);
+                    }
+                }
+            }
+        );
+    }
+
+    /// A migration implemented in code. Code can't be hashed the way SQL can, so its checksum covers the version,
+    /// description and `revision` instead.
+    ///
+    /// Start `revision` at 1, and bump it whenever what `step` does changes. Databases that applied an earlier
+    /// revision then fail startup with a checksum mismatch rather than silently keeping the old schema.
+    public static Migration of(int version, String description, int revision, SchemaInitializer step) {
+        return new Migration(version, description, sha256(version + ":" + revision + ":" + description), step);
+    }
+
+    void apply(Connection conn) throws SQLException {
+        step.init(conn);
+    }
+
+    private static String sha256(String value) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.ericgrandt.totaleconomy.common.data.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Brings one module's schema up to date by running, in version order, every [Migration] not yet recorded in
+/// `te_schema_version`.
+///
+/// Before running anything, the checksums of applied migrations are compared with the ones in code. Startup fails if
+/// they differ, or if the database has migrations newer than this version of the module knows about.
+public class MigrationRunner {
+    private static final String CREATE_VERSION_TABLE = """
+        CREATE TABLE IF NOT EXISTS te_schema_version (
+            module_name VARCHAR(50) NOT NULL,
+            version INT NOT NULL,
+            description VARCHAR(200) NOT NULL,
+            checksum CHAR(64) NOT NULL,
+            installed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+            PRIMARY KEY (module_name, version)
+        )
+        """;
+    private static final String SELECT_APPLIED =
+        "SELECT version, checksum FROM te_schema_version WHERE module_name = ?";
+    private static final String INSERT_APPLIED =
+        "INSERT INTO te_schema_version(module_name, version, description, checksum) VALUES (?, ?, ?, ?)";
+
+    private final String module;
+    private final List<Migration> migrations;
+
+    /// @param module     the name the module's migrations are recorded under
+    /// @param migrations the module's migrations, with unique versions
+    public MigrationRunner(String module, List<Migration> migrations) {
+        var sorted = migrations.stream().sorted(Comparator.comparingInt(Migration::version)).toList();
+        for (var i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).version() == sorted.get(i - 1).version()) {
+                throw new IllegalArgumentException(
+                    "duplicate migration version %d in module %s".formatted(sorted.get(i).version(), module)
+                );
+            }
+        }
+
+        this.module = module;
+        this.migrations = sorted;
+    }
+
+    /// @return the migrations that were applied, in the order they ran
+    /// @throws SQLException if a migration fails, or the recorded migrations don't match the ones in code
+    public List<Migration> migrate(Connection conn) throws SQLException {
+        var autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(true);
+        try {
+            try (var stmt = conn.createStatement()) {
+                stmt.execute(CREATE_VERSION_TABLE);
+            }
+
+            var appliedChecksums = getAppliedChecksums(conn);
+            validate(appliedChecksums);
+
+            var applied = new ArrayList<Migration>();
+            for (var migration : migrations) {
+                if (appliedChecksums.containsKey(migration.version())) {
+                    continue;
+                }
+
+                migration.apply(conn);
+                conn.setAutoCommit(true);
+                recordApplied(conn, migration);
+                applied.add(migration);
+            }
+
+            return applied;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private Map<Integer, String> getAppliedChecksums(Connection conn) throws SQLException {
+        var checksums = new HashMap<Integer, String>();
+        try (var stmt = conn.prepareStatement(SELECT_APPLIED)) {
+            stmt.setString(1, module);
+
+            try (var rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    checksums.put(rs.getInt("version"), rs.getString("checksum"));
+                }
+            }
+        }
+
+        return checksums;
+    }
+
+    private void validate(Map<Integer, String> appliedChecksums) throws SQLException {
+        var latestVersion = migrations.isEmpty() ? 0 : migrations.getLast().version();
+        for (var entry : appliedChecksums.entrySet()) {
+            if (entry.getKey() > latestVersion) {
+                throw new SQLException(
+                    "%s schema is at version %d, but this plugin only knows up to version %d".formatted(
+                        module,
+                        entry.getKey(),
+                        latestVersion
+                    )
+                );
+            }
+        }
+
+        for (var migration : migrations) {
+            var appliedChecksum = appliedChecksums.get(migration.version());
+            if (appliedChecksum != null && !appliedChecksum.equals(migration.checksum())) {
+                throw new SQLException(
+                    "checksum mismatch for %s migration %d (%s)".formatted(
+                        module,
+                        migration.version(),
+                        migration.description()
+                    )
+                );
+            }
+        }
+    }
+
+    private void recordApplied(Connection conn, Migration migration) throws SQLException {
+        try (var stmt = conn.prepareStatement(INSERT_APPLIED)) {
+            stmt.setString(1, module);
+            stmt.setInt(2, migration.version());
+            stmt.setString(3, migration.description());
+            stmt.setString(4, migration.checksum());
+            stmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.ericgrandt.totaleconomy.common.data.migration;
+
+import com.ericgrandt.totaleconomy.common.data.dialect.Dialect;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/// Building blocks for migrations that change large tables without blocking the plugin while they run.
+public final class SchemaChanges {
+    private SchemaChanges() {
+    }
+
+    /// Runs an `ALTER TABLE` clause with the dialect's [Dialect#onlineDdlClause()]. On MySQL and MariaDB it is
+    /// required to run in place without locking the table, so reads and writes continue while it runs. The statement
+    /// fails instead of falling back to a locking change.
+    public static void alterTableOnline(Connection conn, String table, String clause) throws SQLException {
+        execute(conn, "ALTER TABLE %s %s%s".formatted(table, clause, Dialect.of(conn).onlineDdlClause()));
+    }
+
+    /// Adds an index, online where supported, unless an index with the same name already exists.
+    public static void addIndex(
+        Connection conn,
+        String table,
+        String indexName,
+        String columns,
+        boolean unique
+    ) throws SQLException {
+        if (hasIndex(conn, table, indexName)) {
+            return;
+        }
+
+        var clause = unique
+            ? "ADD CONSTRAINT %s UNIQUE (%s)".formatted(indexName, columns)
+            : "ADD INDEX %s (%s)".formatted(indexName, columns);
+        alterTableOnline(conn, table, clause);
+    }
+
+    /// Updates a table one `id` range at a time, committing after each range, so a backfill never holds row locks on
+    /// more than `chunkSize` rows. The table must have a numeric `id` primary key.
+    ///
+    /// @param setClause   the assignments of the `UPDATE`, e.g. `balance_units = balance * 10000`
+    /// @param whereClause a condition that is false for rows that are already done, so a restarted backfill skips them
+    public static void updateInChunks(
+        Connection conn,
+        String table,
+        String setClause,
+        String whereClause,
+        int chunkSize
+    ) throws SQLException {
+        var maxId = 0L;
+        try (var stmt = conn.createStatement(); var rs = stmt.executeQuery("SELECT MAX(id) FROM " + table)) {
+            if (rs.next()) {
+                maxId = rs.getLong(1);
+            }
+        }
+
+        var updateQuery = "UPDATE %s SET %s WHERE id > ? AND id <= ? AND (%s)".formatted(
+            table,
+            setClause,
+            whereClause
+        );
+
+        var autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (var stmt = conn.prepareStatement(updateQuery)) {
+            for (var start = 0L; start < maxId; start += chunkSize) {
+                stmt.setLong(1, start);
+                stmt.setLong(2, start + chunkSize);
+                stmt.executeUpdate();
+                conn.commit();
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /// @return the JDBC type of the column, or `null` if the table has no such column
+    public static Integer getColumnType(Connection conn, String table, String column) throws SQLException {
+        try (var stmt = conn.createStatement(); var rs = stmt.executeQuery("SELECT * FROM " + table + " WHERE 1 = 0")) {
+            var metaData = rs.getMetaData();
+            for (var i = 1; i <= metaData.getColumnCount(); i++) {
+                if (metaData.getColumnName(i).equalsIgnoreCase(column)) {
+                    return metaData.getColumnType(i);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    public static boolean hasIndex(Connection conn, String table, String indexName) throws SQLException {
+        try (var rs = getIndexInfo(conn, table)) {
+            while (rs.next()) {
+                if (indexName.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /// Matched by column rather than by name, since some databases give the index behind a unique key its own name.
+    ///
+    /// @return whether the table has a unique index that includes the column
+    public static boolean hasUniqueIndexOn(Connection conn, String table, String column) throws SQLException {
+        try (var rs = getIndexInfo(conn, table)) {
+            while (rs.next()) {
+                if (!rs.getBoolean("NON_UNIQUE") && column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    public static void execute(Connection conn, String sql) throws SQLException {
+        try (var stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private static ResultSet getIndexInfo(Connection conn, String table) throws SQLException {
+        var metaData = conn.getMetaData();
+        var tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+        return metaData.getIndexInfo(conn.getCatalog(), null, tableName, false, false);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ericgrandt.totaleconomy.common.infra;
+
+import com.ericgrandt.totaleconomy.api.exception.EconomyBusyException;
+
+/// What [VirtualThreadTaskRunner] does with a task submitted while its queue is full.
+public enum RejectionPolicy {
+    /// Throw an [EconomyBusyException] to the caller, so it can tell the player to try again.
+    REJECT,
+
+    /// Drop the task silently. It is still counted in [VirtualThreadTaskRunner#getRejectedTaskCount()].
+    DISCARD
+}
@@ -0,0 +1,162 @@
+package com.ericgrandt.totaleconomy.common.infra;
+
+import com.ericgrandt.totaleconomy.api.exception.EconomyBusyException;
+import com.ericgrandt.totaleconomy.api.infra.AsyncTaskRunner;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Runs each task on its own virtual thread, with at most `maxConcurrentTasks` running at once. This should match the
+/// size of the database connection pool, so tasks wait here cheaply instead of tying up threads waiting on the pool.
+///
+/// Tasks waiting for a free slot count towards the queue depth. Once `maxQueuedTasks` are waiting, new tasks are
+/// handled according to the [RejectionPolicy].
+///
+/// Several runners can share one set of slots, so each keeps its own queue limit and counters while together they
+/// never run more tasks at once than the pool has connections.
+public class VirtualThreadTaskRunner implements AsyncTaskRunner, Executor, AutoCloseable {
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxQueuedTasks;
+    private final RejectionPolicy rejectionPolicy;
+
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicInteger activeTasks = new AtomicInteger();
+    private final LongAdder rejectedTasks = new LongAdder();
+
+    public VirtualThreadTaskRunner(
+        String threadNamePrefix,
+        int maxConcurrentTasks,
+        int maxQueuedTasks,
+        RejectionPolicy rejectionPolicy
+    ) {
+        this(threadNamePrefix, new Semaphore(maxConcurrentTasks, true), maxQueuedTasks, rejectionPolicy);
+    }
+
+    /// Creates a runner that takes its slots from `permits`, which may be shared with other runners.
+    public VirtualThreadTaskRunner(
+        String threadNamePrefix,
+        Semaphore permits,
+        int maxQueuedTasks,
+        RejectionPolicy rejectionPolicy
+    ) {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        this.permits = permits;
+        this.maxQueuedTasks = maxQueuedTasks;
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    /// @throws EconomyBusyException if the queue is full and the rejection policy is [RejectionPolicy#REJECT]
+    @Override
+    public void runAsync(Runnable task) {
+        if (!tryQueue(task)) {
+            reject();
+        }
+    }
+
+    /// Queues a task for a caller that waits on its result, e.g. through a [java.util.concurrent.CompletableFuture].
+    /// Such a task is never discarded silently, whatever the rejection policy.
+    ///
+    /// @throws RejectedExecutionException if the queue is full or the runner is closed
+    @Override
+    public void execute(Runnable task) {
+        if (!tryQueue(task)) {
+            rejectedTasks.increment();
+            throw new RejectedExecutionException("task queue is full");
+        }
+    }
+
+    /// Queues a task that must not be lost, such as loading or saving a player's accounts. It still waits for a free
+    /// slot, but is accepted however many tasks are already waiting.
+    ///
+    /// @throws RejectedExecutionException if the runner is closed
+    public void runAsyncUnbounded(Runnable task) {
+        queuedTasks.incrementAndGet();
+        try {
+            executor.execute(() -> runWithPermit(task));
+        } catch (RejectedExecutionException e) {
+            queuedTasks.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /// @return the number of tasks waiting for a free slot
+    public int getQueueDepth() {
+        return queuedTasks.get();
+    }
+
+    /// @return the number of tasks currently running
+    public int getActiveTaskCount() {
+        return activeTasks.get();
+    }
+
+    /// @return the number of tasks rejected or discarded since the runner was created
+    public long getRejectedTaskCount() {
+        return rejectedTasks.sum();
+    }
+
+    /// Stops accepting tasks and waits a bounded amount of time for queued and running tasks to finish.
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean tryQueue(Runnable task) {
+        if (queuedTasks.incrementAndGet() > maxQueuedTasks) {
+            queuedTasks.decrementAndGet();
+            return false;
+        }
+
+        try {
+            executor.execute(() -> runWithPermit(task));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Only happens once the runner is closed
+            queuedTasks.decrementAndGet();
+            return false;
+        }
+    }
+
+    private void runWithPermit(Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            queuedTasks.decrementAndGet();
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        queuedTasks.decrementAndGet();
+        activeTasks.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            activeTasks.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    private void reject() {
+        rejectedTasks.increment();
+        if (rejectionPolicy == RejectionPolicy.REJECT) {
+            throw new EconomyBusyException();
+        }
+    }
+}
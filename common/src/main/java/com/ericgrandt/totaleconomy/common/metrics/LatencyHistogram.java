@@ -0,0 +1,87 @@
+package com.ericgrandt.totaleconomy.common.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/// Counts latencies in buckets whose width grows with the value, like HdrHistogram, so any recorded latency can be
+/// reported to within about 6% while the histogram stays a few kilobytes.
+///
+/// Recording is a single atomic increment and never locks, so it's cheap enough to call on the server thread.
+/// Percentiles are read without stopping recorders, so they may miss latencies recorded while they're computed.
+public class LatencyHistogram {
+    // Each power of two is split into 2^SUB_BUCKET_BITS buckets
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // Latencies are clamped to just over 18 minutes
+    private static final long MAX_VALUE = (1L << 40) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        var value = Math.clamp(nanos, 0, MAX_VALUE);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /// @return the sum of every recorded latency
+    public Duration getTotal() {
+        return Duration.ofNanos(totalNanos.get());
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    /// @param percentile between `0` and `100`
+    /// @return the latency that `percentile` percent of recorded latencies are at or below, rounded up to the top of
+    /// its bucket, or zero if nothing has been recorded
+    public Duration getValueAtPercentile(double percentile) {
+        var total = totalCount.get();
+        if (total == 0) {
+            return Duration.ZERO;
+        }
+
+        var target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (var i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Duration.ofNanos(Math.min(highestValueInBucket(i), maxNanos.get()));
+            }
+        }
+
+        return getMax();
+    }
+
+    // Values below SUB_BUCKET_COUNT get a bucket each, after that every power of two gets SUB_BUCKET_COUNT buckets
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        var shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        var subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        var shift = index / SUB_BUCKET_COUNT - 1;
+        var subBucket = index % SUB_BUCKET_COUNT;
+        return ((long) (subBucket + SUB_BUCKET_COUNT) << shift) + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ericgrandt.totaleconomy.common.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/// A [LatencyHistogram] per operation, for timing each of a service's methods.
+public class OperationLatencies<E extends Enum<E>> {
+    private final Map<E, LatencyHistogram> histograms;
+
+    public OperationLatencies(Class<E> operationType) {
+        var histograms = new EnumMap<E, LatencyHistogram>(operationType);
+        for (var operation : operationType.getEnumConstants()) {
+            histograms.put(operation, new LatencyHistogram());
+        }
+
+        this.histograms = Collections.unmodifiableMap(histograms);
+    }
+
+    /// Runs `call`, recording how long it took whether or not it throws.
+    public <T> T time(E operation, Supplier<T> call) {
+        var startNanos = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            histograms.get(operation).record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /// Runs `call`, recording how long it took whether or not it throws.
+    public void time(E operation, Runnable call) {
+        time(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public Map<E, LatencyHistogram> getHistograms() {
+        return histograms;
+    }
+}
@@ -0,0 +1,107 @@
+package com.ericgrandt.totaleconomy.common.data;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetryPolicyTest {
+    @Test
+    @Tag("Unit")
+    void isRetryable_WithSerializationFailure_ShouldReturnTrue() {
+        // Arrange
+        var sut = RetryPolicy.defaults();
+
+        // Act
+        var actual = sut.isRetryable(new SQLTransactionRollbackException("deadlock", "40001"));
+
+        // Assert
+        assertTrue(actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    void isRetryable_WithMySqlDeadlock_ShouldReturnTrue() {
+        // Arrange
+        var sut = RetryPolicy.defaults();
+
+        // Act
+        var actual = sut.isRetryable(new SQLException("deadlock found", "HY000", 1213));
+
+        // Assert
+        assertTrue(actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    void isRetryable_WithMySqlLockWaitTimeout_ShouldReturnFalse() {
+        // Arrange
+        var sut = RetryPolicy.defaults();
+
+        // Act
+        var actual = sut.isRetryable(new SQLException("lock wait timeout", "HY000", 1205));
+
+        // Assert
+        assertFalse(actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    void isRetryable_WithWrappedDeadlock_ShouldReturnTrue() {
+        // Arrange
+        var sut = RetryPolicy.defaults();
+        var e = new SQLException("batch failed", new SQLException("deadlock", "40P01"));
+
+        // Act
+        var actual = sut.isRetryable(e);
+
+        // Assert
+        assertTrue(actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    void isRetryable_WithConstraintViolation_ShouldReturnFalse() {
+        // Arrange
+        var sut = RetryPolicy.defaults();
+
+        // Act
+        var actual = sut.isRetryable(new SQLException("duplicate key", "23000", 1062));
+
+        // Assert
+        assertFalse(actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    void backoff_WithManyRetries_ShouldNeverExceedMaxDelay() {
+        // Arrange
+        var sut = new RetryPolicy(10, Duration.ofMillis(10), Duration.ofMillis(50));
+
+        // Act/Assert
+        for (var retry = 1; retry < 100; retry++) {
+            var actual = sut.backoff(retry);
+            assertFalse(actual.isNegative());
+            assertTrue(actual.compareTo(Duration.ofMillis(50)) <= 0);
+        }
+    }
+
+    @Test
+    @Tag("Unit")
+    void backoff_WithNoRetryPolicy_ShouldReturnZero() {
+        // Arrange
+        var sut = RetryPolicy.none();
+
+        // Act
+        var actual = sut.backoff(1);
+
+        // Assert
+        assertEquals(Duration.ZERO, actual);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ericgrandt.totaleconomy.common.data;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class UuidBytesTest {
+    @Test
+    @Tag("Unit")
+    void fromBytes_WithBytesFromToBytes_ShouldReturnOriginalUuid() {
+        // Arrange
+        var uuid = UUID.randomUUID();
+
+        // Act
+        var actual = UuidBytes.fromBytes(UuidBytes.toBytes(uuid));
+
+        // Assert
+        assertEquals(uuid, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    void toBytes_WithTwoUuids_ShouldOrderBytesTheSameAsStrings() {
+        // Arrange
+        var first = UUID.fromString("7fffffff-0000-0000-0000-000000000000");
+        var second = UUID.fromString("80000000-0000-0000-0000-000000000000");
+
+        // Act
+        var actual = Arrays.compareUnsigned(UuidBytes.toBytes(first), UuidBytes.toBytes(second));
+
+        // Assert
+        assertEquals(Integer.signum(first.toString().compareTo(second.toString())), Integer.signum(actual));
+    }
+
+    @Test
+    @Tag("Unit")
+    void fromBytes_WithWrongLength_ShouldThrowIllegalArgumentException() {
+        // Act/Assert
+        assertThrows(IllegalArgumentException.class, () -> UuidBytes.fromBytes(new byte[36]));
+    }
+}
@@ -0,0 +1,81 @@
+package com.ericgrandt.totaleconomy.common.data.dialect;
+
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DialectTest {
+    @Test
+    @Tag("Integration")
+    void of_WithH2Connection_ShouldReturnH2Dialect() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(false, null);
+
+        // Act
+        try (var conn = dataSource.getConnection()) {
+            var actual = Dialect.of(conn);
+
+            // Assert
+            assertEquals(new H2Dialect(), actual);
+        }
+    }
+
+    @Test
+    @Tag("Unit")
+    void upsert_WithMySqlRowAlias_ShouldReferToInsertedRowThroughAlias() {
+        // Arrange
+        var sut = new MySqlDialect(true);
+
+        // Act
+        var actual = sut.upsert("t", List.of("a", "b"), "b = %s + b".formatted(sut.insertedValue("b")));
+
+        // Assert
+        var expected = "INSERT INTO t(a, b) VALUES (?, ?) AS inserted ON DUPLICATE KEY UPDATE b = inserted.b + b";
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    void upsert_WithoutMySqlRowAlias_ShouldReferToInsertedRowThroughValuesFunction() {
+        // Arrange
+        var sut = new MySqlDialect(false);
+
+        // Act
+        var actual = sut.upsert("t", List.of("a", "b"), "b = %s + b".formatted(sut.insertedValue("b")));
+
+        // Assert
+        var expected = "INSERT INTO t(a, b) VALUES (?, ?) ON DUPLICATE KEY UPDATE b = VALUES(b) + b";
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    void insertIgnore_ShouldReturnInsertWithParameterPerColumn() {
+        // Arrange
+        var sut = new H2Dialect();
+
+        // Act
+        var actual = sut.insertIgnore("t", List.of("a", "b", "c"));
+
+        // Assert
+        assertEquals("INSERT IGNORE INTO t(a, b, c) VALUES (?, ?, ?)", actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    void insertIgnore_WithRowCount_ShouldReturnInsertWithParametersPerRow() {
+        // Arrange
+        var sut = new MySqlDialect(true);
+
+        // Act
+        var actual = sut.insertIgnore("t", List.of("a", "b"), 2);
+
+        // Assert
+        assertEquals("INSERT IGNORE INTO t(a, b) VALUES (?, ?), (?, ?)", actual);
+    }
+}
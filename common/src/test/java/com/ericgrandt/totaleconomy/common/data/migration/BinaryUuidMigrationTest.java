@@ -0,0 +1,109 @@
+package com.ericgrandt.totaleconomy.common.data.migration;
+
+import com.ericgrandt.totaleconomy.common.data.UuidBytes;
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BinaryUuidMigrationTest {
+    private static void createLegacyTable(Connection conn) throws SQLException {
+        try (var stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE te_legacy (
+                    id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                    player_id VARCHAR(36) NOT NULL,
+                    UNIQUE KEY uk_te_legacy_player (player_id)
+                )
+                """);
+        }
+    }
+
+    @Test
+    @Tag("Integration")
+    void migrate_WithVarcharPlayerIds_ShouldConvertEveryRowToBinary() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, BinaryUuidMigrationTest::createLegacyTable);
+        var playerIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        try (var conn = dataSource.getConnection();
+             var stmt = conn.prepareStatement("INSERT INTO te_legacy(player_id) VALUES (?)")) {
+            for (var playerId : playerIds) {
+                stmt.setString(1, playerId.toString());
+                stmt.executeUpdate();
+            }
+        }
+
+        var sut = new BinaryUuidMigration("te_legacy", "uk_te_legacy_player", "player_id", 2);
+
+        // Act
+        try (var conn = dataSource.getConnection()) {
+            sut.migrate(conn);
+        }
+
+        // Assert
+        var actual = new ArrayList<UUID>();
+        try (var conn = dataSource.getConnection();
+             var stmt = conn.createStatement();
+             var rs = stmt.executeQuery("SELECT player_id FROM te_legacy ORDER BY id")) {
+            while (rs.next()) {
+                actual.add(UuidBytes.fromBytes(rs.getBytes("player_id")));
+            }
+        }
+        assertEquals(playerIds, actual);
+    }
+
+    @Test
+    @Tag("Integration")
+    void migrate_WhenRunTwice_ShouldKeepUniqueKey() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, BinaryUuidMigrationTest::createLegacyTable);
+        var sut = new BinaryUuidMigration("te_legacy", "uk_te_legacy_player", "player_id");
+        var playerId = UuidBytes.toBytes(UUID.randomUUID());
+
+        // Act
+        try (var conn = dataSource.getConnection()) {
+            sut.migrate(conn);
+            sut.migrate(conn);
+        }
+
+        // Assert
+        try (var conn = dataSource.getConnection();
+             var stmt = conn.prepareStatement("INSERT INTO te_legacy(player_id) VALUES (?)")) {
+            stmt.setBytes(1, playerId);
+            stmt.executeUpdate();
+            assertThrows(SQLException.class, stmt::executeUpdate);
+        }
+    }
+
+    @Test
+    @Tag("Integration")
+    void migrate_WithRowWrittenAfterBackfill_ShouldThrowSQLException() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, conn -> {
+            try (var stmt = conn.createStatement()) {
+                // The old column has already been dropped, but a row was inserted after the backfill finished
+                stmt.execute("""
+                    CREATE TABLE te_legacy (
+                        id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                        player_uuid BINARY(16) NULL
+                    )
+                    """);
+                stmt.execute("INSERT INTO te_legacy(player_uuid) VALUES (NULL)");
+            }
+        });
+        var sut = new BinaryUuidMigration("te_legacy", "uk_te_legacy_player", "player_id");
+
+        // Act/Assert
+        try (var conn = dataSource.getConnection()) {
+            assertThrows(SQLException.class, () -> sut.migrate(conn));
+        }
+    }
+}
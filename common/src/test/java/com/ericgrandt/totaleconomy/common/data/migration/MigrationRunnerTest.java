@@ -0,0 +1,127 @@
+package com.ericgrandt.totaleconomy.common.data.migration;
+
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MigrationRunnerTest {
+    private static final Migration CREATE_TABLE = Migration.sql(
+        1,
+        "create test table",
+        "CREATE TABLE te_test (id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, name VARCHAR(20))"
+    );
+    private static final Migration ADD_INDEX = Migration.of(
+        2,
+        "index test name",
+        1,
+        conn -> SchemaChanges.addIndex(conn, "te_test", "idx_te_test_name", "name", false)
+    );
+
+    @Test
+    @Tag("Integration")
+    void migrate_WithPendingMigrations_ShouldApplyThemInVersionOrder() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(false, null);
+        var sut = new MigrationRunner("test", List.of(ADD_INDEX, CREATE_TABLE));
+
+        // Act
+        try (var conn = dataSource.getConnection()) {
+            var actual = sut.migrate(conn);
+
+            // Assert
+            assertEquals(List.of(CREATE_TABLE, ADD_INDEX), actual);
+            assertTrue(SchemaChanges.hasIndex(conn, "te_test", "idx_te_test_name"));
+        }
+    }
+
+    @Test
+    @Tag("Integration")
+    void migrate_WhenAlreadyApplied_ShouldApplyNothing() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(false, null);
+        var sut = new MigrationRunner("test", List.of(CREATE_TABLE, ADD_INDEX));
+
+        try (var conn = dataSource.getConnection()) {
+            sut.migrate(conn);
+
+            // Act
+            var actual = sut.migrate(conn);
+
+            // Assert
+            assertEquals(List.of(), actual);
+        }
+    }
+
+    @Test
+    @Tag("Integration")
+    void migrate_WithChangedMigration_ShouldThrowSQLException() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(false, null);
+        var changedCreateTable = Migration.sql(
+            1,
+            "create test table",
+            "CREATE TABLE te_test (id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, name VARCHAR(50))"
+        );
+        var sut = new MigrationRunner("test", List.of(changedCreateTable));
+
+        try (var conn = dataSource.getConnection()) {
+            new MigrationRunner("test", List.of(CREATE_TABLE)).migrate(conn);
+
+            // Act/Assert
+            assertThrows(SQLException.class, () -> sut.migrate(conn));
+        }
+    }
+
+    @Test
+    @Tag("Integration")
+    void migrate_WithRevisedCodeMigration_ShouldThrowSQLException() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(false, null);
+        var revisedAddIndex = Migration.of(
+            2,
+            "index test name",
+            2,
+            conn -> SchemaChanges.addIndex(conn, "te_test", "idx_te_test_name", "id, name", false)
+        );
+        var sut = new MigrationRunner("test", List.of(CREATE_TABLE, revisedAddIndex));
+
+        try (var conn = dataSource.getConnection()) {
+            new MigrationRunner("test", List.of(CREATE_TABLE, ADD_INDEX)).migrate(conn);
+
+            // Act/Assert
+            assertThrows(SQLException.class, () -> sut.migrate(conn));
+        }
+    }
+
+    @Test
+    @Tag("Integration")
+    void migrate_WithNewerSchemaThanCode_ShouldThrowSQLException() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(false, null);
+        var sut = new MigrationRunner("test", List.of(CREATE_TABLE));
+
+        try (var conn = dataSource.getConnection()) {
+            new MigrationRunner("test", List.of(CREATE_TABLE, ADD_INDEX)).migrate(conn);
+
+            // Act/Assert
+            assertThrows(SQLException.class, () -> sut.migrate(conn));
+        }
+    }
+
+    @Test
+    @Tag("Unit")
+    void constructor_WithDuplicateVersions_ShouldThrowIllegalArgumentException() {
+        // Act/Assert
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new MigrationRunner("test", List.of(CREATE_TABLE, CREATE_TABLE))
+        );
+    }
+}
@@ -0,0 +1,188 @@
+package com.ericgrandt.totaleconomy.common.infra;
+
+import com.ericgrandt.totaleconomy.api.exception.EconomyBusyException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class VirtualThreadTaskRunnerTest {
+    @Test
+    @Tag("Unit")
+    void runAsync_WithMoreTasksThanSlots_ShouldQueueExtraTasks() throws InterruptedException {
+        // Arrange
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(2);
+        var sut = new VirtualThreadTaskRunner("test-", 2, 10, RejectionPolicy.REJECT);
+
+        // Act
+        for (var i = 0; i < 3; i++) {
+            sut.runAsync(() -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+        }
+        started.await(5, TimeUnit.SECONDS);
+        var activeTasks = sut.getActiveTaskCount();
+        var queueDepth = sut.getQueueDepth();
+        release.countDown();
+        sut.close();
+
+        // Assert
+        assertEquals(2, activeTasks);
+        assertEquals(1, queueDepth);
+        assertEquals(0, sut.getQueueDepth());
+    }
+
+    @Test
+    @Tag("Unit")
+    void runAsync_WithFullQueueAndRejectPolicy_ShouldThrowEconomyBusyException() throws InterruptedException {
+        // Arrange
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        var sut = new VirtualThreadTaskRunner("test-", 1, 1, RejectionPolicy.REJECT);
+        sut.runAsync(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        sut.runAsync(() -> {});
+
+        // Act/Assert
+        assertThrows(EconomyBusyException.class, () -> sut.runAsync(() -> {}));
+        assertEquals(1, sut.getRejectedTaskCount());
+
+        release.countDown();
+        sut.close();
+    }
+
+    @Test
+    @Tag("Unit")
+    void runAsync_WithFullQueueAndDiscardPolicy_ShouldDropTask() throws InterruptedException {
+        // Arrange
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        var completedTasks = new AtomicInteger();
+        var sut = new VirtualThreadTaskRunner("test-", 1, 1, RejectionPolicy.DISCARD);
+        sut.runAsync(() -> {
+            started.countDown();
+            awaitQuietly(release);
+            completedTasks.incrementAndGet();
+        });
+        started.await(5, TimeUnit.SECONDS);
+        sut.runAsync(completedTasks::incrementAndGet);
+
+        // Act
+        sut.runAsync(completedTasks::incrementAndGet);
+        release.countDown();
+        sut.close();
+
+        // Assert
+        assertEquals(2, completedTasks.get());
+        assertEquals(1, sut.getRejectedTaskCount());
+    }
+
+    @Test
+    @Tag("Unit")
+    void execute_WithFullQueueAndDiscardPolicy_ShouldThrowRejectedExecutionException() throws InterruptedException {
+        // Arrange
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        var sut = new VirtualThreadTaskRunner("test-", 1, 1, RejectionPolicy.DISCARD);
+        sut.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        sut.execute(() -> {});
+
+        // Act/Assert
+        assertThrows(RejectedExecutionException.class, () -> sut.execute(() -> {}));
+        assertEquals(1, sut.getRejectedTaskCount());
+
+        release.countDown();
+        sut.close();
+    }
+
+    @Test
+    @Tag("Unit")
+    void runAsyncUnbounded_WithFullQueue_ShouldRunTask() throws InterruptedException {
+        // Arrange
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        var completedTasks = new AtomicInteger();
+        var sut = new VirtualThreadTaskRunner("test-", 1, 1, RejectionPolicy.REJECT);
+        sut.runAsync(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        sut.runAsync(completedTasks::incrementAndGet);
+
+        // Act
+        sut.runAsyncUnbounded(completedTasks::incrementAndGet);
+        release.countDown();
+        sut.close();
+
+        // Assert
+        assertEquals(2, completedTasks.get());
+        assertEquals(0, sut.getRejectedTaskCount());
+    }
+
+    @Test
+    @Tag("Unit")
+    void runAsync_WithPermitsSharedBetweenRunners_ShouldQueueTaskInOtherRunner() throws InterruptedException {
+        // Arrange
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        var permits = new Semaphore(1, true);
+        var sut = new VirtualThreadTaskRunner("test-", permits, 10, RejectionPolicy.REJECT);
+        var otherRunner = new VirtualThreadTaskRunner("other-", permits, 10, RejectionPolicy.REJECT);
+        otherRunner.runAsync(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+
+        // Act
+        sut.runAsync(() -> {});
+        var queueDepth = sut.getQueueDepth();
+        release.countDown();
+        otherRunner.close();
+        sut.close();
+
+        // Assert
+        assertEquals(1, queueDepth);
+        assertEquals(0, sut.getQueueDepth());
+    }
+
+    @Test
+    @Tag("Unit")
+    void close_WithRunningTask_ShouldWaitForTaskToFinish() {
+        // Arrange
+        var completed = new AtomicInteger();
+        var sut = new VirtualThreadTaskRunner("test-", 1, 1, RejectionPolicy.REJECT);
+        sut.runAsync(completed::incrementAndGet);
+
+        // Act
+        sut.close();
+
+        // Assert
+        assertEquals(1, completed.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ericgrandt.totaleconomy.common.metrics;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+    @Test
+    @Tag("Unit")
+    void getValueAtPercentile_WithNothingRecorded_ShouldReturnZero() {
+        // Arrange
+        var sut = new LatencyHistogram();
+
+        // Act
+        var actual = sut.getValueAtPercentile(99);
+
+        // Assert
+        assertEquals(Duration.ZERO, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    void getValueAtPercentile_WithRecordedLatencies_ShouldReturnValueWithinBucketWidth() {
+        // Arrange
+        var sut = new LatencyHistogram();
+        for (var i = 1; i <= 100; i++) {
+            sut.record(i * 1000L);
+        }
+
+        // Act
+        var actual = sut.getValueAtPercentile(50).toNanos();
+
+        // Assert
+        assertTrue(actual >= 50_000 && actual <= 53_125, "p50 was " + actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    void getValueAtPercentile_WithHundredthPercentile_ShouldReturnMax() {
+        // Arrange
+        var sut = new LatencyHistogram();
+        sut.record(5);
+        sut.record(1_000_001);
+
+        // Act
+        var actual = sut.getValueAtPercentile(100);
+
+        // Assert
+        assertEquals(Duration.ofNanos(1_000_001), actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    void record_WithNegativeLatency_ShouldRecordZero() {
+        // Arrange
+        var sut = new LatencyHistogram();
+
+        // Act
+        sut.record(-10);
+
+        // Assert
+        assertEquals(1, sut.getCount());
+        assertEquals(Duration.ZERO, sut.getTotal());
+    }
+}
@@ -5,4 +5,5 @@ include("totaleconomy-api")
 include("totaleconomy-core")
 include("totaleconomy-jobs-paper")
 include("totaleconomy-jobs-core")
-include("common")
\ No newline at end of file
+include("common")
+include("totaleconomy-benchmarks")
\ No newline at end of file
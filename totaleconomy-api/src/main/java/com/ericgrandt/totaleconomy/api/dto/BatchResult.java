@@ -0,0 +1,13 @@
+package com.ericgrandt.totaleconomy.api.dto;
+
+import com.ericgrandt.totaleconomy.api.exception.TotalEconomyException;
+
+import java.util.Map;
+import java.util.UUID;
+
+/// Per-player outcome of a batch operation. Every player in the batch appears in exactly one of the two maps.
+///
+/// @param results  the result of each player whose operation was applied
+/// @param failures the reason each remaining player's operation was not applied
+public record BatchResult<R>(Map<UUID, R> results, Map<UUID, TotalEconomyException> failures) {
+}
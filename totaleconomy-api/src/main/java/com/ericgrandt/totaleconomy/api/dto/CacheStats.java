@@ -0,0 +1,13 @@
+package com.ericgrandt.totaleconomy.api.dto;
+
+/// Lookups served by an in-memory cache since the plugin started.
+///
+/// @param hits   lookups answered from the cache
+/// @param misses lookups the cache couldn't answer, which were read from elsewhere
+public record CacheStats(long hits, long misses) {
+    /// @return the fraction of lookups answered from the cache, or `0` if there have been none
+    public double hitRate() {
+        var lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
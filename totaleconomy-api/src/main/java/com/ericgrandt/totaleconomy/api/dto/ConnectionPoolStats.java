@@ -0,0 +1,25 @@
+package com.ericgrandt.totaleconomy.api.dto;
+
+import java.time.Duration;
+
+/// Point-in-time view of the shared database connection pool.
+///
+/// @param activeConnections         connections currently in use
+/// @param idleConnections           open connections waiting to be used
+/// @param totalConnections          all open connections, active or idle
+/// @param maximumPoolSize           the most connections the pool will open
+/// @param threadsAwaitingConnection threads currently blocked waiting for a connection
+/// @param connectionsAcquired       connections handed out since the pool started
+/// @param averageWaitTime           average time a thread waited to get a connection
+/// @param connectionTimeouts        requests that gave up waiting for a connection since the pool started
+public record ConnectionPoolStats(
+    int activeConnections,
+    int idleConnections,
+    int totalConnections,
+    int maximumPoolSize,
+    int threadsAwaitingConnection,
+    long connectionsAcquired,
+    Duration averageWaitTime,
+    long connectionTimeouts
+) {
+}
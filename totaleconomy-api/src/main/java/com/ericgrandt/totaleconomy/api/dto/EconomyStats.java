@@ -0,0 +1,43 @@
+package com.ericgrandt.totaleconomy.api.dto;
+
+import java.time.Duration;
+import java.util.Map;
+
+/// Point-in-time view of what the economy is waiting on.
+///
+/// @param pool                    the database connection pool
+/// @param queuedTasks             economy tasks waiting for a free database connection
+/// @param activeTasks             economy tasks currently running
+/// @param rejectedTasks           economy tasks turned away because too many were waiting, since the plugin started
+/// @param queuedAsyncTasks        async API calls waiting for a free database connection
+/// @param activeAsyncTasks        async API calls currently running
+/// @param rejectedAsyncTasks      async API calls turned away because too many were waiting, since the plugin
+///                                started
+/// @param operations              the latency of each economy operation, keyed by operation name
+/// @param caches                  the hits and misses of each cache, keyed by cache name
+/// @param coalescedBalanceReads   balance reads that shared another read's query instead of making their own
+/// @param recentBalancesStaleness how old the oldest recent balance is
+/// @param queuedLedgerEntries     transaction ledger entries waiting to be written
+/// @param droppedLedgerEntries    transaction ledger entries dropped because the queue was full
+/// @param rejectedLedgerEntries   transaction ledger entries dropped because the database rejected them
+/// @param databaseErrors          transactions that failed with a database error, after any retries
+/// @param transactionRetries      transactions retried after a deadlock or serialization failure
+public record EconomyStats(
+    ConnectionPoolStats pool,
+    int queuedTasks,
+    int activeTasks,
+    long rejectedTasks,
+    int queuedAsyncTasks,
+    int activeAsyncTasks,
+    long rejectedAsyncTasks,
+    Map<String, OperationStats> operations,
+    Map<String, CacheStats> caches,
+    long coalescedBalanceReads,
+    Duration recentBalancesStaleness,
+    int queuedLedgerEntries,
+    long droppedLedgerEntries,
+    long rejectedLedgerEntries,
+    long databaseErrors,
+    long transactionRetries
+) {
+}
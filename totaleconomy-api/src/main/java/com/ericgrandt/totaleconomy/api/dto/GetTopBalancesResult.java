@@ -0,0 +1,9 @@
+package com.ericgrandt.totaleconomy.api.dto;
+
+import com.ericgrandt.totaleconomy.api.model.Currency;
+
+import java.util.List;
+
+/// @param balances the requested page of the leaderboard, highest balance first
+public record GetTopBalancesResult(Currency currency, List<TopBalance> balances) {
+}
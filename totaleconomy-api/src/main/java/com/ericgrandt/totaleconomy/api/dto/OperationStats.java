@@ -0,0 +1,12 @@
+package com.ericgrandt.totaleconomy.api.dto;
+
+import java.time.Duration;
+
+/// Latencies of one economy operation since the plugin started.
+///
+/// @param calls the number of times the operation was called
+/// @param p50   the latency half of the calls finished within
+/// @param p99   the latency 99% of the calls finished within
+/// @param max   the slowest call
+public record OperationStats(long calls, Duration p50, Duration p99, Duration max) {
+}
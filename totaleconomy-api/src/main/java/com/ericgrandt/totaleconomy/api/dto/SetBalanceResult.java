@@ -0,0 +1,8 @@
+package com.ericgrandt.totaleconomy.api.dto;
+
+import com.ericgrandt.totaleconomy.api.model.Currency;
+
+import java.math.BigDecimal;
+
+public record SetBalanceResult(Currency currency, BigDecimal previousBalance, BigDecimal balance) {
+}
@@ -0,0 +1,12 @@
+package com.ericgrandt.totaleconomy.api.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/// One row of a balance leaderboard.
+///
+/// @param rank     the account's position in the leaderboard, starting at 1
+/// @param playerId the unique identifier of the account's player
+/// @param balance  the account's balance
+public record TopBalance(int rank, UUID playerId, BigDecimal balance) {
+}
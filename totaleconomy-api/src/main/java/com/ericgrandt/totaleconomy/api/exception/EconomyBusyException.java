@@ -0,0 +1,10 @@
+package com.ericgrandt.totaleconomy.api.exception;
+
+/**
+ * Thrown when a task is rejected because too many economy tasks are already waiting for a database connection.
+ */
+public class EconomyBusyException extends TotalEconomyException {
+    public EconomyBusyException() {
+        super();
+    }
+}
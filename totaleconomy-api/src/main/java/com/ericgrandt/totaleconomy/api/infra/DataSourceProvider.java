@@ -1,5 +1,6 @@
 package com.ericgrandt.totaleconomy.api.infra;
 
+import com.ericgrandt.totaleconomy.api.dto.ConnectionPoolStats;
 import com.ericgrandt.totaleconomy.api.service.EconomyService;
 
 import javax.sql.DataSource;
@@ -11,4 +12,20 @@ import javax.sql.DataSource;
  */
 public interface DataSourceProvider {
     DataSource getDataSource();
+
+    /**
+     * Gets the maximum number of connections in the pool. Add-ons should not run more database work concurrently than
+     * this.
+     *
+     * @return the maximum pool size
+     */
+    int getMaximumPoolSize();
+
+    /**
+     * Gets the current state of the pool. A pool that regularly has threads waiting for a connection, or a growing
+     * number of connection timeouts, is too small for the load on it.
+     *
+     * @return a snapshot of the pool's usage
+     */
+    ConnectionPoolStats getPoolStats();
 }
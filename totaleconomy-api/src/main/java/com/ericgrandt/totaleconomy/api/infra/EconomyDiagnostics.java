@@ -0,0 +1,9 @@
+package com.ericgrandt.totaleconomy.api.infra;
+
+import com.ericgrandt.totaleconomy.api.dto.EconomyStats;
+
+/// Reports how busy the economy is and where its time goes, for finding out why economy commands are slow.
+public interface EconomyDiagnostics {
+    /// @return a snapshot of the economy's connection pool, task queue, latencies, caches and database errors
+    EconomyStats getStats();
+}
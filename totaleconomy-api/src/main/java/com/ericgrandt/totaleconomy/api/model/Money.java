@@ -0,0 +1,119 @@
+package com.ericgrandt.totaleconomy.api.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An immutable amount of money held as a whole number of minor units, such as cents.
+ * <p>
+ * The amount is {@code minorUnits / 10^fractionalDigits}, so {@code Money(1050, 2)} is 10.50. Arithmetic and
+ * comparisons work on the {@code long} directly and never allocate a {@link BigDecimal}. Two amounts can only be
+ * combined when they have the same number of fractional digits.
+ * </p>
+ *
+ * @param minorUnits       the amount in minor units
+ * @param fractionalDigits the number of fractional digits, usually {@link Currency#fractionalDigits()}
+ */
+public record Money(long minorUnits, int fractionalDigits) implements Comparable<Money> {
+    private static final int MAX_FRACTIONAL_DIGITS = 18;
+
+    public Money {
+        if (fractionalDigits < 0 || fractionalDigits > MAX_FRACTIONAL_DIGITS) {
+            throw new IllegalArgumentException(
+                "fractionalDigits must be between 0 and %d: %d".formatted(MAX_FRACTIONAL_DIGITS, fractionalDigits)
+            );
+        }
+    }
+
+    /**
+     * Converts an amount to the currency's minor units, dropping any digits beyond
+     * {@link Currency#fractionalDigits()}, the same way {@link Currency#format(BigDecimal)} does.
+     *
+     * @param amount   the amount to convert
+     * @param currency the currency the amount is in
+     * @return the amount in the currency's minor units
+     * @throws ArithmeticException if the amount does not fit in a {@code long} of minor units
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        return of(amount, currency.fractionalDigits(), RoundingMode.DOWN);
+    }
+
+    /**
+     * Converts an amount to minor units with the given number of fractional digits.
+     *
+     * @param amount           the amount to convert
+     * @param fractionalDigits the number of fractional digits to keep
+     * @param roundingMode     how to round digits beyond {@code fractionalDigits}
+     * @return the amount in minor units
+     * @throws ArithmeticException if the amount does not fit in a {@code long} of minor units
+     */
+    public static Money of(BigDecimal amount, int fractionalDigits, RoundingMode roundingMode) {
+        var minorUnits = amount.setScale(fractionalDigits, roundingMode).unscaledValue().longValueExact();
+        return new Money(minorUnits, fractionalDigits);
+    }
+
+    public static Money zero(int fractionalDigits) {
+        return new Money(0, fractionalDigits);
+    }
+
+    /**
+     * @throws ArithmeticException if the result overflows
+     */
+    public Money plus(Money other) {
+        checkSameScale(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), fractionalDigits);
+    }
+
+    /**
+     * @throws ArithmeticException if the result overflows
+     */
+    public Money minus(Money other) {
+        checkSameScale(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), fractionalDigits);
+    }
+
+    /**
+     * @throws ArithmeticException if the result overflows
+     */
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), fractionalDigits);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionalDigits);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkSameScale(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private void checkSameScale(Money other) {
+        if (fractionalDigits != other.fractionalDigits) {
+            throw new IllegalArgumentException(
+                "cannot combine amounts with %d and %d fractional digits".formatted(
+                    fractionalDigits,
+                    other.fractionalDigits
+                )
+            );
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ericgrandt.totaleconomy.api.service;
+
+import com.ericgrandt.totaleconomy.api.dto.BatchResult;
+import com.ericgrandt.totaleconomy.api.dto.DepositResult;
+import com.ericgrandt.totaleconomy.api.dto.GetAccountBalanceResult;
+import com.ericgrandt.totaleconomy.api.dto.GetTopBalancesResult;
+import com.ericgrandt.totaleconomy.api.dto.SetBalanceResult;
+import com.ericgrandt.totaleconomy.api.dto.TransferResult;
+import com.ericgrandt.totaleconomy.api.dto.WithdrawResult;
+import com.ericgrandt.totaleconomy.api.model.Currency;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/// Non-blocking counterpart of [EconomyService]. Every operation runs on a dedicated executor sized to the database
+/// connection pool, so callers never block a scheduler thread waiting on the database.
+///
+/// A returned future completes exceptionally with the same exceptions that the matching [EconomyService] method
+/// throws. When the executor is saturated, it completes exceptionally with a [RejectedExecutionException] instead of
+/// queueing more work.
+///
+/// @param <T> the currency type of the underlying [EconomyService]
+public interface AsyncEconomyService<T extends Currency> {
+    /// Retrieves the balance for a player's account in the specified currency.
+    ///
+    /// @see EconomyService#getAccountBalance(UUID, String)
+    CompletableFuture<GetAccountBalanceResult> getAccountBalanceAsync(UUID playerId, String currencyCode);
+
+    /// Retrieves the balance for a player's account in the default currency.
+    ///
+    /// @see EconomyService#getAccountBalance(UUID)
+    CompletableFuture<GetAccountBalanceResult> getAccountBalanceAsync(UUID playerId);
+
+    /// Retrieves a page of the accounts with the highest balances in the specified currency.
+    ///
+    /// @see EconomyService#getTopBalances(String, int, int)
+    CompletableFuture<GetTopBalancesResult> getTopBalancesAsync(String currencyCode, int offset, int limit);
+
+    /// Retrieves a page of the accounts with the highest balances in the default currency.
+    ///
+    /// @see EconomyService#getTopBalances(int, int)
+    CompletableFuture<GetTopBalancesResult> getTopBalancesAsync(int offset, int limit);
+
+    /// Withdraws an amount from a player's account in the specified currency.
+    ///
+    /// @see EconomyService#withdraw(UUID, String, BigDecimal)
+    CompletableFuture<WithdrawResult> withdrawAsync(UUID playerId, String currencyCode, BigDecimal amount);
+
+    /// Withdraws an amount from a player's account in the default currency.
+    ///
+    /// @see EconomyService#withdraw(UUID, BigDecimal)
+    CompletableFuture<WithdrawResult> withdrawAsync(UUID playerId, BigDecimal amount);
+
+    /// Deposits an amount into a player's account in the specified currency.
+    ///
+    /// @see EconomyService#deposit(UUID, String, BigDecimal)
+    CompletableFuture<DepositResult> depositAsync(UUID playerId, String currencyCode, BigDecimal amount);
+
+    /// Deposits an amount into a player's account in the default currency.
+    ///
+    /// @see EconomyService#deposit(UUID, BigDecimal)
+    CompletableFuture<DepositResult> depositAsync(UUID playerId, BigDecimal amount);
+
+    /// Withdraws an amount from each player's account in the specified currency, in a single database transaction.
+    ///
+    /// @see EconomyService#withdrawAll(Map, String)
+    CompletableFuture<BatchResult<WithdrawResult>> withdrawAllAsync(Map<UUID, BigDecimal> amounts, String currencyCode);
+
+    /// Withdraws an amount from each player's account in the default currency, in a single database transaction.
+    ///
+    /// @see EconomyService#withdrawAll(Map)
+    CompletableFuture<BatchResult<WithdrawResult>> withdrawAllAsync(Map<UUID, BigDecimal> amounts);
+
+    /// Deposits an amount into each player's account in the specified currency, in a single database transaction.
+    ///
+    /// @see EconomyService#depositAll(Map, String)
+    CompletableFuture<BatchResult<DepositResult>> depositAllAsync(Map<UUID, BigDecimal> amounts, String currencyCode);
+
+    /// Deposits an amount into each player's account in the default currency, in a single database transaction.
+    ///
+    /// @see EconomyService#depositAll(Map)
+    CompletableFuture<BatchResult<DepositResult>> depositAllAsync(Map<UUID, BigDecimal> amounts);
+
+    /// Sets each player's balance in the specified currency, in a single database transaction.
+    ///
+    /// @see EconomyService#setAll(Map, String)
+    CompletableFuture<BatchResult<SetBalanceResult>> setAllAsync(Map<UUID, BigDecimal> balances, String currencyCode);
+
+    /// Sets each player's balance in the default currency, in a single database transaction.
+    ///
+    /// @see EconomyService#setAll(Map)
+    CompletableFuture<BatchResult<SetBalanceResult>> setAllAsync(Map<UUID, BigDecimal> balances);
+
+    /// Transfers an amount from one player to another in the specified currency.
+    ///
+    /// @see EconomyService#transfer(UUID, UUID, String, BigDecimal)
+    CompletableFuture<TransferResult> transferAsync(
+        UUID fromPlayerId,
+        UUID toPlayerId,
+        String currencyCode,
+        BigDecimal amount
+    );
+
+    /// Transfers an amount from one player to another in the default currency.
+    ///
+    /// @see EconomyService#transfer(UUID, UUID, BigDecimal)
+    CompletableFuture<TransferResult> transferAsync(UUID fromPlayerId, UUID toPlayerId, BigDecimal amount);
+}
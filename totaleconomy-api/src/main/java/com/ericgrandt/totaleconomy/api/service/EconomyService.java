@@ -1,7 +1,10 @@
 package com.ericgrandt.totaleconomy.api.service;
 
+import com.ericgrandt.totaleconomy.api.dto.BatchResult;
 import com.ericgrandt.totaleconomy.api.dto.DepositResult;
 import com.ericgrandt.totaleconomy.api.dto.GetAccountBalanceResult;
+import com.ericgrandt.totaleconomy.api.dto.GetTopBalancesResult;
+import com.ericgrandt.totaleconomy.api.dto.SetBalanceResult;
 import com.ericgrandt.totaleconomy.api.dto.TransferResult;
 import com.ericgrandt.totaleconomy.api.dto.WithdrawResult;
 import com.ericgrandt.totaleconomy.api.exception.AccountNotFoundException;
@@ -36,6 +39,28 @@ public interface EconomyService<T extends Currency> {
     /// @throws CurrencyNotFoundException if the currency is not found
     Account createAccount(UUID playerId, String currencyCode);
 
+    /// Creates the player's account in every supported currency, each with its starting balance, in a single database
+    /// transaction. Accounts the player already has keep their balance.
+    ///
+    /// @param playerId the unique identifier of the player
+    void createAccounts(UUID playerId);
+
+    /// Checks whether a player has an account in the specified currency. This is answered from memory for accounts
+    /// that have been seen before, so it is cheap to call often.
+    ///
+    /// @param playerId     the unique identifier of the player
+    /// @param currencyCode the currency code of the account to check for
+    /// @return whether the account exists
+    /// @throws CurrencyNotFoundException if the currency is not found
+    boolean hasAccount(UUID playerId, String currencyCode);
+
+    /// Checks whether a player has an account in the default currency.
+    ///
+    /// @param playerId the unique identifier of the player
+    /// @return whether the account exists
+    /// @throws MissingDefaultCurrencyException if the default currency is not found
+    boolean hasAccount(UUID playerId);
+
     /// Retrieves the balance for a player's account in the specified currency.
     ///
     /// @param playerId     the unique identifier of the player
@@ -53,6 +78,45 @@ public interface EconomyService<T extends Currency> {
     /// @throws AccountNotFoundException  if no account exists for the given playerId
     GetAccountBalanceResult getAccountBalance(UUID playerId);
 
+    /// Retrieves a recent balance for a player's account in the specified currency. The balance may be a few seconds
+    /// old, up to the configured staleness bound, but is usually answered from memory. Prefer this for reads made on
+    /// the server thread that don't need to see changes made elsewhere immediately.
+    ///
+    /// @param playerId     the unique identifier of the player
+    /// @param currencyCode the currency code of the account to retrieve the balance for
+    /// @return the [GetAccountBalanceResult] containing the account balance
+    /// @throws CurrencyNotFoundException if the currency is not found
+    /// @throws AccountNotFoundException  if no account exists for the given playerId
+    GetAccountBalanceResult getRecentAccountBalance(UUID playerId, String currencyCode);
+
+    /// Retrieves a recent balance for a player's account in the default currency. See
+    /// [#getRecentAccountBalance(UUID, String)].
+    ///
+    /// @param playerId the unique identifier of the player
+    /// @return the [GetAccountBalanceResult] containing the account balance
+    /// @throws CurrencyNotFoundException if the currency is not found
+    /// @throws AccountNotFoundException  if no account exists for the given playerId
+    GetAccountBalanceResult getRecentAccountBalance(UUID playerId);
+
+    /// Retrieves a page of the accounts with the highest balances in the specified currency.
+    ///
+    /// @param currencyCode the currency code of the accounts to rank
+    /// @param offset       the number of top accounts to skip
+    /// @param limit        the most accounts to return
+    /// @return the [GetTopBalancesResult] containing the page, highest balance first
+    /// @throws CurrencyNotFoundException if the currency is not found
+    /// @throws IllegalArgumentException  if `offset` is negative or `limit` is not positive
+    GetTopBalancesResult getTopBalances(String currencyCode, int offset, int limit);
+
+    /// Retrieves a page of the accounts with the highest balances in the default currency.
+    ///
+    /// @param offset the number of top accounts to skip
+    /// @param limit  the most accounts to return
+    /// @return the [GetTopBalancesResult] containing the page, highest balance first
+    /// @throws MissingDefaultCurrencyException if the default currency is not found
+    /// @throws IllegalArgumentException        if `offset` is negative or `limit` is not positive
+    GetTopBalancesResult getTopBalances(int offset, int limit);
+
     /// Withdraws an amount from a player's account in the specified currency.
     ///
     /// @param playerId     the unique identifier of the player
@@ -93,6 +157,63 @@ public interface EconomyService<T extends Currency> {
     /// @throws AccountNotFoundException  if account is not found
     DepositResult deposit(UUID playerId, BigDecimal amount);
 
+    /// Withdraws an amount from each player's account in the specified currency, in a single database transaction.
+    ///
+    /// A player whose account is missing or can't cover the amount is reported in [BatchResult#failures()] with an
+    /// [AccountNotFoundException] or [InsufficientFundsException], and doesn't stop the rest of the batch.
+    ///
+    /// @param amounts      the amount to withdraw from each player, keyed by the player's unique identifier
+    /// @param currencyCode the currency code of the accounts to withdraw from
+    /// @return the [BatchResult] with a [WithdrawResult] per successful withdrawal
+    /// @throws CurrencyNotFoundException if the currency is not found
+    BatchResult<WithdrawResult> withdrawAll(Map<UUID, BigDecimal> amounts, String currencyCode);
+
+    /// Withdraws an amount from each player's account in the default currency, in a single database transaction.
+    ///
+    /// @param amounts the amount to withdraw from each player, keyed by the player's unique identifier
+    /// @return the [BatchResult] with a [WithdrawResult] per successful withdrawal
+    /// @throws MissingDefaultCurrencyException if the default currency is not found
+    /// @see #withdrawAll(Map, String)
+    BatchResult<WithdrawResult> withdrawAll(Map<UUID, BigDecimal> amounts);
+
+    /// Deposits an amount into each player's account in the specified currency, in a single database transaction.
+    ///
+    /// A player whose account is missing is reported in [BatchResult#failures()] with an [AccountNotFoundException],
+    /// and doesn't stop the rest of the batch.
+    ///
+    /// @param amounts      the amount to deposit for each player, keyed by the player's unique identifier
+    /// @param currencyCode the currency code of the accounts to deposit into
+    /// @return the [BatchResult] with a [DepositResult] per successful deposit
+    /// @throws CurrencyNotFoundException if the currency is not found
+    BatchResult<DepositResult> depositAll(Map<UUID, BigDecimal> amounts, String currencyCode);
+
+    /// Deposits an amount into each player's account in the default currency, in a single database transaction.
+    ///
+    /// @param amounts the amount to deposit for each player, keyed by the player's unique identifier
+    /// @return the [BatchResult] with a [DepositResult] per successful deposit
+    /// @throws MissingDefaultCurrencyException if the default currency is not found
+    /// @see #depositAll(Map, String)
+    BatchResult<DepositResult> depositAll(Map<UUID, BigDecimal> amounts);
+
+    /// Sets each player's balance in the specified currency, in a single database transaction.
+    ///
+    /// A player whose account is missing is reported in [BatchResult#failures()] with an [AccountNotFoundException],
+    /// and doesn't stop the rest of the batch.
+    ///
+    /// @param balances     the new balance of each player, keyed by the player's unique identifier
+    /// @param currencyCode the currency code of the accounts to set
+    /// @return the [BatchResult] with a [SetBalanceResult] per balance set
+    /// @throws CurrencyNotFoundException if the currency is not found
+    BatchResult<SetBalanceResult> setAll(Map<UUID, BigDecimal> balances, String currencyCode);
+
+    /// Sets each player's balance in the default currency, in a single database transaction.
+    ///
+    /// @param balances the new balance of each player, keyed by the player's unique identifier
+    /// @return the [BatchResult] with a [SetBalanceResult] per balance set
+    /// @throws MissingDefaultCurrencyException if the default currency is not found
+    /// @see #setAll(Map, String)
+    BatchResult<SetBalanceResult> setAll(Map<UUID, BigDecimal> balances);
+
     /// Transfers an amount from one player to another in the specified currency.
     ///
     /// @param fromPlayerId the unique identifier of the sending player
@@ -0,0 +1,38 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmh(project(":totaleconomy-api"))
+    jmh(project(":common"))
+    jmh(project(":totaleconomy-core"))
+    jmh(libs.adventure)
+    jmh(libs.h2)
+    jmh(libs.hikari)
+    jmh(libs.jmh.core)
+    jmh(libs.mysql)
+
+    jmhAnnotationProcessor(libs.jmh.generator.annprocess)
+}
+
+val mysqlUrl = "jdbc:mysql://localhost:3306/totaleconomy"
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    threads.set(providers.gradleProperty("jmhThreads").map { it.toInt() }.orElse(1))
+    includes.set(providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(listOf(".*")))
+    profilers.set(providers.gradleProperty("jmhProfilers").map { it.split(",") }.orElse(emptyList()))
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+    // The database for the MySQL runs of StatementCacheBenchmark, defaulting to the one in docker-compose.yml
+    jvmArgsAppend.set(
+        listOf(
+            "-Dbenchmark.db.url=" + providers.gradleProperty("jmhDbUrl").getOrElse(mysqlUrl),
+            "-Dbenchmark.db.user=" + providers.gradleProperty("jmhDbUser").getOrElse("root"),
+            "-Dbenchmark.db.password=" + providers.gradleProperty("jmhDbPassword").getOrElse("password")
+        )
+    )
+}
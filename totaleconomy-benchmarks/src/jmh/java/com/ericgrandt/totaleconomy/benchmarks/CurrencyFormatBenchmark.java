@@ -0,0 +1,80 @@
+package com.ericgrandt.totaleconomy.benchmarks;
+
+import com.ericgrandt.totaleconomy.model.TECurrency;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/// Cost of [TECurrency#format], which runs for every balance shown to a player. Fields are not final so the JIT can't
+/// constant-fold the formatting away.
+///
+/// A single amount is what a scoreboard showing the same balance every tick costs. The distinct amounts are more than
+/// a currency keeps formatted, so every call formats from scratch. Run with `-PjmhProfilers=gc` to see allocations per
+/// call.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CurrencyFormatBenchmark {
+    private TECurrency symbolCurrency = new TECurrency(
+        "USD",
+        "Dollar",
+        "Dollars",
+        "$",
+        2,
+        BigDecimal.TEN,
+        true
+    );
+    private TECurrency namedCurrency = new TECurrency(
+        "COIN",
+        "Coin",
+        "Coins",
+        null,
+        0,
+        BigDecimal.TEN,
+        false
+    );
+    private BigDecimal amount = new BigDecimal("12345.6789");
+    private BigDecimal[] distinctAmounts = createDistinctAmounts();
+    private int next;
+
+    @Benchmark
+    public Component formatWithSymbol() {
+        return symbolCurrency.format(amount);
+    }
+
+    @Benchmark
+    public Component formatWithName() {
+        return namedCurrency.format(amount);
+    }
+
+    @Benchmark
+    public Component formatDistinctWithSymbol() {
+        return symbolCurrency.format(nextAmount());
+    }
+
+    @Benchmark
+    public Component formatDistinctWithName() {
+        return namedCurrency.format(nextAmount());
+    }
+
+    private BigDecimal nextAmount() {
+        next = (next + 1) & (distinctAmounts.length - 1);
+        return distinctAmounts[next];
+    }
+
+    private static BigDecimal[] createDistinctAmounts() {
+        var amounts = new BigDecimal[4096];
+        for (var i = 0; i < amounts.length; i++) {
+            amounts[i] = BigDecimal.valueOf(1_000_000L * i + 12345, 4);
+        }
+
+        return amounts;
+    }
+}
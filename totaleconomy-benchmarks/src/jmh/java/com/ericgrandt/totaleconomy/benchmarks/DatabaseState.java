@@ -0,0 +1,97 @@
+package com.ericgrandt.totaleconomy.benchmarks;
+
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.config.DatabaseConfig;
+import com.ericgrandt.totaleconomy.config.DatabaseType;
+import com.ericgrandt.totaleconomy.config.PoolConfig;
+import com.ericgrandt.totaleconomy.config.StatementCacheConfig;
+import com.ericgrandt.totaleconomy.data.AccountData;
+import com.ericgrandt.totaleconomy.data.Database;
+import com.ericgrandt.totaleconomy.data.DatabaseBootstrapper;
+import com.ericgrandt.totaleconomy.testutils.TestSeeder;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/// A seeded database opened through [Database], so the statement cache is configured exactly as the plugin configures
+/// it. Used by [StatementCacheBenchmark].
+@State(Scope.Benchmark)
+public class DatabaseState {
+    // Not a power of two, so the padded IN list is exercised too
+    public static final int BATCH_SIZE = 7;
+    private static final int ACCOUNT_COUNT = 1000;
+    // The defaults in config.yml, except that every connection is opened up front
+    private static final PoolConfig POOL = new PoolConfig(10, 10, 30000, 600000, 1800000, 120000, 5000, 0);
+    private static final int CACHE_SIZE = 250;
+    private static final int CACHE_SQL_LIMIT = 2048;
+
+    private static final String H2_URL = "jdbc:h2:mem:statement-cache;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Param({"EMBEDDED", "MYSQL"})
+    public DatabaseType backend;
+
+    @Param({"true", "false"})
+    public boolean statementCache;
+
+    public Database database;
+    public TransactionUtil transactionUtil;
+    public AccountData accountData;
+    public String currencyCode;
+
+    private UUID[] playerIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        var url = backend == DatabaseType.EMBEDDED ? H2_URL : System.getProperty("benchmark.db.url");
+        database = new Database(
+            new DatabaseConfig(
+                backend,
+                url,
+                System.getProperty("benchmark.db.user", "root"),
+                System.getProperty("benchmark.db.password", "password"),
+                POOL,
+                new StatementCacheConfig(statementCache, CACHE_SIZE, CACHE_SQL_LIMIT, statementCache)
+            )
+        );
+        var dataSource = (HikariDataSource) database.getDataSource();
+        try (var conn = dataSource.getConnection()) {
+            DatabaseBootstrapper.initSchema(conn);
+        }
+
+        currencyCode = TestSeeder.seedDefaultCurrency(dataSource).code();
+        playerIds = new UUID[ACCOUNT_COUNT];
+        for (var i = 0; i < ACCOUNT_COUNT; i++) {
+            playerIds[i] = UUID.fromString(TestSeeder.seedAccount(dataSource, currencyCode).playerId());
+        }
+
+        transactionUtil = new TransactionUtil(dataSource);
+        accountData = new AccountData(database.getDialect());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    public UUID randomPlayerId() {
+        return playerIds[ThreadLocalRandom.current().nextInt(playerIds.length)];
+    }
+
+    public List<UUID> randomPlayerIds(int count) {
+        var ids = new ArrayList<UUID>(count);
+        for (var i = 0; i < count; i++) {
+            ids.add(randomPlayerId());
+        }
+        return ids;
+    }
+}
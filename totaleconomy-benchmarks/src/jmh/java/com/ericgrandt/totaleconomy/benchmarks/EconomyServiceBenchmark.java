@@ -0,0 +1,43 @@
+package com.ericgrandt.totaleconomy.benchmarks;
+
+import com.ericgrandt.totaleconomy.api.dto.DepositResult;
+import com.ericgrandt.totaleconomy.api.dto.GetAccountBalanceResult;
+import com.ericgrandt.totaleconomy.api.dto.TransferResult;
+import com.ericgrandt.totaleconomy.api.dto.WithdrawResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/// Throughput and latency percentiles of the [com.ericgrandt.totaleconomy.service.TEEconomyService] operations that
+/// commands, listeners and Vault callers hit most. Run with `-PjmhThreads=N` to measure contention.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EconomyServiceBenchmark {
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @Benchmark
+    public GetAccountBalanceResult getAccountBalance(EconomyState state) {
+        return state.economyService.getAccountBalance(state.randomPlayerId(), state.currencyCode);
+    }
+
+    @Benchmark
+    public WithdrawResult withdraw(EconomyState state) {
+        return state.economyService.withdraw(state.randomPlayerId(), state.currencyCode, AMOUNT);
+    }
+
+    @Benchmark
+    public DepositResult deposit(EconomyState state) {
+        return state.economyService.deposit(state.randomPlayerId(), state.currencyCode, AMOUNT);
+    }
+
+    @Benchmark
+    public TransferResult transfer(EconomyState state) {
+        var fromPlayerId = state.randomPlayerId();
+        var toPlayerId = state.randomPlayerIdExcept(fromPlayerId);
+        return state.economyService.transfer(fromPlayerId, toPlayerId, state.currencyCode, AMOUNT);
+    }
+}
@@ -0,0 +1,94 @@
+package com.ericgrandt.totaleconomy.benchmarks;
+
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import com.ericgrandt.totaleconomy.data.AccountData;
+import com.ericgrandt.totaleconomy.data.CurrencyData;
+import com.ericgrandt.totaleconomy.data.DatabaseBootstrapper;
+import com.ericgrandt.totaleconomy.service.BalanceSnapshot;
+import com.ericgrandt.totaleconomy.service.BalanceStore;
+import com.ericgrandt.totaleconomy.service.CacheService;
+import com.ericgrandt.totaleconomy.service.Leaderboard;
+import com.ericgrandt.totaleconomy.service.TEEconomyService;
+import com.ericgrandt.totaleconomy.service.TransactionLedger;
+import com.ericgrandt.totaleconomy.testutils.TestSeeder;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/// A seeded in-memory database shared by every benchmark thread, with an economy service wired the same way the
+/// plugin wires it.
+@State(Scope.Benchmark)
+public class EconomyState {
+    // Large enough that withdrawals never run an account out of funds during a run
+    private static final String FUND_ACCOUNTS_QUERY = "UPDATE te_account SET balance = 1000000000";
+    // The plugin's default leaderboard.size
+    private static final int LEADERBOARD_SIZE = 1000;
+
+    @Param({"100", "10000"})
+    public int accountCount;
+
+    public HikariDataSource dataSource;
+    public TransactionUtil transactionUtil;
+    public TEEconomyService economyService;
+    public String currencyCode;
+
+    private UUID[] playerIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        currencyCode = TestSeeder.seedDefaultCurrency(dataSource).code();
+
+        playerIds = new UUID[accountCount];
+        for (var i = 0; i < accountCount; i++) {
+            playerIds[i] = UUID.fromString(TestSeeder.seedAccount(dataSource, currencyCode).playerId());
+        }
+
+        try (var conn = dataSource.getConnection(); var stmt = conn.prepareStatement(FUND_ACCOUNTS_QUERY)) {
+            stmt.executeUpdate();
+        }
+
+        transactionUtil = new TransactionUtil(dataSource);
+        var cacheService = new CacheService(transactionUtil, new CurrencyData());
+        cacheService.initCache();
+        var accountData = new AccountData(new H2Dialect());
+        economyService = new TEEconomyService(
+            transactionUtil,
+            cacheService,
+            BalanceStore.disabled(),
+            accountData,
+            TransactionLedger.disabled(),
+            new Leaderboard(transactionUtil, accountData, BalanceStore.disabled(), LEADERBOARD_SIZE),
+            new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ZERO)
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    public UUID randomPlayerId() {
+        return playerIds[ThreadLocalRandom.current().nextInt(playerIds.length)];
+    }
+
+    /// @return a player other than `playerId`
+    public UUID randomPlayerIdExcept(UUID playerId) {
+        var otherPlayerId = randomPlayerId();
+        while (otherPlayerId.equals(playerId)) {
+            otherPlayerId = randomPlayerId();
+        }
+        return otherPlayerId;
+    }
+}
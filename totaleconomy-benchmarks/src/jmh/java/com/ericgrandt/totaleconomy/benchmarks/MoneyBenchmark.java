@@ -0,0 +1,49 @@
+package com.ericgrandt.totaleconomy.benchmarks;
+
+import com.ericgrandt.totaleconomy.api.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/// The checked withdrawal at the core of every balance change, done with [BigDecimal] and with [Money].
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyBenchmark {
+    private BigDecimal decimalBalance = new BigDecimal("1234.5600");
+    private BigDecimal decimalAmount = new BigDecimal("12.34");
+    private Money moneyBalance = Money.of(decimalBalance, 4, RoundingMode.HALF_UP);
+    private Money moneyAmount = Money.of(decimalAmount, 4, RoundingMode.HALF_UP);
+    private long unitBalance = moneyBalance.minorUnits();
+    private long unitAmount = moneyAmount.minorUnits();
+
+    @Benchmark
+    public BigDecimal withdrawBigDecimal() {
+        var newBalance = decimalBalance.subtract(decimalAmount);
+        return newBalance.signum() < 0 ? decimalBalance : newBalance;
+    }
+
+    @Benchmark
+    public Money withdrawMoney() {
+        var newBalance = moneyBalance.minus(moneyAmount);
+        return newBalance.isNegative() ? moneyBalance : newBalance;
+    }
+
+    @Benchmark
+    public long withdrawUnits() {
+        var newBalance = Math.subtractExact(unitBalance, unitAmount);
+        return newBalance < 0 ? unitBalance : newBalance;
+    }
+
+    @Benchmark
+    public long convertToUnits() {
+        return Money.of(decimalAmount, 4, RoundingMode.HALF_UP).minorUnits();
+    }
+}
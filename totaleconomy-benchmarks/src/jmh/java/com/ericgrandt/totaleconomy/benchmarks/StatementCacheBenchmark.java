@@ -0,0 +1,50 @@
+package com.ericgrandt.totaleconomy.benchmarks;
+
+import com.ericgrandt.totaleconomy.model.TEAccount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/// Statements per second for the data layer's queries with the driver's statement cache on and off, against H2 and
+/// MySQL. Each invocation runs one statement in its own transaction, the same way the economy service runs them.
+///
+/// The MySQL runs use the database from `docker-compose.yml` unless `-PjmhDbUrl`, `-PjmhDbUser` and
+/// `-PjmhDbPassword` point them at another. Use a scratch database, since they create the plugin's tables and add
+/// accounts to them.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StatementCacheBenchmark {
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @Benchmark
+    public Optional<TEAccount> getAccount(DatabaseState state) throws SQLException {
+        var playerId = state.randomPlayerId();
+        return state.transactionUtil.runInTransaction(
+            conn -> state.accountData.getAccount(conn, playerId, state.currencyCode)
+        );
+    }
+
+    @Benchmark
+    public boolean deposit(DatabaseState state) throws SQLException {
+        var playerId = state.randomPlayerId();
+        return state.transactionUtil.runInTransaction(
+            conn -> state.accountData.deposit(conn, playerId, state.currencyCode, AMOUNT)
+        );
+    }
+
+    @Benchmark
+    public Map<UUID, BigDecimal> getBalancesForUpdate(DatabaseState state) throws SQLException {
+        var playerIds = state.randomPlayerIds(DatabaseState.BATCH_SIZE);
+        return state.transactionUtil.runInTransaction(
+            conn -> state.accountData.getBalancesForUpdate(conn, playerIds, state.currencyCode)
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package com.ericgrandt.totaleconomy.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/// Cost of [com.ericgrandt.totaleconomy.common.data.TransactionUtil#runInTransaction] on its own, compared with
+/// borrowing a pooled connection and running the same query without a transaction.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransactionUtilBenchmark {
+    private static final String QUERY = "SELECT 1";
+
+    @Benchmark
+    public boolean pooledConnection(EconomyState state) throws SQLException {
+        try (var conn = state.dataSource.getConnection(); var stmt = conn.prepareStatement(QUERY)) {
+            return stmt.execute();
+        }
+    }
+
+    @Benchmark
+    public boolean runInTransaction(EconomyState state) throws SQLException {
+        return state.transactionUtil.runInTransaction(conn -> {
+            try (var stmt = conn.prepareStatement(QUERY)) {
+                return stmt.execute();
+            }
+        });
+    }
+}
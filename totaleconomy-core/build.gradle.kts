@@ -5,6 +5,8 @@ plugins {
 
 val mockitoAgent = configurations.create("mockitoAgent")
 dependencies {
+    compileOnly(libs.slf4j)
+
     implementation(project(":totaleconomy-api"))
     implementation(project(":common"))
     implementation(libs.adventure)
@@ -16,6 +18,7 @@ dependencies {
     testImplementation(libs.mockito.core)
     testImplementation(libs.mockito.junit.jupiter)
     testImplementation(libs.adventure)
+    testImplementation(libs.slf4j)
 
     mockitoAgent(libs.mockito.core) { isTransitive = false }
 
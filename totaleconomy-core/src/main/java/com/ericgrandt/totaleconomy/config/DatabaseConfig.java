@@ -1,4 +1,11 @@
 package com.ericgrandt.totaleconomy.config;
 
-public record DatabaseConfig(String url, String user, String password) {
+public record DatabaseConfig(
+    DatabaseType type,
+    String url,
+    String user,
+    String password,
+    PoolConfig pool,
+    StatementCacheConfig statementCache
+) {
 }
@@ -0,0 +1,11 @@
+package com.ericgrandt.totaleconomy.config;
+
+/// Where the plugin stores its data.
+public enum DatabaseType {
+    /// A MySQL or MariaDB server at the configured URL.
+    MYSQL,
+
+    /// An H2 database in a file in the plugin's folder, opened by the server process itself. Queries don't cross the
+    /// network, but only one server can use the file.
+    EMBEDDED
+}
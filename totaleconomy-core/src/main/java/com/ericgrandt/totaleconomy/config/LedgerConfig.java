@@ -0,0 +1,4 @@
+package com.ericgrandt.totaleconomy.config;
+
+public record LedgerConfig(boolean enabled, int queueCapacity, int maxBatchSize) {
+}
@@ -0,0 +1,13 @@
+package com.ericgrandt.totaleconomy.config;
+
+public record PoolConfig(
+    int maximumPoolSize,
+    int minimumIdle,
+    long connectionTimeoutMillis,
+    long idleTimeoutMillis,
+    long maxLifetimeMillis,
+    long keepaliveTimeMillis,
+    long validationTimeoutMillis,
+    long leakDetectionThresholdMillis
+) {
+}
@@ -0,0 +1,4 @@
+package com.ericgrandt.totaleconomy.config;
+
+public record StatementCacheConfig(boolean enabled, int size, int sqlLimit, boolean serverSide) {
+}
@@ -1,4 +1,14 @@
 package com.ericgrandt.totaleconomy.config;
 
-public record TEConfig(DatabaseConfig database, DefaultCurrencyConfig defaultCurrency) {
+public record TEConfig(
+    DatabaseConfig database,
+    DefaultCurrencyConfig defaultCurrency,
+    BalanceCacheConfig balanceCache,
+    LedgerConfig ledger,
+    LeaderboardConfig leaderboard,
+    BalanceSnapshotConfig balanceSnapshot,
+    BankConfig bank,
+    VaultMetricsConfig vaultMetrics,
+    TaskRunnerConfig taskRunner
+) {
 }
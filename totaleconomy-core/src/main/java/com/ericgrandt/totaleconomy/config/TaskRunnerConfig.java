@@ -0,0 +1,6 @@
+package com.ericgrandt.totaleconomy.config;
+
+import com.ericgrandt.totaleconomy.common.infra.RejectionPolicy;
+
+public record TaskRunnerConfig(int maxQueuedTasks, RejectionPolicy rejectionPolicy) {
+}
@@ -0,0 +1,4 @@
+package com.ericgrandt.totaleconomy.config;
+
+public record VaultMetricsConfig(int logIntervalSeconds) {
+}
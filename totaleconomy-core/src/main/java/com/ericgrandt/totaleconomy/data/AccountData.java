@@ -1,41 +1,121 @@
 package com.ericgrandt.totaleconomy.data;
 
+import com.ericgrandt.totaleconomy.api.dto.TopBalance;
+import com.ericgrandt.totaleconomy.api.exception.DatabaseException;
+import com.ericgrandt.totaleconomy.api.model.Money;
+import com.ericgrandt.totaleconomy.common.data.UuidBytes;
+import com.ericgrandt.totaleconomy.common.data.dialect.Dialect;
+import com.ericgrandt.totaleconomy.dto.BalanceDelta;
 import com.ericgrandt.totaleconomy.dto.CreateAccountDto;
 import com.ericgrandt.totaleconomy.model.TEAccount;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 public class AccountData {
+    /// Balances are stored as a `BIGINT` count of 1/10,000ths, the same precision as the `DECIMAL(19, 4)` column
+    /// they replaced, whatever the currency's own number of fractional digits.
+    public static final int BALANCE_SCALE = 4;
+    /// The largest balance, positive or negative, that fits in `te_account.balance`.
+    public static final BigDecimal MAX_STORED_AMOUNT = BigDecimal.valueOf(Long.MAX_VALUE, BALANCE_SCALE);
+
+    // Batch selects are padded to a power of two up to this size, so only a handful of distinct statements ever reach
+    // the driver's prepared statement cache
+    private static final int MAX_BATCH_SELECT_SIZE = 512;
+    // Inserts are padded the same way, with far fewer rows since there's one per currency
+    private static final int MAX_BATCH_INSERT_SIZE = 32;
+    private static final List<String> ACCOUNT_COLUMNS = List.of("player_id", "currency_code", "balance");
+
+    private static final String SELECT_ACCOUNT =
+        "SELECT player_id, currency_code, balance FROM te_account WHERE player_id = ? AND currency_code = ?";
+    private static final String SELECT_BALANCE_FOR_UPDATE =
+        "SELECT balance FROM te_account WHERE player_id = ? AND currency_code = ? FOR UPDATE";
+    private static final String SELECT_ACCOUNTS =
+        "SELECT player_id, currency_code, balance FROM te_account WHERE player_id = ?";
+    // Ties are ordered by player_id in the same direction as balance, so the whole read is one backward scan of
+    // idx_te_account_currency_balance
+    private static final String SELECT_TOP_BALANCES = "SELECT player_id, balance FROM te_account "
+        + "WHERE currency_code = ? ORDER BY balance DESC, player_id DESC LIMIT ? OFFSET ?";
+    private static final String WITHDRAW =
+        "UPDATE te_account SET balance = balance - ? WHERE player_id = ? AND currency_code = ?";
+    private static final String WITHDRAW_WITH_MINIMUM_BALANCE =
+        "UPDATE te_account SET balance = balance - ? WHERE player_id = ? AND currency_code = ? AND balance >= ?";
+    private static final String DEPOSIT =
+        "UPDATE te_account SET balance = balance + ? WHERE player_id = ? AND currency_code = ?";
+    private static final List<String> SELECT_BALANCES_FOR_UPDATE = createBatchSelectQueries(
+        "SELECT player_id, balance FROM te_account WHERE currency_code = ? AND player_id IN (",
+        ") FOR UPDATE"
+    );
+    private static final List<String> SELECT_ACCOUNTS_OF_PLAYERS = createBatchSelectQueries(
+        "SELECT player_id, currency_code, balance FROM te_account WHERE player_id IN (",
+        ")"
+    );
+
+    private final String insertAccountQuery;
+    private final List<String> insertAccountsQueries;
+
+    public AccountData(Dialect dialect) {
+        this.insertAccountQuery = dialect.insertIgnore("te_account", ACCOUNT_COLUMNS);
+        this.insertAccountsQueries = createBatchInsertQueries(dialect);
+    }
+
     public TEAccount createAccount(Connection conn, CreateAccountDto req) throws SQLException {
-        var insertQuery = "INSERT IGNORE INTO te_account(player_id, currency_code, balance) VALUES (?, ?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(insertQuery)) {
-            stmt.setString(1, req.playerId().toString());
+        try (PreparedStatement stmt = conn.prepareStatement(insertAccountQuery)) {
+            stmt.setBytes(1, UuidBytes.toBytes(req.playerId()));
             stmt.setString(2, req.currencyCode());
-            stmt.setBigDecimal(3, req.balance());
+            stmt.setLong(3, toStoredUnits(req.balance()));
             stmt.executeUpdate();
         }
         return new TEAccount(req.playerId(), req.currencyCode(), req.balance());
     }
 
+    /// Creates the accounts that don't exist yet, with one statement per [#MAX_BATCH_INSERT_SIZE] accounts. Existing
+    /// accounts keep their balance.
+    public void createAccounts(Connection conn, List<CreateAccountDto> requests) throws SQLException {
+        for (var start = 0; start < requests.size(); start += MAX_BATCH_INSERT_SIZE) {
+            var chunk = requests.subList(start, Math.min(start + MAX_BATCH_INSERT_SIZE, requests.size()));
+            var querySize = Integer.highestOneBit(chunk.size() * 2 - 1);
+            var query = insertAccountsQueries.get(Integer.numberOfTrailingZeros(querySize));
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                // Unused rows repeat the last account, which is skipped as a duplicate
+                for (var i = 0; i < querySize; i++) {
+                    var req = chunk.get(Math.min(i, chunk.size() - 1));
+                    var column = i * ACCOUNT_COLUMNS.size();
+                    stmt.setBytes(column + 1, UuidBytes.toBytes(req.playerId()));
+                    stmt.setString(column + 2, req.currencyCode());
+                    stmt.setLong(column + 3, toStoredUnits(req.balance()));
+                }
+
+                stmt.executeUpdate();
+            }
+        }
+    }
+
     public Optional<TEAccount> getAccount(Connection conn, UUID playerId, String currencyCode) throws SQLException {
-        var query = "SELECT player_id, currency_code, balance FROM te_account WHERE player_id = ? AND currency_code = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
-            stmt.setString(1, playerId.toString());
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_ACCOUNT)) {
+            stmt.setBytes(1, UuidBytes.toBytes(playerId));
             stmt.setString(2, currencyCode);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     return Optional.of(
                         new TEAccount(
-                            UUID.fromString(rs.getString("player_id")),
+                            UuidBytes.fromBytes(rs.getBytes("player_id")),
                             rs.getString("currency_code"),
-                            rs.getBigDecimal("balance")
+                            fromStoredUnits(rs.getLong("balance"))
                         )
                     );
                 }
@@ -45,6 +125,148 @@ public class AccountData {
         return Optional.empty();
     }
 
+    /// Reads an account's balance and locks its row until the transaction ends, so a change applied afterward in the
+    /// same transaction can be added to this balance to get the new balance without reading it again.
+    public Optional<BigDecimal> getBalanceForUpdate(
+        Connection conn,
+        UUID playerId,
+        String currencyCode
+    ) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_BALANCE_FOR_UPDATE)) {
+            stmt.setBytes(1, UuidBytes.toBytes(playerId));
+            stmt.setString(2, currencyCode);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(fromStoredUnits(rs.getLong("balance")));
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /// Batch version of [#getBalanceForUpdate(Connection, UUID, String)]. Players without an account in the currency
+    /// are left out of the returned map.
+    public Map<UUID, BigDecimal> getBalancesForUpdate(
+        Connection conn,
+        Collection<UUID> playerIds,
+        String currencyCode
+    ) throws SQLException {
+        var balances = new HashMap<UUID, BigDecimal>();
+        // Sorted so rows are locked in the same order as transfers lock them. String order matches binary order.
+        var playerIdList = playerIds.stream().sorted(Comparator.comparing(UUID::toString)).toList();
+        for (var start = 0; start < playerIdList.size(); start += MAX_BATCH_SELECT_SIZE) {
+            var chunk = playerIdList.subList(
+                start,
+                Math.min(start + MAX_BATCH_SELECT_SIZE, playerIdList.size())
+            );
+            var querySize = Integer.highestOneBit(chunk.size() * 2 - 1);
+            var query = SELECT_BALANCES_FOR_UPDATE.get(Integer.numberOfTrailingZeros(querySize));
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setString(1, currencyCode);
+                // Unused placeholders repeat the last player, which matches the same row again
+                for (var i = 0; i < querySize; i++) {
+                    stmt.setBytes(i + 2, UuidBytes.toBytes(chunk.get(Math.min(i, chunk.size() - 1))));
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        balances.put(
+                            UuidBytes.fromBytes(rs.getBytes("player_id")),
+                            fromStoredUnits(rs.getLong("balance"))
+                        );
+                    }
+                }
+            }
+        }
+
+        return balances;
+    }
+
+    public List<TEAccount> getAccounts(Connection conn, UUID playerId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_ACCOUNTS)) {
+            stmt.setBytes(1, UuidBytes.toBytes(playerId));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                var accounts = new ArrayList<TEAccount>();
+                while (rs.next()) {
+                    accounts.add(
+                        new TEAccount(
+                            UuidBytes.fromBytes(rs.getBytes("player_id")),
+                            rs.getString("currency_code"),
+                            fromStoredUnits(rs.getLong("balance"))
+                        )
+                    );
+                }
+                return accounts;
+            }
+        }
+    }
+
+    /// Batch version of [#getAccounts(Connection, UUID)], reading every account of every player in a handful of
+    /// statements.
+    public List<TEAccount> getAccountsOfPlayers(Connection conn, Collection<UUID> playerIds) throws SQLException {
+        var accounts = new ArrayList<TEAccount>();
+        var playerIdList = List.copyOf(playerIds);
+        for (var start = 0; start < playerIdList.size(); start += MAX_BATCH_SELECT_SIZE) {
+            var chunk = playerIdList.subList(
+                start,
+                Math.min(start + MAX_BATCH_SELECT_SIZE, playerIdList.size())
+            );
+            var querySize = Integer.highestOneBit(chunk.size() * 2 - 1);
+            var query = SELECT_ACCOUNTS_OF_PLAYERS.get(Integer.numberOfTrailingZeros(querySize));
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                // Unused placeholders repeat the last player, which matches the same rows again
+                for (var i = 0; i < querySize; i++) {
+                    stmt.setBytes(i + 1, UuidBytes.toBytes(chunk.get(Math.min(i, chunk.size() - 1))));
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        accounts.add(
+                            new TEAccount(
+                                UuidBytes.fromBytes(rs.getBytes("player_id")),
+                                rs.getString("currency_code"),
+                                fromStoredUnits(rs.getLong("balance"))
+                            )
+                        );
+                    }
+                }
+            }
+        }
+
+        return accounts;
+    }
+
+    /// @return the accounts ranked `offset + 1` through `offset + limit` by balance in the currency, highest first
+    public List<TopBalance> getTopBalances(
+        Connection conn,
+        String currencyCode,
+        int offset,
+        int limit
+    ) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_TOP_BALANCES)) {
+            stmt.setString(1, currencyCode);
+            stmt.setInt(2, limit);
+            stmt.setInt(3, offset);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                var balances = new ArrayList<TopBalance>();
+                while (rs.next()) {
+                    balances.add(
+                        new TopBalance(
+                            offset + balances.size() + 1,
+                            UuidBytes.fromBytes(rs.getBytes("player_id")),
+                            fromStoredUnits(rs.getLong("balance"))
+                        )
+                    );
+                }
+                return balances;
+            }
+        }
+    }
+
     public boolean withdraw(
         Connection conn,
         UUID playerId,
@@ -52,18 +274,14 @@ public class AccountData {
         BigDecimal amount,
         boolean enforceMinimumBalance
     ) throws SQLException {
-        var query = "UPDATE te_account SET balance = balance - ? WHERE player_id = ? AND currency_code = ?";
-        if (enforceMinimumBalance) {
-            query = query + " AND balance >= ?";
-        }
-
+        var query = enforceMinimumBalance ? WITHDRAW_WITH_MINIMUM_BALANCE : WITHDRAW;
         try (PreparedStatement stmt = conn.prepareStatement(query)) {
-            stmt.setBigDecimal(1, amount);
-            stmt.setString(2, playerId.toString());
+            stmt.setLong(1, toStoredUnits(amount));
+            stmt.setBytes(2, UuidBytes.toBytes(playerId));
             stmt.setString(3, currencyCode);
 
             if (enforceMinimumBalance) {
-                stmt.setBigDecimal(4, amount);
+                stmt.setLong(4, toStoredUnits(amount));
             }
 
             return stmt.executeUpdate() > 0;
@@ -76,13 +294,71 @@ public class AccountData {
         String currencyCode,
         BigDecimal amount
     ) throws SQLException {
-        var query = "UPDATE te_account SET balance = balance + ? WHERE player_id = ? AND currency_code = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
-            stmt.setBigDecimal(1, amount);
-            stmt.setString(2, playerId.toString());
+        try (PreparedStatement stmt = conn.prepareStatement(DEPOSIT)) {
+            stmt.setLong(1, toStoredUnits(amount));
+            stmt.setBytes(2, UuidBytes.toBytes(playerId));
             stmt.setString(3, currencyCode);
 
             return stmt.executeUpdate() > 0;
         }
     }
+
+    public void applyBalanceDeltas(Connection conn, Collection<BalanceDelta> deltas) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DEPOSIT)) {
+            for (var delta : deltas) {
+                stmt.setLong(1, toStoredUnits(delta.amount()));
+                stmt.setBytes(2, UuidBytes.toBytes(delta.playerId()));
+                stmt.setString(3, delta.currencyCode());
+                stmt.addBatch();
+            }
+
+            stmt.executeBatch();
+        }
+    }
+
+    private static List<String> createBatchSelectQueries(String prefix, String suffix) {
+        var queries = new ArrayList<String>();
+        for (var size = 1; size <= MAX_BATCH_SELECT_SIZE; size *= 2) {
+            queries.add(prefix + String.join(", ", Collections.nCopies(size, "?")) + suffix);
+        }
+        return List.copyOf(queries);
+    }
+
+    private static List<String> createBatchInsertQueries(Dialect dialect) {
+        var queries = new ArrayList<String>();
+        for (var size = 1; size <= MAX_BATCH_INSERT_SIZE; size *= 2) {
+            queries.add(dialect.insertIgnore("te_account", ACCOUNT_COLUMNS, size));
+        }
+        return List.copyOf(queries);
+    }
+
+    /// Converts an amount to the units stored in `te_account.balance`, rounding the way the database rounded amounts
+    /// with more than [#BALANCE_SCALE] fractional digits.
+    ///
+    /// @throws DatabaseException if the amount is larger than [#MAX_STORED_AMOUNT] either side of zero
+    public static long toStoredUnits(BigDecimal amount) {
+        var rounded = amount.setScale(BALANCE_SCALE, RoundingMode.HALF_UP);
+        if (rounded.abs().compareTo(MAX_STORED_AMOUNT) > 0) {
+            throw new DatabaseException("amount %s is too large to store".formatted(amount.toPlainString()));
+        }
+        return Money.of(rounded, BALANCE_SCALE, RoundingMode.UNNECESSARY).minorUnits();
+    }
+
+    /// Adds a delta to a balance held in stored units.
+    ///
+    /// @throws DatabaseException if the new balance is larger than [#MAX_STORED_AMOUNT] either side of zero
+    public static long addStoredUnits(long balance, long delta) {
+        var result = balance + delta;
+        if (((balance ^ result) & (delta ^ result)) < 0 || result == Long.MIN_VALUE) {
+            throw new DatabaseException("balance %s plus %s is too large to store".formatted(
+                fromStoredUnits(balance).toPlainString(),
+                fromStoredUnits(delta).toPlainString()
+            ));
+        }
+        return result;
+    }
+
+    public static BigDecimal fromStoredUnits(long storedUnits) {
+        return BigDecimal.valueOf(storedUnits, BALANCE_SCALE);
+    }
 }
@@ -0,0 +1,41 @@
+package com.ericgrandt.totaleconomy.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+/// Records which [BalanceJournal] segments have been written to `te_account`, so replaying a segment after a crash
+/// never applies its deltas twice.
+public class BalanceFlushData {
+    private static final String SELECT_FLUSH = "SELECT 1 FROM te_balance_flush WHERE id = ?";
+    private static final String INSERT_FLUSH = "INSERT INTO te_balance_flush(id) VALUES (?)";
+    private static final String DELETE_FLUSHES_BEFORE = "DELETE FROM te_balance_flush WHERE created_at < ?";
+
+    public boolean isApplied(Connection conn, UUID flushId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_FLUSH)) {
+            stmt.setString(1, flushId.toString());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    public void markApplied(Connection conn, UUID flushId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_FLUSH)) {
+            stmt.setString(1, flushId.toString());
+            stmt.executeUpdate();
+        }
+    }
+
+    public int deleteAppliedBefore(Connection conn, Instant cutoff) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DELETE_FLUSHES_BEFORE)) {
+            stmt.setTimestamp(1, Timestamp.from(cutoff));
+            return stmt.executeUpdate();
+        }
+    }
+}
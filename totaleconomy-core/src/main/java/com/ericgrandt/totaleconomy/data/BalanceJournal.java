@@ -0,0 +1,183 @@
+package com.ericgrandt.totaleconomy.data;
+
+import com.ericgrandt.totaleconomy.dto.BalanceDelta;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/// Append-only, fsync'd log of balance changes that have been acknowledged but not yet written to the database.
+///
+/// The journal is split into segments. Each segment is rotated out as a whole when its changes are flushed, and its id
+/// doubles as the idempotency key for that flush (see [BalanceFlushData]). Every record carries a length and checksum
+/// so a record torn by a crash mid-write is detected and ignored; such a record was never acknowledged.
+public class BalanceJournal implements Closeable {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private final Path directory;
+
+    private Segment activeSegment;
+    private FileChannel activeChannel;
+
+    public BalanceJournal(Path directory) {
+        this.directory = directory;
+    }
+
+    public record Segment(UUID id, Path path) {
+    }
+
+    /// Opens a fresh segment for appending. Existing segments should be recovered with [#findSegments()] first.
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        openNewSegment();
+    }
+
+    /// Durably appends a group of deltas as a single record. The deltas are either all recovered or none are.
+    public synchronized void append(List<BalanceDelta> deltas) throws IOException {
+        var payload = encode(deltas);
+        var checksum = new CRC32();
+        checksum.update(payload);
+
+        var buffer = ByteBuffer.allocate(Integer.BYTES + Long.BYTES + payload.length);
+        buffer.putInt(payload.length).putLong(checksum.getValue()).put(payload).flip();
+        while (buffer.hasRemaining()) {
+            activeChannel.write(buffer);
+        }
+        activeChannel.force(false);
+    }
+
+    /// Closes the active segment and starts a new one.
+    ///
+    /// @return the segment that was closed
+    public synchronized Segment rotate() throws IOException {
+        var previousSegment = activeSegment;
+        var previousChannel = activeChannel;
+
+        openNewSegment();
+        previousChannel.close();
+
+        return previousSegment;
+    }
+
+    public List<Segment> findSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+
+        try (var files = Files.list(directory)) {
+            return files.map(this::toSegment).flatMap(Optional::stream).toList();
+        }
+    }
+
+    public List<BalanceDelta> read(Segment segment) throws IOException {
+        var deltas = new ArrayList<BalanceDelta>();
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment.path())))) {
+            while (true) {
+                int length;
+                long expectedChecksum;
+                try {
+                    length = in.readInt();
+                    expectedChecksum = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length <= 0 || length > MAX_RECORD_SIZE) {
+                    break;
+                }
+
+                var payload = in.readNBytes(length);
+                var checksum = new CRC32();
+                checksum.update(payload);
+                if (payload.length != length || checksum.getValue() != expectedChecksum) {
+                    break;
+                }
+
+                deltas.addAll(decode(payload));
+            }
+        }
+
+        return deltas;
+    }
+
+    public void delete(Segment segment) throws IOException {
+        Files.deleteIfExists(segment.path());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (activeChannel != null) {
+            activeChannel.close();
+        }
+    }
+
+    private void openNewSegment() throws IOException {
+        var id = UUID.randomUUID();
+        var path = directory.resolve(SEGMENT_PREFIX + id + SEGMENT_SUFFIX);
+
+        activeChannel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        activeSegment = new Segment(id, path);
+    }
+
+    private Optional<Segment> toSegment(Path path) {
+        var fileName = path.getFileName().toString();
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_SUFFIX)) {
+            return Optional.empty();
+        }
+
+        try {
+            var id = fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length());
+            return Optional.of(new Segment(UUID.fromString(id), path));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] encode(List<BalanceDelta> deltas) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeShort(deltas.size());
+            for (var delta : deltas) {
+                out.writeLong(delta.playerId().getMostSignificantBits());
+                out.writeLong(delta.playerId().getLeastSignificantBits());
+                out.writeUTF(delta.currencyCode());
+                out.writeUTF(delta.amount().toPlainString());
+            }
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static List<BalanceDelta> decode(byte[] payload) throws IOException {
+        try (var in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            var count = in.readUnsignedShort();
+            var deltas = new ArrayList<BalanceDelta>(count);
+            for (var i = 0; i < count; i++) {
+                deltas.add(new BalanceDelta(
+                    new UUID(in.readLong(), in.readLong()),
+                    in.readUTF(),
+                    new BigDecimal(in.readUTF())
+                ));
+            }
+
+            return deltas;
+        }
+    }
+}
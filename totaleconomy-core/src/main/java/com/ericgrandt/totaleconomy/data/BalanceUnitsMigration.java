@@ -0,0 +1,87 @@
+package com.ericgrandt.totaleconomy.data;
+
+import com.ericgrandt.totaleconomy.common.data.migration.SchemaChanges;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/// Converts `te_account.balance` from `DECIMAL(19, 4)` to a `BIGINT` count of [AccountData#BALANCE_SCALE] units.
+///
+/// The converted values are written to a new `balance_units` column one id range at a time, each in its own
+/// transaction, and the columns are then swapped. Every step checks the current schema first, so a migration
+/// interrupted by a crash or restart continues where it left off.
+///
+/// `DECIMAL(19, 4)` holds balances up to about 10^15 while a `BIGINT` of units tops out at
+/// [AccountData#MAX_STORED_AMOUNT], so the migration refuses to start while any balance is outside that range rather
+/// than failing part way through.
+public class BalanceUnitsMigration {
+    private static final String TABLE = "te_account";
+    private static final String OLD_COLUMN = "balance";
+    private static final String NEW_COLUMN = "balance_units";
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final long UNITS_PER_WHOLE = 10_000L;
+    private static final String COUNT_OUT_OF_RANGE_BALANCES =
+        "SELECT COUNT(*) FROM te_account WHERE balance > ? OR balance < ?";
+
+    private final int chunkSize;
+
+    public BalanceUnitsMigration() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public BalanceUnitsMigration(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public void migrate(Connection conn) throws SQLException {
+        var oldColumnType = SchemaChanges.getColumnType(conn, TABLE, OLD_COLUMN);
+        var isMigrated = oldColumnType != null && oldColumnType == Types.BIGINT;
+        var hasNewColumn = SchemaChanges.getColumnType(conn, TABLE, NEW_COLUMN) != null;
+        if (isMigrated && !hasNewColumn) {
+            return;
+        }
+
+        if (oldColumnType != null && !isMigrated) {
+            requireBalancesInRange(conn);
+            if (!hasNewColumn) {
+                SchemaChanges.execute(conn, "ALTER TABLE %s ADD COLUMN %s BIGINT NULL".formatted(TABLE, NEW_COLUMN));
+            }
+
+            SchemaChanges.updateInChunks(
+                conn,
+                TABLE,
+                "%s = %s * %d".formatted(NEW_COLUMN, OLD_COLUMN, UNITS_PER_WHOLE),
+                NEW_COLUMN + " IS NULL",
+                chunkSize
+            );
+            SchemaChanges.alterTableOnline(conn, TABLE, "DROP COLUMN " + OLD_COLUMN);
+        }
+
+        SchemaChanges.alterTableOnline(conn, TABLE, "RENAME COLUMN %s TO %s".formatted(NEW_COLUMN, OLD_COLUMN));
+        SchemaChanges.alterTableOnline(
+            conn,
+            TABLE,
+            "MODIFY COLUMN %s BIGINT NOT NULL DEFAULT 0".formatted(OLD_COLUMN)
+        );
+    }
+
+    private static void requireBalancesInRange(Connection conn) throws SQLException {
+        try (var stmt = conn.prepareStatement(COUNT_OUT_OF_RANGE_BALANCES)) {
+            stmt.setBigDecimal(1, AccountData.MAX_STORED_AMOUNT);
+            stmt.setBigDecimal(2, AccountData.MAX_STORED_AMOUNT.negate());
+            try (var rs = stmt.executeQuery()) {
+                rs.next();
+                var count = rs.getLong(1);
+                if (count > 0) {
+                    throw new SQLException(
+                        "%d balances are larger than %s and can't be converted; reduce them and restart".formatted(
+                            count,
+                            AccountData.MAX_STORED_AMOUNT.toPlainString()
+                        )
+                    );
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.ericgrandt.totaleconomy.data;
+
+import com.ericgrandt.totaleconomy.common.data.UuidBytes;
+import com.ericgrandt.totaleconomy.common.data.dialect.Dialect;
+import com.ericgrandt.totaleconomy.model.TEBank;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/// Banks and the shard rows their balances are split across. Shard balances are stored in the same units as
+/// `te_account.balance`.
+public class BankData {
+    private static final String INSERT_SHARD = "INSERT INTO te_bank_shard(bank_name, shard) VALUES (?, ?)";
+    private static final String DELETE_BANK = "DELETE FROM te_bank WHERE name = ?";
+    private static final String SELECT_BANK =
+        "SELECT name, owner_id, currency_code, shard_count FROM te_bank WHERE name = ?";
+    private static final String SELECT_BANK_NAMES = "SELECT name FROM te_bank ORDER BY name";
+    private static final String SELECT_BALANCE =
+        "SELECT SUM(balance) AS balance FROM te_bank_shard WHERE bank_name = ?";
+    // Locked in shard order, so two withdrawals that both need every shard can't deadlock
+    private static final String SELECT_SHARD_BALANCES_FOR_UPDATE =
+        "SELECT shard, balance FROM te_bank_shard WHERE bank_name = ? ORDER BY shard FOR UPDATE";
+    private static final String DEPOSIT =
+        "UPDATE te_bank_shard SET balance = balance + ? WHERE bank_name = ? AND shard = ?";
+    private static final String WITHDRAW_WITH_MINIMUM_BALANCE =
+        "UPDATE te_bank_shard SET balance = balance - ? WHERE bank_name = ? AND shard = ? AND balance >= ?";
+
+    private final String insertBankQuery;
+
+    public BankData(Dialect dialect) {
+        this.insertBankQuery = dialect.insertIgnore(
+            "te_bank",
+            List.of("name", "owner_id", "currency_code", "shard_count")
+        );
+    }
+
+    /// Creates a bank with an empty balance in each of its shards.
+    ///
+    /// @return `false` without changing anything if a bank with the name already exists
+    public boolean createBank(Connection conn, TEBank bank) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(insertBankQuery)) {
+            stmt.setString(1, bank.name());
+            stmt.setBytes(2, UuidBytes.toBytes(bank.ownerId()));
+            stmt.setString(3, bank.currencyCode());
+            stmt.setInt(4, bank.shardCount());
+            if (stmt.executeUpdate() == 0) {
+                return false;
+            }
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SHARD)) {
+            for (var shard = 0; shard < bank.shardCount(); shard++) {
+                stmt.setString(1, bank.name());
+                stmt.setInt(2, shard);
+                stmt.addBatch();
+            }
+
+            stmt.executeBatch();
+        }
+
+        return true;
+    }
+
+    /// Deletes a bank along with its shards.
+    ///
+    /// @return whether the bank existed
+    public boolean deleteBank(Connection conn, String name) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DELETE_BANK)) {
+            stmt.setString(1, name);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    public Optional<TEBank> getBank(Connection conn, String name) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_BANK)) {
+            stmt.setString(1, name);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+
+                return Optional.of(
+                    new TEBank(
+                        rs.getString("name"),
+                        UuidBytes.fromBytes(rs.getBytes("owner_id")),
+                        rs.getString("currency_code"),
+                        rs.getInt("shard_count")
+                    )
+                );
+            }
+        }
+    }
+
+    public List<String> getBankNames(Connection conn) throws SQLException {
+        try (
+            PreparedStatement stmt = conn.prepareStatement(SELECT_BANK_NAMES);
+            ResultSet rs = stmt.executeQuery()
+        ) {
+            var names = new ArrayList<String>();
+            while (rs.next()) {
+                names.add(rs.getString("name"));
+            }
+            return names;
+        }
+    }
+
+    /// Sums the bank's shards without locking them.
+    ///
+    /// @return the balance, or an empty [Optional] if the bank has no shards
+    public Optional<BigDecimal> getBalance(Connection conn, String name) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_BALANCE)) {
+            stmt.setString(1, name);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                var balance = rs.getLong("balance");
+                return rs.wasNull() ? Optional.empty() : Optional.of(AccountData.fromStoredUnits(balance));
+            }
+        }
+    }
+
+    /// Locks every shard of the bank.
+    ///
+    /// @return the balance of each shard, in shard order
+    public Map<Integer, BigDecimal> getShardBalancesForUpdate(Connection conn, String name) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_SHARD_BALANCES_FOR_UPDATE)) {
+            stmt.setString(1, name);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                var balances = new LinkedHashMap<Integer, BigDecimal>();
+                while (rs.next()) {
+                    balances.put(rs.getInt("shard"), AccountData.fromStoredUnits(rs.getLong("balance")));
+                }
+                return balances;
+            }
+        }
+    }
+
+    /// @return whether the shard exists
+    public boolean deposit(Connection conn, String name, int shard, BigDecimal amount) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DEPOSIT)) {
+            stmt.setLong(1, AccountData.toStoredUnits(amount));
+            stmt.setString(2, name);
+            stmt.setInt(3, shard);
+
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /// Withdraws from one shard, only if that shard's balance covers the amount on its own.
+    ///
+    /// @return whether the shard's balance was changed
+    public boolean withdrawFromShard(Connection conn, String name, int shard, BigDecimal amount) throws SQLException {
+        var units = AccountData.toStoredUnits(amount);
+        try (PreparedStatement stmt = conn.prepareStatement(WITHDRAW_WITH_MINIMUM_BALANCE)) {
+            stmt.setLong(1, units);
+            stmt.setString(2, name);
+            stmt.setInt(3, shard);
+            stmt.setLong(4, units);
+
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /// Adds a delta to each of several shards in one batch.
+    public void applyShardDeltas(Connection conn, String name, Map<Integer, BigDecimal> deltas) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(DEPOSIT)) {
+            for (var delta : deltas.entrySet()) {
+                stmt.setLong(1, AccountData.toStoredUnits(delta.getValue()));
+                stmt.setString(2, name);
+                stmt.setInt(3, delta.getKey());
+                stmt.addBatch();
+            }
+
+            stmt.executeBatch();
+        }
+    }
+}
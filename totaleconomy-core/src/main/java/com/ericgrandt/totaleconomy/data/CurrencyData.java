@@ -12,9 +12,13 @@ import java.util.List;
 import java.util.Optional;
 
 public class CurrencyData {
+    private static final String SELECT_CURRENCIES =
+        "SELECT code, name, plural_name, symbol, fractional_digits, starting_balance, is_default FROM te_currency";
+    private static final String SELECT_DEFAULT_CURRENCY = SELECT_CURRENCIES + " WHERE is_default IS TRUE LIMIT 1";
+    private static final String SELECT_CURRENCY = SELECT_CURRENCIES + " WHERE code = ?";
+
     public TECurrency getDefaultCurrency(Connection conn) throws SQLException {
-        var query = "SELECT code, name, plural_name, symbol, fractional_digits, starting_balance, is_default FROM te_currency WHERE is_default IS TRUE LIMIT 1";
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_DEFAULT_CURRENCY)) {
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     return new TECurrency(
@@ -34,8 +38,7 @@ public class CurrencyData {
     }
 
     public List<TECurrency> getSupportedCurrencies(Connection conn) throws SQLException {
-        var query = "SELECT code, name, plural_name, symbol, fractional_digits, starting_balance, is_default FROM te_currency";
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_CURRENCIES)) {
             try (ResultSet rs = stmt.executeQuery()) {
                 var supportedCurrencies = new ArrayList<TECurrency>();
                 while (rs.next()) {
@@ -57,8 +60,7 @@ public class CurrencyData {
     }
 
     public Optional<TECurrency> getCurrency(Connection conn, String currencyCode) throws SQLException {
-        var query = "SELECT code, name, plural_name, symbol, fractional_digits, starting_balance, is_default FROM te_currency WHERE code = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_CURRENCY)) {
             stmt.setString(1, currencyCode);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -1,33 +1,85 @@
 package com.ericgrandt.totaleconomy.data;
 
+import com.ericgrandt.totaleconomy.api.dto.ConnectionPoolStats;
 import com.ericgrandt.totaleconomy.api.infra.DataSourceProvider;
+import com.ericgrandt.totaleconomy.common.data.dialect.Dialect;
+import com.ericgrandt.totaleconomy.config.DatabaseConfig;
+import com.ericgrandt.totaleconomy.config.DatabaseType;
+import com.ericgrandt.totaleconomy.config.PoolConfig;
+import com.ericgrandt.totaleconomy.config.StatementCacheConfig;
 import com.ericgrandt.totaleconomy.config.TEConfig;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
 import javax.sql.DataSource;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
 
 public class Database implements DataSourceProvider {
-    private final DataSource dataSource;
+    private static final String POOL_NAME = "TotalEconomy";
+    private static final String EMBEDDED_DRIVER = "org.h2.Driver";
 
-    public Database(String url, String username, String password) {
-        this.dataSource = createDataSource(url, username, password);
+    private final PoolMetricsTracker metricsTracker = new PoolMetricsTracker();
+    private final HikariDataSource dataSource;
+
+    public Database(DatabaseConfig databaseConfig) {
+        this.dataSource = createDataSource(databaseConfig);
     }
 
-    private HikariDataSource createDataSource(String url, String username, String password) {
+    private HikariDataSource createDataSource(DatabaseConfig databaseConfig) {
         var config = new HikariConfig();
-        config.setJdbcUrl(url);
-        config.setUsername(username);
-        config.setPassword(password);
+        config.setJdbcUrl(databaseConfig.url());
+        if (databaseConfig.type() == DatabaseType.EMBEDDED) {
+            // Named explicitly since the driver is loaded as a plugin library, where DriverManager may not find it
+            config.setDriverClassName(EMBEDDED_DRIVER);
+        }
+        config.setUsername(databaseConfig.user());
+        config.setPassword(databaseConfig.password());
+
+        config.setPoolName(POOL_NAME);
+        // Publishes the pool MXBean over JMX so operators can watch pool saturation
+        config.setRegisterMbeans(true);
+        config.setMetricsTrackerFactory(metricsTracker);
 
-        config.setMinimumIdle(3);
-        config.setMaximumPoolSize(10);
+        configurePool(config, databaseConfig.pool());
+        configureStatementCache(config, databaseConfig.statementCache());
 
         return new HikariDataSource(config);
     }
 
+    private static void configurePool(HikariConfig config, PoolConfig pool) {
+        config.setMaximumPoolSize(pool.maximumPoolSize());
+        config.setMinimumIdle(pool.minimumIdle());
+        config.setConnectionTimeout(pool.connectionTimeoutMillis());
+        config.setIdleTimeout(pool.idleTimeoutMillis());
+        config.setMaxLifetime(pool.maxLifetimeMillis());
+        config.setKeepaliveTime(pool.keepaliveTimeMillis());
+        config.setValidationTimeout(pool.validationTimeoutMillis());
+        config.setLeakDetectionThreshold(pool.leakDetectionThresholdMillis());
+    }
+
+    /// Lets the driver keep each connection's prepared statements, so the constant statements in the data classes are
+    /// parsed by the server once per connection rather than on every call. Drivers that don't recognize these
+    /// properties, such as H2, ignore them.
+    private static void configureStatementCache(HikariConfig config, StatementCacheConfig statementCache) {
+        config.addDataSourceProperty("cachePrepStmts", statementCache.enabled());
+        config.addDataSourceProperty("prepStmtCacheSize", statementCache.size());
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", statementCache.sqlLimit());
+        config.addDataSourceProperty("useServerPrepStmts", statementCache.serverSide());
+        config.addDataSourceProperty("cacheResultSetMetadata", statementCache.enabled());
+        // Avoids a round trip to the server each time a transaction sets auto-commit or the isolation level
+        config.addDataSourceProperty("useLocalSessionState", true);
+        // Sends batched updates, such as balance flushes, as one multi-row statement
+        config.addDataSourceProperty("rewriteBatchedStatements", true);
+    }
+
+    /// @param file the database file, without the `.mv.db` extension H2 adds
+    /// @return the URL of an embedded database. It runs in MySQL mode, which the [Dialect] for H2 relies on.
+    public static String embeddedUrl(Path file) {
+        return "jdbc:h2:file:%s;MODE=MySQL;DB_CLOSE_ON_EXIT=FALSE".formatted(file.toAbsolutePath());
+    }
+
     public void initDatabase(TEConfig config) throws SQLException {
         try (Connection conn = dataSource.getConnection()) {
             DatabaseBootstrapper.initSchema(conn);
@@ -35,8 +87,38 @@ public class Database implements DataSourceProvider {
         }
     }
 
+    public Dialect getDialect() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            return Dialect.of(conn);
+        }
+    }
+
     @Override
     public DataSource getDataSource() {
         return dataSource;
     }
+
+    @Override
+    public int getMaximumPoolSize() {
+        return dataSource.getMaximumPoolSize();
+    }
+
+    @Override
+    public ConnectionPoolStats getPoolStats() {
+        var pool = dataSource.getHikariPoolMXBean();
+        return new ConnectionPoolStats(
+            pool.getActiveConnections(),
+            pool.getIdleConnections(),
+            pool.getTotalConnections(),
+            dataSource.getMaximumPoolSize(),
+            pool.getThreadsAwaitingConnection(),
+            metricsTracker.getConnectionsAcquired(),
+            metricsTracker.getAverageWaitTime(),
+            metricsTracker.getConnectionTimeouts()
+        );
+    }
+
+    public void close() {
+        dataSource.close();
+    }
 }
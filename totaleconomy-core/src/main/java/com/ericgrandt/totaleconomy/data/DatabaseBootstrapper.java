@@ -1,25 +1,60 @@
 package com.ericgrandt.totaleconomy.data;
 
+import com.ericgrandt.totaleconomy.common.data.dialect.Dialect;
+import com.ericgrandt.totaleconomy.common.data.migration.BinaryUuidMigration;
+import com.ericgrandt.totaleconomy.common.data.migration.Migration;
+import com.ericgrandt.totaleconomy.common.data.migration.MigrationRunner;
+import com.ericgrandt.totaleconomy.common.data.migration.SchemaChanges;
 import com.ericgrandt.totaleconomy.config.TEConfig;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 
-// TODO: Look into creating a DB dialect interface that supports other DBs besides MySQL
 public class DatabaseBootstrapper {
+    private static final String MODULE = "core";
+
+    // Append new migrations to the end. Never remove one that has been released, and bump the revision of any that
+    // changes.
+    private static final List<Migration> MIGRATIONS = List.of(
+        // Tables are created IF NOT EXISTS, so databases that predate versioning adopt this as their baseline
+        Migration.of(
+            1,
+            "create currency, account and balance flush tables",
+            1,
+            DatabaseBootstrapper::createTables
+        ),
+        Migration.of(
+            2,
+            "store te_account.player_id as BINARY(16)",
+            1,
+            new BinaryUuidMigration("te_account", "uk_te_account_player_currency", "player_id, currency_code")::migrate
+        ),
+        Migration.of(3, "store te_account.balance as BIGINT units", 1, new BalanceUnitsMigration()::migrate),
+        Migration.of(4, "create transaction ledger table", 1, DatabaseBootstrapper::createTransactionTable),
+        Migration.of(5, "index te_account by currency and balance", 1, DatabaseBootstrapper::addBalanceIndex),
+        Migration.of(6, "create bank and bank shard tables", 1, DatabaseBootstrapper::createBankTables)
+    );
+
     public static void initSchema(Connection conn) throws SQLException {
-        createCurrencyTable(conn);
-        createAccountTable(conn);
+        new MigrationRunner(MODULE, MIGRATIONS).migrate(conn);
     }
 
     public static void initData(Connection conn, TEConfig config) throws SQLException {
         seedDefaultCurrency(conn, config);
     }
 
-    private static void createCurrencyTable(Connection conn) throws SQLException {
+    private static void createTables(Connection conn) throws SQLException {
+        var dialect = Dialect.of(conn);
+        createCurrencyTable(conn, dialect);
+        createAccountTable(conn, dialect);
+        createBalanceFlushTable(conn);
+    }
+
+    private static void createCurrencyTable(Connection conn, Dialect dialect) throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS te_currency (
-                id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                id %s,
                 code VARCHAR(10) NOT NULL UNIQUE,
                 name VARCHAR(20) NOT NULL UNIQUE,
                 plural_name VARCHAR(21) NOT NULL UNIQUE,
@@ -29,24 +64,37 @@ public class DatabaseBootstrapper {
                 is_default BOOLEAN NOT NULL,
                 created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP
             )
-            """;
+            """.formatted(dialect.autoIncrementPrimaryKey());
 
         try (var stmt = conn.createStatement()) {
             stmt.execute(sql);
         }
     }
 
-    private static void createAccountTable(Connection conn) throws SQLException {
+    private static void createAccountTable(Connection conn, Dialect dialect) throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS te_account (
-                id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
-                player_id VARCHAR(36) NOT NULL,
+                id %s,
+                player_id BINARY(16) NOT NULL,
                 currency_code VARCHAR(10) NOT NULL,
-                balance DECIMAL(19, 4) NOT NULL DEFAULT 0,
+                balance BIGINT NOT NULL DEFAULT 0,
                 created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
                 FOREIGN KEY (currency_code) REFERENCES te_currency(code) ON DELETE CASCADE,
                 UNIQUE KEY uk_te_account_player_currency (player_id, currency_code)
             )
+            """.formatted(dialect.autoIncrementPrimaryKey());
+
+        try (var stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private static void createBalanceFlushTable(Connection conn) throws SQLException {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS te_balance_flush (
+                id VARCHAR(36) NOT NULL PRIMARY KEY,
+                created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+            )
             """;
 
         try (var stmt = conn.createStatement()) {
@@ -54,26 +102,72 @@ public class DatabaseBootstrapper {
         }
     }
 
-    private static void seedDefaultCurrency(Connection conn, TEConfig config) throws SQLException {
+    // No foreign keys, so the ledger outlives the accounts and currencies it mentions
+    private static void createTransactionTable(Connection conn) throws SQLException {
         String sql = """
-            INSERT IGNORE INTO te_currency (
-                code,
-                name,
-                plural_name,
-                symbol,
-                fractional_digits,
-                starting_balance,
-                is_default
-            ) VALUES (
-                ?,
-                ?,
-                ?,
-                ?,
-                ?,
-                ?,
-                true
+            CREATE TABLE IF NOT EXISTS te_transaction (
+                id %s,
+                type VARCHAR(10) NOT NULL,
+                player_id BINARY(16) NOT NULL,
+                counterparty_id BINARY(16),
+                currency_code VARCHAR(10) NOT NULL,
+                amount BIGINT NOT NULL,
+                balance BIGINT,
+                source VARCHAR(64),
+                created_at TIMESTAMP(3) NOT NULL
+            )
+            """.formatted(Dialect.of(conn).autoIncrementPrimaryKey("BIGINT"));
+
+        try (var stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+        SchemaChanges.addIndex(conn, "te_transaction", "idx_te_transaction_player", "player_id, id", false);
+    }
+
+    // Includes player_id so leaderboard reads are answered from the index alone, in the order they're returned
+    private static void addBalanceIndex(Connection conn) throws SQLException {
+        SchemaChanges.addIndex(
+            conn,
+            "te_account",
+            "idx_te_account_currency_balance",
+            "currency_code, balance, player_id",
+            false
+        );
+    }
+
+    // A bank's balance is split across its shard rows, so concurrent deposits rarely wait on the same row lock
+    private static void createBankTables(Connection conn) throws SQLException {
+        String bankSql = """
+            CREATE TABLE IF NOT EXISTS te_bank (
+                name VARCHAR(64) NOT NULL PRIMARY KEY,
+                owner_id BINARY(16) NOT NULL,
+                currency_code VARCHAR(10) NOT NULL,
+                shard_count INT NOT NULL,
+                created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                FOREIGN KEY (currency_code) REFERENCES te_currency(code) ON DELETE CASCADE
             )
             """;
+        String shardSql = """
+            CREATE TABLE IF NOT EXISTS te_bank_shard (
+                bank_name VARCHAR(64) NOT NULL,
+                shard INT NOT NULL,
+                balance BIGINT NOT NULL DEFAULT 0,
+                PRIMARY KEY (bank_name, shard),
+                FOREIGN KEY (bank_name) REFERENCES te_bank(name) ON DELETE CASCADE
+            )
+            """;
+
+        try (var stmt = conn.createStatement()) {
+            stmt.execute(bankSql);
+            stmt.execute(shardSql);
+        }
+    }
+
+    private static void seedDefaultCurrency(Connection conn, TEConfig config) throws SQLException {
+        String sql = Dialect.of(conn).insertIgnore(
+            "te_currency",
+            List.of("code", "name", "plural_name", "symbol", "fractional_digits", "starting_balance", "is_default")
+        );
 
         try (var stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, config.defaultCurrency().code());
@@ -82,6 +176,7 @@ public class DatabaseBootstrapper {
             stmt.setString(4, config.defaultCurrency().symbol());
             stmt.setInt(5, config.defaultCurrency().fractionalDigits());
             stmt.setBigDecimal(6, config.defaultCurrency().startingBalance());
+            stmt.setBoolean(7, true);
             stmt.execute();
         }
     }
@@ -0,0 +1,44 @@
+package com.ericgrandt.totaleconomy.data;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.IMetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Records how long threads wait for a connection, which Hikari's pool MXBean does not report.
+class PoolMetricsTracker implements IMetricsTrackerFactory, IMetricsTracker {
+    private final LongAdder connectionsAcquired = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAdder connectionTimeouts = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return this;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        connectionsAcquired.increment();
+        acquireNanos.add(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        connectionTimeouts.increment();
+    }
+
+    long getConnectionsAcquired() {
+        return connectionsAcquired.sum();
+    }
+
+    Duration getAverageWaitTime() {
+        var acquired = connectionsAcquired.sum();
+        return acquired == 0 ? Duration.ZERO : Duration.ofNanos(acquireNanos.sum() / acquired);
+    }
+
+    long getConnectionTimeouts() {
+        return connectionTimeouts.sum();
+    }
+}
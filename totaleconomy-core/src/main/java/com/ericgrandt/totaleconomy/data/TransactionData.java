@@ -0,0 +1,82 @@
+package com.ericgrandt.totaleconomy.data;
+
+import com.ericgrandt.totaleconomy.common.data.UuidBytes;
+import com.ericgrandt.totaleconomy.dto.LedgerEntry;
+import com.ericgrandt.totaleconomy.dto.TransactionType;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/// Reads and writes the append-only `te_transaction` ledger. Amounts and balances are stored in the same units as
+/// `te_account.balance`.
+public class TransactionData {
+    private static final String INSERT_TRANSACTION = "INSERT INTO te_transaction(type, player_id, counterparty_id, "
+        + "currency_code, amount, balance, source, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_TRANSACTIONS = "SELECT type, player_id, counterparty_id, currency_code, amount, "
+        + "balance, source, created_at FROM te_transaction WHERE player_id = ? ORDER BY id DESC LIMIT ?";
+
+    /// Inserts the entries as one batch, which the MySQL driver rewrites into multi-row `INSERT` statements.
+    public void insertTransactions(Connection conn, Collection<LedgerEntry> entries) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_TRANSACTION)) {
+            for (var entry : entries) {
+                stmt.setString(1, entry.type().name());
+                stmt.setBytes(2, UuidBytes.toBytes(entry.playerId()));
+                if (entry.counterpartyId() != null) {
+                    stmt.setBytes(3, UuidBytes.toBytes(entry.counterpartyId()));
+                } else {
+                    stmt.setNull(3, Types.BINARY);
+                }
+                stmt.setString(4, entry.currencyCode());
+                stmt.setLong(5, AccountData.toStoredUnits(entry.amount()));
+                if (entry.balance() != null) {
+                    stmt.setLong(6, AccountData.toStoredUnits(entry.balance()));
+                } else {
+                    stmt.setNull(6, Types.BIGINT);
+                }
+                stmt.setString(7, entry.source());
+                stmt.setTimestamp(8, Timestamp.from(entry.createdAt()));
+                stmt.addBatch();
+            }
+
+            stmt.executeBatch();
+        }
+    }
+
+    /// @return the player's most recent entries, newest first
+    public List<LedgerEntry> getTransactions(Connection conn, UUID playerId, int limit) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_TRANSACTIONS)) {
+            stmt.setBytes(1, UuidBytes.toBytes(playerId));
+            stmt.setInt(2, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                var entries = new ArrayList<LedgerEntry>();
+                while (rs.next()) {
+                    var counterpartyId = rs.getBytes("counterparty_id");
+                    var balance = rs.getLong("balance");
+                    var hasBalance = !rs.wasNull();
+                    entries.add(
+                        new LedgerEntry(
+                            TransactionType.valueOf(rs.getString("type")),
+                            UuidBytes.fromBytes(rs.getBytes("player_id")),
+                            counterpartyId != null ? UuidBytes.fromBytes(counterpartyId) : null,
+                            rs.getString("currency_code"),
+                            AccountData.fromStoredUnits(rs.getLong("amount")),
+                            hasBalance ? AccountData.fromStoredUnits(balance) : null,
+                            rs.getString("source"),
+                            rs.getTimestamp("created_at").toInstant()
+                        )
+                    );
+                }
+                return entries;
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.ericgrandt.totaleconomy.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record BalanceDelta(UUID playerId, String currencyCode, BigDecimal amount) {
+}
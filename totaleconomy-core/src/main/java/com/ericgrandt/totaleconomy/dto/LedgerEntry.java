@@ -0,0 +1,23 @@
+package com.ericgrandt.totaleconomy.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/// One row of the `te_transaction` ledger. A transfer is recorded as one entry for each player.
+///
+/// @param counterpartyId the other player in a transfer, otherwise `null`
+/// @param amount         the change to the player's balance, negative when money left the account
+/// @param balance        the player's balance after the change, or `null` if the operation didn't read it
+/// @param source         the plugin that made the change, or `null` if it couldn't be determined
+public record LedgerEntry(
+    TransactionType type,
+    UUID playerId,
+    UUID counterpartyId,
+    String currencyCode,
+    BigDecimal amount,
+    BigDecimal balance,
+    String source,
+    Instant createdAt
+) {
+}
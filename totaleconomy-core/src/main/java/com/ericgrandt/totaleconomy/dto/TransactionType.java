@@ -0,0 +1,8 @@
+package com.ericgrandt.totaleconomy.dto;
+
+public enum TransactionType {
+    WITHDRAW,
+    DEPOSIT,
+    TRANSFER,
+    SET
+}
@@ -0,0 +1,111 @@
+package com.ericgrandt.totaleconomy.model;
+
+import net.kyori.adventure.text.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/// Formats amounts of one currency, with everything that doesn't depend on the amount worked out once up front.
+///
+/// Amounts that fit in a `long` of minor units, which is every balance the database can store, have their digits
+/// written straight into one builder instead of going through [BigDecimal#toPlainString] and a format string. The
+/// most recently formatted amounts are kept, since scoreboards and holograms show the same balances every tick.
+class CurrencyFormatter {
+    // Must be a power of two
+    private static final int RECENT_AMOUNT_COUNT = 256;
+    // Any number with this many digits, and 10 to its power, fit in a long
+    private static final int MAX_FAST_DIGITS = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_FAST_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (var i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final int fractionalDigits;
+    private final boolean hasFastPath;
+    private final String prefix;
+    private final String singularSuffix;
+    private final String pluralSuffix;
+
+    // Entries are immutable, so a racing reader sees either a whole entry or a stale one it then doesn't match
+    private final RecentAmount[] recentAmounts = new RecentAmount[RECENT_AMOUNT_COUNT];
+
+    CurrencyFormatter(String symbol, String name, String pluralName, int fractionalDigits) {
+        this.fractionalDigits = fractionalDigits;
+        this.hasFastPath = fractionalDigits >= 0 && fractionalDigits <= MAX_FAST_DIGITS;
+
+        if (symbol == null || symbol.isEmpty()) {
+            this.prefix = "";
+            this.singularSuffix = " " + name;
+            this.pluralSuffix = " " + pluralName;
+        } else {
+            this.prefix = symbol;
+            this.singularSuffix = "";
+            this.pluralSuffix = "";
+        }
+    }
+
+    Component format(BigDecimal amount) {
+        if (!hasFastPath) {
+            return formatSlowly(amount);
+        }
+
+        var units = amount.movePointRight(fractionalDigits).setScale(0, RoundingMode.DOWN);
+        if (units.precision() > MAX_FAST_DIGITS) {
+            return formatSlowly(amount);
+        }
+
+        return format(units.longValue());
+    }
+
+    private Component format(long units) {
+        var index = Long.hashCode(units) & (RECENT_AMOUNT_COUNT - 1);
+        var recent = recentAmounts[index];
+        if (recent != null && recent.units() == units) {
+            return recent.text();
+        }
+
+        var text = Component.text(toText(units));
+        recentAmounts[index] = new RecentAmount(units, text);
+        return text;
+    }
+
+    private String toText(long units) {
+        var unitsPerWhole = POWERS_OF_TEN[fractionalDigits];
+        var suffix = units == unitsPerWhole ? singularSuffix : pluralSuffix;
+        // Room for the sign, every digit and the decimal point
+        var text = new StringBuilder(prefix.length() + MAX_FAST_DIGITS + 2 + suffix.length());
+
+        text.append(prefix);
+        if (units < 0) {
+            text.append('-');
+        }
+
+        var absoluteUnits = Math.abs(units);
+        text.append(absoluteUnits / unitsPerWhole);
+        if (fractionalDigits > 0) {
+            var fraction = absoluteUnits % unitsPerWhole;
+            text.append('.');
+            for (var place = unitsPerWhole / 10; place > 1 && fraction < place; place /= 10) {
+                text.append('0');
+            }
+            text.append(fraction);
+        }
+
+        return text.append(suffix).toString();
+    }
+
+    // Only reached for amounts too large for any account, or currencies with an unusual number of fractional digits
+    private Component formatSlowly(BigDecimal amount) {
+        var balance = amount.setScale(fractionalDigits, RoundingMode.DOWN);
+        var suffix = balance.compareTo(BigDecimal.ONE) == 0 ? singularSuffix : pluralSuffix;
+
+        return Component.text(prefix + balance.toPlainString() + suffix);
+    }
+
+    private record RecentAmount(long units, Component text) {
+    }
+}
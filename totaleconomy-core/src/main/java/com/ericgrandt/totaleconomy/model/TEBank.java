@@ -0,0 +1,12 @@
+package com.ericgrandt.totaleconomy.model;
+
+import java.util.UUID;
+
+/// A shared account, such as a server treasury, whose balance is split across `shardCount` rows.
+public record TEBank(
+    String name,
+    UUID ownerId,
+    String currencyCode,
+    int shardCount
+) {
+}
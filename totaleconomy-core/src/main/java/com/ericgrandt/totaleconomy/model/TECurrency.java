@@ -4,26 +4,110 @@ import com.ericgrandt.totaleconomy.api.model.Currency;
 import net.kyori.adventure.text.Component;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-
-public record TECurrency(
-    String code,
-    String name,
-    String pluralName,
-    String symbol,
-    int fractionalDigits,
-    BigDecimal startingBalance,
-    boolean isDefault
-) implements Currency {
+import java.util.Objects;
+
+/// A class rather than a record so each currency can keep its own [CurrencyFormatter]. Equality and the accessors
+/// are the same as a record's, and don't depend on the formatter.
+public final class TECurrency implements Currency {
+    private final String code;
+    private final String name;
+    private final String pluralName;
+    private final String symbol;
+    private final int fractionalDigits;
+    private final BigDecimal startingBalance;
+    private final boolean isDefault;
+
+    private final CurrencyFormatter formatter;
+
+    public TECurrency(
+        String code,
+        String name,
+        String pluralName,
+        String symbol,
+        int fractionalDigits,
+        BigDecimal startingBalance,
+        boolean isDefault
+    ) {
+        this.code = code;
+        this.name = name;
+        this.pluralName = pluralName;
+        this.symbol = symbol;
+        this.fractionalDigits = fractionalDigits;
+        this.startingBalance = startingBalance;
+        this.isDefault = isDefault;
+        this.formatter = new CurrencyFormatter(symbol, name, pluralName, fractionalDigits);
+    }
+
+    @Override
+    public String code() {
+        return code;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String pluralName() {
+        return pluralName;
+    }
+
+    @Override
+    public String symbol() {
+        return symbol;
+    }
+
+    @Override
+    public int fractionalDigits() {
+        return fractionalDigits;
+    }
+
+    public BigDecimal startingBalance() {
+        return startingBalance;
+    }
+
+    @Override
+    public boolean isDefault() {
+        return isDefault;
+    }
+
     @Override
     public Component format(BigDecimal amount) {
-        var balance = amount.setScale(fractionalDigits, RoundingMode.DOWN);
+        return formatter.format(amount);
+    }
 
-        if (symbol == null || symbol.isEmpty()) {
-            var suffix = balance.compareTo(BigDecimal.ONE) == 0 ? name : pluralName;
-            return Component.text("%s %s".formatted(balance.toPlainString(), suffix));
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TECurrency other)) {
+            return false;
         }
 
-        return Component.text("%s%s".formatted(symbol, balance.toPlainString()));
+        return fractionalDigits == other.fractionalDigits
+            && isDefault == other.isDefault
+            && Objects.equals(code, other.code)
+            && Objects.equals(name, other.name)
+            && Objects.equals(pluralName, other.pluralName)
+            && Objects.equals(symbol, other.symbol)
+            && Objects.equals(startingBalance, other.startingBalance);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(code, name, pluralName, symbol, fractionalDigits, startingBalance, isDefault);
+    }
+
+    @Override
+    public String toString() {
+        return "TECurrency[code=" + code
+            + ", name=" + name
+            + ", pluralName=" + pluralName
+            + ", symbol=" + symbol
+            + ", fractionalDigits=" + fractionalDigits
+            + ", startingBalance=" + startingBalance
+            + ", isDefault=" + isDefault + "]";
     }
 }
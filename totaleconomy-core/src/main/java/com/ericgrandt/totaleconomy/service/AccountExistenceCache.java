@@ -0,0 +1,118 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.api.dto.CacheStats;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Remembers which accounts exist, so checking for one rarely needs the database.
+///
+/// Accounts are never deleted, so an account seen to exist is remembered for good. An account seen to be missing is
+/// only remembered for a short time, since it may be created by another server, and is forgotten as soon as this
+/// server creates it.
+public class AccountExistenceCache {
+    // Past this many missing accounts, expired ones are swept out before another is added
+    private static final int MAX_MISSING_ENTRIES = 10_000;
+
+    private final long missingTtlNanos;
+
+    // Players whose accounts were created together share one set, so remembering a player rarely costs more than the
+    // map entry
+    private final Map<UUID, Set<String>> existingCurrencies = new ConcurrentHashMap<>();
+    private final Map<AccountKey, Long> missingExpiries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /// @param missingTtl how long an account seen to be missing is remembered
+    public AccountExistenceCache(Duration missingTtl) {
+        this.missingTtlNanos = missingTtl.toNanos();
+    }
+
+    /// @return `true` if the account exists, `false` if it was recently seen to be missing, or `null` if it's unknown
+    public Boolean exists(UUID playerId, String currencyCode) {
+        var exists = lookup(playerId, currencyCode);
+        if (exists == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+
+        return exists;
+    }
+
+    /// @return whether the player is known to have an account in every one of the currencies
+    public boolean existsAll(UUID playerId, Set<String> currencyCodes) {
+        var known = existingCurrencies.get(playerId);
+        var exists = known != null && known.containsAll(currencyCodes);
+        if (exists) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+
+        return exists;
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum());
+    }
+
+    private Boolean lookup(UUID playerId, String currencyCode) {
+        var currencyCodes = existingCurrencies.get(playerId);
+        if (currencyCodes != null && currencyCodes.contains(currencyCode)) {
+            return true;
+        }
+
+        var key = new AccountKey(playerId, currencyCode);
+        var expiry = missingExpiries.get(key);
+        if (expiry == null) {
+            return null;
+        }
+        if (System.nanoTime() - expiry >= 0) {
+            missingExpiries.remove(key, expiry);
+            return null;
+        }
+
+        return false;
+    }
+
+    public void markExisting(UUID playerId, String currencyCode) {
+        markExisting(playerId, Set.of(currencyCode));
+    }
+
+    /// @param currencyCodes an unmodifiable set, which is kept rather than copied when the player isn't known yet
+    public void markExisting(UUID playerId, Set<String> currencyCodes) {
+        existingCurrencies.merge(playerId, currencyCodes, AccountExistenceCache::union);
+        for (var currencyCode : currencyCodes) {
+            missingExpiries.remove(new AccountKey(playerId, currencyCode));
+        }
+    }
+
+    public void markMissing(UUID playerId, String currencyCode) {
+        var now = System.nanoTime();
+        if (missingExpiries.size() >= MAX_MISSING_ENTRIES) {
+            missingExpiries.values().removeIf(expiry -> now - expiry >= 0);
+        }
+
+        missingExpiries.put(new AccountKey(playerId, currencyCode), now + missingTtlNanos);
+    }
+
+    private static Set<String> union(Set<String> known, Collection<String> added) {
+        if (known.containsAll(added)) {
+            return known;
+        }
+
+        var union = new HashSet<>(known);
+        union.addAll(added);
+        return Set.copyOf(union);
+    }
+
+    private record AccountKey(UUID playerId, String currencyCode) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.api.dto.CacheStats;
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.data.AccountData;
+import com.ericgrandt.totaleconomy.model.TEAccount;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Recent balances that can be read without waiting on the database, for callers on the server thread.
+///
+/// Every balance that [TEEconomyService] writes is recorded here, and the accounts of tracked (online) players are read
+/// again by [#refresh()], which should run on an interval shorter than `maxStaleness`. A balance older than
+/// `maxStaleness` is never returned, so a read is either at most that old or goes to the database.
+///
+/// Balances changed outside of [TEEconomyService], such as by another server, are picked up by the next refresh.
+public class BalanceSnapshot {
+    private final TransactionUtil transactionUtil;
+    private final AccountData accountData;
+    private final BalanceStore balanceStore;
+    private final long maxStalenessNanos;
+
+    private final Map<BalanceKey, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<UUID> trackedPlayers = ConcurrentHashMap.newKeySet();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /// @param maxStaleness the oldest a returned balance can be. `0` reads every balance from the database.
+    public BalanceSnapshot(
+        TransactionUtil transactionUtil,
+        AccountData accountData,
+        BalanceStore balanceStore,
+        Duration maxStaleness
+    ) {
+        this.transactionUtil = transactionUtil;
+        this.accountData = accountData;
+        this.balanceStore = balanceStore;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    /// Returns the account's balance from the snapshot if it's recent enough, otherwise reads it and records it.
+    ///
+    /// @return the balance, or an empty [Optional] if the account doesn't exist
+    public Optional<BigDecimal> getBalance(UUID playerId, String currencyCode) throws SQLException {
+        var key = new BalanceKey(playerId, currencyCode);
+        var now = System.nanoTime();
+        var entry = entries.get(key);
+        if (entry != null && now - entry.recordedAt() < maxStalenessNanos) {
+            hits.increment();
+            return Optional.of(entry.balance());
+        }
+
+        misses.increment();
+
+        // A loaded account's balance in the store is authoritative and already in memory
+        var balance = balanceStore.getBalance(playerId, currencyCode);
+        if (balance.isEmpty()) {
+            balance = transactionUtil.runInTransaction(
+                conn -> accountData.getAccount(conn, playerId, currencyCode).map(TEAccount::balance)
+            );
+        }
+
+        balance.ifPresent(value -> record(key, value, now));
+        return balance;
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum());
+    }
+
+    /// @return how old the oldest balance in the snapshot is, which is at most `maxStaleness` for any balance returned
+    public Duration getStaleness() {
+        var now = System.nanoTime();
+        long oldest = 0;
+        for (var entry : entries.values()) {
+            oldest = Math.max(oldest, now - entry.recordedAt());
+        }
+
+        return Duration.ofNanos(Math.min(oldest, maxStalenessNanos));
+    }
+
+    /// Records an account's new balance. It must be the balance after a committed change.
+    public void update(UUID playerId, String currencyCode, BigDecimal balance) {
+        record(new BalanceKey(playerId, currencyCode), balance, System.nanoTime());
+    }
+
+    /// Records the new balances of several accounts in the same currency.
+    public void updateAll(String currencyCode, Map<UUID, BigDecimal> balances) {
+        var now = System.nanoTime();
+        for (var entry : balances.entrySet()) {
+            record(new BalanceKey(entry.getKey(), currencyCode), entry.getValue(), now);
+        }
+    }
+
+    /// Starts refreshing a player's balances, e.g. when they join.
+    public void track(UUID playerId) {
+        trackedPlayers.add(playerId);
+    }
+
+    /// Stops refreshing a player's balances. Those already recorded are dropped by the next [#refresh()] once they're
+    /// too old to be returned.
+    public void untrack(UUID playerId) {
+        trackedPlayers.remove(playerId);
+    }
+
+    /// Reads the balances of every tracked player again and drops balances that are too old to be returned.
+    public void refresh() throws SQLException {
+        if (maxStalenessNanos == 0) {
+            return;
+        }
+
+        var readAt = System.nanoTime();
+        var playerIds = List.copyOf(trackedPlayers);
+        if (!playerIds.isEmpty()) {
+            var accounts = transactionUtil.runInTransaction(conn -> accountData.getAccountsOfPlayers(conn, playerIds));
+            for (var account : accounts) {
+                var balance = balanceStore.getBalance(account.playerId(), account.currencyCode())
+                    .orElse(account.balance());
+                record(new BalanceKey(account.playerId(), account.currencyCode()), balance, readAt);
+            }
+        }
+
+        var now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.recordedAt() >= maxStalenessNanos);
+    }
+
+    // A balance read before a write that was already recorded would undo it, so only newer balances replace older ones
+    private void record(BalanceKey key, BigDecimal balance, long recordedAt) {
+        if (maxStalenessNanos == 0) {
+            return;
+        }
+
+        entries.merge(
+            key,
+            new Entry(balance, recordedAt),
+            (current, recorded) -> recorded.recordedAt() - current.recordedAt() >= 0 ? recorded : current
+        );
+    }
+
+    private record BalanceKey(UUID playerId, String currencyCode) {
+    }
+
+    private record Entry(BigDecimal balance, long recordedAt) {
+    }
+}
@@ -0,0 +1,642 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.api.exception.DatabaseException;
+import com.ericgrandt.totaleconomy.api.exception.InsufficientFundsException;
+import com.ericgrandt.totaleconomy.api.exception.TotalEconomyException;
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.data.AccountData;
+import com.ericgrandt.totaleconomy.data.BalanceFlushData;
+import com.ericgrandt.totaleconomy.data.BalanceJournal;
+import com.ericgrandt.totaleconomy.dto.BalanceDelta;
+import com.ericgrandt.totaleconomy.model.TEAccount;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+
+/// Write-behind store of balances for the accounts of online players.
+///
+/// Withdrawals and deposits against a loaded account are checked and applied in memory, and appended to the
+/// [BalanceJournal] before they are acknowledged. The accumulated deltas are written to `te_account` in a single batch
+/// by [#flush()], which should run on an interval and whenever a player leaves. [#init()] replays journal segments that
+/// were not flushed before a crash.
+///
+/// The in-memory balance is authoritative while an account is loaded, so this store must only be enabled when this
+/// server is the sole writer to the database. Accounts should be loaded before the player can transact, e.g. on join.
+public class BalanceStore {
+    // Keeps a batch's journal records far below the journal's record size limit
+    private static final int MAX_DELTAS_PER_RECORD = 4096;
+    private static final Duration FLUSH_RECORD_RETENTION = Duration.ofDays(30);
+
+    private final TransactionUtil transactionUtil;
+    private final AccountData accountData;
+    private final BalanceFlushData balanceFlushData;
+    private final BalanceJournal journal;
+    private final boolean enabled;
+
+    private final Map<BalanceKey, Entry> entries = new ConcurrentHashMap<>();
+
+    // Journal appends hold the read lock, rotating the journal and draining deltas hold the write lock. This keeps the
+    // deltas drained for a flush identical to the contents of the segment rotated out with them.
+    private final ReadWriteLock journalLock = new ReentrantReadWriteLock();
+
+    // Guarded by itself. Segments whose deltas have been drained but not yet committed, oldest first.
+    private final Deque<PendingFlush> pendingFlushes = new ArrayDeque<>();
+
+    public BalanceStore(
+        TransactionUtil transactionUtil,
+        AccountData accountData,
+        BalanceFlushData balanceFlushData,
+        BalanceJournal journal
+    ) {
+        this.transactionUtil = transactionUtil;
+        this.accountData = accountData;
+        this.balanceFlushData = balanceFlushData;
+        this.journal = journal;
+        this.enabled = true;
+    }
+
+    private BalanceStore() {
+        this.transactionUtil = null;
+        this.accountData = null;
+        this.balanceFlushData = null;
+        this.journal = null;
+        this.enabled = false;
+    }
+
+    /// Creates a store that never loads any accounts, so every operation falls through to the database.
+    public static BalanceStore disabled() {
+        return new BalanceStore();
+    }
+
+    /// Replays any journal segments left behind by a crash and opens a new segment for appending.
+    ///
+    /// @throws DatabaseException if the journal could not be recovered
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            for (var segment : journal.findSegments()) {
+                var deltas = journal.read(segment);
+                transactionUtil.runInTransaction(conn -> {
+                    if (!balanceFlushData.isApplied(conn, segment.id())) {
+                        accountData.applyBalanceDeltas(conn, deltas);
+                        balanceFlushData.markApplied(conn, segment.id());
+                    }
+                    return null;
+                });
+                journal.delete(segment);
+            }
+
+            transactionUtil.runInTransaction(
+                conn -> balanceFlushData.deleteAppliedBefore(conn, Instant.now().minus(FLUSH_RECORD_RETENTION))
+            );
+            journal.open();
+        } catch (IOException | SQLException e) {
+            throw new DatabaseException("error recovering balance journal", e);
+        }
+    }
+
+    /// Loads every account of a player into memory. Accounts that are already loaded are kept as they are.
+    ///
+    /// Newly loaded accounts are installed locked and read again before they're unlocked. Changes that reach the
+    /// database before that second read are included, and later ones wait for it and are made in memory.
+    ///
+    /// @throws DatabaseException if the accounts could not be read
+    public void load(UUID playerId) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            var accounts = transactionUtil.runInTransaction(conn -> accountData.getAccounts(conn, playerId));
+            var placeholders = installPlaceholders(accounts);
+            if (placeholders.isEmpty()) {
+                return;
+            }
+
+            try {
+                var currentAccounts = transactionUtil.runInTransaction(conn -> accountData.getAccounts(conn, playerId));
+                for (var account : currentAccounts) {
+                    var entry = placeholders.remove(new BalanceKey(account.playerId(), account.currencyCode()));
+                    if (entry != null) {
+                        entry.balance = AccountData.toStoredUnits(account.balance());
+                        entry.lock.unlock();
+                    }
+                }
+            } finally {
+                // Left over if the read failed or the account was deleted in between, so writers go to the database
+                for (var placeholder : placeholders.entrySet()) {
+                    var entry = placeholder.getValue();
+                    entry.evicted = true;
+                    entries.remove(placeholder.getKey(), entry);
+                    entry.lock.unlock();
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("database exception while loading balances", e);
+        }
+    }
+
+    /// Flushes a player's pending changes and evicts their accounts from memory.
+    ///
+    /// @throws DatabaseException if the pending changes could not be flushed. They stay journaled and are retried.
+    public void unload(UUID playerId) {
+        if (!enabled) {
+            return;
+        }
+
+        for (var mapEntry : entries.entrySet()) {
+            if (!mapEntry.getKey().playerId().equals(playerId)) {
+                continue;
+            }
+
+            var entry = mapEntry.getValue();
+            entry.lock.lock();
+            try {
+                entry.evictable = true;
+            } finally {
+                entry.lock.unlock();
+            }
+        }
+
+        flush();
+    }
+
+    public Optional<BigDecimal> getBalance(UUID playerId, String currencyCode) {
+        var entry = entries.get(new BalanceKey(playerId, currencyCode));
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        entry.lock.lock();
+        try {
+            return entry.evicted ? Optional.empty() : Optional.of(AccountData.fromStoredUnits(entry.balance));
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    /// Withdraws from a loaded account.
+    ///
+    /// @return the new balance, or an empty [Optional] if the account is not loaded
+    /// @throws InsufficientFundsException if the balance does not cover the amount
+    public Optional<BigDecimal> withdraw(UUID playerId, String currencyCode, BigDecimal amount) {
+        return apply(playerId, currencyCode, Math.negateExact(AccountData.toStoredUnits(amount)), true);
+    }
+
+    /// Deposits into a loaded account.
+    ///
+    /// @return the new balance, or an empty [Optional] if the account is not loaded
+    public Optional<BigDecimal> deposit(UUID playerId, String currencyCode, BigDecimal amount) {
+        return apply(playerId, currencyCode, AccountData.toStoredUnits(amount), false);
+    }
+
+    /// Changes several loaded accounts with one journal record, so a batch is forced to disk once rather than once per
+    /// player. Batches of thousands of players are split into several records, each applied on its own.
+    ///
+    /// @param amounts               the amount requested for each player
+    /// @param deltaForBalance       the change to make to an account, given the amount requested and its balance
+    /// @param enforceMinimumBalance whether a change that would leave a balance negative fails instead
+    /// @return the change made to each loaded account, and why each loaded account that wasn't changed failed. Players
+    /// whose accounts aren't loaded are in neither.
+    public BatchChanges applyAll(
+        String currencyCode,
+        Map<UUID, BigDecimal> amounts,
+        BinaryOperator<BigDecimal> deltaForBalance,
+        boolean enforceMinimumBalance
+    ) {
+        var applied = new LinkedHashMap<UUID, BalanceChange>();
+        var failures = new LinkedHashMap<UUID, TotalEconomyException>();
+        if (!enabled) {
+            return new BatchChanges(applied, failures);
+        }
+
+        // Locked in player order, the same order transfers lock in, so the two can't deadlock
+        var playerIds = amounts.keySet().stream().sorted().toList();
+        for (var start = 0; start < playerIds.size(); start += MAX_DELTAS_PER_RECORD) {
+            var end = Math.min(start + MAX_DELTAS_PER_RECORD, playerIds.size());
+            applyRecord(
+                currencyCode,
+                playerIds.subList(start, end),
+                amounts,
+                deltaForBalance,
+                enforceMinimumBalance,
+                applied,
+                failures
+            );
+        }
+
+        return new BatchChanges(applied, failures);
+    }
+
+    /// Transfers between two loaded accounts as one journal record.
+    ///
+    /// @return `false` without changing anything if either account is not loaded
+    /// @throws InsufficientFundsException if the sender's balance does not cover the amount
+    public boolean transfer(UUID fromPlayerId, UUID toPlayerId, String currencyCode, BigDecimal amount) {
+        if (!enabled) {
+            return false;
+        }
+
+        journalLock.readLock().lock();
+        try {
+            var fromEntry = entries.get(new BalanceKey(fromPlayerId, currencyCode));
+            var toEntry = entries.get(new BalanceKey(toPlayerId, currencyCode));
+            if (fromEntry == null || toEntry == null) {
+                return false;
+            }
+
+            var units = AccountData.toStoredUnits(amount);
+
+            // Lock in a fixed order so two opposing transfers can't deadlock
+            var fromFirst = fromPlayerId.compareTo(toPlayerId) < 0;
+            var first = fromFirst ? fromEntry : toEntry;
+            var second = fromFirst ? toEntry : fromEntry;
+
+            first.lock.lock();
+            second.lock.lock();
+            try {
+                if (fromEntry.evicted || toEntry.evicted) {
+                    return false;
+                }
+                if (fromEntry.balance < units) {
+                    throw new InsufficientFundsException();
+                }
+
+                appendToJournal(List.of(
+                    new BalanceDelta(fromPlayerId, currencyCode, amount.negate()),
+                    new BalanceDelta(toPlayerId, currencyCode, amount)
+                ));
+                fromEntry.applyPending(-units);
+                toEntry.applyPending(units);
+
+                return true;
+            } finally {
+                second.lock.unlock();
+                first.lock.unlock();
+            }
+        } finally {
+            journalLock.readLock().unlock();
+        }
+    }
+
+    /// Runs a database transaction that changes a loaded account's row directly, while holding that account's lock.
+    /// Once the transaction commits, `delta` is applied to the in-memory balance without being journaled.
+    ///
+    /// This is used when an operation also touches an account that isn't loaded, so both sides commit together.
+    ///
+    /// @return the transaction result, or an empty [Optional] without running it if the account is not loaded
+    /// @throws InsufficientFundsException if `enforceMinimumBalance` is set and the balance does not cover the delta
+    public <T> Optional<T> runWithLoadedAccount(
+        UUID playerId,
+        String currencyCode,
+        BigDecimal delta,
+        boolean enforceMinimumBalance,
+        TransactionUtil.Transaction<T> transaction
+    ) throws SQLException {
+        var entry = entries.get(new BalanceKey(playerId, currencyCode));
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        entry.lock.lock();
+        try {
+            if (entry.evicted) {
+                return Optional.empty();
+            }
+            var newBalance = AccountData.addStoredUnits(entry.balance, AccountData.toStoredUnits(delta));
+            if (enforceMinimumBalance && newBalance < 0) {
+                throw new InsufficientFundsException();
+            }
+
+            var result = transactionUtil.runInTransaction(transaction);
+            entry.balance = newBalance;
+
+            return Optional.of(result);
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    /// Writes every pending delta to the database in one batch and evicts unloaded accounts that have nothing pending.
+    ///
+    /// @throws DatabaseException if the batch could not be written. The deltas stay journaled and are retried first on
+    ///                           the next flush.
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (pendingFlushes) {
+            rotateJournal();
+
+            while (!pendingFlushes.isEmpty()) {
+                var pendingFlush = pendingFlushes.peekFirst();
+                try {
+                    transactionUtil.runInTransaction(conn -> {
+                        // A failed commit may still have been applied, so check before writing the deltas again
+                        if (!balanceFlushData.isApplied(conn, pendingFlush.segment().id())) {
+                            accountData.applyBalanceDeltas(conn, pendingFlush.deltas());
+                            balanceFlushData.markApplied(conn, pendingFlush.segment().id());
+                        }
+                        return null;
+                    });
+                } catch (SQLException e) {
+                    throw new DatabaseException("database exception while flushing balances", e);
+                }
+
+                pendingFlushes.removeFirst();
+                try {
+                    journal.delete(pendingFlush.segment());
+                } catch (IOException ignored) {
+                    // Harmless, recovery skips segments that are already marked as applied
+                }
+            }
+
+            evictUnloaded();
+        }
+    }
+
+    /// Flushes all pending deltas and closes the journal.
+    ///
+    /// @throws DatabaseException if the final flush fails. The journal is kept and replayed by the next [#init()].
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            flush();
+        } finally {
+            try {
+                journal.close();
+            } catch (IOException ignored) {
+                // Every acknowledged record has already been forced to disk
+            }
+        }
+    }
+
+    private Optional<BigDecimal> apply(
+        UUID playerId,
+        String currencyCode,
+        long delta,
+        boolean enforceMinimumBalance
+    ) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        journalLock.readLock().lock();
+        try {
+            var entry = entries.get(new BalanceKey(playerId, currencyCode));
+            if (entry == null) {
+                return Optional.empty();
+            }
+
+            entry.lock.lock();
+            try {
+                if (entry.evicted) {
+                    return Optional.empty();
+                }
+                var newBalance = AccountData.addStoredUnits(entry.balance, delta);
+                if (enforceMinimumBalance && newBalance < 0) {
+                    throw new InsufficientFundsException();
+                }
+
+                appendToJournal(List.of(new BalanceDelta(playerId, currencyCode, AccountData.fromStoredUnits(delta))));
+                entry.applyPending(delta);
+
+                return Optional.of(AccountData.fromStoredUnits(entry.balance));
+            } finally {
+                entry.lock.unlock();
+            }
+        } finally {
+            journalLock.readLock().unlock();
+        }
+    }
+
+    // Holds the lock of every loaded account in the record until its deltas are journaled and applied
+    private void applyRecord(
+        String currencyCode,
+        List<UUID> playerIds,
+        Map<UUID, BigDecimal> amounts,
+        BinaryOperator<BigDecimal> deltaForBalance,
+        boolean enforceMinimumBalance,
+        Map<UUID, BalanceChange> applied,
+        Map<UUID, TotalEconomyException> failures
+    ) {
+        var lockedEntries = new ArrayList<Entry>();
+        journalLock.readLock().lock();
+        try {
+            var changes = new ArrayList<PendingChange>();
+            var deltas = new ArrayList<BalanceDelta>();
+            for (var playerId : playerIds) {
+                var entry = entries.get(new BalanceKey(playerId, currencyCode));
+                if (entry == null) {
+                    continue;
+                }
+
+                entry.lock.lock();
+                lockedEntries.add(entry);
+                if (entry.evicted) {
+                    continue;
+                }
+
+                var balance = AccountData.fromStoredUnits(entry.balance);
+                long delta;
+                long newBalance;
+                try {
+                    delta = AccountData.toStoredUnits(deltaForBalance.apply(amounts.get(playerId), balance));
+                    newBalance = AccountData.addStoredUnits(entry.balance, delta);
+                } catch (DatabaseException e) {
+                    failures.put(playerId, e);
+                    continue;
+                }
+                if (enforceMinimumBalance && newBalance < 0) {
+                    failures.put(playerId, new InsufficientFundsException());
+                    continue;
+                }
+
+                changes.add(new PendingChange(playerId, entry, delta));
+                deltas.add(new BalanceDelta(playerId, currencyCode, AccountData.fromStoredUnits(delta)));
+            }
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            try {
+                journal.append(deltas);
+            } catch (IOException e) {
+                var failure = new DatabaseException("error writing to balance journal", e);
+                for (var change : changes) {
+                    failures.put(change.playerId(), failure);
+                }
+                return;
+            }
+
+            for (var change : changes) {
+                change.entry().applyPending(change.delta());
+                applied.put(
+                    change.playerId(),
+                    new BalanceChange(
+                        AccountData.fromStoredUnits(change.delta()),
+                        AccountData.fromStoredUnits(change.entry().balance)
+                    )
+                );
+            }
+        } finally {
+            for (var entry : lockedEntries.reversed()) {
+                entry.lock.unlock();
+            }
+            journalLock.readLock().unlock();
+        }
+    }
+
+    // Returns the entries that were installed, still locked. Writers that find one wait until its balance is read.
+    private Map<BalanceKey, Entry> installPlaceholders(List<TEAccount> accounts) {
+        var placeholders = new LinkedHashMap<BalanceKey, Entry>();
+        journalLock.readLock().lock();
+        try {
+            for (var account : accounts) {
+                var key = new BalanceKey(account.playerId(), account.currencyCode());
+                var placeholder = new Entry(AccountData.toStoredUnits(account.balance()));
+                placeholder.lock.lock();
+
+                var entry = entries.putIfAbsent(key, placeholder);
+                if (entry == null) {
+                    placeholders.put(key, placeholder);
+                    continue;
+                }
+
+                placeholder.lock.unlock();
+                entry.lock.lock();
+                try {
+                    entry.evictable = false;
+                } finally {
+                    entry.lock.unlock();
+                }
+            }
+        } finally {
+            journalLock.readLock().unlock();
+        }
+
+        return placeholders;
+    }
+
+    private void appendToJournal(List<BalanceDelta> deltas) {
+        try {
+            journal.append(deltas);
+        } catch (IOException e) {
+            throw new DatabaseException("error writing to balance journal", e);
+        }
+    }
+
+    private void rotateJournal() {
+        journalLock.writeLock().lock();
+        try {
+            var hasPending = entries.values().stream().anyMatch(entry -> entry.pendingDelta != 0);
+            if (!hasPending) {
+                return;
+            }
+
+            var segment = journal.rotate();
+            var deltas = new ArrayList<BalanceDelta>();
+            for (var mapEntry : entries.entrySet()) {
+                var entry = mapEntry.getValue();
+                if (entry.pendingDelta == 0) {
+                    continue;
+                }
+
+                var key = mapEntry.getKey();
+                var pendingDelta = AccountData.fromStoredUnits(entry.pendingDelta);
+                deltas.add(new BalanceDelta(key.playerId(), key.currencyCode(), pendingDelta));
+                entry.pendingDelta = 0;
+            }
+
+            pendingFlushes.addLast(new PendingFlush(segment, deltas));
+        } catch (IOException e) {
+            throw new DatabaseException("error rotating balance journal", e);
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+    }
+
+    private void evictUnloaded() {
+        journalLock.writeLock().lock();
+        try {
+            entries.values().removeIf(entry -> {
+                // Skip accounts that are part of an in-flight database transaction, they're retried next flush
+                if (!entry.lock.tryLock()) {
+                    return false;
+                }
+
+                try {
+                    if (!entry.evictable || entry.pendingDelta != 0) {
+                        return false;
+                    }
+
+                    entry.evicted = true;
+                    return true;
+                } finally {
+                    entry.lock.unlock();
+                }
+            });
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+    }
+
+    /// @param delta   the signed change made to the balance
+    /// @param balance the balance it left
+    public record BalanceChange(BigDecimal delta, BigDecimal balance) {
+    }
+
+    public record BatchChanges(Map<UUID, BalanceChange> applied, Map<UUID, TotalEconomyException> failures) {
+    }
+
+    private record BalanceKey(UUID playerId, String currencyCode) {
+    }
+
+    private record PendingChange(UUID playerId, Entry entry, long delta) {
+    }
+
+    private record PendingFlush(BalanceJournal.Segment segment, List<BalanceDelta> deltas) {
+    }
+
+    // Balances and deltas are held in the units stored in te_account, so updating them never allocates
+    private static final class Entry {
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private long balance;
+        private long pendingDelta;
+        private boolean evictable;
+        private boolean evicted;
+
+        private Entry(long balance) {
+            this.balance = balance;
+        }
+
+        private void applyPending(long delta) {
+            balance = Math.addExact(balance, delta);
+            pendingDelta = Math.addExact(pendingDelta, delta);
+        }
+    }
+}
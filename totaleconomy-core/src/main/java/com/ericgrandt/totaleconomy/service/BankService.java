@@ -0,0 +1,240 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.api.exception.AccountNotFoundException;
+import com.ericgrandt.totaleconomy.api.exception.DatabaseException;
+import com.ericgrandt.totaleconomy.api.exception.InsufficientFundsException;
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.data.BankData;
+import com.ericgrandt.totaleconomy.model.TEBank;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/// Shared accounts, such as a server treasury, that many players pay into at once.
+///
+/// A bank's balance is split across shard rows. A deposit goes to a random shard, so concurrent deposits rarely wait
+/// on each other's row locks. A withdrawal first tries a random shard on its own, and only when that shard can't cover
+/// it locks every shard and takes the amount from as many of them as it needs.
+public class BankService {
+    public static final int MAX_NAME_LENGTH = 64;
+
+    private final TransactionUtil transactionUtil;
+    private final CacheService cacheService;
+    private final BankData bankData;
+    private final int shardCount;
+
+    // A bank never changes its shard count, so deposits and withdrawals only read it again when a shard they picked
+    // is missing, which happens when the bank was deleted and created again with fewer shards
+    private final Map<String, Integer> shardCounts = new ConcurrentHashMap<>();
+
+    /// @param shardCount the number of shards new banks are created with. Existing banks keep the count they were
+    ///                   created with.
+    public BankService(TransactionUtil transactionUtil, CacheService cacheService, BankData bankData, int shardCount) {
+        this.transactionUtil = transactionUtil;
+        this.cacheService = cacheService;
+        this.bankData = bankData;
+        this.shardCount = shardCount;
+    }
+
+    /// Creates an empty bank in the default currency.
+    ///
+    /// @return `false` if a bank with the name already exists
+    /// @throws IllegalArgumentException if the name is longer than [#MAX_NAME_LENGTH]
+    public boolean createBank(String name, UUID ownerId) {
+        if (name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("bank name must be at most " + MAX_NAME_LENGTH + " characters");
+        }
+
+        var bank = new TEBank(name, ownerId, cacheService.getDefaultCurrency().code(), shardCount);
+        try {
+            return transactionUtil.runInTransaction(conn -> bankData.createBank(conn, bank));
+        } catch (SQLException e) {
+            throw new DatabaseException("database exception while creating bank", e);
+        }
+    }
+
+    /// @return whether the bank existed
+    public boolean deleteBank(String name) {
+        try {
+            var deleted = transactionUtil.runInTransaction(conn -> bankData.deleteBank(conn, name));
+            shardCounts.remove(name);
+            return deleted;
+        } catch (SQLException e) {
+            throw new DatabaseException("database exception while deleting bank", e);
+        }
+    }
+
+    public Optional<TEBank> getBank(String name) {
+        try {
+            return transactionUtil.runInTransaction(conn -> bankData.getBank(conn, name));
+        } catch (SQLException e) {
+            throw new DatabaseException("database exception while getting bank", e);
+        }
+    }
+
+    public List<String> getBankNames() {
+        try {
+            return transactionUtil.runInTransaction(bankData::getBankNames);
+        } catch (SQLException e) {
+            throw new DatabaseException("database exception while getting banks", e);
+        }
+    }
+
+    /// @throws AccountNotFoundException if the bank doesn't exist
+    public BigDecimal getBalance(String name) {
+        try {
+            return transactionUtil.runInTransaction(
+                conn -> bankData.getBalance(conn, name).orElseThrow(AccountNotFoundException::new)
+            );
+        } catch (SQLException e) {
+            throw new DatabaseException("database exception while getting bank balance", e);
+        }
+    }
+
+    /// @return the bank's balance after the deposit
+    /// @throws IllegalArgumentException if the amount is not positive
+    /// @throws AccountNotFoundException if the bank doesn't exist
+    public BigDecimal deposit(String name, BigDecimal amount) {
+        requirePositive(amount);
+        var shardCount = getShardCount(name);
+
+        try {
+            var balance = transactionUtil.runInTransaction(
+                conn -> depositToShard(conn, name, randomShard(shardCount), amount)
+            );
+            if (balance.isEmpty()) {
+                var currentShardCount = readShardCount(name);
+                balance = transactionUtil.runInTransaction(
+                    conn -> depositToShard(conn, name, randomShard(currentShardCount), amount)
+                );
+            }
+
+            return balance.orElseThrow(AccountNotFoundException::new);
+        } catch (SQLException e) {
+            throw new DatabaseException("database exception while depositing into bank", e);
+        }
+    }
+
+    /// @return the bank's balance after the withdrawal
+    /// @throws IllegalArgumentException   if the amount is not positive
+    /// @throws AccountNotFoundException   if the bank doesn't exist
+    /// @throws InsufficientFundsException if the bank's balance across all shards does not cover the amount
+    public BigDecimal withdraw(String name, BigDecimal amount) {
+        requirePositive(amount);
+        var shardCount = getShardCount(name);
+
+        try {
+            // Run separately from the fallback, so no shard lock is held while it locks every shard in order
+            var balance = transactionUtil.runInTransaction(
+                conn -> withdrawFromShard(conn, name, randomShard(shardCount), amount)
+            );
+            if (balance.isEmpty()) {
+                var currentShardCount = readShardCount(name);
+                if (currentShardCount != shardCount) {
+                    balance = transactionUtil.runInTransaction(
+                        conn -> withdrawFromShard(conn, name, randomShard(currentShardCount), amount)
+                    );
+                }
+            }
+            if (balance.isPresent()) {
+                return balance.get();
+            }
+
+            return transactionUtil.runInTransaction(conn -> withdrawAcrossShards(conn, name, amount));
+        } catch (SQLException e) {
+            throw new DatabaseException("database exception while withdrawing from bank", e);
+        }
+    }
+
+    private static void requirePositive(BigDecimal amount) {
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("amount must be positive");
+        }
+    }
+
+    private static int randomShard(int shardCount) {
+        return ThreadLocalRandom.current().nextInt(shardCount);
+    }
+
+    private int getShardCount(String name) {
+        var count = shardCounts.get(name);
+        return count != null ? count : readShardCount(name);
+    }
+
+    private int readShardCount(String name) {
+        var bank = getBank(name);
+        if (bank.isEmpty()) {
+            shardCounts.remove(name);
+            throw new AccountNotFoundException();
+        }
+
+        shardCounts.put(name, bank.get().shardCount());
+        return bank.get().shardCount();
+    }
+
+    private Optional<BigDecimal> depositToShard(
+        Connection conn,
+        String name,
+        int shard,
+        BigDecimal amount
+    ) throws SQLException {
+        if (!bankData.deposit(conn, name, shard, amount)) {
+            return Optional.empty();
+        }
+
+        return bankData.getBalance(conn, name);
+    }
+
+    private Optional<BigDecimal> withdrawFromShard(
+        Connection conn,
+        String name,
+        int shard,
+        BigDecimal amount
+    ) throws SQLException {
+        if (!bankData.withdrawFromShard(conn, name, shard, amount)) {
+            return Optional.empty();
+        }
+
+        return bankData.getBalance(conn, name);
+    }
+
+    // Takes from the largest shards first, so as few rows as possible are written
+    private BigDecimal withdrawAcrossShards(Connection conn, String name, BigDecimal amount) throws SQLException {
+        var shardBalances = bankData.getShardBalancesForUpdate(conn, name);
+        if (shardBalances.isEmpty()) {
+            throw new AccountNotFoundException();
+        }
+
+        var total = shardBalances.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (total.compareTo(amount) < 0) {
+            throw new InsufficientFundsException();
+        }
+
+        var deltas = new LinkedHashMap<Integer, BigDecimal>();
+        var remaining = amount;
+        var largestFirst = shardBalances.entrySet().stream()
+            .sorted(Map.Entry.<Integer, BigDecimal>comparingByValue(Comparator.reverseOrder()))
+            .toList();
+        for (var shardBalance : largestFirst) {
+            if (remaining.signum() <= 0) {
+                break;
+            }
+
+            var taken = remaining.min(shardBalance.getValue());
+            deltas.put(shardBalance.getKey(), taken.negate());
+            remaining = remaining.subtract(taken);
+        }
+
+        bankData.applyShardDeltas(conn, name, deltas);
+        return total.subtract(amount);
+    }
+}
@@ -1,6 +1,8 @@
 package com.ericgrandt.totaleconomy.service;
 
+import com.ericgrandt.totaleconomy.api.dto.CacheStats;
 import com.ericgrandt.totaleconomy.api.exception.DatabaseException;
+import com.ericgrandt.totaleconomy.api.exception.MissingDefaultCurrencyException;
 import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
 import com.ericgrandt.totaleconomy.data.CurrencyData;
 import com.ericgrandt.totaleconomy.model.TECurrency;
@@ -9,13 +11,18 @@ import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 public class CacheService {
     private final TransactionUtil transactionUtil;
     private final CurrencyData currencyData;
 
-    private volatile Map<String, TECurrency> currencies = Collections.emptyMap();
-    private volatile TECurrency defaultCurrency;
+    // Currencies and the default currency are swapped together so readers never see a half-refreshed cache
+    private volatile CurrencySnapshot snapshot;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
     public CacheService(TransactionUtil transactionUtil, CurrencyData currencyData) {
         this.transactionUtil = transactionUtil;
@@ -23,29 +30,85 @@ public class CacheService {
     }
 
     public void initCache() {
+        refresh();
+    }
+
+    /// Reloads every currency from the database and atomically replaces the cached set.
+    ///
+    /// @throws DatabaseException if the currencies could not be loaded
+    public synchronized void refresh() {
+        reload();
+    }
+
+    /// Drops the cached currencies. They are lazily reloaded from the database on the next lookup.
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    public Map<String, TECurrency> getCurrencies() {
+        return loadSnapshot().currencies();
+    }
+
+    public Optional<TECurrency> getCurrency(String currencyCode) {
+        return Optional.ofNullable(loadSnapshot().currencies().get(currencyCode));
+    }
+
+    /// Retrieves the cached default currency.
+    ///
+    /// @return the default [TECurrency]
+    /// @throws MissingDefaultCurrencyException if no currency is marked as the default
+    public TECurrency getDefaultCurrency() {
+        var defaultCurrency = loadSnapshot().defaultCurrency();
+        if (defaultCurrency == null) {
+            throw new MissingDefaultCurrencyException();
+        }
+
+        return defaultCurrency;
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum());
+    }
+
+    private CurrencySnapshot loadSnapshot() {
+        var current = snapshot;
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+
+        misses.increment();
+        synchronized (this) {
+            current = snapshot;
+            return current != null ? current : reload();
+        }
+    }
+
+    private CurrencySnapshot reload() {
         try {
             var supportedCurrencies = transactionUtil.runInTransaction(currencyData::getSupportedCurrencies);
 
             var newCachedCurrencies = new HashMap<String, TECurrency>();
+            TECurrency newDefaultCurrency = null;
             for (var currency : supportedCurrencies) {
                 newCachedCurrencies.put(currency.code(), currency);
 
                 if (currency.isDefault()) {
-                    defaultCurrency = currency;
+                    newDefaultCurrency = currency;
                 }
             }
 
-            currencies = Collections.unmodifiableMap(newCachedCurrencies);
+            var newSnapshot = new CurrencySnapshot(
+                Collections.unmodifiableMap(newCachedCurrencies),
+                newDefaultCurrency
+            );
+            snapshot = newSnapshot;
+            return newSnapshot;
         } catch (SQLException e) {
             throw new DatabaseException("error initializing cache", e);
         }
     }
 
-    public Map<String, TECurrency> getCurrencies() {
-        return currencies;
-    }
-
-    public TECurrency getDefaultCurrency() {
-        return defaultCurrency;
+    private record CurrencySnapshot(Map<String, TECurrency> currencies, TECurrency defaultCurrency) {
     }
 }
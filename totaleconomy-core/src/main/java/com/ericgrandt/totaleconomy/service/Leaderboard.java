@@ -0,0 +1,297 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.api.dto.TopBalance;
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.data.AccountData;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/// Keeps the highest balances of each currency in memory, so leaderboard requests don't read `te_account`.
+///
+/// A currency's top `size` accounts are read from the `(currency_code, balance)` index the first time it's requested.
+/// After that, every balance that [TEEconomyService] writes is offered to it: an account that ranks among them is
+/// added and the lowest is evicted. An account that falls below the rest can't be replaced without reading the
+/// database, so it leaves a gap at the bottom. The board is read again once a request reaches into that gap, and pages
+/// past `size` are always read from the database.
+///
+/// Balances changed outside of [TEEconomyService], such as by another server, are only picked up by the next read.
+public class Leaderboard {
+    // Matches the order of player_id in the index, which compares its 16 bytes unsigned
+    private static final Comparator<UUID> PLAYER_ID_ORDER = (first, second) -> {
+        var result = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+        return result != 0
+            ? result
+            : Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    };
+    private static final Comparator<Entry> RANK_ORDER = Comparator.comparing(Entry::balance, Comparator.reverseOrder())
+        .thenComparing(Entry::playerId, PLAYER_ID_ORDER.reversed());
+
+    private final TransactionUtil transactionUtil;
+    private final AccountData accountData;
+    private final BalanceStore balanceStore;
+    private final int size;
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+
+    /// @param size the number of top accounts kept in memory per currency. `0` reads every request from the database.
+    public Leaderboard(TransactionUtil transactionUtil, AccountData accountData, BalanceStore balanceStore, int size) {
+        this.transactionUtil = transactionUtil;
+        this.accountData = accountData;
+        this.balanceStore = balanceStore;
+        this.size = size;
+    }
+
+    /// @return the accounts ranked `offset + 1` through `offset + limit` in the currency, highest balance first
+    public List<TopBalance> getTopBalances(String currencyCode, int offset, int limit) throws SQLException {
+        if (offset + limit <= size) {
+            var board = boards.computeIfAbsent(currencyCode, code -> new Board());
+            var page = board.getPage(offset, limit);
+            if (page == null) {
+                page = load(currencyCode, board, offset, limit);
+            }
+            if (page != null) {
+                return page;
+            }
+        }
+
+        return transactionUtil.runInTransaction(
+            conn -> accountData.getTopBalances(conn, currencyCode, offset, limit)
+        );
+    }
+
+    /// Offers an account's new balance. It must be the balance after a committed change.
+    public void update(UUID playerId, String currencyCode, BigDecimal balance) {
+        var board = boards.get(currencyCode);
+        if (board != null) {
+            board.offer(new Change(playerId, balance, false));
+        }
+    }
+
+    /// Offers the new balances of several accounts in the same currency.
+    public void updateAll(String currencyCode, Map<UUID, BigDecimal> balances) {
+        var board = boards.get(currencyCode);
+        if (board == null) {
+            return;
+        }
+
+        for (var entry : balances.entrySet()) {
+            board.offer(new Change(entry.getKey(), entry.getValue(), false));
+        }
+    }
+
+    /// Offers an account that may have just been created with the given balance. Unlike [#update], this doesn't
+    /// replace the balance of an account the board already holds.
+    public void addAccount(UUID playerId, String currencyCode, BigDecimal balance) {
+        var board = boards.get(currencyCode);
+        if (board != null) {
+            board.offer(new Change(playerId, balance, true));
+        }
+    }
+
+    /// Reads the board from the database and answers the page from it.
+    ///
+    /// @return the page, or `null` if the board still can't answer it
+    private List<TopBalance> load(String currencyCode, Board board, int offset, int limit) throws SQLException {
+        board.loadLock.lock();
+        try {
+            // Another request may have loaded it while this one waited
+            var page = board.getPage(offset, limit);
+            if (page != null) {
+                return page;
+            }
+
+            board.startLoad();
+            List<TopBalance> rows;
+            try {
+                rows = transactionUtil.runInTransaction(
+                    conn -> accountData.getTopBalances(conn, currencyCode, 0, size)
+                );
+            } catch (SQLException | RuntimeException e) {
+                board.cancelLoad();
+                throw e;
+            }
+
+            var entries = new ArrayList<Entry>(rows.size());
+            for (var row : rows) {
+                // The balance store holds changes to online players' accounts that aren't in the database yet
+                var balance = balanceStore.getBalance(row.playerId(), currencyCode).orElse(row.balance());
+                entries.add(new Entry(row.playerId(), balance));
+            }
+            var floor = rows.size() < size ? null : rows.getLast().balance();
+            board.finishLoad(entries, floor);
+
+            return board.getPage(offset, limit);
+        } finally {
+            board.loadLock.unlock();
+        }
+    }
+
+    private record Entry(UUID playerId, BigDecimal balance) {
+    }
+
+    private record Change(UUID playerId, BigDecimal balance, boolean created) {
+    }
+
+    private final class Board {
+        private final ReentrantLock lock = new ReentrantLock();
+        // Held for the whole load, so concurrent requests wait for one read instead of each making their own
+        private final ReentrantLock loadLock = new ReentrantLock();
+        private final TreeSet<Entry> ranked = new TreeSet<>(RANK_ORDER);
+        private final Map<UUID, BigDecimal> balances = new HashMap<>();
+
+        // The highest balance an account that isn't on the board can have, or null if every account is on the board
+        private BigDecimal floor;
+        private boolean loaded;
+        // Changes made while a load is reading the database, applied on top of what it read
+        private List<Change> pendingChanges;
+        private volatile Ranking ranking;
+
+        /// @return the page, or `null` if the board can't answer it
+        List<TopBalance> getPage(int offset, int limit) {
+            var current = ranking;
+            if (current == null) {
+                current = rank();
+                if (current == null) {
+                    return null;
+                }
+            }
+
+            if (!current.complete() && offset + limit > current.balances().size()) {
+                return null;
+            }
+
+            var from = Math.min(offset, current.balances().size());
+            var to = Math.min(offset + limit, current.balances().size());
+            return current.balances().subList(from, to);
+        }
+
+        void offer(Change change) {
+            lock.lock();
+            try {
+                if (pendingChanges != null) {
+                    pendingChanges.add(change);
+                } else if (loaded) {
+                    apply(change);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void startLoad() {
+            lock.lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void cancelLoad() {
+            lock.lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void finishLoad(List<Entry> entries, BigDecimal floor) {
+            lock.lock();
+            try {
+                ranked.clear();
+                balances.clear();
+                this.floor = floor;
+                for (var entry : entries) {
+                    apply(new Change(entry.playerId(), entry.balance(), false));
+                }
+                // Balances are absolute, so a change the read already saw is harmless to apply again
+                for (var change : pendingChanges) {
+                    apply(change);
+                }
+
+                pendingChanges = null;
+                loaded = true;
+                ranking = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void apply(Change change) {
+            var previous = balances.get(change.playerId());
+            if (change.created()) {
+                if (previous != null) {
+                    return;
+                }
+                if (floor != null) {
+                    // It may be an existing account below the board, so it can only raise the bound on those
+                    if (change.balance().compareTo(floor) > 0) {
+                        floor = change.balance();
+                        ranking = null;
+                    }
+                    return;
+                }
+            }
+
+            if (previous != null) {
+                ranked.remove(new Entry(change.playerId(), previous));
+                balances.remove(change.playerId());
+                ranking = null;
+            }
+            // Below the floor it ranks no higher than accounts that aren't on the board, so it leaves with them
+            if (floor != null && change.balance().compareTo(floor) < 0) {
+                return;
+            }
+
+            ranked.add(new Entry(change.playerId(), change.balance()));
+            balances.put(change.playerId(), change.balance());
+            if (ranked.size() > size) {
+                var lowest = ranked.pollLast();
+                balances.remove(lowest.playerId());
+                floor = floor == null ? lowest.balance() : floor.max(lowest.balance());
+            }
+            ranking = null;
+        }
+
+        // Builds the list returned to readers, which is reused until the next change
+        private Ranking rank() {
+            lock.lock();
+            try {
+                if (!loaded) {
+                    return null;
+                }
+                if (ranking != null) {
+                    return ranking;
+                }
+
+                // An account tied with the floor may be outranked by one that isn't on the board, so ranks stop there
+                var topBalances = new ArrayList<TopBalance>(ranked.size());
+                for (var entry : ranked) {
+                    if (floor != null && entry.balance().compareTo(floor) <= 0) {
+                        break;
+                    }
+                    topBalances.add(new TopBalance(topBalances.size() + 1, entry.playerId(), entry.balance()));
+                }
+
+                ranking = new Ranking(List.copyOf(topBalances), floor == null);
+                return ranking;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /// @param complete whether `balances` holds every account in the currency
+    private record Ranking(List<TopBalance> balances, boolean complete) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.ericgrandt.totaleconomy.service;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Shares one load between every caller asking for the same key at the same time.
+///
+/// The first caller for a key runs the load on its own thread, and callers arriving while it runs wait for its result
+/// or exception instead of starting their own. Nothing is kept once the load finishes, so the next caller loads again.
+public class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    @FunctionalInterface
+    public interface Load<V> {
+        V load() throws SQLException;
+    }
+
+    public V run(K key, Load<V> load) throws SQLException {
+        var future = new CompletableFuture<V>();
+        var running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            coalescedCount.increment();
+            return await(running);
+        }
+
+        try {
+            var result = load.load();
+            future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /// Stops callers from joining a load already running for the key, such as after the value it's loading changed.
+    /// That load still finishes for the callers already waiting on it.
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /// @return the number of calls that waited on another caller's load instead of running their own
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) throws SQLException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SQLException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.api.dto.BatchResult;
+import com.ericgrandt.totaleconomy.api.dto.DepositResult;
+import com.ericgrandt.totaleconomy.api.dto.GetAccountBalanceResult;
+import com.ericgrandt.totaleconomy.api.dto.GetTopBalancesResult;
+import com.ericgrandt.totaleconomy.api.dto.SetBalanceResult;
+import com.ericgrandt.totaleconomy.api.dto.TransferResult;
+import com.ericgrandt.totaleconomy.api.dto.WithdrawResult;
+import com.ericgrandt.totaleconomy.api.service.AsyncEconomyService;
+import com.ericgrandt.totaleconomy.api.service.EconomyService;
+import com.ericgrandt.totaleconomy.common.infra.RejectionPolicy;
+import com.ericgrandt.totaleconomy.common.infra.VirtualThreadTaskRunner;
+import com.ericgrandt.totaleconomy.model.TECurrency;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+public class TEAsyncEconomyService implements AsyncEconomyService<TECurrency> {
+    // Queued operations allowed per pooled connection before new ones are rejected
+    private static final int QUEUE_CAPACITY_PER_CONNECTION = 64;
+
+    private final EconomyService<TECurrency> economyService;
+    private final Executor executor;
+
+    public TEAsyncEconomyService(EconomyService<TECurrency> economyService, Executor executor) {
+        this.economyService = economyService;
+        this.executor = executor;
+    }
+
+    /// Creates the runner async operations are executed on. It takes its slots from `permits`, which the plugin's own
+    /// task runner shares, so together they never run more operations at once than the pool has connections. Work
+    /// beyond the bounded queue is rejected rather than piling up.
+    ///
+    /// @param permits  the slots shared by every runner that uses the database, one per pooled connection
+    /// @param poolSize the maximum size of the database connection pool
+    public static VirtualThreadTaskRunner createRunner(Semaphore permits, int poolSize) {
+        return new VirtualThreadTaskRunner(
+            "total-economy-async-",
+            permits,
+            poolSize * QUEUE_CAPACITY_PER_CONNECTION,
+            RejectionPolicy.REJECT
+        );
+    }
+
+    @Override
+    public CompletableFuture<GetAccountBalanceResult> getAccountBalanceAsync(UUID playerId, String currencyCode) {
+        return supplyAsync(() -> economyService.getAccountBalance(playerId, currencyCode));
+    }
+
+    @Override
+    public CompletableFuture<GetAccountBalanceResult> getAccountBalanceAsync(UUID playerId) {
+        return supplyAsync(() -> economyService.getAccountBalance(playerId));
+    }
+
+    @Override
+    public CompletableFuture<GetTopBalancesResult> getTopBalancesAsync(String currencyCode, int offset, int limit) {
+        return supplyAsync(() -> economyService.getTopBalances(currencyCode, offset, limit));
+    }
+
+    @Override
+    public CompletableFuture<GetTopBalancesResult> getTopBalancesAsync(int offset, int limit) {
+        return supplyAsync(() -> economyService.getTopBalances(offset, limit));
+    }
+
+    @Override
+    public CompletableFuture<WithdrawResult> withdrawAsync(UUID playerId, String currencyCode, BigDecimal amount) {
+        return supplyAsync(() -> economyService.withdraw(playerId, currencyCode, amount));
+    }
+
+    @Override
+    public CompletableFuture<WithdrawResult> withdrawAsync(UUID playerId, BigDecimal amount) {
+        return supplyAsync(() -> economyService.withdraw(playerId, amount));
+    }
+
+    @Override
+    public CompletableFuture<DepositResult> depositAsync(UUID playerId, String currencyCode, BigDecimal amount) {
+        return supplyAsync(() -> economyService.deposit(playerId, currencyCode, amount));
+    }
+
+    @Override
+    public CompletableFuture<DepositResult> depositAsync(UUID playerId, BigDecimal amount) {
+        return supplyAsync(() -> economyService.deposit(playerId, amount));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult<WithdrawResult>> withdrawAllAsync(
+        Map<UUID, BigDecimal> amounts,
+        String currencyCode
+    ) {
+        return supplyAsync(() -> economyService.withdrawAll(amounts, currencyCode));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult<WithdrawResult>> withdrawAllAsync(Map<UUID, BigDecimal> amounts) {
+        return supplyAsync(() -> economyService.withdrawAll(amounts));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult<DepositResult>> depositAllAsync(
+        Map<UUID, BigDecimal> amounts,
+        String currencyCode
+    ) {
+        return supplyAsync(() -> economyService.depositAll(amounts, currencyCode));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult<DepositResult>> depositAllAsync(Map<UUID, BigDecimal> amounts) {
+        return supplyAsync(() -> economyService.depositAll(amounts));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult<SetBalanceResult>> setAllAsync(
+        Map<UUID, BigDecimal> balances,
+        String currencyCode
+    ) {
+        return supplyAsync(() -> economyService.setAll(balances, currencyCode));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult<SetBalanceResult>> setAllAsync(Map<UUID, BigDecimal> balances) {
+        return supplyAsync(() -> economyService.setAll(balances));
+    }
+
+    @Override
+    public CompletableFuture<TransferResult> transferAsync(
+        UUID fromPlayerId,
+        UUID toPlayerId,
+        String currencyCode,
+        BigDecimal amount
+    ) {
+        return supplyAsync(() -> economyService.transfer(fromPlayerId, toPlayerId, currencyCode, amount));
+    }
+
+    @Override
+    public CompletableFuture<TransferResult> transferAsync(UUID fromPlayerId, UUID toPlayerId, BigDecimal amount) {
+        return supplyAsync(() -> economyService.transfer(fromPlayerId, toPlayerId, amount));
+    }
+
+    private <R> CompletableFuture<R> supplyAsync(Supplier<R> operation) {
+        try {
+            return CompletableFuture.supplyAsync(operation, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.api.dto.CacheStats;
+import com.ericgrandt.totaleconomy.api.dto.EconomyStats;
+import com.ericgrandt.totaleconomy.api.dto.OperationStats;
+import com.ericgrandt.totaleconomy.api.infra.DataSourceProvider;
+import com.ericgrandt.totaleconomy.api.infra.EconomyDiagnostics;
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.infra.VirtualThreadTaskRunner;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/// Gathers the counters kept by the pool, the task runners, [TEEconomyService], its caches and the ledger into one
+/// [EconomyStats].
+public class TEEconomyDiagnostics implements EconomyDiagnostics {
+    private final DataSourceProvider dataSourceProvider;
+    private final VirtualThreadTaskRunner taskRunner;
+    private final VirtualThreadTaskRunner asyncTaskRunner;
+    private final TransactionUtil transactionUtil;
+    private final TEEconomyService economyService;
+    private final CacheService cacheService;
+    private final BalanceSnapshot balanceSnapshot;
+    private final TransactionLedger ledger;
+
+    public TEEconomyDiagnostics(
+        DataSourceProvider dataSourceProvider,
+        VirtualThreadTaskRunner taskRunner,
+        VirtualThreadTaskRunner asyncTaskRunner,
+        TransactionUtil transactionUtil,
+        TEEconomyService economyService,
+        CacheService cacheService,
+        BalanceSnapshot balanceSnapshot,
+        TransactionLedger ledger
+    ) {
+        this.dataSourceProvider = dataSourceProvider;
+        this.taskRunner = taskRunner;
+        this.asyncTaskRunner = asyncTaskRunner;
+        this.transactionUtil = transactionUtil;
+        this.economyService = economyService;
+        this.cacheService = cacheService;
+        this.balanceSnapshot = balanceSnapshot;
+        this.ledger = ledger;
+    }
+
+    @Override
+    public EconomyStats getStats() {
+        return new EconomyStats(
+            dataSourceProvider.getPoolStats(),
+            taskRunner.getQueueDepth(),
+            taskRunner.getActiveTaskCount(),
+            taskRunner.getRejectedTaskCount(),
+            asyncTaskRunner.getQueueDepth(),
+            asyncTaskRunner.getActiveTaskCount(),
+            asyncTaskRunner.getRejectedTaskCount(),
+            getOperationStats(),
+            getCacheStats(),
+            economyService.getCoalescedBalanceReadCount(),
+            balanceSnapshot.getStaleness(),
+            ledger.getQueuedCount(),
+            ledger.getDroppedCount(),
+            ledger.getRejectedCount(),
+            transactionUtil.getFailureCount(),
+            transactionUtil.getRetryCount()
+        );
+    }
+
+    // Operations that have never been called are left out, so the report only shows what the server actually uses
+    private Map<String, OperationStats> getOperationStats() {
+        var operations = new LinkedHashMap<String, OperationStats>();
+        for (var entry : economyService.getOperationLatencies().entrySet()) {
+            var latency = entry.getValue();
+            if (latency.getCount() == 0) {
+                continue;
+            }
+
+            operations.put(
+                entry.getKey().name().toLowerCase(Locale.ROOT),
+                new OperationStats(
+                    latency.getCount(),
+                    latency.getValueAtPercentile(50),
+                    latency.getValueAtPercentile(99),
+                    latency.getMax()
+                )
+            );
+        }
+
+        return operations;
+    }
+
+    private Map<String, CacheStats> getCacheStats() {
+        var caches = new LinkedHashMap<String, CacheStats>();
+        caches.put("currencies", cacheService.getStats());
+        caches.put("accounts", economyService.getAccountCacheStats());
+        caches.put("recentBalances", balanceSnapshot.getStats());
+
+        return caches;
+    }
+}
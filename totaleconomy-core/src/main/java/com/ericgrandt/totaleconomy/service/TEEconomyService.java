@@ -1,7 +1,11 @@
 package com.ericgrandt.totaleconomy.service;
 
+import com.ericgrandt.totaleconomy.api.dto.BatchResult;
+import com.ericgrandt.totaleconomy.api.dto.CacheStats;
 import com.ericgrandt.totaleconomy.api.dto.DepositResult;
 import com.ericgrandt.totaleconomy.api.dto.GetAccountBalanceResult;
+import com.ericgrandt.totaleconomy.api.dto.GetTopBalancesResult;
+import com.ericgrandt.totaleconomy.api.dto.SetBalanceResult;
 import com.ericgrandt.totaleconomy.api.dto.TransferResult;
 import com.ericgrandt.totaleconomy.api.dto.WithdrawResult;
 import com.ericgrandt.totaleconomy.api.exception.AccountNotFoundException;
@@ -9,35 +13,78 @@ import com.ericgrandt.totaleconomy.api.exception.CurrencyNotFoundException;
 import com.ericgrandt.totaleconomy.api.exception.DatabaseException;
 import com.ericgrandt.totaleconomy.api.exception.InsufficientFundsException;
 import com.ericgrandt.totaleconomy.api.exception.SelfTransferException;
+import com.ericgrandt.totaleconomy.api.exception.TotalEconomyException;
 import com.ericgrandt.totaleconomy.api.service.EconomyService;
 import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.metrics.LatencyHistogram;
+import com.ericgrandt.totaleconomy.common.metrics.OperationLatencies;
 import com.ericgrandt.totaleconomy.data.AccountData;
-import com.ericgrandt.totaleconomy.data.CurrencyData;
+import com.ericgrandt.totaleconomy.dto.BalanceDelta;
 import com.ericgrandt.totaleconomy.dto.CreateAccountDto;
+import com.ericgrandt.totaleconomy.dto.TransactionType;
 import com.ericgrandt.totaleconomy.model.TEAccount;
 import com.ericgrandt.totaleconomy.model.TECurrency;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.BiFunction;
 
 public class TEEconomyService implements EconomyService<TECurrency> {
+    /// The methods whose latencies are recorded. Each covers both of a method's overloads.
+    public enum Operation {
+        CREATE_ACCOUNT,
+        CREATE_ACCOUNTS,
+        HAS_ACCOUNT,
+        GET_BALANCE,
+        GET_RECENT_BALANCE,
+        GET_TOP_BALANCES,
+        WITHDRAW,
+        DEPOSIT,
+        WITHDRAW_ALL,
+        DEPOSIT_ALL,
+        SET_ALL,
+        TRANSFER
+    }
+
+    // Long enough to absorb the bursts of checks plugins make for the same player, short enough that an account created
+    // by another server is soon seen
+    private static final Duration MISSING_ACCOUNT_TTL = Duration.ofSeconds(5);
+
     private final TransactionUtil transactionUtil;
     private final CacheService cacheService;
-    private final CurrencyData currencyData;
+    private final BalanceStore balanceStore;
     private final AccountData accountData;
+    private final TransactionLedger ledger;
+    private final Leaderboard leaderboard;
+    private final BalanceSnapshot balanceSnapshot;
+
+    private final AccountExistenceCache accountCache = new AccountExistenceCache(MISSING_ACCOUNT_TTL);
+    // Scoreboards and placeholders ask for the same balances many times at once, so those reads share one query
+    private final SingleFlight<BalanceKey, BigDecimal> balanceReads = new SingleFlight<>();
+    private final OperationLatencies<Operation> latencies = new OperationLatencies<>(Operation.class);
 
     public TEEconomyService(
         TransactionUtil transactionUtil,
         CacheService cacheService,
-        CurrencyData currencyData,
-        AccountData accountData
+        BalanceStore balanceStore,
+        AccountData accountData,
+        TransactionLedger ledger,
+        Leaderboard leaderboard,
+        BalanceSnapshot balanceSnapshot
     ) {
         this.transactionUtil = transactionUtil;
         this.cacheService = cacheService;
-        this.currencyData = currencyData;
+        this.balanceStore = balanceStore;
         this.accountData = accountData;
+        this.ledger = ledger;
+        this.leaderboard = leaderboard;
+        this.balanceSnapshot = balanceSnapshot;
     }
 
     @Override
@@ -52,63 +99,232 @@ public class TEEconomyService implements EconomyService<TECurrency> {
 
     @Override
     public TEAccount createAccount(UUID playerId, String currencyCode) {
+        return latencies.time(Operation.CREATE_ACCOUNT, () -> createAccount(playerId, getCurrency(currencyCode)));
+    }
+
+    private TEAccount createAccount(UUID playerId, TECurrency currency) {
+        TEAccount account;
         try {
-            return transactionUtil.runInTransaction(conn -> {
-                var currency = currencyData.getCurrency(conn, currencyCode)
-                    .orElseThrow(CurrencyNotFoundException::new);
+            account = transactionUtil.runInTransaction(conn -> accountData.createAccount(
+                conn,
+                new CreateAccountDto(playerId, currency.code(), currency.startingBalance())
+            ));
+        } catch (SQLException e) {
+            throw new DatabaseException("database exception while creating account", e);
+        }
+
+        // The account may already have existed, in which case the leaderboard keeps its real balance
+        leaderboard.addAccount(playerId, currency.code(), account.balance());
+        accountCache.markExisting(playerId, currency.code());
+
+        return account;
+    }
 
-                return accountData.createAccount(
-                    conn,
-                    new CreateAccountDto(playerId, currencyCode, currency.startingBalance())
-                );
+    @Override
+    public void createAccounts(UUID playerId) {
+        latencies.time(Operation.CREATE_ACCOUNTS, () -> createAccounts(playerId, getSupportedCurrencies()));
+    }
+
+    private void createAccounts(UUID playerId, Map<String, TECurrency> currencies) {
+        // Skips the database when the player rejoins, unless a currency has been added since
+        if (accountCache.existsAll(playerId, currencies.keySet())) {
+            return;
+        }
+
+        var requests = currencies.values()
+            .stream()
+            .map(currency -> new CreateAccountDto(playerId, currency.code(), currency.startingBalance()))
+            .toList();
+        try {
+            transactionUtil.runInTransaction(conn -> {
+                accountData.createAccounts(conn, requests);
+                return null;
             });
         } catch (SQLException e) {
-            throw new DatabaseException("database exception while creating account", e);
+            throw new DatabaseException("database exception while creating accounts", e);
         }
+
+        for (var request : requests) {
+            leaderboard.addAccount(playerId, request.currencyCode(), request.balance());
+        }
+        accountCache.markExisting(playerId, currencies.keySet());
+    }
+
+    @Override
+    public boolean hasAccount(UUID playerId, String currencyCode) {
+        return latencies.time(Operation.HAS_ACCOUNT, () -> hasAccount(playerId, getCurrency(currencyCode)));
+    }
+
+    @Override
+    public boolean hasAccount(UUID playerId) {
+        return latencies.time(Operation.HAS_ACCOUNT, () -> hasAccount(playerId, getDefaultCurrency()));
+    }
+
+    private boolean hasAccount(UUID playerId, TECurrency currency) {
+        var cached = accountCache.exists(playerId, currency.code());
+        if (cached != null) {
+            return cached;
+        }
+        if (balanceStore.getBalance(playerId, currency.code()).isPresent()) {
+            accountCache.markExisting(playerId, currency.code());
+            return true;
+        }
+
+        boolean exists;
+        try {
+            exists = transactionUtil.runInTransaction(
+                conn -> accountData.getAccount(conn, playerId, currency.code()).isPresent()
+            );
+        } catch (SQLException e) {
+            throw new DatabaseException("database exception while checking for an account", e);
+        }
+
+        if (exists) {
+            accountCache.markExisting(playerId, currency.code());
+        } else {
+            accountCache.markMissing(playerId, currency.code());
+        }
+        return exists;
     }
 
     @Override
     public GetAccountBalanceResult getAccountBalance(UUID playerId, String currencyCode) {
+        return latencies.time(Operation.GET_BALANCE, () -> getAccountBalance(playerId, getCurrency(currencyCode)));
+    }
+
+    @Override
+    public GetAccountBalanceResult getAccountBalance(UUID playerId) {
+        return latencies.time(Operation.GET_BALANCE, () -> getAccountBalance(playerId, getDefaultCurrency()));
+    }
+
+    private GetAccountBalanceResult getAccountBalance(UUID playerId, TECurrency currency) {
+        var cachedBalance = balanceStore.getBalance(playerId, currency.code());
+        if (cachedBalance.isPresent()) {
+            return new GetAccountBalanceResult(currency, cachedBalance.get());
+        }
+
         try {
-            return transactionUtil.runInTransaction(conn -> {
-                var currency = currencyData.getCurrency(conn, currencyCode).orElseThrow(CurrencyNotFoundException::new);
-                var account = accountData.getAccount(conn, playerId, currency.code()).orElseThrow(
-                    AccountNotFoundException::new
-                );
+            var balance = balanceReads.run(
+                new BalanceKey(playerId, currency.code()),
+                () -> transactionUtil.runInTransaction(conn -> {
+                    var account = accountData.getAccount(conn, playerId, currency.code()).orElseThrow(
+                        AccountNotFoundException::new
+                    );
 
-                return new GetAccountBalanceResult(currency, account.balance());
-            });
+                    return account.balance();
+                })
+            );
+
+            return new GetAccountBalanceResult(currency, balance);
         } catch (SQLException e) {
             throw new DatabaseException("database exception while getting an account balance", e);
         }
     }
 
+    /// @return the number of [#getAccountBalance] calls that shared another call's database read instead of making
+    /// their own
+    public long getCoalescedBalanceReadCount() {
+        return balanceReads.getCoalescedCount();
+    }
+
+    /// @return the latency of every call made to each operation, including calls that threw
+    public Map<Operation, LatencyHistogram> getOperationLatencies() {
+        return latencies.getHistograms();
+    }
+
+    public CacheStats getAccountCacheStats() {
+        return accountCache.getStats();
+    }
+
     @Override
-    public GetAccountBalanceResult getAccountBalance(UUID playerId) {
+    public GetAccountBalanceResult getRecentAccountBalance(UUID playerId, String currencyCode) {
+        return latencies.time(
+            Operation.GET_RECENT_BALANCE,
+            () -> getRecentAccountBalance(playerId, getCurrency(currencyCode))
+        );
+    }
+
+    @Override
+    public GetAccountBalanceResult getRecentAccountBalance(UUID playerId) {
+        return latencies.time(
+            Operation.GET_RECENT_BALANCE,
+            () -> getRecentAccountBalance(playerId, getDefaultCurrency())
+        );
+    }
+
+    private GetAccountBalanceResult getRecentAccountBalance(UUID playerId, TECurrency currency) {
         try {
-            var currency = transactionUtil.runInTransaction(currencyData::getDefaultCurrency);
-            return getAccountBalance(playerId, currency.code());
+            var balance = balanceSnapshot.getBalance(playerId, currency.code()).orElseThrow(
+                AccountNotFoundException::new
+            );
+
+            return new GetAccountBalanceResult(currency, balance);
         } catch (SQLException e) {
             throw new DatabaseException("database exception while getting an account balance", e);
         }
     }
 
+    @Override
+    public GetTopBalancesResult getTopBalances(String currencyCode, int offset, int limit) {
+        return latencies.time(
+            Operation.GET_TOP_BALANCES,
+            () -> getTopBalances(getCurrency(currencyCode), offset, limit)
+        );
+    }
+
+    @Override
+    public GetTopBalancesResult getTopBalances(int offset, int limit) {
+        return latencies.time(Operation.GET_TOP_BALANCES, () -> getTopBalances(getDefaultCurrency(), offset, limit));
+    }
+
+    private GetTopBalancesResult getTopBalances(TECurrency currency, int offset, int limit) {
+        if (offset < 0 || limit < 1) {
+            throw new IllegalArgumentException("offset must not be negative and limit must be positive");
+        }
+
+        try {
+            return new GetTopBalancesResult(currency, leaderboard.getTopBalances(currency.code(), offset, limit));
+        } catch (SQLException e) {
+            throw new DatabaseException("database exception while getting top balances", e);
+        }
+    }
+
     @Override
     public WithdrawResult withdraw(UUID playerId, String currencyCode, BigDecimal amount) {
+        return latencies.time(Operation.WITHDRAW, () -> withdraw(playerId, getCurrency(currencyCode), amount));
+    }
+
+    @Override
+    public WithdrawResult withdraw(UUID playerId, BigDecimal amount) {
+        return latencies.time(Operation.WITHDRAW, () -> withdraw(playerId, getDefaultCurrency(), amount));
+    }
+
+    private WithdrawResult withdraw(UUID playerId, TECurrency currency, BigDecimal amount) {
+        var result = withdrawWithoutRecording(playerId, currency, amount);
+        ledger.recordWithdraw(playerId, currency.code(), amount, result.balance());
+        updateBalance(playerId, currency.code(), result.balance());
+
+        return result;
+    }
+
+    private WithdrawResult withdrawWithoutRecording(UUID playerId, TECurrency currency, BigDecimal amount) {
+        var cachedBalance = balanceStore.withdraw(playerId, currency.code(), amount);
+        if (cachedBalance.isPresent()) {
+            return new WithdrawResult(currency, amount, cachedBalance.get());
+        }
+
         try {
             return transactionUtil.runInTransaction(conn -> {
-                var currency = currencyData.getCurrency(conn, currencyCode).orElseThrow(CurrencyNotFoundException::new);
-
-                var account = accountData.getAccount(conn, playerId, currency.code())
+                var balance = accountData.getBalanceForUpdate(conn, playerId, currency.code())
                     .orElseThrow(AccountNotFoundException::new);
-                var success = accountData.withdraw(conn, playerId, currency.code(), amount, true);
-                if (!success) {
-                    // TODO: There is a small chance withdraw will fail for a different reason than
-                    //  insufficient funds
+                if (balance.compareTo(amount) < 0) {
                     throw new InsufficientFundsException();
                 }
 
-                return new WithdrawResult(currency, amount, account.balance().subtract(amount));
+                // The row is locked, so the balance can't have changed since it was read
+                accountData.withdraw(conn, playerId, currency.code(), amount, false);
+
+                return new WithdrawResult(currency, amount, balance.subtract(amount));
             });
         } catch (SQLException e) {
             throw new DatabaseException("database exception while withdrawing from account", e);
@@ -116,29 +332,41 @@ public class TEEconomyService implements EconomyService<TECurrency> {
     }
 
     @Override
-    public WithdrawResult withdraw(UUID playerId, BigDecimal amount) {
-        try {
-            var currency = transactionUtil.runInTransaction(currencyData::getDefaultCurrency);
-            return withdraw(playerId, currency.code(), amount);
-        } catch (SQLException e) {
-            throw new DatabaseException("database exception while withdrawing from account", e);
-        }
+    public DepositResult deposit(UUID playerId, String currencyCode, BigDecimal amount) {
+        return latencies.time(Operation.DEPOSIT, () -> deposit(playerId, getCurrency(currencyCode), amount));
     }
 
     @Override
-    public DepositResult deposit(UUID playerId, String currencyCode, BigDecimal amount) {
+    public DepositResult deposit(UUID playerId, BigDecimal amount) {
+        return latencies.time(Operation.DEPOSIT, () -> deposit(playerId, getDefaultCurrency(), amount));
+    }
+
+    private DepositResult deposit(UUID playerId, TECurrency currency, BigDecimal amount) {
+        var result = depositWithoutRecording(playerId, currency, amount);
+        if (result.amount().signum() != 0) {
+            ledger.recordDeposit(playerId, currency.code(), result.amount(), result.balance());
+            updateBalance(playerId, currency.code(), result.balance());
+        }
+
+        return result;
+    }
+
+    private DepositResult depositWithoutRecording(UUID playerId, TECurrency currency, BigDecimal amount) {
+        var cachedBalance = balanceStore.deposit(playerId, currency.code(), amount);
+        if (cachedBalance.isPresent()) {
+            return new DepositResult(currency, amount, cachedBalance.get());
+        }
+
         try {
             return transactionUtil.runInTransaction(conn -> {
-                var currency = currencyData.getCurrency(conn, currencyCode).orElseThrow(CurrencyNotFoundException::new);
-
-                var account = accountData.getAccount(conn, playerId, currency.code())
+                var balance = accountData.getBalanceForUpdate(conn, playerId, currency.code())
                     .orElseThrow(AccountNotFoundException::new);
                 var success = accountData.deposit(conn, playerId, currency.code(), amount);
                 if (!success) {
-                    return new DepositResult(currency, BigDecimal.ZERO, account.balance());
+                    return new DepositResult(currency, BigDecimal.ZERO, balance);
                 }
 
-                return new DepositResult(currency, amount, account.balance().add(amount));
+                return new DepositResult(currency, amount, balance.add(amount));
             });
         } catch (SQLException e) {
             throw new DatabaseException("database exception while depositing into account", e);
@@ -146,49 +374,348 @@ public class TEEconomyService implements EconomyService<TECurrency> {
     }
 
     @Override
-    public DepositResult deposit(UUID playerId, BigDecimal amount) {
-        try {
-            var currency = transactionUtil.runInTransaction(currencyData::getDefaultCurrency);
-            return deposit(playerId, currency.code(), amount);
-        } catch (SQLException e) {
-            throw new DatabaseException("database exception while depositing into account", e);
-        }
+    public BatchResult<WithdrawResult> withdrawAll(Map<UUID, BigDecimal> amounts, String currencyCode) {
+        return latencies.time(Operation.WITHDRAW_ALL, () -> withdrawAll(amounts, getCurrency(currencyCode)));
     }
 
     @Override
-    public TransferResult transfer(UUID fromPlayerId, UUID toPlayerId, String currencyCode, BigDecimal amount) {
-        if (fromPlayerId.equals(toPlayerId)) {
-            throw new SelfTransferException();
+    public BatchResult<WithdrawResult> withdrawAll(Map<UUID, BigDecimal> amounts) {
+        return latencies.time(Operation.WITHDRAW_ALL, () -> withdrawAll(amounts, getDefaultCurrency()));
+    }
+
+    private BatchResult<WithdrawResult> withdrawAll(Map<UUID, BigDecimal> amounts, TECurrency currency) {
+        return applyAll(
+            amounts,
+            currency,
+            BatchOperation.WITHDRAW,
+            (delta, balance) -> new WithdrawResult(currency, delta.negate(), balance)
+        );
+    }
+
+    @Override
+    public BatchResult<DepositResult> depositAll(Map<UUID, BigDecimal> amounts, String currencyCode) {
+        return latencies.time(Operation.DEPOSIT_ALL, () -> depositAll(amounts, getCurrency(currencyCode)));
+    }
+
+    @Override
+    public BatchResult<DepositResult> depositAll(Map<UUID, BigDecimal> amounts) {
+        return latencies.time(Operation.DEPOSIT_ALL, () -> depositAll(amounts, getDefaultCurrency()));
+    }
+
+    private BatchResult<DepositResult> depositAll(Map<UUID, BigDecimal> amounts, TECurrency currency) {
+        return applyAll(
+            amounts,
+            currency,
+            BatchOperation.DEPOSIT,
+            (delta, balance) -> new DepositResult(currency, delta, balance)
+        );
+    }
+
+    @Override
+    public BatchResult<SetBalanceResult> setAll(Map<UUID, BigDecimal> balances, String currencyCode) {
+        return latencies.time(Operation.SET_ALL, () -> setAll(balances, getCurrency(currencyCode)));
+    }
+
+    @Override
+    public BatchResult<SetBalanceResult> setAll(Map<UUID, BigDecimal> balances) {
+        return latencies.time(Operation.SET_ALL, () -> setAll(balances, getDefaultCurrency()));
+    }
+
+    private BatchResult<SetBalanceResult> setAll(Map<UUID, BigDecimal> balances, TECurrency currency) {
+        return applyAll(
+            balances,
+            currency,
+            BatchOperation.SET,
+            (delta, balance) -> new SetBalanceResult(currency, balance.subtract(delta), balance)
+        );
+    }
+
+    /// Applies a withdrawal, deposit or set per player. Accounts loaded in the balance store are changed in memory, the
+    /// rest are locked with one query and updated with one batch in a single transaction.
+    ///
+    /// @param resultFactory creates a player's result from the change made to their balance and the new balance
+    private <R> BatchResult<R> applyAll(
+        Map<UUID, BigDecimal> amounts,
+        TECurrency currency,
+        BatchOperation operation,
+        BiFunction<BigDecimal, BigDecimal, R> resultFactory
+    ) {
+        var results = new LinkedHashMap<UUID, R>();
+        var failures = new LinkedHashMap<UUID, TotalEconomyException>();
+        var balances = new LinkedHashMap<UUID, BigDecimal>();
+        var changes = new LinkedHashMap<UUID, BigDecimal>();
+
+        var cachedChanges = balanceStore.applyAll(
+            currency.code(),
+            amounts,
+            operation::delta,
+            operation == BatchOperation.WITHDRAW
+        );
+        failures.putAll(cachedChanges.failures());
+        for (var entry : cachedChanges.applied().entrySet()) {
+            var change = entry.getValue();
+            results.put(entry.getKey(), resultFactory.apply(change.delta(), change.balance()));
+            balances.put(entry.getKey(), change.balance());
+            changes.put(entry.getKey(), change.delta());
         }
 
+        var uncachedAmounts = new LinkedHashMap<UUID, BigDecimal>();
+        for (var entry : amounts.entrySet()) {
+            var playerId = entry.getKey();
+            if (!results.containsKey(playerId) && !failures.containsKey(playerId)) {
+                uncachedAmounts.put(playerId, entry.getValue());
+            }
+        }
+
+        if (!uncachedAmounts.isEmpty()) {
+            applyAllInDatabase(
+                uncachedAmounts,
+                currency,
+                operation,
+                resultFactory,
+                results,
+                failures,
+                balances,
+                changes
+            );
+        }
+
+        // A set's amount is the new balance, so its entries record the change it made instead
+        var ledgerAmounts = operation == BatchOperation.SET ? changes : amounts;
+        ledger.recordAll(operation.transactionType, currency.code(), ledgerAmounts, balances);
+        leaderboard.updateAll(currency.code(), balances);
+        balanceSnapshot.updateAll(currency.code(), balances);
+        for (var playerId : balances.keySet()) {
+            balanceReads.forget(new BalanceKey(playerId, currency.code()));
+        }
+
+        return new BatchResult<>(results, failures);
+    }
+
+    private <R> void applyAllInDatabase(
+        Map<UUID, BigDecimal> amounts,
+        TECurrency currency,
+        BatchOperation operation,
+        BiFunction<BigDecimal, BigDecimal, R> resultFactory,
+        Map<UUID, R> results,
+        Map<UUID, TotalEconomyException> failures,
+        Map<UUID, BigDecimal> balances,
+        Map<UUID, BigDecimal> changes
+    ) {
         try {
-            return transactionUtil.runInTransaction(conn -> {
-                var currency = currencyData.getCurrency(conn, currencyCode).orElseThrow(CurrencyNotFoundException::new);
+            var batch = transactionUtil.runInTransaction(conn -> {
+                var batchResults = new LinkedHashMap<UUID, R>();
+                var batchFailures = new LinkedHashMap<UUID, TotalEconomyException>();
+                var batchBalances = new LinkedHashMap<UUID, BigDecimal>();
+                var batchChanges = new LinkedHashMap<UUID, BigDecimal>();
+                var deltas = new ArrayList<BalanceDelta>();
 
-                accountData.getAccount(conn, fromPlayerId, currency.code()).orElseThrow(AccountNotFoundException::new);
-                accountData.getAccount(conn, toPlayerId, currency.code()).orElseThrow(AccountNotFoundException::new);
+                var currentBalances = accountData.getBalancesForUpdate(conn, amounts.keySet(), currency.code());
+                for (var entry : amounts.entrySet()) {
+                    var playerId = entry.getKey();
+                    var amount = entry.getValue();
+                    var balance = currentBalances.get(playerId);
+                    if (balance == null) {
+                        batchFailures.put(playerId, new AccountNotFoundException());
+                        continue;
+                    }
+                    if (operation == BatchOperation.WITHDRAW && balance.compareTo(amount) < 0) {
+                        batchFailures.put(playerId, new InsufficientFundsException());
+                        continue;
+                    }
 
-                var success = accountData.withdraw(conn, fromPlayerId, currency.code(), amount, true);
-                if (!success) {
-                    throw new InsufficientFundsException();
+                    var delta = operation.delta(amount, balance);
+                    var newBalance = balance.add(delta);
+                    deltas.add(new BalanceDelta(playerId, currency.code(), delta));
+                    batchResults.put(playerId, resultFactory.apply(delta, newBalance));
+                    batchBalances.put(playerId, newBalance);
+                    batchChanges.put(playerId, delta);
                 }
 
-                accountData.deposit(conn, toPlayerId, currency.code(), amount);
+                if (!deltas.isEmpty()) {
+                    accountData.applyBalanceDeltas(conn, deltas);
+                }
 
-                return new TransferResult(currency, amount);
+                var result = new BatchResult<>(batchResults, batchFailures);
+                return new AppliedBatch<>(result, batchBalances, batchChanges);
             });
+
+            results.putAll(batch.result().results());
+            failures.putAll(batch.result().failures());
+            balances.putAll(batch.balances());
+            changes.putAll(batch.changes());
         } catch (SQLException e) {
-            throw new DatabaseException("database exception while performing transfer", e);
+            // The in-memory changes are already applied, so report the failed entries instead of throwing
+            var exception = new DatabaseException("database exception while applying batch", e);
+            for (var playerId : amounts.keySet()) {
+                failures.put(playerId, exception);
+            }
         }
     }
 
+    @Override
+    public TransferResult transfer(UUID fromPlayerId, UUID toPlayerId, String currencyCode, BigDecimal amount) {
+        if (fromPlayerId.equals(toPlayerId)) {
+            throw new SelfTransferException();
+        }
+
+        return latencies.time(
+            Operation.TRANSFER,
+            () -> transfer(fromPlayerId, toPlayerId, getCurrency(currencyCode), amount)
+        );
+    }
+
     @Override
     public TransferResult transfer(UUID fromPlayerId, UUID toPlayerId, BigDecimal amount) {
+        if (fromPlayerId.equals(toPlayerId)) {
+            throw new SelfTransferException();
+        }
+
+        return latencies.time(
+            Operation.TRANSFER,
+            () -> transfer(fromPlayerId, toPlayerId, getDefaultCurrency(), amount)
+        );
+    }
+
+    private TransferResult transfer(UUID fromPlayerId, UUID toPlayerId, TECurrency currency, BigDecimal amount) {
+        var balances = transferWithoutRecording(fromPlayerId, toPlayerId, currency, amount);
+        var fromBalance = resolveBalance(fromPlayerId, currency.code(), balances.fromBalance());
+        var toBalance = resolveBalance(toPlayerId, currency.code(), balances.toBalance());
+        ledger.recordTransfer(fromPlayerId, toPlayerId, currency.code(), amount, fromBalance, toBalance);
+        updateBalance(fromPlayerId, currency.code(), fromBalance);
+        updateBalance(toPlayerId, currency.code(), toBalance);
+
+        return new TransferResult(currency, amount);
+    }
+
+    /// @param databaseBalance the balance read while changing the database, or `null` if the change was only made in
+    ///                        the balance store
+    private void updateBalance(UUID playerId, String currencyCode, BigDecimal databaseBalance) {
+        // Reads that start after this change mustn't wait on a query that may have started before it
+        balanceReads.forget(new BalanceKey(playerId, currencyCode));
+
+        var balance = resolveBalance(playerId, currencyCode, databaseBalance);
+        if (balance != null) {
+            leaderboard.update(playerId, currencyCode, balance);
+            balanceSnapshot.update(playerId, currencyCode, balance);
+        }
+    }
+
+    // A loaded account's balance in the store includes changes that aren't in the database yet
+    private BigDecimal resolveBalance(UUID playerId, String currencyCode, BigDecimal databaseBalance) {
+        return balanceStore.getBalance(playerId, currencyCode).orElse(databaseBalance);
+    }
+
+    private TransferredBalances transferWithoutRecording(
+        UUID fromPlayerId,
+        UUID toPlayerId,
+        TECurrency currency,
+        BigDecimal amount
+    ) {
+        if (balanceStore.transfer(fromPlayerId, toPlayerId, currency.code(), amount)) {
+            return new TransferredBalances(null, null);
+        }
+
         try {
-            var currency = transactionUtil.runInTransaction(currencyData::getDefaultCurrency);
-            return transfer(fromPlayerId, toPlayerId, currency.code(), amount);
+            // When only one side is loaded in the balance store, its lock is held while both rows are updated in the
+            // database. The store has already checked the sender's funds if the sender is the loaded side.
+            var fromLoaded = balanceStore.runWithLoadedAccount(
+                fromPlayerId,
+                currency.code(),
+                amount.negate(),
+                true,
+                conn -> transferInDatabase(conn, fromPlayerId, toPlayerId, currency, amount, false)
+            );
+            if (fromLoaded.isPresent()) {
+                return fromLoaded.get();
+            }
+
+            var toLoaded = balanceStore.runWithLoadedAccount(
+                toPlayerId,
+                currency.code(),
+                amount,
+                false,
+                conn -> transferInDatabase(conn, fromPlayerId, toPlayerId, currency, amount, true)
+            );
+            if (toLoaded.isPresent()) {
+                return toLoaded.get();
+            }
+
+            return transactionUtil.runInTransaction(
+                conn -> transferInDatabase(conn, fromPlayerId, toPlayerId, currency, amount, true)
+            );
         } catch (SQLException e) {
             throw new DatabaseException("database exception while performing transfer", e);
         }
     }
+
+    private TransferredBalances transferInDatabase(
+        Connection conn,
+        UUID fromPlayerId,
+        UUID toPlayerId,
+        TECurrency currency,
+        BigDecimal amount,
+        boolean enforceMinimumBalance
+    ) throws SQLException {
+        // Lock both rows in a fixed order, so two opposing transfers can't each hold one lock while waiting on the
+        // other. The string order of UUIDs matches their order in the player_id index.
+        var fromFirst = fromPlayerId.toString().compareTo(toPlayerId.toString()) < 0;
+        var firstPlayerId = fromFirst ? fromPlayerId : toPlayerId;
+        var secondPlayerId = fromFirst ? toPlayerId : fromPlayerId;
+        var firstBalance = accountData.getBalanceForUpdate(conn, firstPlayerId, currency.code())
+            .orElseThrow(AccountNotFoundException::new);
+        var secondBalance = accountData.getBalanceForUpdate(conn, secondPlayerId, currency.code())
+            .orElseThrow(AccountNotFoundException::new);
+
+        var fromBalance = fromFirst ? firstBalance : secondBalance;
+        var toBalance = fromFirst ? secondBalance : firstBalance;
+        if (enforceMinimumBalance && fromBalance.compareTo(amount) < 0) {
+            throw new InsufficientFundsException();
+        }
+
+        accountData.withdraw(conn, fromPlayerId, currency.code(), amount, false);
+        accountData.deposit(conn, toPlayerId, currency.code(), amount);
+
+        return new TransferredBalances(fromBalance.subtract(amount), toBalance.add(amount));
+    }
+
+    private TECurrency getCurrency(String currencyCode) {
+        return cacheService.getCurrency(currencyCode).orElseThrow(CurrencyNotFoundException::new);
+    }
+
+    // The balances of both accounts after a transfer, as read from the database
+    private record TransferredBalances(BigDecimal fromBalance, BigDecimal toBalance) {
+    }
+
+    // Returned from the batch transaction, so balances from an attempt that was retried are never recorded
+    private record AppliedBatch<R>(
+        BatchResult<R> result,
+        Map<UUID, BigDecimal> balances,
+        Map<UUID, BigDecimal> changes
+    ) {
+    }
+
+    private enum BatchOperation {
+        WITHDRAW(TransactionType.WITHDRAW),
+        DEPOSIT(TransactionType.DEPOSIT),
+        SET(TransactionType.SET);
+
+        private final TransactionType transactionType;
+
+        BatchOperation(TransactionType transactionType) {
+            this.transactionType = transactionType;
+        }
+
+        // The signed change to make to a balance for the amount requested
+        private BigDecimal delta(BigDecimal amount, BigDecimal balance) {
+            return switch (this) {
+                case WITHDRAW -> amount.negate();
+                case DEPOSIT -> amount;
+                case SET -> amount.subtract(balance);
+            };
+        }
+    }
+
+    private record BalanceKey(UUID playerId, String currencyCode) {
+    }
 }
@@ -0,0 +1,344 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.data.TransactionData;
+import com.ericgrandt.totaleconomy.dto.LedgerEntry;
+import com.ericgrandt.totaleconomy.dto.TransactionType;
+import org.slf4j.Logger;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/// Records every committed balance change in the `te_transaction` ledger without adding to the latency of the change.
+///
+/// Entries are put on a bounded queue and written by a background thread, which drains whatever has queued up into a
+/// single batch. Under load this turns many small inserts into a few multi-row ones, outside of the economy
+/// transactions. When the queue is full, entries are dropped and counted rather than making the caller wait.
+///
+/// A batch that fails is retried with a growing delay, so a database outage delays entries instead of losing them. A
+/// batch the database rejects as invalid, or that has failed [#MAX_ATTEMPTS] times, is split in half and each half
+/// retried, until the entries causing the failure are alone. A lone entry the database rejects is logged and dropped,
+/// so one bad entry can't hold up the rest of the ledger.
+public class TransactionLedger {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(250);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(30);
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final Logger logger;
+    private final TransactionUtil transactionUtil;
+    private final TransactionData transactionData;
+    private final Supplier<String> sourceResolver;
+    private final BlockingQueue<LedgerEntry> queue;
+    private final int maxBatchSize;
+    private final boolean enabled;
+
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder failedWriteCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writer;
+    private List<List<LedgerEntry>> unwrittenBatches = List.of();
+
+    /// @param sourceResolver returns the name of the plugin making the current call, or `null` if unknown. It runs on
+    ///                       the calling thread, so it must be cheap.
+    public TransactionLedger(
+        Logger logger,
+        TransactionUtil transactionUtil,
+        TransactionData transactionData,
+        Supplier<String> sourceResolver,
+        int queueCapacity,
+        int maxBatchSize
+    ) {
+        this.logger = logger;
+        this.transactionUtil = transactionUtil;
+        this.transactionData = transactionData;
+        this.sourceResolver = sourceResolver;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.enabled = true;
+    }
+
+    private TransactionLedger() {
+        this.logger = null;
+        this.transactionUtil = null;
+        this.transactionData = null;
+        this.sourceResolver = () -> null;
+        this.queue = null;
+        this.maxBatchSize = 0;
+        this.enabled = false;
+    }
+
+    /// @return a ledger that records nothing
+    public static TransactionLedger disabled() {
+        return new TransactionLedger();
+    }
+
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        writer = Thread.ofVirtual().name("total-economy-ledger").start(this::writeLoop);
+    }
+
+    public void recordWithdraw(UUID playerId, String currencyCode, BigDecimal amount, BigDecimal balance) {
+        if (enabled) {
+            enqueue(TransactionType.WITHDRAW, playerId, null, currencyCode, amount.negate(), balance, resolveSource());
+        }
+    }
+
+    public void recordDeposit(UUID playerId, String currencyCode, BigDecimal amount, BigDecimal balance) {
+        if (enabled) {
+            enqueue(TransactionType.DEPOSIT, playerId, null, currencyCode, amount, balance, resolveSource());
+        }
+    }
+
+    /// Records a transfer as an entry for each player.
+    ///
+    /// @param fromBalance the sender's resulting balance
+    /// @param toBalance   the recipient's resulting balance
+    public void recordTransfer(
+        UUID fromPlayerId,
+        UUID toPlayerId,
+        String currencyCode,
+        BigDecimal amount,
+        BigDecimal fromBalance,
+        BigDecimal toBalance
+    ) {
+        if (!enabled) {
+            return;
+        }
+
+        var source = resolveSource();
+        enqueue(TransactionType.TRANSFER, fromPlayerId, toPlayerId, currencyCode, amount.negate(), fromBalance, source);
+        enqueue(TransactionType.TRANSFER, toPlayerId, fromPlayerId, currencyCode, amount, toBalance, source);
+    }
+
+    /// Records the changes applied by a batch withdrawal, deposit or set.
+    ///
+    /// @param amounts  the amount requested for each player, or for [TransactionType#SET] the change made to their
+    ///                 balance
+    /// @param balances the resulting balance of each player whose change was applied
+    public void recordAll(
+        TransactionType type,
+        String currencyCode,
+        Map<UUID, BigDecimal> amounts,
+        Map<UUID, BigDecimal> balances
+    ) {
+        if (!enabled) {
+            return;
+        }
+
+        var source = resolveSource();
+        for (var entry : balances.entrySet()) {
+            var amount = amounts.get(entry.getKey());
+            var delta = type == TransactionType.WITHDRAW ? amount.negate() : amount;
+            enqueue(type, entry.getKey(), null, currencyCode, delta, entry.getValue(), source);
+        }
+    }
+
+    /// Stops the writer and writes everything still queued.
+    public void shutdown() {
+        if (!enabled || writer == null) {
+            return;
+        }
+
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Joining the writer makes its last batches visible here
+        var pending = new ArrayDeque<>(unwrittenBatches);
+        while (!pending.isEmpty() || drainQueue(pending)) {
+            var batch = pending.removeFirst();
+            switch (write(batch)) {
+                case WRITTEN -> { }
+                case REJECTED -> splitOrDrop(pending, batch);
+                case FAILED -> failedWriteCount.add(batch.size());
+            }
+        }
+    }
+
+    /// @return the number of entries written to the database
+    public long getWrittenCount() {
+        return writtenCount.sum();
+    }
+
+    /// @return the number of entries dropped because the queue was full
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /// @return the number of entries lost because they still couldn't be written on shutdown
+    public long getFailedWriteCount() {
+        return failedWriteCount.sum();
+    }
+
+    /// @return the number of entries dropped because the database rejected them
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /// @return the number of entries waiting to be written
+    public int getQueuedCount() {
+        return enabled ? queue.size() : 0;
+    }
+
+    private String resolveSource() {
+        try {
+            return sourceResolver.get();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void enqueue(
+        TransactionType type,
+        UUID playerId,
+        UUID counterpartyId,
+        String currencyCode,
+        BigDecimal amount,
+        BigDecimal balance,
+        String source
+    ) {
+        var createdAt = Instant.now();
+        var entry = new LedgerEntry(type, playerId, counterpartyId, currencyCode, amount, balance, source, createdAt);
+        if (!queue.offer(entry)) {
+            droppedCount.increment();
+        }
+    }
+
+    private void writeLoop() {
+        var pending = new ArrayDeque<List<LedgerEntry>>();
+        var attempts = 0;
+        var retryDelay = POLL_INTERVAL;
+        while (running) {
+            if (pending.isEmpty()) {
+                LedgerEntry first;
+                try {
+                    first = queue.poll(POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (first == null) {
+                    continue;
+                }
+
+                var batch = new ArrayList<LedgerEntry>(maxBatchSize);
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                pending.add(batch);
+            }
+
+            var batch = pending.removeFirst();
+            var result = write(batch);
+            if (result == WriteResult.WRITTEN) {
+                attempts = 0;
+                retryDelay = POLL_INTERVAL;
+                continue;
+            }
+
+            attempts++;
+            if (result == WriteResult.REJECTED || (attempts >= MAX_ATTEMPTS && batch.size() > 1)) {
+                splitOrDrop(pending, batch);
+                attempts = 0;
+                continue;
+            }
+
+            pending.addFirst(batch);
+            if (!sleep(retryDelay)) {
+                break;
+            }
+            var doubledDelay = retryDelay.multipliedBy(2);
+            retryDelay = doubledDelay.compareTo(MAX_RETRY_DELAY) < 0 ? doubledDelay : MAX_RETRY_DELAY;
+        }
+
+        // Written by shutdown, along with the rest of the queue
+        unwrittenBatches = List.copyOf(pending);
+    }
+
+    private boolean drainQueue(Deque<List<LedgerEntry>> pending) {
+        var batch = new ArrayList<LedgerEntry>(maxBatchSize);
+        if (queue.drainTo(batch, maxBatchSize) == 0) {
+            return false;
+        }
+
+        pending.add(batch);
+        return true;
+    }
+
+    // Puts the halves of the batch at the front of the pending batches, or drops it if it's a single entry
+    private void splitOrDrop(Deque<List<LedgerEntry>> pending, List<LedgerEntry> batch) {
+        if (batch.size() == 1) {
+            rejectedCount.increment();
+            logger.error("dropped transaction ledger entry rejected by the database: {}", batch.getFirst());
+            return;
+        }
+
+        var middle = batch.size() / 2;
+        pending.addFirst(List.copyOf(batch.subList(middle, batch.size())));
+        pending.addFirst(List.copyOf(batch.subList(0, middle)));
+    }
+
+    private WriteResult write(List<LedgerEntry> batch) {
+        try {
+            transactionUtil.runInTransaction(conn -> {
+                transactionData.insertTransactions(conn, batch);
+                return null;
+            });
+            writtenCount.add(batch.size());
+            return WriteResult.WRITTEN;
+        } catch (SQLException e) {
+            logger.warn("error writing {} transaction ledger entries", batch.size(), e);
+            return isInvalidData(e) ? WriteResult.REJECTED : WriteResult.FAILED;
+        } catch (RuntimeException e) {
+            logger.warn("error writing {} transaction ledger entries", batch.size(), e);
+            return WriteResult.REJECTED;
+        }
+    }
+
+    // SQLSTATE class 22 is a data exception and 23 an integrity constraint violation. Retrying the same entries can't
+    // succeed.
+    private static boolean isInvalidData(SQLException e) {
+        var sqlState = e.getSQLState();
+        return sqlState != null && (sqlState.startsWith("22") || sqlState.startsWith("23"));
+    }
+
+    private boolean sleep(Duration delay) {
+        var deadline = System.nanoTime() + delay.toNanos();
+        while (running && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(Math.min(POLL_INTERVAL.toMillis(), delay.toMillis()));
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+
+        return running;
+    }
+
+    private enum WriteResult {
+        WRITTEN,
+        REJECTED,
+        FAILED
+    }
+}
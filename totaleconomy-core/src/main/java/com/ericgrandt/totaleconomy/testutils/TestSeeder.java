@@ -1,5 +1,7 @@
 package com.ericgrandt.totaleconomy.testutils;
 
+import com.ericgrandt.totaleconomy.common.data.UuidBytes;
+import com.ericgrandt.totaleconomy.data.AccountData;
 import com.ericgrandt.totaleconomy.data.entity.AccountEntity;
 import com.ericgrandt.totaleconomy.data.entity.CurrencyEntity;
 import com.zaxxer.hikari.HikariDataSource;
@@ -108,9 +110,9 @@ public class TestSeeder {
 
         try (Connection conn = dataSource.getConnection()) {
             try (var stmt = conn.prepareStatement(query)) {
-                stmt.setString(1, account.playerId());
+                stmt.setBytes(1, UuidBytes.toBytes(UUID.fromString(account.playerId())));
                 stmt.setString(2, account.currencyCode());
-                stmt.setBigDecimal(3, account.balance());
+                stmt.setLong(3, AccountData.toStoredUnits(account.balance()));
                 stmt.execute();
             }
         }
@@ -1,7 +1,11 @@
 package com.ericgrandt.totaleconomy.data;
 
+import com.ericgrandt.totaleconomy.api.dto.TopBalance;
+import com.ericgrandt.totaleconomy.api.exception.DatabaseException;
 import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
 import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import com.ericgrandt.totaleconomy.dto.BalanceDelta;
 import com.ericgrandt.totaleconomy.dto.CreateAccountDto;
 import com.ericgrandt.totaleconomy.model.TEAccount;
 import com.ericgrandt.totaleconomy.testutils.TestSeeder;
@@ -11,12 +15,15 @@ import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class AccountDataTest {
@@ -35,7 +42,7 @@ public class AccountDataTest {
             BigDecimal.ONE
         );
 
-        var sut = new AccountData();
+        var sut = new AccountData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
@@ -64,7 +71,7 @@ public class AccountDataTest {
         var account = TestSeeder.seedAccount(dataSource, null);
         var util = new TransactionUtil(dataSource);
 
-        var sut = new AccountData();
+        var sut = new AccountData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
@@ -92,7 +99,7 @@ public class AccountDataTest {
         var currency = TestSeeder.seedDefaultCurrency(dataSource);
         var util = new TransactionUtil(dataSource);
 
-        var sut = new AccountData();
+        var sut = new AccountData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
@@ -105,6 +112,68 @@ public class AccountDataTest {
         });
     }
 
+    @Test
+    @Tag("Integration")
+    void getBalanceForUpdate_WithSuccess_ShouldReturnBalance() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var account = TestSeeder.seedAccount(dataSource, null);
+        var util = new TransactionUtil(dataSource);
+
+        var sut = new AccountData(new H2Dialect());
+
+        // Act/Assert
+        util.runInTransaction(conn -> {
+            var actual = sut.getBalanceForUpdate(conn, UUID.fromString(account.playerId()), currency.code())
+                .orElseThrow();
+
+            assertEquals(0, BigDecimal.TEN.compareTo(actual));
+            return null;
+        });
+    }
+
+    @Test
+    @Tag("Integration")
+    void getBalanceForUpdate_WithAccountNotFound_ShouldReturnEmptyOptional() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var util = new TransactionUtil(dataSource);
+
+        var sut = new AccountData(new H2Dialect());
+
+        // Act/Assert
+        util.runInTransaction(conn -> {
+            var actual = sut.getBalanceForUpdate(conn, UUID.randomUUID(), currency.code());
+
+            assertEquals(Optional.empty(), actual);
+            return null;
+        });
+    }
+
+    @Test
+    @Tag("Integration")
+    void getBalancesForUpdate_WithMissingAccount_ShouldReturnBalancesOfExistingAccounts() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var account = TestSeeder.seedAccount(dataSource, null);
+        var util = new TransactionUtil(dataSource);
+        var playerId = UUID.fromString(account.playerId());
+
+        var sut = new AccountData(new H2Dialect());
+
+        // Act/Assert
+        util.runInTransaction(conn -> {
+            var actual = sut.getBalancesForUpdate(conn, List.of(playerId, UUID.randomUUID()), currency.code());
+
+            assertEquals(1, actual.size());
+            assertEquals(0, BigDecimal.TEN.compareTo(actual.get(playerId)));
+            return null;
+        });
+    }
+
     @Test
     @Tag("Integration")
     void withdraw_WithSuccess_ShouldReturnAnAffectedRowCountOfOneAndWithdrawFromAccount() throws SQLException {
@@ -114,7 +183,7 @@ public class AccountDataTest {
         var account = TestSeeder.seedAccount(dataSource, null);
         var util = new TransactionUtil(dataSource);
 
-        var sut = new AccountData();
+        var sut = new AccountData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
@@ -148,7 +217,7 @@ public class AccountDataTest {
         var account = TestSeeder.seedAccount(dataSource, null);
         var util = new TransactionUtil(dataSource);
 
-        var sut = new AccountData();
+        var sut = new AccountData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
@@ -181,7 +250,7 @@ public class AccountDataTest {
         var currency = TestSeeder.seedDefaultCurrency(dataSource);
         var util = new TransactionUtil(dataSource);
 
-        var sut = new AccountData();
+        var sut = new AccountData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
@@ -202,7 +271,7 @@ public class AccountDataTest {
         var account = TestSeeder.seedAccount(dataSource, null);
         var util = new TransactionUtil(dataSource);
 
-        var sut = new AccountData();
+        var sut = new AccountData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
@@ -234,7 +303,7 @@ public class AccountDataTest {
         var currency = TestSeeder.seedDefaultCurrency(dataSource);
         var util = new TransactionUtil(dataSource);
 
-        var sut = new AccountData();
+        var sut = new AccountData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
@@ -245,4 +314,194 @@ public class AccountDataTest {
             return null;
         });
     }
+
+    @Test
+    @Tag("Integration")
+    void getAccounts_WithMultipleCurrencies_ShouldReturnEveryAccountOfPlayer() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var defaultCurrency = TestSeeder.seedDefaultCurrency(dataSource);
+        var currency = TestSeeder.seedCurrency(dataSource);
+        var util = new TransactionUtil(dataSource);
+        var playerId = UUID.randomUUID();
+
+        var sut = new AccountData(new H2Dialect());
+        util.runInTransaction(conn -> {
+            sut.createAccount(conn, new CreateAccountDto(playerId, defaultCurrency.code(), BigDecimal.ONE));
+            sut.createAccount(conn, new CreateAccountDto(playerId, currency.code(), BigDecimal.TWO));
+            return null;
+        });
+
+        // Act
+        var actual = util.runInTransaction(conn -> sut.getAccounts(conn, playerId));
+
+        // Assert
+        assertThat(actual)
+            .extracting(TEAccount::currencyCode)
+            .containsExactlyInAnyOrder(defaultCurrency.code(), currency.code());
+    }
+
+    @Test
+    @Tag("Integration")
+    void getAccountsOfPlayers_WithPlayersFewerThanQuerySize_ShouldReturnEveryAccountOnce() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var defaultCurrency = TestSeeder.seedDefaultCurrency(dataSource);
+        var currency = TestSeeder.seedCurrency(dataSource);
+        var util = new TransactionUtil(dataSource);
+        var firstPlayerId = UUID.randomUUID();
+        var secondPlayerId = UUID.randomUUID();
+        var thirdPlayerId = UUID.randomUUID();
+
+        var sut = new AccountData(new H2Dialect());
+        util.runInTransaction(conn -> {
+            sut.createAccount(conn, new CreateAccountDto(firstPlayerId, defaultCurrency.code(), BigDecimal.ONE));
+            sut.createAccount(conn, new CreateAccountDto(firstPlayerId, currency.code(), BigDecimal.TWO));
+            sut.createAccount(conn, new CreateAccountDto(secondPlayerId, defaultCurrency.code(), BigDecimal.TEN));
+            sut.createAccount(conn, new CreateAccountDto(thirdPlayerId, currency.code(), BigDecimal.ONE));
+            return null;
+        });
+
+        // Act
+        var actual = util.runInTransaction(
+            conn -> sut.getAccountsOfPlayers(conn, List.of(firstPlayerId, secondPlayerId, thirdPlayerId))
+        );
+
+        // Assert
+        assertThat(actual)
+            .extracting(TEAccount::playerId, TEAccount::currencyCode)
+            .containsExactlyInAnyOrder(
+                tuple(firstPlayerId, defaultCurrency.code()),
+                tuple(firstPlayerId, currency.code()),
+                tuple(secondPlayerId, defaultCurrency.code()),
+                tuple(thirdPlayerId, currency.code())
+            );
+    }
+
+    @Test
+    @Tag("Integration")
+    void createAccounts_WithExistingAccount_ShouldKeepItsBalanceAndCreateTheRest() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var defaultCurrency = TestSeeder.seedDefaultCurrency(dataSource);
+        var currency = TestSeeder.seedCurrency(dataSource);
+        var util = new TransactionUtil(dataSource);
+        var playerId = UUID.randomUUID();
+
+        var sut = new AccountData(new H2Dialect());
+        util.runInTransaction(
+            conn -> sut.createAccount(conn, new CreateAccountDto(playerId, defaultCurrency.code(), BigDecimal.TEN))
+        );
+
+        // Act
+        util.runInTransaction(conn -> {
+            sut.createAccounts(
+                conn,
+                List.of(
+                    new CreateAccountDto(playerId, defaultCurrency.code(), BigDecimal.ONE),
+                    new CreateAccountDto(playerId, currency.code(), BigDecimal.TWO)
+                )
+            );
+            return null;
+        });
+
+        // Assert
+        var actual = util.runInTransaction(conn -> sut.getAccounts(conn, playerId));
+        assertThat(actual)
+            .extracting(TEAccount::currencyCode, account -> account.balance().stripTrailingZeros())
+            .containsExactlyInAnyOrder(
+                tuple(defaultCurrency.code(), BigDecimal.TEN.stripTrailingZeros()),
+                tuple(currency.code(), BigDecimal.TWO)
+            );
+    }
+
+    @Test
+    @Tag("Integration")
+    void getTopBalances_WithOffset_ShouldReturnRankedPageOfCurrency() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var defaultCurrency = TestSeeder.seedDefaultCurrency(dataSource);
+        var currency = TestSeeder.seedCurrency(dataSource);
+        var util = new TransactionUtil(dataSource);
+        var firstPlayerId = UUID.randomUUID();
+        var secondPlayerId = UUID.randomUUID();
+        var thirdPlayerId = UUID.randomUUID();
+
+        var sut = new AccountData(new H2Dialect());
+        util.runInTransaction(conn -> {
+            sut.createAccount(conn, new CreateAccountDto(firstPlayerId, defaultCurrency.code(), BigDecimal.TEN));
+            sut.createAccount(conn, new CreateAccountDto(secondPlayerId, defaultCurrency.code(), BigDecimal.TWO));
+            sut.createAccount(conn, new CreateAccountDto(thirdPlayerId, defaultCurrency.code(), BigDecimal.ONE));
+            sut.createAccount(conn, new CreateAccountDto(thirdPlayerId, currency.code(), BigDecimal.valueOf(100)));
+            return null;
+        });
+
+        // Act
+        var actual = util.runInTransaction(conn -> sut.getTopBalances(conn, defaultCurrency.code(), 1, 5));
+
+        // Assert
+        assertThat(actual).extracting(TopBalance::rank).containsExactly(2, 3);
+        assertThat(actual).extracting(TopBalance::playerId).containsExactly(secondPlayerId, thirdPlayerId);
+        assertEquals(0, BigDecimal.TWO.compareTo(actual.getFirst().balance()));
+    }
+
+    @Test
+    @Tag("Integration")
+    void applyBalanceDeltas_WithDeltas_ShouldAddEachDeltaToBalance() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var account = TestSeeder.seedAccount(dataSource, null);
+        var util = new TransactionUtil(dataSource);
+        var playerId = UUID.fromString(account.playerId());
+
+        var sut = new AccountData(new H2Dialect());
+
+        // Act/Assert
+        util.runInTransaction(conn -> {
+            sut.applyBalanceDeltas(
+                conn,
+                List.of(
+                    new BalanceDelta(playerId, currency.code(), BigDecimal.valueOf(-3)),
+                    new BalanceDelta(playerId, currency.code(), BigDecimal.ONE)
+                )
+            );
+
+            var actualAccount = sut.getAccount(conn, playerId, currency.code()).orElseThrow();
+            var expectedBalance = BigDecimal.valueOf(8).setScale(2, RoundingMode.DOWN);
+
+            assertEquals(
+                expectedBalance,
+                actualAccount.balance().setScale(currency.fractionalDigits(), RoundingMode.DOWN)
+            );
+            return null;
+        });
+    }
+
+    @Test
+    @Tag("Unit")
+    void toStoredUnits_WithLargestStoredAmount_ShouldReturnLongMaxValue() {
+        // Act
+        var actual = AccountData.toStoredUnits(AccountData.MAX_STORED_AMOUNT);
+
+        // Assert
+        assertEquals(Long.MAX_VALUE, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    void toStoredUnits_WithAmountAboveStoredRange_ShouldThrowDatabaseException() {
+        // Arrange
+        var amount = AccountData.MAX_STORED_AMOUNT.add(BigDecimal.ONE).negate();
+
+        // Act/Assert
+        assertThrows(DatabaseException.class, () -> AccountData.toStoredUnits(amount));
+    }
+
+    @Test
+    @Tag("Unit")
+    void addStoredUnits_WithOverflowingSum_ShouldThrowDatabaseException() {
+        // Act/Assert
+        assertThrows(DatabaseException.class, () -> AccountData.addStoredUnits(Long.MAX_VALUE, 1));
+    }
 }
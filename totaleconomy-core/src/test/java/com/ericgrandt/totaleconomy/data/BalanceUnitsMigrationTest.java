@@ -0,0 +1,86 @@
+package com.ericgrandt.totaleconomy.data;
+
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BalanceUnitsMigrationTest {
+    private static void createLegacyAccountTable(Connection conn) throws SQLException {
+        try (var stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE te_account (
+                    id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                    balance DECIMAL(19, 4) NOT NULL DEFAULT 0
+                )
+                """);
+        }
+    }
+
+    @Test
+    @Tag("Integration")
+    void migrate_WithDecimalBalances_ShouldConvertEveryRowToUnits() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, BalanceUnitsMigrationTest::createLegacyAccountTable);
+        var balances = List.of(new BigDecimal("10.5000"), new BigDecimal("0.0001"), new BigDecimal("123456.7890"));
+        try (var conn = dataSource.getConnection();
+             var stmt = conn.prepareStatement("INSERT INTO te_account(balance) VALUES (?)")) {
+            for (var balance : balances) {
+                stmt.setBigDecimal(1, balance);
+                stmt.executeUpdate();
+            }
+        }
+
+        var sut = new BalanceUnitsMigration(2);
+
+        // Act
+        try (var conn = dataSource.getConnection()) {
+            sut.migrate(conn);
+            sut.migrate(conn);
+        }
+
+        // Assert
+        var actual = new ArrayList<BigDecimal>();
+        try (var conn = dataSource.getConnection();
+             var stmt = conn.createStatement();
+             var rs = stmt.executeQuery("SELECT balance FROM te_account ORDER BY id")) {
+            while (rs.next()) {
+                actual.add(AccountData.fromStoredUnits(rs.getLong("balance")));
+            }
+        }
+        assertEquals(balances, actual);
+    }
+
+    @Test
+    @Tag("Integration")
+    void migrate_WithBalanceAboveStoredRange_ShouldThrowSQLExceptionAndKeepDecimalColumn() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, BalanceUnitsMigrationTest::createLegacyAccountTable);
+        try (var conn = dataSource.getConnection();
+             var stmt = conn.prepareStatement("INSERT INTO te_account(balance) VALUES (?)")) {
+            stmt.setBigDecimal(1, new BigDecimal("999999999999999.0000"));
+            stmt.executeUpdate();
+        }
+
+        var sut = new BalanceUnitsMigration();
+
+        // Act/Assert
+        try (var conn = dataSource.getConnection()) {
+            assertThrows(SQLException.class, () -> sut.migrate(conn));
+
+            try (var stmt = conn.createStatement();
+                 var rs = stmt.executeQuery("SELECT balance FROM te_account")) {
+                rs.next();
+                assertEquals(new BigDecimal("999999999999999.0000"), rs.getBigDecimal("balance"));
+            }
+        }
+    }
+}
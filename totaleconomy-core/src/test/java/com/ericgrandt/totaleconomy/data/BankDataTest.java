@@ -0,0 +1,130 @@
+package com.ericgrandt.totaleconomy.data;
+
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import com.ericgrandt.totaleconomy.model.TEBank;
+import com.ericgrandt.totaleconomy.testutils.TestSeeder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BankDataTest {
+    @Test
+    @Tag("Integration")
+    void createBank_WithSuccess_ShouldCreateEmptyShards() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var util = new TransactionUtil(dataSource);
+        var bank = new TEBank("treasury", UUID.randomUUID(), "USD", 4);
+
+        var sut = new BankData(new H2Dialect());
+
+        // Act/Assert
+        util.runInTransaction(conn -> {
+            assertTrue(sut.createBank(conn, bank));
+            assertEquals(Optional.of(bank), sut.getBank(conn, "treasury"));
+            assertEquals(4, sut.getShardBalancesForUpdate(conn, "treasury").size());
+            assertEquals(0, BigDecimal.ZERO.compareTo(sut.getBalance(conn, "treasury").orElseThrow()));
+            return null;
+        });
+    }
+
+    @Test
+    @Tag("Integration")
+    void createBank_WithExistingBank_ShouldReturnFalse() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var util = new TransactionUtil(dataSource);
+        var bank = new TEBank("treasury", UUID.randomUUID(), "USD", 4);
+
+        var sut = new BankData(new H2Dialect());
+        util.runInTransaction(conn -> sut.createBank(conn, bank));
+
+        // Act
+        var actual = util.runInTransaction(conn -> sut.createBank(conn, bank));
+
+        // Assert
+        assertFalse(actual);
+    }
+
+    @Test
+    @Tag("Integration")
+    void getBalance_WithDepositsInSeveralShards_ShouldReturnSumOfShards() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var util = new TransactionUtil(dataSource);
+
+        var sut = new BankData(new H2Dialect());
+        util.runInTransaction(conn -> sut.createBank(conn, new TEBank("treasury", UUID.randomUUID(), "USD", 4)));
+        util.runInTransaction(conn -> {
+            sut.deposit(conn, "treasury", 0, BigDecimal.ONE);
+            sut.applyShardDeltas(conn, "treasury", Map.of(2, BigDecimal.TEN, 3, BigDecimal.TWO));
+            return null;
+        });
+
+        // Act
+        var actual = util.runInTransaction(conn -> sut.getBalance(conn, "treasury")).orElseThrow();
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(13).compareTo(actual));
+    }
+
+    @Test
+    @Tag("Integration")
+    void withdrawFromShard_WithShardBalanceTooLow_ShouldNotChangeBalance() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var util = new TransactionUtil(dataSource);
+
+        var sut = new BankData(new H2Dialect());
+        util.runInTransaction(conn -> sut.createBank(conn, new TEBank("treasury", UUID.randomUUID(), "USD", 2)));
+        util.runInTransaction(conn -> sut.deposit(conn, "treasury", 0, BigDecimal.ONE));
+
+        // Act
+        var actual = util.runInTransaction(conn -> sut.withdrawFromShard(conn, "treasury", 0, BigDecimal.TWO));
+
+        // Assert
+        assertFalse(actual);
+        assertEquals(
+            List.of(BigDecimal.ONE, BigDecimal.ZERO),
+            util.runInTransaction(conn -> sut.getShardBalancesForUpdate(conn, "treasury")).values().stream()
+                .map(BigDecimal::stripTrailingZeros)
+                .toList()
+        );
+    }
+
+    @Test
+    @Tag("Integration")
+    void deleteBank_WithBank_ShouldDeleteShards() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var util = new TransactionUtil(dataSource);
+
+        var sut = new BankData(new H2Dialect());
+        util.runInTransaction(conn -> sut.createBank(conn, new TEBank("treasury", UUID.randomUUID(), "USD", 2)));
+
+        // Act
+        var actual = util.runInTransaction(conn -> sut.deleteBank(conn, "treasury"));
+
+        // Assert
+        assertTrue(actual);
+        assertEquals(Optional.empty(), util.runInTransaction(conn -> sut.getBalance(conn, "treasury")));
+        assertEquals(List.of(), util.runInTransaction(sut::getBankNames));
+    }
+}
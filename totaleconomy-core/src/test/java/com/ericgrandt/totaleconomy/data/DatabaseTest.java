@@ -0,0 +1,77 @@
+package com.ericgrandt.totaleconomy.data;
+
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
+import com.ericgrandt.totaleconomy.config.DatabaseConfig;
+import com.ericgrandt.totaleconomy.config.DatabaseType;
+import com.ericgrandt.totaleconomy.config.PoolConfig;
+import com.ericgrandt.totaleconomy.config.StatementCacheConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DatabaseTest {
+    @Test
+    @Tag("Integration")
+    void getPoolStats_WithConnectionInUse_ShouldReportActiveConnection() throws SQLException {
+        // Arrange
+        var sut = new Database(
+            new DatabaseConfig(
+                DatabaseType.EMBEDDED,
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL",
+                "",
+                "",
+                new PoolConfig(4, 1, 30000, 600000, 1800000, 0, 5000, 0),
+                new StatementCacheConfig(true, 250, 2048, true)
+            )
+        );
+
+        try (var conn = sut.getDataSource().getConnection()) {
+            // Act
+            var actual = sut.getPoolStats();
+
+            // Assert
+            assertEquals(1, actual.activeConnections());
+            assertEquals(4, actual.maximumPoolSize());
+            assertTrue(actual.connectionsAcquired() >= 1);
+        } finally {
+            sut.close();
+        }
+    }
+
+    @Test
+    @Tag("Integration")
+    void getDialect_WithEmbeddedDatabase_ShouldCreateFileAndReturnH2Dialect(@TempDir Path dataFolder)
+        throws SQLException {
+        // Arrange
+        var file = dataFolder.resolve("totaleconomy");
+        var sut = new Database(
+            new DatabaseConfig(
+                DatabaseType.EMBEDDED,
+                Database.embeddedUrl(file),
+                "",
+                "",
+                new PoolConfig(4, 1, 30000, 600000, 1800000, 0, 5000, 0),
+                new StatementCacheConfig(true, 250, 2048, true)
+            )
+        );
+
+        try {
+            // Act
+            var actual = sut.getDialect();
+
+            // Assert
+            assertEquals(new H2Dialect(), actual);
+            assertTrue(Files.exists(dataFolder.resolve("totaleconomy.mv.db")));
+        } finally {
+            sut.close();
+        }
+    }
+}
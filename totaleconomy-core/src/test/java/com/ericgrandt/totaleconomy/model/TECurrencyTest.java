@@ -74,4 +74,61 @@ public class TECurrencyTest {
         // Assert
         assertEquals(expected, actual);
     }
+
+    @Test
+    @Tag("Unit")
+    public void format_WithNegativeFractionalAmount_ShouldPadAndTruncateFraction() {
+        // Arrange
+        var currency = new TECurrency(
+            "USD",
+            "Dollar",
+            "Dollars",
+            "$",
+            3,
+            BigDecimal.TEN,
+            true
+        );
+
+        // Act
+        var actual = currency.format(new BigDecimal("-12.0459"));
+        var expected = Component.text("$-12.045");
+
+        // Assert
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void format_WithAmountTooLargeForLong_ShouldFormatEveryDigit() {
+        // Arrange
+        var currency = new TECurrency(
+            "COIN",
+            "Coin",
+            "Coins",
+            null,
+            0,
+            BigDecimal.TEN,
+            false
+        );
+
+        // Act
+        var actual = currency.format(new BigDecimal("123456789012345678901234.5"));
+        var expected = Component.text("123456789012345678901234 Coins");
+
+        // Assert
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void equals_WithSameFields_ShouldBeEqual() {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var other = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        currency.format(BigDecimal.ONE);
+
+        // Act/Assert
+        assertEquals(currency, other);
+        assertEquals(currency.hashCode(), other.hashCode());
+    }
 }
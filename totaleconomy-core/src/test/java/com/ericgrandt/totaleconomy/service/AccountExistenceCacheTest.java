@@ -0,0 +1,111 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.api.dto.CacheStats;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccountExistenceCacheTest {
+    @Test
+    @Tag("Unit")
+    public void exists_WithUnknownAccount_ShouldReturnNull() {
+        // Arrange
+        var sut = new AccountExistenceCache(Duration.ofMinutes(1));
+
+        // Act
+        var actual = sut.exists(UUID.randomUUID(), "USD");
+
+        // Assert
+        assertNull(actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void exists_WithMissingAccount_ShouldReturnFalse() {
+        // Arrange
+        var sut = new AccountExistenceCache(Duration.ofMinutes(1));
+        var playerId = UUID.randomUUID();
+        sut.markMissing(playerId, "USD");
+
+        // Act
+        var actual = sut.exists(playerId, "USD");
+
+        // Assert
+        assertEquals(false, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void exists_WithExpiredMissingAccount_ShouldReturnNull() {
+        // Arrange
+        var sut = new AccountExistenceCache(Duration.ZERO);
+        var playerId = UUID.randomUUID();
+        sut.markMissing(playerId, "USD");
+
+        // Act
+        var actual = sut.exists(playerId, "USD");
+
+        // Assert
+        assertNull(actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void exists_WithMissingAccountMarkedExisting_ShouldReturnTrue() {
+        // Arrange
+        var sut = new AccountExistenceCache(Duration.ofMinutes(1));
+        var playerId = UUID.randomUUID();
+        sut.markMissing(playerId, "USD");
+
+        // Act
+        sut.markExisting(playerId, "USD");
+        var actual = sut.exists(playerId, "USD");
+
+        // Assert
+        assertEquals(true, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void existsAll_WithNewCurrency_ShouldReturnFalseUntilMarked() {
+        // Arrange
+        var sut = new AccountExistenceCache(Duration.ofMinutes(1));
+        var playerId = UUID.randomUUID();
+        sut.markExisting(playerId, Set.of("USD"));
+
+        // Act
+        var beforeMarked = sut.existsAll(playerId, Set.of("USD", "COIN"));
+        sut.markExisting(playerId, "COIN");
+        var afterMarked = sut.existsAll(playerId, Set.of("USD", "COIN"));
+
+        // Assert
+        assertFalse(beforeMarked);
+        assertTrue(afterMarked);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void getStats_WithKnownAndUnknownAccounts_ShouldCountHitsAndMisses() {
+        // Arrange
+        var sut = new AccountExistenceCache(Duration.ofMinutes(1));
+        var playerId = UUID.randomUUID();
+        sut.markExisting(playerId, "USD");
+        sut.exists(playerId, "USD");
+        sut.exists(playerId, "COIN");
+
+        // Act
+        var actual = sut.getStats();
+        var expected = new CacheStats(1, 1);
+
+        // Assert
+        assertEquals(expected, actual);
+    }
+}
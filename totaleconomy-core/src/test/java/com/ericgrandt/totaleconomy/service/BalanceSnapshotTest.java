@@ -0,0 +1,125 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import com.ericgrandt.totaleconomy.data.AccountData;
+import com.ericgrandt.totaleconomy.data.DatabaseBootstrapper;
+import com.ericgrandt.totaleconomy.testutils.TestSeeder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BalanceSnapshotTest {
+    private final AccountData accountData = new AccountData(new H2Dialect());
+
+    @Test
+    @Tag("Integration")
+    public void getBalance_WithRecentBalance_ShouldNotReadDatabase() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var playerId = UUID.fromString(TestSeeder.seedAccount(dataSource, null).playerId());
+        var transactionUtil = new TransactionUtil(dataSource);
+
+        var sut = new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ofMinutes(1));
+        sut.getBalance(playerId, "USD");
+        withdrawInDatabase(transactionUtil, playerId);
+
+        // Act
+        var actual = sut.getBalance(playerId, "USD");
+
+        // Assert
+        assertEquals(0, BigDecimal.TEN.compareTo(actual.orElseThrow()));
+    }
+
+    @Test
+    @Tag("Integration")
+    public void getBalance_WithZeroMaxStaleness_ShouldReadDatabase() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var playerId = UUID.fromString(TestSeeder.seedAccount(dataSource, null).playerId());
+        var transactionUtil = new TransactionUtil(dataSource);
+
+        var sut = new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ZERO);
+        sut.getBalance(playerId, "USD");
+        withdrawInDatabase(transactionUtil, playerId);
+
+        // Act
+        var actual = sut.getBalance(playerId, "USD");
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(actual.orElseThrow()));
+    }
+
+    @Test
+    @Tag("Integration")
+    public void refresh_WithTrackedPlayer_ShouldReadChangedBalance() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var playerId = UUID.fromString(TestSeeder.seedAccount(dataSource, null).playerId());
+        var transactionUtil = new TransactionUtil(dataSource);
+
+        var sut = new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ofMinutes(1));
+        sut.track(playerId);
+        sut.getBalance(playerId, "USD");
+        withdrawInDatabase(transactionUtil, playerId);
+
+        // Act
+        sut.refresh();
+        var actual = sut.getBalance(playerId, "USD");
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(actual.orElseThrow()));
+    }
+
+    @Test
+    @Tag("Integration")
+    public void update_WithNewBalance_ShouldReplaceRecordedBalance() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var playerId = UUID.fromString(TestSeeder.seedAccount(dataSource, null).playerId());
+        var transactionUtil = new TransactionUtil(dataSource);
+
+        var sut = new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ofMinutes(1));
+        sut.getBalance(playerId, "USD");
+
+        // Act
+        sut.update(playerId, "USD", BigDecimal.ONE);
+        var actual = sut.getBalance(playerId, "USD");
+
+        // Assert
+        assertEquals(0, BigDecimal.ONE.compareTo(actual.orElseThrow()));
+    }
+
+    @Test
+    @Tag("Integration")
+    public void getBalance_WithNoAccount_ShouldReturnEmpty() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var transactionUtil = new TransactionUtil(dataSource);
+        var sut = new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ofMinutes(1));
+
+        // Act
+        var actual = sut.getBalance(UUID.randomUUID(), "USD");
+
+        // Assert
+        assertEquals(Optional.empty(), actual);
+    }
+
+    private void withdrawInDatabase(TransactionUtil transactionUtil, UUID playerId) throws SQLException {
+        transactionUtil.runInTransaction(
+            conn -> accountData.withdraw(conn, playerId, "USD", BigDecimal.ONE, false)
+        );
+    }
+}
@@ -0,0 +1,378 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.api.exception.DatabaseException;
+import com.ericgrandt.totaleconomy.api.exception.InsufficientFundsException;
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import com.ericgrandt.totaleconomy.data.AccountData;
+import com.ericgrandt.totaleconomy.data.BalanceFlushData;
+import com.ericgrandt.totaleconomy.data.BalanceJournal;
+import com.ericgrandt.totaleconomy.data.DatabaseBootstrapper;
+import com.ericgrandt.totaleconomy.testutils.TestSeeder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class BalanceStoreTest {
+    @TempDir
+    private Path journalDirectory;
+
+    @Test
+    @Tag("Integration")
+    void withdraw_WithAccountNotLoaded_ShouldReturnEmptyOptional() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var account = TestSeeder.seedAccount(dataSource, null);
+        var util = new TransactionUtil(dataSource);
+
+        var sut = createBalanceStore(util);
+        sut.init();
+
+        // Act
+        var actual = sut.withdraw(UUID.fromString(account.playerId()), currency.code(), BigDecimal.ONE);
+
+        // Assert
+        assertEquals(Optional.empty(), actual);
+    }
+
+    @Test
+    @Tag("Integration")
+    void load_WithDepositCommittedDuringLoad_ShouldLoadDepositedBalance() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var account = TestSeeder.seedAccount(dataSource, null);
+        var util = new TransactionUtil(dataSource);
+        var playerId = UUID.fromString(account.playerId());
+        var accountData = spy(new AccountData(new H2Dialect()));
+        doAnswer(invocation -> {
+            var accounts = invocation.callRealMethod();
+            util.runInTransaction(conn -> accountData.deposit(conn, playerId, currency.code(), BigDecimal.TEN));
+            return accounts;
+        }).doCallRealMethod().when(accountData).getAccounts(any(), any());
+
+        var sut = new BalanceStore(util, accountData, new BalanceFlushData(), new BalanceJournal(journalDirectory));
+        sut.init();
+
+        // Act
+        sut.load(playerId);
+
+        // Assert
+        var actual = sut.getBalance(playerId, currency.code()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(20).compareTo(actual));
+    }
+
+    @Test
+    @Tag("Integration")
+    void withdraw_WithInsufficientFunds_ShouldThrowInsufficientFundsException() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var account = TestSeeder.seedAccount(dataSource, null);
+        var util = new TransactionUtil(dataSource);
+        var playerId = UUID.fromString(account.playerId());
+
+        var sut = createBalanceStore(util);
+        sut.init();
+        sut.load(playerId);
+
+        // Act/Assert
+        assertThrows(
+            InsufficientFundsException.class,
+            () -> sut.withdraw(playerId, currency.code(), BigDecimal.valueOf(11))
+        );
+    }
+
+    @Test
+    @Tag("Integration")
+    void deposit_WithBalanceAboveStoredRange_ShouldThrowDatabaseExceptionAndKeepBalance() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var account = TestSeeder.seedAccount(dataSource, null);
+        var util = new TransactionUtil(dataSource);
+        var playerId = UUID.fromString(account.playerId());
+
+        var sut = createBalanceStore(util);
+        sut.init();
+        sut.load(playerId);
+
+        // Act/Assert
+        assertThrows(
+            DatabaseException.class,
+            () -> sut.deposit(playerId, currency.code(), AccountData.MAX_STORED_AMOUNT)
+        );
+        var actual = sut.getBalance(playerId, currency.code()).orElseThrow();
+        assertEquals(0, BigDecimal.TEN.compareTo(actual));
+    }
+
+    @Test
+    @Tag("Integration")
+    void applyAll_WithLoadedAccounts_ShouldJournalBatchAsOneRecord() throws SQLException, IOException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var util = new TransactionUtil(dataSource);
+        var playerId = UUID.fromString(TestSeeder.seedAccount(dataSource, null).playerId());
+        var otherPlayerId = UUID.fromString(TestSeeder.seedAccount(dataSource, null).playerId());
+        var journal = spy(new BalanceJournal(journalDirectory));
+
+        var sut = new BalanceStore(util, new AccountData(new H2Dialect()), new BalanceFlushData(), journal);
+        sut.init();
+        sut.load(playerId);
+        sut.load(otherPlayerId);
+
+        // Act
+        var actual = sut.applyAll(
+            currency.code(),
+            Map.of(playerId, BigDecimal.ONE, otherPlayerId, BigDecimal.TWO),
+            (amount, balance) -> amount,
+            false
+        );
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(11).compareTo(actual.applied().get(playerId).balance()));
+        assertEquals(0, BigDecimal.valueOf(12).compareTo(actual.applied().get(otherPlayerId).balance()));
+        assertEquals(Map.of(), actual.failures());
+        verify(journal, times(1)).append(any());
+    }
+
+    @Test
+    @Tag("Integration")
+    void applyAll_WithSetAndInsufficientFunds_ShouldFlushNewBalanceAndReportFailure() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var util = new TransactionUtil(dataSource);
+        var playerId = UUID.fromString(TestSeeder.seedAccount(dataSource, null).playerId());
+        var poorPlayerId = UUID.fromString(TestSeeder.seedAccount(dataSource, null).playerId());
+        var notLoadedPlayerId = UUID.randomUUID();
+
+        var sut = createBalanceStore(util);
+        sut.init();
+        sut.load(playerId);
+        sut.load(poorPlayerId);
+
+        var balances = Map.of(
+            playerId, BigDecimal.valueOf(3),
+            poorPlayerId, BigDecimal.valueOf(-1),
+            notLoadedPlayerId, BigDecimal.ONE
+        );
+
+        // Act
+        var actual = sut.applyAll(
+            currency.code(),
+            balances,
+            (amount, balance) -> amount.subtract(balance),
+            true
+        );
+        sut.flush();
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(-7).compareTo(actual.applied().get(playerId).delta()));
+        assertEquals(Set.of(playerId), actual.applied().keySet());
+        assertEquals(Set.of(poorPlayerId), actual.failures().keySet());
+        assertInstanceOf(InsufficientFundsException.class, actual.failures().get(poorPlayerId));
+        assertEquals(0, BigDecimal.valueOf(3).compareTo(getDatabaseBalance(util, playerId, currency.code())));
+        assertEquals(0, BigDecimal.TEN.compareTo(getDatabaseBalance(util, poorPlayerId, currency.code())));
+    }
+
+    @Test
+    @Tag("Integration")
+    void flush_WithPendingChanges_ShouldWriteBalancesToDatabase() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var account = TestSeeder.seedAccount(dataSource, null);
+        var util = new TransactionUtil(dataSource);
+        var playerId = UUID.fromString(account.playerId());
+
+        var sut = createBalanceStore(util);
+        sut.init();
+        sut.load(playerId);
+        sut.withdraw(playerId, currency.code(), BigDecimal.valueOf(3));
+        sut.deposit(playerId, currency.code(), BigDecimal.ONE);
+
+        // Act
+        var balanceBeforeFlush = getDatabaseBalance(util, playerId, currency.code());
+        sut.flush();
+        var actual = getDatabaseBalance(util, playerId, currency.code());
+
+        // Assert
+        assertEquals(0, BigDecimal.TEN.compareTo(balanceBeforeFlush));
+        assertEquals(0, BigDecimal.valueOf(8).compareTo(actual));
+        assertEquals(0, BigDecimal.valueOf(8).compareTo(sut.getBalance(playerId, currency.code()).orElseThrow()));
+    }
+
+    @Test
+    @Tag("Integration")
+    void init_WithUnflushedJournal_ShouldReplayJournalIntoDatabase() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var account = TestSeeder.seedAccount(dataSource, null);
+        var util = new TransactionUtil(dataSource);
+        var playerId = UUID.fromString(account.playerId());
+
+        // Simulates a crash: changes are journaled but never flushed
+        var crashedStore = createBalanceStore(util);
+        crashedStore.init();
+        crashedStore.load(playerId);
+        crashedStore.deposit(playerId, currency.code(), BigDecimal.valueOf(5));
+
+        var sut = createBalanceStore(util);
+
+        // Act
+        sut.init();
+        var actual = getDatabaseBalance(util, playerId, currency.code());
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(15).compareTo(actual));
+    }
+
+    @Test
+    @Tag("Integration")
+    void init_WithJournalAlreadyApplied_ShouldNotApplyJournalTwice() throws SQLException, IOException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var account = TestSeeder.seedAccount(dataSource, null);
+        var util = new TransactionUtil(dataSource);
+        var playerId = UUID.fromString(account.playerId());
+
+        var crashedStore = createBalanceStore(util);
+        crashedStore.init();
+        crashedStore.load(playerId);
+        crashedStore.deposit(playerId, currency.code(), BigDecimal.valueOf(5));
+
+        // Simulates a crash after the flush committed but before its segment was deleted
+        var journal = new BalanceJournal(journalDirectory);
+        var segment = journal.findSegments().getFirst();
+        var deltas = journal.read(segment);
+        util.runInTransaction(conn -> {
+            new AccountData(new H2Dialect()).applyBalanceDeltas(conn, deltas);
+            new BalanceFlushData().markApplied(conn, segment.id());
+            return null;
+        });
+
+        var sut = createBalanceStore(util);
+
+        // Act
+        sut.init();
+        var actual = getDatabaseBalance(util, playerId, currency.code());
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(15).compareTo(actual));
+    }
+
+    @Test
+    @Tag("Integration")
+    void unload_WithLoadedAccount_ShouldFlushAndEvictAccount() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var account = TestSeeder.seedAccount(dataSource, null);
+        var util = new TransactionUtil(dataSource);
+        var playerId = UUID.fromString(account.playerId());
+
+        var sut = createBalanceStore(util);
+        sut.init();
+        sut.load(playerId);
+        sut.deposit(playerId, currency.code(), BigDecimal.ONE);
+
+        // Act
+        sut.unload(playerId);
+        var actual = getDatabaseBalance(util, playerId, currency.code());
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(11).compareTo(actual));
+        assertEquals(Optional.empty(), sut.getBalance(playerId, currency.code()));
+    }
+
+    @Test
+    @Tag("Integration")
+    void transfer_WithBothAccountsLoaded_ShouldMoveBalance() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var fromAccount = TestSeeder.seedAccount(dataSource, null);
+        var toAccount = TestSeeder.seedAccount(dataSource, null);
+        var util = new TransactionUtil(dataSource);
+        var fromPlayerId = UUID.fromString(fromAccount.playerId());
+        var toPlayerId = UUID.fromString(toAccount.playerId());
+
+        var sut = createBalanceStore(util);
+        sut.init();
+        sut.load(fromPlayerId);
+        sut.load(toPlayerId);
+
+        // Act
+        var actual = sut.transfer(fromPlayerId, toPlayerId, currency.code(), BigDecimal.ONE);
+        sut.flush();
+
+        // Assert
+        assertTrue(actual);
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(getDatabaseBalance(util, fromPlayerId, currency.code())));
+        assertEquals(0, BigDecimal.valueOf(11).compareTo(getDatabaseBalance(util, toPlayerId, currency.code())));
+    }
+
+    @Test
+    @Tag("Integration")
+    void transfer_WithReceiverNotLoaded_ShouldReturnFalse() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var fromAccount = TestSeeder.seedAccount(dataSource, null);
+        var util = new TransactionUtil(dataSource);
+        var fromPlayerId = UUID.fromString(fromAccount.playerId());
+
+        var sut = createBalanceStore(util);
+        sut.init();
+        sut.load(fromPlayerId);
+
+        // Act
+        var actual = sut.transfer(fromPlayerId, UUID.randomUUID(), currency.code(), BigDecimal.ONE);
+
+        // Assert
+        assertFalse(actual);
+        assertEquals(0, BigDecimal.TEN.compareTo(sut.getBalance(fromPlayerId, currency.code()).orElseThrow()));
+    }
+
+    private BalanceStore createBalanceStore(TransactionUtil util) {
+        return new BalanceStore(
+            util,
+            new AccountData(new H2Dialect()),
+            new BalanceFlushData(),
+            new BalanceJournal(journalDirectory)
+        );
+    }
+
+    private BigDecimal getDatabaseBalance(TransactionUtil util, UUID playerId, String currencyCode)
+        throws SQLException {
+        return util.runInTransaction(
+            conn -> new AccountData(new H2Dialect()).getAccount(conn, playerId, currencyCode).orElseThrow().balance()
+        );
+    }
+}
@@ -0,0 +1,164 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.api.exception.AccountNotFoundException;
+import com.ericgrandt.totaleconomy.api.exception.InsufficientFundsException;
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import com.ericgrandt.totaleconomy.data.BankData;
+import com.ericgrandt.totaleconomy.data.CurrencyData;
+import com.ericgrandt.totaleconomy.data.DatabaseBootstrapper;
+import com.ericgrandt.totaleconomy.testutils.TestSeeder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BankServiceTest {
+    private final BankData bankData = new BankData(new H2Dialect());
+
+    @Test
+    @Tag("Integration")
+    public void deposit_WithBank_ShouldReturnBalanceAcrossShards() throws SQLException {
+        // Arrange
+        var sut = createService();
+        sut.createBank("treasury", UUID.randomUUID());
+
+        // Act
+        sut.deposit("treasury", BigDecimal.ONE);
+        var actual = sut.deposit("treasury", BigDecimal.TWO);
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(3).compareTo(actual));
+        assertEquals(0, BigDecimal.valueOf(3).compareTo(sut.getBalance("treasury")));
+    }
+
+    @Test
+    @Tag("Integration")
+    public void withdraw_WithAmountSpreadAcrossShards_ShouldTakeFromSeveralShards() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var transactionUtil = new TransactionUtil(dataSource);
+        var sut = new BankService(transactionUtil, createCacheService(transactionUtil), bankData, 4);
+        sut.createBank("treasury", UUID.randomUUID());
+        transactionUtil.runInTransaction(conn -> {
+            bankData.applyShardDeltas(
+                conn,
+                "treasury",
+                Map.of(0, BigDecimal.ONE, 1, BigDecimal.ONE, 2, BigDecimal.ONE, 3, BigDecimal.ONE)
+            );
+            return null;
+        });
+
+        // Act
+        var actual = sut.withdraw("treasury", BigDecimal.valueOf(3));
+
+        // Assert
+        assertEquals(0, BigDecimal.ONE.compareTo(actual));
+        assertEquals(0, BigDecimal.ONE.compareTo(sut.getBalance("treasury")));
+    }
+
+    @Test
+    @Tag("Integration")
+    public void withdraw_WithInsufficientFunds_ShouldThrowInsufficientFundsException() throws SQLException {
+        // Arrange
+        var sut = createService();
+        sut.createBank("treasury", UUID.randomUUID());
+        sut.deposit("treasury", BigDecimal.ONE);
+
+        // Act/Assert
+        assertThrows(InsufficientFundsException.class, () -> sut.withdraw("treasury", BigDecimal.TWO));
+        assertEquals(0, BigDecimal.ONE.compareTo(sut.getBalance("treasury")));
+    }
+
+    @Test
+    @Tag("Integration")
+    public void deposit_WithMissingBank_ShouldThrowAccountNotFoundException() throws SQLException {
+        // Arrange
+        var sut = createService();
+
+        // Act/Assert
+        assertThrows(AccountNotFoundException.class, () -> sut.deposit("treasury", BigDecimal.ONE));
+    }
+
+    @Test
+    @Tag("Integration")
+    public void deposit_WithBankRecreatedWithFewerShards_ShouldDepositIntoExistingShard() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var transactionUtil = new TransactionUtil(dataSource);
+        var cacheService = createCacheService(transactionUtil);
+        var sut = new BankService(transactionUtil, cacheService, bankData, 4);
+        sut.createBank("treasury", UUID.randomUUID());
+        sut.deposit("treasury", BigDecimal.ONE);
+
+        var otherServer = new BankService(transactionUtil, cacheService, bankData, 1);
+        otherServer.deleteBank("treasury");
+        otherServer.createBank("treasury", UUID.randomUUID());
+
+        // Act
+        for (var i = 0; i < 10; i++) {
+            sut.deposit("treasury", BigDecimal.ONE);
+        }
+
+        // Assert
+        assertEquals(0, BigDecimal.TEN.compareTo(sut.getBalance("treasury")));
+    }
+
+    @Test
+    @Tag("Integration")
+    public void withdraw_WithNegativeAmount_ShouldThrowIllegalArgumentException() throws SQLException {
+        // Arrange
+        var sut = createService();
+        sut.createBank("treasury", UUID.randomUUID());
+        sut.deposit("treasury", BigDecimal.ONE);
+
+        // Act/Assert
+        assertThrows(IllegalArgumentException.class, () -> sut.withdraw("treasury", BigDecimal.TEN.negate()));
+        assertEquals(0, BigDecimal.ONE.compareTo(sut.getBalance("treasury")));
+    }
+
+    @Test
+    @Tag("Integration")
+    public void deposit_WithZeroAmount_ShouldThrowIllegalArgumentException() throws SQLException {
+        // Arrange
+        var sut = createService();
+        sut.createBank("treasury", UUID.randomUUID());
+
+        // Act/Assert
+        assertThrows(IllegalArgumentException.class, () -> sut.deposit("treasury", BigDecimal.ZERO));
+    }
+
+    @Test
+    @Tag("Integration")
+    public void createBank_WithNameTooLong_ShouldThrowIllegalArgumentException() throws SQLException {
+        // Arrange
+        var sut = createService();
+        var name = "a".repeat(BankService.MAX_NAME_LENGTH + 1);
+
+        // Act/Assert
+        assertThrows(IllegalArgumentException.class, () -> sut.createBank(name, UUID.randomUUID()));
+    }
+
+    private BankService createService() throws SQLException {
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var transactionUtil = new TransactionUtil(dataSource);
+
+        return new BankService(transactionUtil, createCacheService(transactionUtil), bankData, 4);
+    }
+
+    private CacheService createCacheService(TransactionUtil transactionUtil) {
+        var cacheService = new CacheService(transactionUtil, new CurrencyData());
+        cacheService.initCache();
+        return cacheService;
+    }
+}
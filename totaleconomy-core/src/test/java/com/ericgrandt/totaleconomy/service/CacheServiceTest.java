@@ -0,0 +1,111 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.api.exception.MissingDefaultCurrencyException;
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import com.ericgrandt.totaleconomy.data.CurrencyData;
+import com.ericgrandt.totaleconomy.data.DatabaseBootstrapper;
+import com.ericgrandt.totaleconomy.testutils.TestSeeder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CacheServiceTest {
+    @Test
+    @Tag("Integration")
+    void getCurrency_WithoutInitCache_ShouldLazilyLoadCurrency() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedCurrency(dataSource);
+
+        var sut = new CacheService(new TransactionUtil(dataSource), new CurrencyData());
+
+        // Act
+        var actual = sut.getCurrency(currency.code());
+
+        // Assert
+        assertTrue(actual.isPresent());
+        assertEquals(currency.code(), actual.get().code());
+    }
+
+    @Test
+    @Tag("Integration")
+    void getCurrency_WithUnknownCurrencyCode_ShouldReturnEmptyOptional() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+
+        var sut = new CacheService(new TransactionUtil(dataSource), new CurrencyData());
+        sut.initCache();
+
+        // Act
+        var actual = sut.getCurrency("COIN");
+
+        // Assert
+        assertEquals(Optional.empty(), actual);
+    }
+
+    @Test
+    @Tag("Integration")
+    void getDefaultCurrency_WithNoDefaultCurrency_ShouldThrowMissingDefaultCurrencyException() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedCurrency(dataSource);
+
+        var sut = new CacheService(new TransactionUtil(dataSource), new CurrencyData());
+        sut.initCache();
+
+        // Act/Assert
+        assertThrows(MissingDefaultCurrencyException.class, sut::getDefaultCurrency);
+    }
+
+    @Test
+    @Tag("Integration")
+    void invalidate_WithNewCurrencyAdded_ShouldReloadOnNextLookup() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+
+        var sut = new CacheService(new TransactionUtil(dataSource), new CurrencyData());
+        sut.initCache();
+
+        var currency = TestSeeder.seedCurrency(dataSource);
+        var beforeInvalidate = sut.getCurrency(currency.code());
+
+        // Act
+        sut.invalidate();
+        var actual = sut.getCurrency(currency.code());
+
+        // Assert
+        assertEquals(Optional.empty(), beforeInvalidate);
+        assertTrue(actual.isPresent());
+        assertEquals(2, sut.getCurrencies().size());
+    }
+
+    @Test
+    @Tag("Integration")
+    void refresh_WithNewCurrencyAdded_ShouldReplaceCachedCurrencies() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+
+        var sut = new CacheService(new TransactionUtil(dataSource), new CurrencyData());
+        sut.initCache();
+
+        var currency = TestSeeder.seedCurrency(dataSource);
+
+        // Act
+        sut.refresh();
+        var actual = sut.getCurrency(currency.code());
+
+        // Assert
+        assertTrue(actual.isPresent());
+        assertEquals("USD", sut.getDefaultCurrency().code());
+    }
+}
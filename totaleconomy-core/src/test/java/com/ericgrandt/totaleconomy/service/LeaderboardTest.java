@@ -0,0 +1,167 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.api.dto.TopBalance;
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import com.ericgrandt.totaleconomy.data.AccountData;
+import com.ericgrandt.totaleconomy.data.DatabaseBootstrapper;
+import com.ericgrandt.totaleconomy.dto.CreateAccountDto;
+import com.ericgrandt.totaleconomy.testutils.TestSeeder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LeaderboardTest {
+    private final AccountData accountData = new AccountData(new H2Dialect());
+
+    @Test
+    @Tag("Integration")
+    void getTopBalances_WithUpdateAfterLoad_ShouldRankFromMemory() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var transactionUtil = new TransactionUtil(dataSource);
+        var firstPlayerId = UUID.randomUUID();
+        var secondPlayerId = UUID.randomUUID();
+        createAccounts(transactionUtil, currency.code(), firstPlayerId, BigDecimal.TEN, secondPlayerId, BigDecimal.ONE);
+
+        var sut = new Leaderboard(transactionUtil, accountData, BalanceStore.disabled(), 10);
+        sut.getTopBalances(currency.code(), 0, 10);
+
+        // Act
+        sut.update(secondPlayerId, currency.code(), BigDecimal.valueOf(100));
+        var actual = sut.getTopBalances(currency.code(), 0, 10);
+
+        // Assert
+        assertThat(actual).extracting(TopBalance::playerId).containsExactly(secondPlayerId, firstPlayerId);
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(actual.getFirst().balance()));
+    }
+
+    @Test
+    @Tag("Integration")
+    void getTopBalances_WithAccountFallingOffFullBoard_ShouldReloadFromDatabase() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var transactionUtil = new TransactionUtil(dataSource);
+        var firstPlayerId = UUID.randomUUID();
+        var secondPlayerId = UUID.randomUUID();
+        var thirdPlayerId = UUID.randomUUID();
+        createAccounts(transactionUtil, currency.code(), firstPlayerId, BigDecimal.TEN, secondPlayerId, BigDecimal.TWO);
+        createAccounts(
+            transactionUtil,
+            currency.code(),
+            thirdPlayerId,
+            BigDecimal.ONE,
+            UUID.randomUUID(),
+            BigDecimal.ZERO
+        );
+
+        var sut = new Leaderboard(transactionUtil, accountData, BalanceStore.disabled(), 2);
+        sut.getTopBalances(currency.code(), 0, 1);
+        transactionUtil.runInTransaction(
+            conn -> accountData.withdraw(conn, firstPlayerId, currency.code(), BigDecimal.TEN, false)
+        );
+
+        // Act
+        sut.update(firstPlayerId, currency.code(), BigDecimal.ZERO);
+        var actual = sut.getTopBalances(currency.code(), 0, 1);
+
+        // Assert
+        assertEquals(1, actual.size());
+        assertEquals(secondPlayerId, actual.getFirst().playerId());
+        assertEquals(0, BigDecimal.TWO.compareTo(actual.getFirst().balance()));
+    }
+
+    @Test
+    @Tag("Integration")
+    void getTopBalances_WithTiedBalances_ShouldRankInDatabaseOrder() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var transactionUtil = new TransactionUtil(dataSource);
+        var firstPlayerId = UUID.fromString("f0000000-0000-0000-0000-000000000000");
+        var secondPlayerId = UUID.fromString("80000000-0000-0000-0000-000000000000");
+        var thirdPlayerId = UUID.fromString("10000000-0000-0000-0000-000000000000");
+        createAccounts(transactionUtil, currency.code(), thirdPlayerId, BigDecimal.TEN, secondPlayerId, BigDecimal.TEN);
+
+        var sut = new Leaderboard(transactionUtil, accountData, BalanceStore.disabled(), 10);
+        sut.getTopBalances(currency.code(), 0, 10);
+
+        // Act
+        sut.addAccount(firstPlayerId, currency.code(), BigDecimal.TEN);
+        var actual = sut.getTopBalances(currency.code(), 0, 10);
+
+        // Assert
+        assertThat(actual)
+            .extracting(TopBalance::playerId)
+            .containsExactly(firstPlayerId, secondPlayerId, thirdPlayerId);
+    }
+
+    @Test
+    @Tag("Integration")
+    void addAccount_WithAccountOnBoard_ShouldKeepItsBalance() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var transactionUtil = new TransactionUtil(dataSource);
+        var firstPlayerId = UUID.randomUUID();
+        var secondPlayerId = UUID.randomUUID();
+        createAccounts(transactionUtil, currency.code(), firstPlayerId, BigDecimal.TEN, secondPlayerId, BigDecimal.ONE);
+
+        var sut = new Leaderboard(transactionUtil, accountData, BalanceStore.disabled(), 10);
+        sut.getTopBalances(currency.code(), 0, 10);
+        var newPlayerId = UUID.randomUUID();
+
+        // Act
+        sut.addAccount(firstPlayerId, currency.code(), BigDecimal.ZERO);
+        sut.addAccount(newPlayerId, currency.code(), BigDecimal.TWO);
+        var actual = sut.getTopBalances(currency.code(), 0, 10);
+
+        // Assert
+        assertThat(actual).extracting(TopBalance::playerId).containsExactly(firstPlayerId, newPlayerId, secondPlayerId);
+    }
+
+    @Test
+    @Tag("Integration")
+    void getTopBalances_WithPagePastSize_ShouldReadFromDatabase() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedDefaultCurrency(dataSource);
+        var transactionUtil = new TransactionUtil(dataSource);
+        var firstPlayerId = UUID.randomUUID();
+        var secondPlayerId = UUID.randomUUID();
+        createAccounts(transactionUtil, currency.code(), firstPlayerId, BigDecimal.TEN, secondPlayerId, BigDecimal.ONE);
+
+        var sut = new Leaderboard(transactionUtil, accountData, BalanceStore.disabled(), 1);
+
+        // Act
+        var actual = sut.getTopBalances(currency.code(), 1, 1);
+
+        // Assert
+        assertThat(actual).extracting(TopBalance::rank).containsExactly(2);
+        assertThat(actual).extracting(TopBalance::playerId).containsExactly(secondPlayerId);
+    }
+
+    private void createAccounts(
+        TransactionUtil transactionUtil,
+        String currencyCode,
+        UUID firstPlayerId,
+        BigDecimal firstBalance,
+        UUID secondPlayerId,
+        BigDecimal secondBalance
+    ) throws SQLException {
+        transactionUtil.runInTransaction(conn -> {
+            accountData.createAccount(conn, new CreateAccountDto(firstPlayerId, currencyCode, firstBalance));
+            accountData.createAccount(conn, new CreateAccountDto(secondPlayerId, currencyCode, secondBalance));
+            return null;
+        });
+    }
+}
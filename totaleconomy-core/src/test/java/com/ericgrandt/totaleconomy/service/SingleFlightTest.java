@@ -0,0 +1,108 @@
+package com.ericgrandt.totaleconomy.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTest {
+    // Each call needs its own thread, which the common pool doesn't promise
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Test
+    @Tag("Unit")
+    public void run_WithConcurrentCallsForSameKey_ShouldLoadOnce() throws Exception {
+        // Arrange
+        var sut = new SingleFlight<String, Integer>();
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var leader = CompletableFuture.supplyAsync(() -> runUnchecked(sut, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return 42;
+        }), executor);
+        while (loads.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        var follower = CompletableFuture.supplyAsync(() -> runUnchecked(sut, loads::incrementAndGet), executor);
+        while (sut.getCoalescedCount() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Assert
+        assertEquals(42, leader.get());
+        assertEquals(42, follower.get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @Tag("Unit")
+    public void run_WithFailingLoad_ShouldThrowToWaitingCallers() throws Exception {
+        // Arrange
+        var sut = new SingleFlight<String, Integer>();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var leader = CompletableFuture.runAsync(() -> runUnchecked(sut, () -> {
+            started.countDown();
+            await(release);
+            throw new SQLException("connection lost");
+        }), executor);
+        started.await();
+
+        // Act
+        var follower = CompletableFuture.supplyAsync(() -> runUnchecked(sut, () -> 1), executor);
+        while (sut.getCoalescedCount() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Assert
+        var actual = assertThrows(Exception.class, follower::get).getCause().getCause();
+        assertInstanceOf(SQLException.class, actual);
+        assertThrows(Exception.class, leader::get);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void run_WithSequentialCalls_ShouldLoadEachTime() throws SQLException {
+        // Arrange
+        var sut = new SingleFlight<String, Integer>();
+        var loads = new AtomicInteger();
+
+        // Act
+        sut.run("key", loads::incrementAndGet);
+        var actual = sut.run("key", loads::incrementAndGet);
+
+        // Assert
+        assertEquals(2, actual);
+        assertEquals(0, sut.getCoalescedCount());
+    }
+
+    private static Integer runUnchecked(SingleFlight<String, Integer> sut, SingleFlight.Load<Integer> load) {
+        try {
+            return sut.run("key", load);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.api.dto.DepositResult;
+import com.ericgrandt.totaleconomy.api.dto.GetAccountBalanceResult;
+import com.ericgrandt.totaleconomy.api.dto.TransferResult;
+import com.ericgrandt.totaleconomy.api.dto.WithdrawResult;
+import com.ericgrandt.totaleconomy.api.exception.InsufficientFundsException;
+import com.ericgrandt.totaleconomy.api.service.EconomyService;
+import com.ericgrandt.totaleconomy.model.TECurrency;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TEAsyncEconomyServiceTest {
+    private static final TECurrency CURRENCY = new TECurrency(
+        "USD",
+        "Dollar",
+        "Dollars",
+        "$",
+        2,
+        BigDecimal.TEN,
+        true
+    );
+
+    @Mock
+    private EconomyService<TECurrency> economyServiceMock;
+
+    @Test
+    @Tag("Unit")
+    public void getAccountBalanceAsync_WithSuccess_ShouldCompleteWithResult() {
+        // Arrange
+        var playerId = UUID.randomUUID();
+        var result = new GetAccountBalanceResult(CURRENCY, BigDecimal.TEN);
+        when(economyServiceMock.getAccountBalance(playerId, CURRENCY.code())).thenReturn(result);
+
+        var sut = new TEAsyncEconomyService(economyServiceMock, Runnable::run);
+
+        // Act
+        var actual = sut.getAccountBalanceAsync(playerId, CURRENCY.code()).join();
+
+        // Assert
+        assertEquals(result, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void withdrawAsync_WithSuccess_ShouldCompleteWithResult() {
+        // Arrange
+        var playerId = UUID.randomUUID();
+        var result = new WithdrawResult(CURRENCY, BigDecimal.ONE, BigDecimal.valueOf(9));
+        when(economyServiceMock.withdraw(playerId, BigDecimal.ONE)).thenReturn(result);
+
+        var sut = new TEAsyncEconomyService(economyServiceMock, Runnable::run);
+
+        // Act
+        var actual = sut.withdrawAsync(playerId, BigDecimal.ONE).join();
+
+        // Assert
+        assertEquals(result, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void withdrawAsync_WithInsufficientFunds_ShouldCompleteExceptionally() {
+        // Arrange
+        var playerId = UUID.randomUUID();
+        when(economyServiceMock.withdraw(playerId, CURRENCY.code(), BigDecimal.ONE)).thenThrow(
+            InsufficientFundsException.class
+        );
+
+        var sut = new TEAsyncEconomyService(economyServiceMock, Runnable::run);
+
+        // Act
+        var actual = sut.withdrawAsync(playerId, CURRENCY.code(), BigDecimal.ONE);
+
+        // Assert
+        assertInstanceOf(InsufficientFundsException.class, actual.exceptionNow());
+    }
+
+    @Test
+    @Tag("Unit")
+    public void depositAsync_WithSuccess_ShouldCompleteWithResult() {
+        // Arrange
+        var playerId = UUID.randomUUID();
+        var result = new DepositResult(CURRENCY, BigDecimal.ONE, BigDecimal.valueOf(11));
+        when(economyServiceMock.deposit(playerId, CURRENCY.code(), BigDecimal.ONE)).thenReturn(result);
+
+        var sut = new TEAsyncEconomyService(economyServiceMock, Runnable::run);
+
+        // Act
+        var actual = sut.depositAsync(playerId, CURRENCY.code(), BigDecimal.ONE).join();
+
+        // Assert
+        assertEquals(result, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void transferAsync_WithSuccess_ShouldCompleteWithResult() {
+        // Arrange
+        var fromPlayerId = UUID.randomUUID();
+        var toPlayerId = UUID.randomUUID();
+        var result = new TransferResult(CURRENCY, BigDecimal.ONE);
+        when(economyServiceMock.transfer(fromPlayerId, toPlayerId, BigDecimal.ONE)).thenReturn(result);
+
+        var sut = new TEAsyncEconomyService(economyServiceMock, Runnable::run);
+
+        // Act
+        var actual = sut.transferAsync(fromPlayerId, toPlayerId, BigDecimal.ONE).join();
+
+        // Assert
+        assertEquals(result, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void transferAsync_WithSaturatedExecutor_ShouldCompleteExceptionally() {
+        // Arrange
+        var sut = new TEAsyncEconomyService(
+            economyServiceMock,
+            task -> {
+                throw new RejectedExecutionException();
+            }
+        );
+
+        // Act
+        var actual = sut.transferAsync(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.ONE);
+
+        // Assert
+        assertInstanceOf(RejectedExecutionException.class, actual.exceptionNow());
+        verifyNoInteractions(economyServiceMock);
+    }
+}
@@ -2,16 +2,21 @@ package com.ericgrandt.totaleconomy.service;
 
 import com.ericgrandt.totaleconomy.api.dto.DepositResult;
 import com.ericgrandt.totaleconomy.api.dto.GetAccountBalanceResult;
+import com.ericgrandt.totaleconomy.api.dto.GetTopBalancesResult;
+import com.ericgrandt.totaleconomy.api.dto.SetBalanceResult;
+import com.ericgrandt.totaleconomy.api.dto.TopBalance;
 import com.ericgrandt.totaleconomy.api.dto.TransferResult;
 import com.ericgrandt.totaleconomy.api.dto.WithdrawResult;
 import com.ericgrandt.totaleconomy.api.exception.AccountNotFoundException;
 import com.ericgrandt.totaleconomy.api.exception.CurrencyNotFoundException;
 import com.ericgrandt.totaleconomy.api.exception.DatabaseException;
 import com.ericgrandt.totaleconomy.api.exception.InsufficientFundsException;
+import com.ericgrandt.totaleconomy.api.exception.MissingDefaultCurrencyException;
 import com.ericgrandt.totaleconomy.api.exception.SelfTransferException;
 import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
 import com.ericgrandt.totaleconomy.data.AccountData;
-import com.ericgrandt.totaleconomy.data.CurrencyData;
+import com.ericgrandt.totaleconomy.dto.BalanceDelta;
+import com.ericgrandt.totaleconomy.dto.CreateAccountDto;
 import com.ericgrandt.totaleconomy.model.TEAccount;
 import com.ericgrandt.totaleconomy.model.TECurrency;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,16 +29,31 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,11 +65,20 @@ public class TEEconomyServiceTest {
     private CacheService cacheServiceMock;
 
     @Mock
-    private CurrencyData currencyDataMock;
+    private BalanceStore balanceStoreMock;
 
     @Mock
     private AccountData accountDataMock;
 
+    @Mock
+    private TransactionLedger ledgerMock;
+
+    @Mock
+    private Leaderboard leaderboardMock;
+
+    @Mock
+    private BalanceSnapshot balanceSnapshotMock;
+
     private TEEconomyService sut;
 
     @BeforeEach
@@ -58,7 +87,18 @@ public class TEEconomyServiceTest {
             TransactionUtil.Transaction<?> tx = invocation.getArgument(0);
             return tx.execute(mock(Connection.class));
         });
-        sut = new TEEconomyService(transactionUtilMock, cacheServiceMock, currencyDataMock, accountDataMock);
+        lenient().when(balanceStoreMock.applyAll(any(), any(), any(), anyBoolean())).thenReturn(
+            new BalanceStore.BatchChanges(Map.of(), Map.of())
+        );
+        sut = new TEEconomyService(
+            transactionUtilMock,
+            cacheServiceMock,
+            balanceStoreMock,
+            accountDataMock,
+            ledgerMock,
+            leaderboardMock,
+            balanceSnapshotMock
+        );
     }
 
     @Test
@@ -99,7 +139,7 @@ public class TEEconomyServiceTest {
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
 
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
         when(accountDataMock.createAccount(any(), any())).thenReturn(account);
 
         // Act
@@ -113,7 +153,7 @@ public class TEEconomyServiceTest {
     @Tag("Unit")
     public void createAccount_WithEmptyCurrency_ShouldReturnCurrencyNotFoundException() throws SQLException {
         // Arrange
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.empty());
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.empty());
 
         // Act/Assert
         assertThrows(
@@ -122,16 +162,155 @@ public class TEEconomyServiceTest {
         );
     }
 
+    @Test
+    @Tag("Unit")
+    public void createAccount_WithEmptyCurrency_ShouldRecordLatency() {
+        // Arrange
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.empty());
+        assertThrows(CurrencyNotFoundException.class, () -> sut.createAccount(UUID.randomUUID(), "USD"));
+
+        // Act
+        var actual = sut.getOperationLatencies().get(TEEconomyService.Operation.CREATE_ACCOUNT).getCount();
+
+        // Assert
+        assertEquals(1, actual);
+    }
+
     @Test
     @Tag("Unit")
     public void createAccount_WithSQLException_ShouldThrowDatabaseException() throws SQLException {
         // Arrange
-        when(currencyDataMock.getCurrency(any(), any())).thenThrow(SQLException.class);
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.createAccount(any(), any())).thenThrow(SQLException.class);
 
         // Act/Assert
         assertThrows(DatabaseException.class, () -> sut.createAccount(UUID.randomUUID(), "USD"));
     }
 
+    @Test
+    @Tag("Unit")
+    public void createAccounts_WithSuccess_ShouldCreateAccountInEachCurrency() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var otherCurrency = new TECurrency("COIN", "Coin", "Coins", "C", 0, BigDecimal.ONE, false);
+        var playerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getCurrencies()).thenReturn(Map.of("USD", currency, "COIN", otherCurrency));
+
+        // Act
+        sut.createAccounts(playerId);
+
+        // Assert
+        verify(accountDataMock).createAccounts(
+            any(),
+            argThat(requests -> requests.containsAll(List.of(
+                new CreateAccountDto(playerId, "USD", BigDecimal.TEN),
+                new CreateAccountDto(playerId, "COIN", BigDecimal.ONE)
+            )))
+        );
+    }
+
+    @Test
+    @Tag("Unit")
+    public void createAccounts_WithProvisionedPlayer_ShouldNotUseDatabase() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getCurrencies()).thenReturn(Map.of("USD", currency));
+        sut.createAccounts(playerId);
+
+        // Act
+        sut.createAccounts(playerId);
+
+        // Assert
+        verify(accountDataMock).createAccounts(any(), any());
+        verify(transactionUtilMock).runInTransaction(any());
+    }
+
+    @Test
+    @Tag("Unit")
+    public void createAccounts_WithSQLException_ShouldThrowDatabaseException() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        when(cacheServiceMock.getCurrencies()).thenReturn(Map.of("USD", currency));
+        doThrow(SQLException.class).when(accountDataMock).createAccounts(any(), any());
+
+        // Act/Assert
+        assertThrows(DatabaseException.class, () -> sut.createAccounts(UUID.randomUUID()));
+    }
+
+    @Test
+    @Tag("Unit")
+    public void hasAccount_WithAccountCheckedBefore_ShouldNotUseDatabase() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+        var account = new TEAccount(playerId, "USD", BigDecimal.TEN);
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getAccount(any(), eq(playerId), eq(currency.code()))).thenReturn(Optional.of(account));
+        sut.hasAccount(playerId, currency.code());
+
+        // Act
+        var actual = sut.hasAccount(playerId, currency.code());
+
+        // Assert
+        assertTrue(actual);
+        verify(accountDataMock).getAccount(any(), any(), any());
+    }
+
+    @Test
+    @Tag("Unit")
+    public void hasAccount_WithNoAccount_ShouldReturnFalse() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
+        when(accountDataMock.getAccount(any(), any(), any())).thenReturn(Optional.empty());
+
+        // Act
+        var actual = sut.hasAccount(UUID.randomUUID());
+
+        // Assert
+        assertFalse(actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void hasAccount_WithAccountCreatedAfterMissingCheck_ShouldReturnTrue() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getAccount(any(), any(), any())).thenReturn(Optional.empty());
+        when(accountDataMock.createAccount(any(), any())).thenReturn(new TEAccount(playerId, "USD", BigDecimal.TEN));
+        sut.hasAccount(playerId);
+
+        // Act
+        sut.createAccount(playerId, currency.code());
+        var actual = sut.hasAccount(playerId);
+
+        // Assert
+        assertTrue(actual);
+        verify(accountDataMock).getAccount(any(), any(), any());
+    }
+
+    @Test
+    @Tag("Unit")
+    public void hasAccount_WithSQLException_ShouldThrowDatabaseException() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
+        when(accountDataMock.getAccount(any(), any(), any())).thenThrow(SQLException.class);
+
+        // Act/Assert
+        assertThrows(DatabaseException.class, () -> sut.hasAccount(UUID.randomUUID()));
+    }
+
     @Test
     @Tag("Unit")
     public void getAccountBalance_WithCurrencyCodeAndSuccess_ShouldReturnBalanceForCurrency() throws SQLException {
@@ -139,7 +318,7 @@ public class TEEconomyServiceTest {
         var currency = new TECurrency("COIN", "Coin", "Coins", null, 0, BigDecimal.TEN, false);
         var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
 
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
         when(accountDataMock.getAccount(any(), any(), any())).thenReturn(Optional.of(account));
 
         // Act
@@ -150,11 +329,72 @@ public class TEEconomyServiceTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @Tag("Unit")
+    public void getAccountBalance_WithDepositDuringInFlightRead_ShouldReadDepositedBalance() throws Exception {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+        var readStarted = new CountDownLatch(1);
+        var releaseRead = new CountDownLatch(1);
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getAccount(any(), eq(playerId), eq(currency.code())))
+            .thenAnswer(invocation -> {
+                readStarted.countDown();
+                releaseRead.await();
+                return Optional.of(new TEAccount(playerId, currency.code(), BigDecimal.TEN));
+            })
+            .thenReturn(Optional.of(new TEAccount(playerId, currency.code(), BigDecimal.valueOf(20))));
+        when(accountDataMock.getBalanceForUpdate(any(), eq(playerId), eq(currency.code())))
+            .thenReturn(Optional.of(BigDecimal.TEN));
+        when(accountDataMock.deposit(any(), eq(playerId), eq(currency.code()), any())).thenReturn(true);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var inFlightRead = executor.submit(() -> sut.getAccountBalance(playerId, currency.code()));
+            readStarted.await();
+            sut.deposit(playerId, currency.code(), BigDecimal.TEN);
+
+            // Act
+            var laterRead = executor.submit(() -> sut.getAccountBalance(playerId, currency.code()));
+            GetAccountBalanceResult actual;
+            try {
+                actual = laterRead.get(5, TimeUnit.SECONDS);
+            } finally {
+                releaseRead.countDown();
+            }
+            var expected = new GetAccountBalanceResult(currency, BigDecimal.valueOf(20));
+
+            // Assert
+            assertEquals(expected, actual);
+            inFlightRead.get();
+        }
+    }
+
+    @Test
+    @Tag("Unit")
+    public void getAccountBalance_WithLoadedAccount_ShouldReturnBalanceFromBalanceStore() {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(balanceStoreMock.getBalance(playerId, currency.code())).thenReturn(Optional.of(BigDecimal.TWO));
+
+        // Act
+        var actual = sut.getAccountBalance(playerId, currency.code());
+        var expected = new GetAccountBalanceResult(currency, BigDecimal.TWO);
+
+        // Assert
+        assertEquals(expected, actual);
+        verifyNoInteractions(transactionUtilMock, accountDataMock);
+    }
+
     @Test
     @Tag("Unit")
     public void getAccountBalance_WithCurrencyCodeAndEmptyCurrency_ShouldReturnCurrencyNotFoundException() throws SQLException {
         // Arrange
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.empty());
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.empty());
 
         // Act/Assert
         assertThrows(
@@ -169,7 +409,7 @@ public class TEEconomyServiceTest {
         // Arrange
         var currency = new TECurrency("COIN", "Coin", "Coins", null, 0, BigDecimal.TEN, false);
 
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
         when(accountDataMock.getAccount(any(), any(), any())).thenReturn(Optional.empty());
 
         // Act/Assert
@@ -180,7 +420,9 @@ public class TEEconomyServiceTest {
     @Tag("Unit")
     public void getAccountBalance_WithCurrencyCodeAndSQLException_ShouldThrowDatabaseException() throws SQLException {
         // Arrange
-        when(currencyDataMock.getCurrency(any(), any())).thenThrow(SQLException.class);
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getAccount(any(), any(), any())).thenThrow(SQLException.class);
 
         // Act/Assert
         assertThrows(DatabaseException.class, () -> sut.getAccountBalance(UUID.randomUUID(), "USD"));
@@ -193,8 +435,7 @@ public class TEEconomyServiceTest {
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
 
-        when(currencyDataMock.getDefaultCurrency(any())).thenReturn(currency);
-        when(currencyDataMock.getCurrency(any(), eq(currency.code()))).thenReturn(Optional.of(currency));
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
         when(accountDataMock.getAccount(any(), any(), any())).thenReturn(Optional.of(account));
 
         // Act
@@ -207,12 +448,98 @@ public class TEEconomyServiceTest {
 
     @Test
     @Tag("Unit")
-    public void getAccountBalance_WithDefaultCurrencyAndSQLException_ShouldThrowDatabaseException() throws SQLException {
+    public void getAccountBalance_WithMissingDefaultCurrency_ShouldThrowMissingDefaultCurrencyException() {
         // Arrange
-        when(currencyDataMock.getDefaultCurrency(any())).thenThrow(SQLException.class);
+        when(cacheServiceMock.getDefaultCurrency()).thenThrow(MissingDefaultCurrencyException.class);
 
         // Act/Assert
-        assertThrows(DatabaseException.class, () -> sut.getAccountBalance(UUID.randomUUID()));
+        assertThrows(MissingDefaultCurrencyException.class, () -> sut.getAccountBalance(UUID.randomUUID()));
+    }
+
+    @Test
+    @Tag("Unit")
+    public void getRecentAccountBalance_WithSuccess_ShouldReturnBalanceFromSnapshot() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
+        when(balanceSnapshotMock.getBalance(playerId, currency.code())).thenReturn(Optional.of(BigDecimal.TWO));
+
+        // Act
+        var actual = sut.getRecentAccountBalance(playerId);
+        var expected = new GetAccountBalanceResult(currency, BigDecimal.TWO);
+
+        // Assert
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void getRecentAccountBalance_WithNoAccount_ShouldThrowAccountNotFoundException() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
+        when(balanceSnapshotMock.getBalance(any(), any())).thenReturn(Optional.empty());
+
+        // Act/Assert
+        assertThrows(AccountNotFoundException.class, () -> sut.getRecentAccountBalance(UUID.randomUUID()));
+    }
+
+    @Test
+    @Tag("Unit")
+    public void getRecentAccountBalance_WithSQLException_ShouldThrowDatabaseException() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
+        when(balanceSnapshotMock.getBalance(any(), any())).thenThrow(SQLException.class);
+
+        // Act/Assert
+        assertThrows(DatabaseException.class, () -> sut.getRecentAccountBalance(UUID.randomUUID()));
+    }
+
+    @Test
+    @Tag("Unit")
+    public void getTopBalances_WithCurrencyCode_ShouldReturnPageFromLeaderboard() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var topBalances = List.of(new TopBalance(1, UUID.randomUUID(), BigDecimal.TEN));
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(leaderboardMock.getTopBalances(currency.code(), 0, 10)).thenReturn(topBalances);
+
+        // Act
+        var actual = sut.getTopBalances(currency.code(), 0, 10);
+        var expected = new GetTopBalancesResult(currency, topBalances);
+
+        // Assert
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void getTopBalances_WithNegativeOffset_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
+
+        // Act/Assert
+        assertThrows(IllegalArgumentException.class, () -> sut.getTopBalances(-1, 10));
+        verifyNoInteractions(leaderboardMock);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void getTopBalances_WithSQLException_ShouldThrowDatabaseException() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
+        when(leaderboardMock.getTopBalances(currency.code(), 0, 10)).thenThrow(SQLException.class);
+
+        // Act/Assert
+        assertThrows(DatabaseException.class, () -> sut.getTopBalances(0, 10));
     }
 
     @Test
@@ -221,18 +548,18 @@ public class TEEconomyServiceTest {
         // Arrange
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
-        when(accountDataMock.getAccount(
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(account.playerId()),
             eq(currency.code())
-        )).thenReturn(Optional.of(account));
+        )).thenReturn(Optional.of(account.balance()));
         when(accountDataMock.withdraw(
             any(),
             eq(account.playerId()),
             eq(currency.code()),
             any(),
-            eq(true)
+            eq(false)
         )).thenReturn(true);
 
         // Act
@@ -243,11 +570,70 @@ public class TEEconomyServiceTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @Tag("Unit")
+    public void withdraw_WithLoadedAccount_ShouldWithdrawFromBalanceStore() {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(balanceStoreMock.withdraw(playerId, currency.code(), BigDecimal.ONE)).thenReturn(
+            Optional.of(BigDecimal.valueOf(9))
+        );
+
+        // Act
+        var actual = sut.withdraw(playerId, currency.code(), BigDecimal.ONE);
+        var expected = new WithdrawResult(currency, BigDecimal.ONE, BigDecimal.valueOf(9));
+
+        // Assert
+        assertEquals(expected, actual);
+        verifyNoInteractions(transactionUtilMock, accountDataMock);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void withdraw_WithSuccess_ShouldRecordWithdrawInLedger() {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(balanceStoreMock.withdraw(playerId, currency.code(), BigDecimal.ONE)).thenReturn(
+            Optional.of(BigDecimal.valueOf(9))
+        );
+
+        // Act
+        sut.withdraw(playerId, currency.code(), BigDecimal.ONE);
+
+        // Assert
+        verify(ledgerMock).recordWithdraw(playerId, currency.code(), BigDecimal.ONE, BigDecimal.valueOf(9));
+    }
+
+    @Test
+    @Tag("Unit")
+    public void withdraw_WithInsufficientFunds_ShouldNotRecordInLedger() {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(balanceStoreMock.withdraw(playerId, currency.code(), BigDecimal.ONE)).thenThrow(
+            new InsufficientFundsException()
+        );
+
+        // Act
+        assertThrows(InsufficientFundsException.class, () -> sut.withdraw(playerId, currency.code(), BigDecimal.ONE));
+
+        // Assert
+        verifyNoInteractions(ledgerMock);
+    }
+
     @Test
     @Tag("Unit")
     public void withdraw_WithCurrencyCodeAndEmptyCurrency_ShouldReturnCurrencyNotFoundException() throws SQLException {
         // Arrange
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.empty());
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.empty());
 
         // Act/Assert
         assertThrows(
@@ -262,8 +648,8 @@ public class TEEconomyServiceTest {
         // Arrange
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
-        when(accountDataMock.getAccount(
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(account.playerId()),
             eq(currency.code())
@@ -282,25 +668,19 @@ public class TEEconomyServiceTest {
         // Arrange
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
-        when(accountDataMock.getAccount(
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(account.playerId()),
             eq(currency.code())
-        )).thenReturn(Optional.of(account));
-        when(accountDataMock.withdraw(
-            any(),
-            eq(account.playerId()),
-            eq(currency.code()),
-            any(),
-            eq(true)
-        )).thenReturn(false);
+        )).thenReturn(Optional.of(account.balance()));
 
         // Act/Assert
         assertThrows(
             InsufficientFundsException.class,
-            () -> sut.withdraw(account.playerId(), currency.code(), BigDecimal.TEN)
+            () -> sut.withdraw(account.playerId(), currency.code(), BigDecimal.valueOf(11))
         );
+        verify(accountDataMock, never()).withdraw(any(), any(), any(), any(), eq(false));
     }
 
     @Test
@@ -309,7 +689,8 @@ public class TEEconomyServiceTest {
         // Arrange
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
-        when(currencyDataMock.getCurrency(any(), any())).thenThrow(SQLException.class);
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(any(), any(), any())).thenThrow(SQLException.class);
 
         // Act/Assert
         assertThrows(
@@ -324,19 +705,18 @@ public class TEEconomyServiceTest {
         // Arrange
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
-        when(currencyDataMock.getDefaultCurrency(any())).thenReturn(currency);
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
-        when(accountDataMock.getAccount(
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(account.playerId()),
             eq(currency.code())
-        )).thenReturn(Optional.of(account));
+        )).thenReturn(Optional.of(account.balance()));
         when(accountDataMock.withdraw(
             any(),
             eq(account.playerId()),
             eq(currency.code()),
             any(),
-            eq(true)
+            eq(false)
         )).thenReturn(true);
 
         // Act
@@ -349,15 +729,14 @@ public class TEEconomyServiceTest {
 
     @Test
     @Tag("Unit")
-    public void withdraw_WithDefaultCurrencyCodeAndSQLException_ShouldThrowDatabaseException() throws SQLException {
+    public void withdraw_WithMissingDefaultCurrency_ShouldThrowMissingDefaultCurrencyException() {
         // Arrange
-        var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
-        when(currencyDataMock.getDefaultCurrency(any())).thenThrow(SQLException.class);
+        when(cacheServiceMock.getDefaultCurrency()).thenThrow(MissingDefaultCurrencyException.class);
 
         // Act/Assert
         assertThrows(
-            DatabaseException.class,
-            () -> sut.withdraw(account.playerId(), BigDecimal.TEN)
+            MissingDefaultCurrencyException.class,
+            () -> sut.withdraw(UUID.randomUUID(), BigDecimal.TEN)
         );
     }
 
@@ -367,12 +746,12 @@ public class TEEconomyServiceTest {
         // Arrange
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
-        when(accountDataMock.getAccount(
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(account.playerId()),
             eq(currency.code())
-        )).thenReturn(Optional.of(account));
+        )).thenReturn(Optional.of(account.balance()));
         when(accountDataMock.deposit(
             any(),
             eq(account.playerId()),
@@ -388,11 +767,32 @@ public class TEEconomyServiceTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @Tag("Unit")
+    public void deposit_WithLoadedAccount_ShouldDepositIntoBalanceStore() {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(balanceStoreMock.deposit(playerId, currency.code(), BigDecimal.ONE)).thenReturn(
+            Optional.of(BigDecimal.valueOf(11))
+        );
+
+        // Act
+        var actual = sut.deposit(playerId, currency.code(), BigDecimal.ONE);
+        var expected = new DepositResult(currency, BigDecimal.ONE, BigDecimal.valueOf(11));
+
+        // Assert
+        assertEquals(expected, actual);
+        verifyNoInteractions(transactionUtilMock, accountDataMock);
+    }
+
     @Test
     @Tag("Unit")
     public void deposit_WithCurrencyCodeAndEmptyCurrency_ShouldReturnCurrencyNotFoundException() throws SQLException {
         // Arrange
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.empty());
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.empty());
 
         // Act/Assert
         assertThrows(
@@ -407,8 +807,8 @@ public class TEEconomyServiceTest {
         // Arrange
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
-        when(accountDataMock.getAccount(
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(account.playerId()),
             eq(currency.code())
@@ -427,12 +827,12 @@ public class TEEconomyServiceTest {
         // Arrange
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
-        when(accountDataMock.getAccount(
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(account.playerId()),
             eq(currency.code())
-        )).thenReturn(Optional.of(account));
+        )).thenReturn(Optional.of(account.balance()));
         when(accountDataMock.deposit(
             any(),
             eq(account.playerId()),
@@ -454,7 +854,8 @@ public class TEEconomyServiceTest {
         // Arrange
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
-        when(currencyDataMock.getCurrency(any(), any())).thenThrow(SQLException.class);
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(any(), any(), any())).thenThrow(SQLException.class);
 
         // Act/Assert
         assertThrows(
@@ -469,13 +870,12 @@ public class TEEconomyServiceTest {
         // Arrange
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
-        when(currencyDataMock.getDefaultCurrency(any())).thenReturn(currency);
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
-        when(accountDataMock.getAccount(
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(account.playerId()),
             eq(currency.code())
-        )).thenReturn(Optional.of(account));
+        )).thenReturn(Optional.of(account.balance()));
         when(accountDataMock.deposit(
             any(),
             eq(account.playerId()),
@@ -493,18 +893,174 @@ public class TEEconomyServiceTest {
 
     @Test
     @Tag("Unit")
-    public void deposit_WithDefaultCurrencyCodeAndSQLException_ShouldThrowDatabaseException() throws SQLException {
+    public void deposit_WithMissingDefaultCurrency_ShouldThrowMissingDefaultCurrencyException() {
         // Arrange
-        var account = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
-        when(currencyDataMock.getDefaultCurrency(any())).thenThrow(SQLException.class);
+        when(cacheServiceMock.getDefaultCurrency()).thenThrow(MissingDefaultCurrencyException.class);
 
         // Act/Assert
         assertThrows(
-            DatabaseException.class,
-            () -> sut.deposit(account.playerId(), BigDecimal.TEN)
+            MissingDefaultCurrencyException.class,
+            () -> sut.deposit(UUID.randomUUID(), BigDecimal.TEN)
         );
     }
 
+    @Test
+    @Tag("Unit")
+    public void depositAll_WithCurrencyCodeAndMissingAccount_ShouldReturnResultPerPlayer() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+        var missingPlayerId = UUID.randomUUID();
+        var amounts = Map.of(playerId, BigDecimal.ONE, missingPlayerId, BigDecimal.ONE);
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalancesForUpdate(any(), any(), eq(currency.code()))).thenReturn(
+            Map.of(playerId, BigDecimal.TEN)
+        );
+
+        // Act
+        var actual = sut.depositAll(amounts, currency.code());
+
+        // Assert
+        assertEquals(
+            Map.of(playerId, new DepositResult(currency, BigDecimal.ONE, BigDecimal.valueOf(11))),
+            actual.results()
+        );
+        assertInstanceOf(AccountNotFoundException.class, actual.failures().get(missingPlayerId));
+        verify(accountDataMock).applyBalanceDeltas(
+            any(),
+            eq(List.of(new BalanceDelta(playerId, currency.code(), BigDecimal.ONE)))
+        );
+    }
+
+    @Test
+    @Tag("Unit")
+    public void withdrawAll_WithDefaultCurrencyAndInsufficientFunds_ShouldReturnResultPerPlayer() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+        var poorPlayerId = UUID.randomUUID();
+        var amounts = Map.of(playerId, BigDecimal.TWO, poorPlayerId, BigDecimal.TWO);
+
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
+        when(accountDataMock.getBalancesForUpdate(any(), any(), eq(currency.code()))).thenReturn(
+            Map.of(playerId, BigDecimal.TEN, poorPlayerId, BigDecimal.ONE)
+        );
+
+        // Act
+        var actual = sut.withdrawAll(amounts);
+
+        // Assert
+        assertEquals(
+            Map.of(playerId, new WithdrawResult(currency, BigDecimal.TWO, BigDecimal.valueOf(8))),
+            actual.results()
+        );
+        assertInstanceOf(InsufficientFundsException.class, actual.failures().get(poorPlayerId));
+        verify(accountDataMock).applyBalanceDeltas(
+            any(),
+            eq(List.of(new BalanceDelta(playerId, currency.code(), BigDecimal.TWO.negate())))
+        );
+    }
+
+    @Test
+    @Tag("Unit")
+    public void withdrawAll_WithLoadedAccount_ShouldWithdrawFromBalanceStore() {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(balanceStoreMock.applyAll(eq(currency.code()), any(), any(), eq(true))).thenReturn(
+            new BalanceStore.BatchChanges(
+                Map.of(playerId, new BalanceStore.BalanceChange(BigDecimal.ONE.negate(), BigDecimal.valueOf(9))),
+                Map.of()
+            )
+        );
+
+        // Act
+        var actual = sut.withdrawAll(Map.of(playerId, BigDecimal.ONE), currency.code());
+
+        // Assert
+        assertEquals(
+            Map.of(playerId, new WithdrawResult(currency, BigDecimal.ONE, BigDecimal.valueOf(9))),
+            actual.results()
+        );
+        assertEquals(Map.of(), actual.failures());
+        verifyNoInteractions(transactionUtilMock, accountDataMock);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void depositAll_WithSQLException_ShouldReportDatabaseExceptionPerPlayer() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalancesForUpdate(any(), any(), any())).thenThrow(SQLException.class);
+
+        // Act
+        var actual = sut.depositAll(Map.of(playerId, BigDecimal.ONE), currency.code());
+
+        // Assert
+        assertEquals(Map.of(), actual.results());
+        assertInstanceOf(DatabaseException.class, actual.failures().get(playerId));
+    }
+
+    @Test
+    @Tag("Unit")
+    public void setAll_WithCurrencyCode_ShouldApplyDifferenceFromCurrentBalance() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalancesForUpdate(any(), any(), eq(currency.code()))).thenReturn(
+            Map.of(playerId, BigDecimal.TEN)
+        );
+
+        // Act
+        var actual = sut.setAll(Map.of(playerId, BigDecimal.ONE), currency.code());
+
+        // Assert
+        assertEquals(
+            Map.of(playerId, new SetBalanceResult(currency, BigDecimal.TEN, BigDecimal.ONE)),
+            actual.results()
+        );
+        verify(accountDataMock).applyBalanceDeltas(
+            any(),
+            eq(List.of(new BalanceDelta(playerId, currency.code(), BigDecimal.valueOf(-9))))
+        );
+    }
+
+    @Test
+    @Tag("Unit")
+    public void setAll_WithLoadedAccount_ShouldSetInBalanceStore() {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var playerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
+        when(balanceStoreMock.applyAll(eq(currency.code()), any(), any(), eq(false))).thenAnswer(invocation -> {
+            BinaryOperator<BigDecimal> deltaForBalance = invocation.getArgument(2);
+            var delta = deltaForBalance.apply(BigDecimal.ONE, BigDecimal.TEN);
+            return new BalanceStore.BatchChanges(
+                Map.of(playerId, new BalanceStore.BalanceChange(delta, BigDecimal.TEN.add(delta))),
+                Map.of()
+            );
+        });
+
+        // Act
+        var actual = sut.setAll(Map.of(playerId, BigDecimal.ONE));
+
+        // Assert
+        assertEquals(
+            Map.of(playerId, new SetBalanceResult(currency, BigDecimal.TEN, BigDecimal.ONE)),
+            actual.results()
+        );
+        verifyNoInteractions(transactionUtilMock, accountDataMock);
+    }
+
     @Test
     @Tag("Unit")
     public void transfer_WithCurrencyCodeAndSuccess_ShouldReturnTransferResult() throws SQLException {
@@ -512,23 +1068,23 @@ public class TEEconomyServiceTest {
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var fromAccount = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
         var toAccount = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.ONE);
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
-        when(accountDataMock.getAccount(
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(fromAccount.playerId()),
             eq(currency.code())
-        )).thenReturn(Optional.of(fromAccount));
-        when(accountDataMock.getAccount(
+        )).thenReturn(Optional.of(fromAccount.balance()));
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(toAccount.playerId()),
             eq(currency.code())
-        )).thenReturn(Optional.of(toAccount));
+        )).thenReturn(Optional.of(toAccount.balance()));
         when(accountDataMock.withdraw(
             any(),
             eq(fromAccount.playerId()),
             eq(currency.code()),
             any(),
-            eq(true)
+            eq(false)
         )).thenReturn(true);
         when(accountDataMock.deposit(
             any(),
@@ -545,11 +1101,83 @@ public class TEEconomyServiceTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @Tag("Unit")
+    public void transfer_WithBothAccountsLoaded_ShouldTransferInBalanceStore() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var fromPlayerId = UUID.randomUUID();
+        var toPlayerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(balanceStoreMock.transfer(fromPlayerId, toPlayerId, currency.code(), BigDecimal.ONE)).thenReturn(true);
+
+        // Act
+        var actual = sut.transfer(fromPlayerId, toPlayerId, currency.code(), BigDecimal.ONE);
+        var expected = new TransferResult(currency, BigDecimal.ONE);
+
+        // Assert
+        assertEquals(expected, actual);
+        verify(balanceStoreMock, never()).runWithLoadedAccount(any(), any(), any(), eq(true), any());
+        verifyNoInteractions(transactionUtilMock, accountDataMock);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void transfer_WithSuccess_ShouldRecordTransferInLedger() {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var fromPlayerId = UUID.randomUUID();
+        var toPlayerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(balanceStoreMock.transfer(fromPlayerId, toPlayerId, currency.code(), BigDecimal.ONE)).thenReturn(true);
+        when(balanceStoreMock.getBalance(fromPlayerId, currency.code())).thenReturn(Optional.of(BigDecimal.valueOf(9)));
+        when(balanceStoreMock.getBalance(toPlayerId, currency.code())).thenReturn(Optional.of(BigDecimal.TWO));
+
+        // Act
+        sut.transfer(fromPlayerId, toPlayerId, currency.code(), BigDecimal.ONE);
+
+        // Assert
+        verify(ledgerMock).recordTransfer(
+            fromPlayerId,
+            toPlayerId,
+            currency.code(),
+            BigDecimal.ONE,
+            BigDecimal.valueOf(9),
+            BigDecimal.TWO
+        );
+    }
+
+    @Test
+    @Tag("Unit")
+    public void transfer_WithSuccess_ShouldUpdateLeaderboardAndSnapshotWithNewBalances() throws SQLException {
+        // Arrange
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var fromPlayerId = UUID.randomUUID();
+        var toPlayerId = UUID.randomUUID();
+
+        when(cacheServiceMock.getCurrency(currency.code())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(any(), eq(fromPlayerId), eq(currency.code())))
+            .thenReturn(Optional.of(BigDecimal.TEN));
+        when(accountDataMock.getBalanceForUpdate(any(), eq(toPlayerId), eq(currency.code())))
+            .thenReturn(Optional.of(BigDecimal.ONE));
+
+        // Act
+        sut.transfer(fromPlayerId, toPlayerId, currency.code(), BigDecimal.ONE);
+
+        // Assert
+        verify(leaderboardMock).update(fromPlayerId, currency.code(), BigDecimal.valueOf(9));
+        verify(leaderboardMock).update(toPlayerId, currency.code(), BigDecimal.TWO);
+        verify(balanceSnapshotMock).update(fromPlayerId, currency.code(), BigDecimal.valueOf(9));
+        verify(balanceSnapshotMock).update(toPlayerId, currency.code(), BigDecimal.TWO);
+    }
+
     @Test
     @Tag("Unit")
     public void transfer_WithCurrencyCodeAndEmptyCurrency_ShouldReturnCurrencyNotFoundException() throws SQLException {
         // Arrange
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.empty());
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.empty());
 
         // Act/Assert
         assertThrows(
@@ -579,10 +1207,10 @@ public class TEEconomyServiceTest {
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var fromAccount = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
         var toAccount = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.ONE);
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
-        when(accountDataMock.getAccount(
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(
+            any(),
             any(),
-            eq(fromAccount.playerId()),
             eq(currency.code())
         )).thenReturn(Optional.empty());
 
@@ -600,30 +1228,24 @@ public class TEEconomyServiceTest {
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var fromAccount = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
         var toAccount = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.ONE);
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
-        when(accountDataMock.getAccount(
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(fromAccount.playerId()),
             eq(currency.code())
-        )).thenReturn(Optional.of(fromAccount));
-        when(accountDataMock.getAccount(
+        )).thenReturn(Optional.of(fromAccount.balance()));
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(toAccount.playerId()),
             eq(currency.code())
-        )).thenReturn(Optional.of(toAccount));
-        when(accountDataMock.withdraw(
-            any(),
-            eq(fromAccount.playerId()),
-            eq(currency.code()),
-            any(),
-            eq(true)
-        )).thenReturn(false);
+        )).thenReturn(Optional.of(toAccount.balance()));
 
         // Act/Assert
         assertThrows(
             InsufficientFundsException.class,
-            () -> sut.transfer(fromAccount.playerId(), toAccount.playerId(), currency.code(), BigDecimal.TEN)
+            () -> sut.transfer(fromAccount.playerId(), toAccount.playerId(), currency.code(), BigDecimal.valueOf(11))
         );
+        verify(accountDataMock, never()).withdraw(any(), any(), any(), any(), eq(false));
     }
 
     @Test
@@ -633,7 +1255,8 @@ public class TEEconomyServiceTest {
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var fromAccount = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
         var toAccount = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.ONE);
-        when(currencyDataMock.getCurrency(any(), any())).thenThrow(SQLException.class);
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(any(), any(), any())).thenThrow(SQLException.class);
 
         // Act/Assert
         assertThrows(
@@ -649,24 +1272,23 @@ public class TEEconomyServiceTest {
         var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
         var fromAccount = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
         var toAccount = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.ONE);
-        when(currencyDataMock.getDefaultCurrency(any())).thenReturn(currency);
-        when(currencyDataMock.getCurrency(any(), any())).thenReturn(Optional.of(currency));
-        when(accountDataMock.getAccount(
+        when(cacheServiceMock.getDefaultCurrency()).thenReturn(currency);
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(fromAccount.playerId()),
             eq(currency.code())
-        )).thenReturn(Optional.of(fromAccount));
-        when(accountDataMock.getAccount(
+        )).thenReturn(Optional.of(fromAccount.balance()));
+        when(accountDataMock.getBalanceForUpdate(
             any(),
             eq(toAccount.playerId()),
             eq(currency.code())
-        )).thenReturn(Optional.of(toAccount));
+        )).thenReturn(Optional.of(toAccount.balance()));
         when(accountDataMock.withdraw(
             any(),
             eq(fromAccount.playerId()),
             eq(currency.code()),
             any(),
-            eq(true)
+            eq(false)
         )).thenReturn(true);
         when(accountDataMock.deposit(
             any(),
@@ -685,20 +1307,38 @@ public class TEEconomyServiceTest {
 
     @Test
     @Tag("Unit")
-    public void transfer_WithDefaultCurrencyCodeAndSQLException_ShouldThrowDatabaseException() throws SQLException {
+    public void transfer_WithOpposingTransfers_ShouldLockAccountsInSameOrder() throws SQLException {
         // Arrange
-        var fromAccount = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.TEN);
-        var toAccount = new TEAccount(UUID.randomUUID(), "USD", BigDecimal.ONE);
-        when(currencyDataMock.getDefaultCurrency(any())).thenThrow(SQLException.class);
+        var currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.TEN, true);
+        var lowPlayerId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        var highPlayerId = UUID.fromString("ffffffff-0000-0000-0000-000000000001");
+        when(cacheServiceMock.getCurrency(any())).thenReturn(Optional.of(currency));
+        when(accountDataMock.getBalanceForUpdate(any(), any(), eq(currency.code()))).thenReturn(
+            Optional.of(BigDecimal.TEN)
+        );
+
+        // Act
+        sut.transfer(lowPlayerId, highPlayerId, currency.code(), BigDecimal.ONE);
+        sut.transfer(highPlayerId, lowPlayerId, currency.code(), BigDecimal.ONE);
+
+        // Assert
+        var inOrder = inOrder(accountDataMock);
+        inOrder.verify(accountDataMock).getBalanceForUpdate(any(), eq(lowPlayerId), eq(currency.code()));
+        inOrder.verify(accountDataMock).getBalanceForUpdate(any(), eq(highPlayerId), eq(currency.code()));
+        inOrder.verify(accountDataMock).getBalanceForUpdate(any(), eq(lowPlayerId), eq(currency.code()));
+        inOrder.verify(accountDataMock).getBalanceForUpdate(any(), eq(highPlayerId), eq(currency.code()));
+    }
+
+    @Test
+    @Tag("Unit")
+    public void transfer_WithMissingDefaultCurrency_ShouldThrowMissingDefaultCurrencyException() {
+        // Arrange
+        when(cacheServiceMock.getDefaultCurrency()).thenThrow(MissingDefaultCurrencyException.class);
 
         // Act/Assert
         assertThrows(
-            DatabaseException.class,
-            () -> sut.transfer(
-                fromAccount.playerId(),
-                toAccount.playerId(),
-                BigDecimal.TEN
-            )
+            MissingDefaultCurrencyException.class,
+            () -> sut.transfer(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.TEN)
         );
     }
 }
@@ -0,0 +1,134 @@
+package com.ericgrandt.totaleconomy.service;
+
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import com.ericgrandt.totaleconomy.data.DatabaseBootstrapper;
+import com.ericgrandt.totaleconomy.data.TransactionData;
+import com.ericgrandt.totaleconomy.dto.TransactionType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+public class TransactionLedgerTest {
+    @Test
+    @Tag("Integration")
+    void shutdown_WithRecordedTransfer_ShouldWriteEntryForEachPlayer() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var transactionUtil = new TransactionUtil(dataSource);
+        var transactionData = new TransactionData();
+        var fromPlayerId = UUID.randomUUID();
+        var toPlayerId = UUID.randomUUID();
+
+        var sut = new TransactionLedger(
+            mock(Logger.class),
+            transactionUtil,
+            transactionData,
+            () -> "TestPlugin",
+            100,
+            10
+        );
+        sut.start();
+        sut.recordTransfer(fromPlayerId, toPlayerId, "USD", BigDecimal.TEN, BigDecimal.ONE, BigDecimal.valueOf(20));
+
+        // Act
+        sut.shutdown();
+
+        // Assert
+        var fromEntries = transactionUtil.runInTransaction(
+            conn -> transactionData.getTransactions(conn, fromPlayerId, 10)
+        );
+        var toEntries = transactionUtil.runInTransaction(
+            conn -> transactionData.getTransactions(conn, toPlayerId, 10)
+        );
+        assertEquals(1, fromEntries.size());
+        assertEquals(TransactionType.TRANSFER, fromEntries.getFirst().type());
+        assertEquals(toPlayerId, fromEntries.getFirst().counterpartyId());
+        assertEquals(0, BigDecimal.TEN.negate().compareTo(fromEntries.getFirst().amount()));
+        assertEquals(0, BigDecimal.ONE.compareTo(fromEntries.getFirst().balance()));
+        assertEquals("TestPlugin", fromEntries.getFirst().source());
+        assertEquals(1, toEntries.size());
+        assertEquals(0, BigDecimal.TEN.compareTo(toEntries.getFirst().amount()));
+        assertEquals(0, BigDecimal.valueOf(20).compareTo(toEntries.getFirst().balance()));
+        assertEquals(2, sut.getWrittenCount());
+    }
+
+    @Test
+    @Tag("Integration")
+    void recordAll_WithWithdrawals_ShouldWriteNegativeAmountsAndBalances() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var transactionUtil = new TransactionUtil(dataSource);
+        var transactionData = new TransactionData();
+        var playerId = UUID.randomUUID();
+
+        var sut = new TransactionLedger(mock(Logger.class), transactionUtil, transactionData, () -> null, 100, 10);
+        sut.start();
+
+        // Act
+        sut.recordAll(
+            TransactionType.WITHDRAW,
+            "USD",
+            Map.of(playerId, BigDecimal.ONE),
+            Map.of(playerId, BigDecimal.valueOf(9))
+        );
+        sut.shutdown();
+
+        // Assert
+        var entries = transactionUtil.runInTransaction(conn -> transactionData.getTransactions(conn, playerId, 10));
+        assertEquals(1, entries.size());
+        assertEquals(0, BigDecimal.ONE.negate().compareTo(entries.getFirst().amount()));
+        assertEquals(0, BigDecimal.valueOf(9).compareTo(entries.getFirst().balance()));
+        assertNull(entries.getFirst().source());
+    }
+
+    @Test
+    @Tag("Integration")
+    void shutdown_WithEntryRejectedByDatabase_ShouldDropOnlyThatEntry() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var transactionUtil = new TransactionUtil(dataSource);
+        var transactionData = new TransactionData();
+        var playerId = UUID.randomUUID();
+
+        var sut = new TransactionLedger(mock(Logger.class), transactionUtil, transactionData, () -> null, 100, 10);
+        sut.recordDeposit(playerId, "USD", BigDecimal.ONE, BigDecimal.ONE);
+        sut.recordDeposit(playerId, "CURRENCY_CODE_TOO_LONG", BigDecimal.ONE, BigDecimal.ONE);
+        sut.recordDeposit(playerId, "USD", BigDecimal.ONE, BigDecimal.TWO);
+        sut.start();
+
+        // Act
+        sut.shutdown();
+
+        // Assert
+        var entries = transactionUtil.runInTransaction(conn -> transactionData.getTransactions(conn, playerId, 10));
+        assertEquals(2, entries.size());
+        assertEquals(2, sut.getWrittenCount());
+        assertEquals(1, sut.getRejectedCount());
+        assertEquals(0, sut.getFailedWriteCount());
+    }
+
+    @Test
+    @Tag("Unit")
+    void recordDeposit_WithFullQueue_ShouldDropEntry() {
+        // Arrange
+        var sut = new TransactionLedger(mock(Logger.class), null, new TransactionData(), () -> null, 1, 10);
+        sut.recordDeposit(UUID.randomUUID(), "USD", BigDecimal.ONE, BigDecimal.ONE);
+
+        // Act
+        sut.recordDeposit(UUID.randomUUID(), "USD", BigDecimal.ONE, BigDecimal.ONE);
+
+        // Assert
+        assertEquals(1, sut.getQueuedCount());
+        assertEquals(1, sut.getDroppedCount());
+    }
+}
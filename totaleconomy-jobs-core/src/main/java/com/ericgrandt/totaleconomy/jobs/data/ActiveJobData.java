@@ -1,18 +1,29 @@
 package com.ericgrandt.totaleconomy.jobs.data;
 
+import com.ericgrandt.totaleconomy.common.data.UuidBytes;
+import com.ericgrandt.totaleconomy.common.data.dialect.Dialect;
 import com.ericgrandt.totaleconomy.jobs.dto.UpsertActiveJobDto;
 import com.ericgrandt.totaleconomy.jobs.model.ActiveJob;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 
 public class ActiveJobData {
+    private final String upsertActiveJobQuery;
+
+    public ActiveJobData(Dialect dialect) {
+        this.upsertActiveJobQuery = dialect.upsert(
+            "te_active_job",
+            List.of("player_id", "job_id"),
+            "job_id = %s, joined_at = CURRENT_TIMESTAMP".formatted(dialect.insertedValue("job_id"))
+        );
+    }
+
     public ActiveJob upsertActiveJob(Connection conn, UpsertActiveJobDto req) throws SQLException {
-        // NOTE: Need to use VALUES(job_id) instead of "AS alias ... = alias.job_id" for H2 compatibility. Not ideal, though it works for now.
-        var insertQuery = "INSERT INTO te_active_job(player_id, job_id) VALUES (?, ?) ON DUPLICATE KEY UPDATE job_id = VALUES(job_id), joined_at = CURRENT_TIMESTAMP";
-        try (PreparedStatement stmt = conn.prepareStatement(insertQuery)) {
-            stmt.setString(1, req.playerId().toString());
+        try (PreparedStatement stmt = conn.prepareStatement(upsertActiveJobQuery)) {
+            stmt.setBytes(1, UuidBytes.toBytes(req.playerId()));
             stmt.setString(2, req.jobId());
             stmt.executeUpdate();
         }
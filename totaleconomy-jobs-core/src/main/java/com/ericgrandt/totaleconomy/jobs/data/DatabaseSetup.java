@@ -1,40 +1,76 @@
 package com.ericgrandt.totaleconomy.jobs.data;
 
+import com.ericgrandt.totaleconomy.common.data.dialect.Dialect;
+import com.ericgrandt.totaleconomy.common.data.migration.BinaryUuidMigration;
+import com.ericgrandt.totaleconomy.common.data.migration.Migration;
+import com.ericgrandt.totaleconomy.common.data.migration.MigrationRunner;
+
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 
 public class DatabaseSetup {
+    private static final String MODULE = "jobs";
+
+    // Append new migrations to the end. Never remove one that has been released, and bump the revision of any that
+    // changes.
+    private static final List<Migration> MIGRATIONS = List.of(
+        // Tables are created IF NOT EXISTS, so databases that predate versioning adopt this as their baseline
+        Migration.of(1, "create active job and job experience tables", 1, DatabaseSetup::createTables),
+        Migration.of(
+            2,
+            "store te_active_job.player_id as BINARY(16)",
+            1,
+            new BinaryUuidMigration("te_active_job", "uk_te_active_job_player", "player_id")::migrate
+        ),
+        Migration.of(
+            3,
+            "store te_job_experience.player_id as BINARY(16)",
+            1,
+            new BinaryUuidMigration(
+                "te_job_experience",
+                "uk_te_job_experience_player_job",
+                "player_id, job_id"
+            )::migrate
+        )
+    );
+
     public static void init(Connection conn) throws SQLException {
-        createActiveJobTable(conn);
-        createJobExperienceTable(conn);
+        new MigrationRunner(MODULE, MIGRATIONS).migrate(conn);
+    }
+
+    private static void createTables(Connection conn) throws SQLException {
+        var dialect = Dialect.of(conn);
+        createActiveJobTable(conn, dialect);
+        createJobExperienceTable(conn, dialect);
     }
 
-    private static void createActiveJobTable(Connection conn) throws SQLException {
+    private static void createActiveJobTable(Connection conn, Dialect dialect) throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS te_active_job (
-                id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
-                player_id VARCHAR(36) NOT NULL,
+                id %s,
+                player_id BINARY(16) NOT NULL,
                 job_id VARCHAR(50) NOT NULL,
                 joined_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
                 UNIQUE KEY uk_te_active_job_player (player_id)
             )
-            """;
+            """.formatted(dialect.autoIncrementPrimaryKey());
 
         try (var stmt = conn.createStatement()) {
             stmt.execute(sql);
         }
     }
 
-    private static void createJobExperienceTable(Connection conn) throws SQLException {
+    private static void createJobExperienceTable(Connection conn, Dialect dialect) throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS te_job_experience (
-                id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
-                player_id VARCHAR(36) NOT NULL,
+                id %s,
+                player_id BINARY(16) NOT NULL,
                 job_id VARCHAR(50) NOT NULL,
                 xp BIGINT NOT NULL DEFAULT 0,
                 UNIQUE KEY uk_te_job_experience_player_job (player_id, job_id)
             )
-            """;
+            """.formatted(dialect.autoIncrementPrimaryKey());
 
         try (var stmt = conn.createStatement()) {
             stmt.execute(sql);
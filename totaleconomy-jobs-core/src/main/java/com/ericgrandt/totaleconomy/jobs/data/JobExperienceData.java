@@ -1,6 +1,8 @@
 package com.ericgrandt.totaleconomy.jobs.data;
 
 import com.ericgrandt.totaleconomy.api.exception.DatabaseException;
+import com.ericgrandt.totaleconomy.common.data.UuidBytes;
+import com.ericgrandt.totaleconomy.common.data.dialect.Dialect;
 import com.ericgrandt.totaleconomy.jobs.dto.GetJobExperienceDto;
 import com.ericgrandt.totaleconomy.jobs.dto.UpsertJobExperienceDto;
 import com.ericgrandt.totaleconomy.jobs.model.JobExperience;
@@ -9,21 +11,33 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 public class JobExperienceData {
+    private static final String SELECT_JOB_EXPERIENCE =
+        "SELECT player_id, job_id, xp FROM te_job_experience WHERE player_id = ? AND job_id = ?";
+
+    private final String upsertJobExperienceQuery;
+
+    public JobExperienceData(Dialect dialect) {
+        this.upsertJobExperienceQuery = dialect.upsert(
+            "te_job_experience",
+            List.of("player_id", "job_id", "xp"),
+            "xp = %s + xp".formatted(dialect.insertedValue("xp"))
+        );
+    }
+
     public Optional<JobExperience> getJobExperience(Connection conn, GetJobExperienceDto req) throws SQLException {
-        var selectQuery = "SELECT player_id, job_id, xp FROM te_job_experience WHERE player_id = ? AND job_id = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(selectQuery)) {
-            stmt.setString(1, req.playerId().toString());
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_JOB_EXPERIENCE)) {
+            stmt.setBytes(1, UuidBytes.toBytes(req.playerId()));
             stmt.setString(2, req.jobId());
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     return Optional.of(
                         new JobExperience(
-                            UUID.fromString(rs.getString("player_id")),
+                            UuidBytes.fromBytes(rs.getBytes("player_id")),
                             rs.getString("job_id"),
                             rs.getInt("xp")
                         )
@@ -36,9 +50,8 @@ public class JobExperienceData {
     }
 
     public JobExperience upsertJobExperience(Connection conn, UpsertJobExperienceDto req) throws SQLException {
-        var insertQuery = "INSERT INTO te_job_experience(player_id, job_id, xp) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE xp = VALUES(xp) + xp";
-        try (PreparedStatement stmt = conn.prepareStatement(insertQuery)) {
-            stmt.setString(1, req.playerId().toString());
+        try (PreparedStatement stmt = conn.prepareStatement(upsertJobExperienceQuery)) {
+            stmt.setBytes(1, UuidBytes.toBytes(req.playerId()));
             stmt.setString(2, req.jobId());
             stmt.setInt(3, req.xpToAdd());
             stmt.executeUpdate();
@@ -1,5 +1,6 @@
 package com.ericgrandt.totaleconomy.jobs.testutils;
 
+import com.ericgrandt.totaleconomy.common.data.UuidBytes;
 import com.ericgrandt.totaleconomy.jobs.data.entity.ActiveJobEntity;
 import com.ericgrandt.totaleconomy.jobs.data.entity.JobExperienceEntity;
 import com.zaxxer.hikari.HikariDataSource;
@@ -27,7 +28,7 @@ public class TestSeeder {
 
         try (Connection conn = dataSource.getConnection()) {
             try (var stmt = conn.prepareStatement(query)) {
-                stmt.setString(1, activeJob.playerId());
+                stmt.setBytes(1, UuidBytes.toBytes(UUID.fromString(activeJob.playerId())));
                 stmt.setString(2, activeJob.jobId());
                 stmt.execute();
             }
@@ -52,7 +53,7 @@ public class TestSeeder {
 
         try (Connection conn = dataSource.getConnection()) {
             try (var stmt = conn.prepareStatement(query)) {
-                stmt.setString(1, jobExperience.playerId());
+                stmt.setBytes(1, UuidBytes.toBytes(UUID.fromString(jobExperience.playerId())));
                 stmt.setString(2, jobExperience.jobId());
                 stmt.setInt(3, jobExperience.xp());
                 stmt.execute();
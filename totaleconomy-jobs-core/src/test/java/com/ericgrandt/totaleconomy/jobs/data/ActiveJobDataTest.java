@@ -1,6 +1,7 @@
 package com.ericgrandt.totaleconomy.jobs.data;
 
 import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
 import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
 import com.ericgrandt.totaleconomy.jobs.dto.UpsertActiveJobDto;
 import com.ericgrandt.totaleconomy.jobs.model.ActiveJob;
@@ -24,7 +25,7 @@ public class ActiveJobDataTest {
         var playerId = UUID.randomUUID();
         var upsertActiveJobDto = new UpsertActiveJobDto(playerId, "miner");
 
-        var sut = new ActiveJobData();
+        var sut = new ActiveJobData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
@@ -50,7 +51,7 @@ public class ActiveJobDataTest {
         var playerId = UUID.fromString(playerActiveJob.playerId());
         var upsertActiveJobDto = new UpsertActiveJobDto(playerId, "lumberjack");
 
-        var sut = new ActiveJobData();
+        var sut = new ActiveJobData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
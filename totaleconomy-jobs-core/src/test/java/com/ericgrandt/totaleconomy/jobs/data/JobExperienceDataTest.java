@@ -1,6 +1,7 @@
 package com.ericgrandt.totaleconomy.jobs.data;
 
 import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
 import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
 import com.ericgrandt.totaleconomy.jobs.dto.GetJobExperienceDto;
 import com.ericgrandt.totaleconomy.jobs.dto.UpsertJobExperienceDto;
@@ -27,7 +28,7 @@ public class JobExperienceDataTest {
         var playerId = UUID.fromString(jobExperience.playerId());
         var getJobExperienceDto = new GetJobExperienceDto(playerId, "miner");
 
-        var sut = new JobExperienceData();
+        var sut = new JobExperienceData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
@@ -53,7 +54,7 @@ public class JobExperienceDataTest {
         var playerId = UUID.randomUUID();
         var getJobExperienceDto = new GetJobExperienceDto(playerId, "miner");
 
-        var sut = new JobExperienceData();
+        var sut = new JobExperienceData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
@@ -75,7 +76,7 @@ public class JobExperienceDataTest {
         var playerId = UUID.randomUUID();
         var upsertJobExperienceDto = new UpsertJobExperienceDto(playerId, "miner", 10);
 
-        var sut = new JobExperienceData();
+        var sut = new JobExperienceData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
@@ -102,7 +103,7 @@ public class JobExperienceDataTest {
         var playerId = UUID.fromString(jobExperience.playerId());
         var upsertJobExperienceDto = new UpsertJobExperienceDto(playerId, "miner", 5);
 
-        var sut = new JobExperienceData();
+        var sut = new JobExperienceData(new H2Dialect());
 
         // Act/Assert
         util.runInTransaction(conn -> {
@@ -1,65 +1,159 @@
 package com.ericgrandt.totaleconomy.paper;
 
-import com.ericgrandt.totaleconomy.api.infra.AsyncTaskRunner;
 import com.ericgrandt.totaleconomy.api.infra.DataSourceProvider;
+import com.ericgrandt.totaleconomy.api.infra.EconomyDiagnostics;
+import com.ericgrandt.totaleconomy.api.service.AsyncEconomyService;
 import com.ericgrandt.totaleconomy.api.service.EconomyService;
 import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.Dialect;
+import com.ericgrandt.totaleconomy.common.infra.VirtualThreadTaskRunner;
 import com.ericgrandt.totaleconomy.data.AccountData;
+import com.ericgrandt.totaleconomy.data.BalanceFlushData;
+import com.ericgrandt.totaleconomy.data.BalanceJournal;
+import com.ericgrandt.totaleconomy.data.BankData;
 import com.ericgrandt.totaleconomy.data.CurrencyData;
 import com.ericgrandt.totaleconomy.data.Database;
+import com.ericgrandt.totaleconomy.data.TransactionData;
 import com.ericgrandt.totaleconomy.model.TECurrency;
+import com.ericgrandt.totaleconomy.paper.command.AdminCommand;
 import com.ericgrandt.totaleconomy.paper.command.BalanceCommand;
+import com.ericgrandt.totaleconomy.paper.command.BaltopCommand;
+import com.ericgrandt.totaleconomy.paper.command.EcoCommand;
+import com.ericgrandt.totaleconomy.paper.command.Messages;
 import com.ericgrandt.totaleconomy.paper.command.PayCommand;
 import com.ericgrandt.totaleconomy.paper.config.ConfigLoader;
+import com.ericgrandt.totaleconomy.paper.impl.CallingPluginResolver;
 import com.ericgrandt.totaleconomy.paper.impl.VaultImpl;
+import com.ericgrandt.totaleconomy.paper.impl.VaultMetrics;
 import com.ericgrandt.totaleconomy.paper.listener.JoinListener;
+import com.ericgrandt.totaleconomy.paper.listener.QuitListener;
 import com.ericgrandt.totaleconomy.paper.mapper.CommandExceptionMapper;
-import com.ericgrandt.totaleconomy.paper.util.PaperAsyncTaskRunner;
+import com.ericgrandt.totaleconomy.service.BalanceSnapshot;
+import com.ericgrandt.totaleconomy.service.BalanceStore;
+import com.ericgrandt.totaleconomy.service.BankService;
 import com.ericgrandt.totaleconomy.service.CacheService;
+import com.ericgrandt.totaleconomy.service.Leaderboard;
+import com.ericgrandt.totaleconomy.service.TEAsyncEconomyService;
+import com.ericgrandt.totaleconomy.service.TEEconomyDiagnostics;
 import com.ericgrandt.totaleconomy.service.TEEconomyService;
+import com.ericgrandt.totaleconomy.service.TransactionLedger;
 import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.milkbowl.vault.economy.Economy;
+import org.bukkit.Bukkit;
 import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
 
 public class TotalEconomy extends JavaPlugin {
     private final Logger logger = LoggerFactory.getLogger("Total Economy");
-    private final AsyncTaskRunner taskRunner = new PaperAsyncTaskRunner(this);
 
+    private Database database;
+    private VirtualThreadTaskRunner taskRunner;
     private CommandExceptionMapper exceptionMapper;
     private EconomyService<TECurrency> economyService;
+    private BalanceStore balanceStore = BalanceStore.disabled();
+    private TransactionLedger ledger = TransactionLedger.disabled();
+    private BalanceSnapshot balanceSnapshot;
+    private VaultMetrics vaultMetrics;
+    private EconomyDiagnostics diagnostics;
+    private VirtualThreadTaskRunner asyncEconomyRunner;
 
     @Override
     public void onEnable() {
         saveDefaultConfig();
 
-        var config = ConfigLoader.from(getConfig());
-        var database = new Database(
-            config.database().url(),
-            config.database().user(),
-            config.database().password()
-        );
+        var config = ConfigLoader.from(getConfig(), getDataFolder().toPath());
+        database = new Database(config.database());
 
+        Dialect dialect;
         try {
             database.initDatabase(config);
+            dialect = database.getDialect();
         } catch (SQLException e) {
             logger.error("Error initializing database", e);
             getServer().getPluginManager().disablePlugin(this);
             return;
         }
 
+        // Commands, listeners and the async API share one slot per pooled connection
+        var taskPermits = new Semaphore(database.getMaximumPoolSize(), true);
+        taskRunner = new VirtualThreadTaskRunner(
+            "total-economy-task-",
+            taskPermits,
+            config.taskRunner().maxQueuedTasks(),
+            config.taskRunner().rejectionPolicy()
+        );
+        asyncEconomyRunner = TEAsyncEconomyService.createRunner(taskPermits, database.getMaximumPoolSize());
+
         var transactionUtil = new TransactionUtil(database.getDataSource());
-        var accountData = new AccountData();
+        var accountData = new AccountData(dialect);
         var currencyData = new CurrencyData();
         var cacheService = new CacheService(transactionUtil, currencyData);
+        var callingPluginResolver = new CallingPluginResolver(this);
+        if (config.balanceCache().enabled()) {
+            balanceStore = new BalanceStore(
+                transactionUtil,
+                accountData,
+                new BalanceFlushData(),
+                new BalanceJournal(getDataFolder().toPath().resolve("journal"))
+            );
+        }
+        if (config.ledger().enabled()) {
+            ledger = new TransactionLedger(
+                logger,
+                transactionUtil,
+                new TransactionData(),
+                callingPluginResolver,
+                config.ledger().queueCapacity(),
+                config.ledger().maxBatchSize()
+            );
+        }
+        var leaderboard = new Leaderboard(transactionUtil, accountData, balanceStore, config.leaderboard().size());
+        var maxStaleness = Duration.ofSeconds(config.balanceSnapshot().maxStalenessSeconds());
+        balanceSnapshot = new BalanceSnapshot(transactionUtil, accountData, balanceStore, maxStaleness);
         exceptionMapper = new CommandExceptionMapper(logger);
-        economyService = new TEEconomyService(transactionUtil, cacheService, currencyData, accountData);
+        var teEconomyService = new TEEconomyService(
+            transactionUtil,
+            cacheService,
+            balanceStore,
+            accountData,
+            ledger,
+            leaderboard,
+            balanceSnapshot
+        );
+        economyService = teEconomyService;
+        var bankService = new BankService(transactionUtil, cacheService, new BankData(dialect), config.bank().shards());
+        vaultMetrics = new VaultMetrics(callingPluginResolver, Bukkit::isPrimaryThread);
+        diagnostics = new TEEconomyDiagnostics(
+            database,
+            taskRunner,
+            asyncEconomyRunner,
+            transactionUtil,
+            teEconomyService,
+            cacheService,
+            balanceSnapshot,
+            ledger
+        );
+        var asyncEconomyService = new TEAsyncEconomyService(economyService, asyncEconomyRunner);
 
         cacheService.initCache();
+        balanceStore.init();
+        ledger.start();
+        if (config.balanceCache().enabled()) {
+            scheduleBalanceFlush(config.balanceCache().flushIntervalSeconds());
+        }
+        if (config.balanceSnapshot().maxStalenessSeconds() > 0) {
+            scheduleSnapshotRefresh(config.balanceSnapshot().maxStalenessSeconds());
+        }
+        if (config.vaultMetrics().logIntervalSeconds() > 0) {
+            scheduleVaultMetricsLog(config.vaultMetrics().logIntervalSeconds());
+        }
 
         getServer().getServicesManager().register(
             EconomyService.class,
@@ -67,17 +161,29 @@ public class TotalEconomy extends JavaPlugin {
             this,
             ServicePriority.Normal
         );
+        getServer().getServicesManager().register(
+            AsyncEconomyService.class,
+            asyncEconomyService,
+            this,
+            ServicePriority.Normal
+        );
         getServer().getServicesManager().register(
             DataSourceProvider.class,
             database,
             this,
             ServicePriority.Normal
         );
+        getServer().getServicesManager().register(
+            EconomyDiagnostics.class,
+            diagnostics,
+            this,
+            ServicePriority.Normal
+        );
 
         if (getServer().getPluginManager().isPluginEnabled("Vault")) {
             getServer().getServicesManager().register(
                 Economy.class,
-                new VaultImpl(logger, economyService),
+                new VaultImpl(logger, economyService, bankService, vaultMetrics),
                 this,
                 ServicePriority.Normal
             );
@@ -87,24 +193,121 @@ public class TotalEconomy extends JavaPlugin {
         registerListeners();
     }
 
+    @Override
+    public void onDisable() {
+        if (taskRunner != null) {
+            taskRunner.close();
+        }
+        // Operations still running need the balance store, ledger and database, so they're given a chance to finish
+        if (asyncEconomyRunner != null) {
+            asyncEconomyRunner.close();
+        }
+
+        try {
+            balanceStore.shutdown();
+        } catch (Exception e) {
+            logger.error("Error flushing balances on shutdown", e);
+        }
+
+        ledger.shutdown();
+        if (ledger.getDroppedCount() > 0 || ledger.getRejectedCount() > 0 || ledger.getFailedWriteCount() > 0) {
+            logger.warn(
+                "Transaction ledger lost {} entries to a full queue, {} to rejected writes and {} to write failures",
+                ledger.getDroppedCount(),
+                ledger.getRejectedCount(),
+                ledger.getFailedWriteCount()
+            );
+        }
+
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    private void scheduleBalanceFlush(int flushIntervalSeconds) {
+        var intervalTicks = flushIntervalSeconds * 20L;
+        getServer().getScheduler().runTaskTimerAsynchronously(
+            this,
+            () -> {
+                try {
+                    balanceStore.flush();
+                } catch (Exception e) {
+                    logger.error("Error flushing balances", e);
+                }
+            },
+            intervalTicks,
+            intervalTicks
+        );
+    }
+
+    // Refreshes twice per staleness bound, so a slow refresh doesn't leave online players' balances to expire
+    private void scheduleSnapshotRefresh(int maxStalenessSeconds) {
+        var intervalTicks = maxStalenessSeconds * 10L;
+        getServer().getScheduler().runTaskTimerAsynchronously(
+            this,
+            () -> {
+                try {
+                    balanceSnapshot.refresh();
+                } catch (Exception e) {
+                    logger.error("Error refreshing balance snapshot", e);
+                }
+            },
+            intervalTicks,
+            intervalTicks
+        );
+    }
+
+    private void scheduleVaultMetricsLog(int logIntervalSeconds) {
+        var intervalTicks = logIntervalSeconds * 20L;
+        getServer().getScheduler().runTaskTimerAsynchronously(
+            this,
+            () -> {
+                var summaries = vaultMetrics.getSummaries();
+                for (var summary : summaries.subList(0, Math.min(AdminCommand.MAX_VAULT_ENTRIES, summaries.size()))) {
+                    logger.info(PlainTextComponentSerializer.plainText().serialize(Messages.vaultStatsEntry(summary)));
+                }
+            },
+            intervalTicks,
+            intervalTicks
+        );
+    }
+
     private void registerCommands() {
         var balanceCommand = new BalanceCommand(this, taskRunner, exceptionMapper, economyService);
         var payCommand = new PayCommand(this, taskRunner, exceptionMapper, economyService);
+        var baltopCommand = new BaltopCommand(this, taskRunner, exceptionMapper, economyService);
+        var ecoCommand = new EcoCommand(taskRunner, exceptionMapper, economyService);
+        var adminCommand = new AdminCommand(vaultMetrics, diagnostics);
 
         this.getLifecycleManager().registerEventHandler(
             LifecycleEvents.COMMANDS, commands -> {
                 commands.registrar().register(balanceCommand.build());
                 commands.registrar().register(payCommand.build());
+                commands.registrar().register(baltopCommand.build());
+                commands.registrar().register(ecoCommand.build());
+                commands.registrar().register(adminCommand.build());
             }
         );
     }
 
+    // Joins and quits bypass the queue limit, so a busy server never leaves a player without accounts or leaves an
+    // offline player's balances in memory
     private void registerListeners() {
         getServer().getPluginManager().registerEvents(
             new JoinListener(
-                taskRunner,
+                taskRunner::runAsyncUnbounded,
+                logger,
+                economyService,
+                balanceStore,
+                balanceSnapshot
+            ), this
+        );
+        getServer().getPluginManager().registerEvents(
+            new QuitListener(
+                taskRunner::runAsyncUnbounded,
                 logger,
-                economyService
+                balanceStore,
+                balanceSnapshot
             ), this
         );
     }
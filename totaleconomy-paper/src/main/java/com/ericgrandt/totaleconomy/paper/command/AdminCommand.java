@@ -0,0 +1,67 @@
+package com.ericgrandt.totaleconomy.paper.command;
+
+import com.ericgrandt.totaleconomy.api.infra.EconomyDiagnostics;
+import com.ericgrandt.totaleconomy.paper.impl.VaultMetrics;
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+
+public class AdminCommand {
+    public static final int MAX_VAULT_ENTRIES = 10;
+
+    private final VaultMetrics vaultMetrics;
+    private final EconomyDiagnostics diagnostics;
+
+    public AdminCommand(VaultMetrics vaultMetrics, EconomyDiagnostics diagnostics) {
+        this.vaultMetrics = vaultMetrics;
+        this.diagnostics = diagnostics;
+    }
+
+    public LiteralCommandNode<CommandSourceStack> build() {
+        return Commands.literal("te")
+            .requires(source -> source.getSender().hasPermission("totaleconomy.admin"))
+            .then(Commands.literal("vault").executes(this::executeVault))
+            .then(Commands.literal("stats").executes(this::executeStats))
+            .build();
+    }
+
+    // Metrics are in memory, so they're read on the calling thread
+    int executeVault(CommandContext<CommandSourceStack> ctx) {
+        var sender = ctx.getSource().getSender();
+        var summaries = vaultMetrics.getSummaries();
+        if (summaries.isEmpty()) {
+            sender.sendMessage(Messages.vaultStatsEmpty());
+            return Command.SINGLE_SUCCESS;
+        }
+
+        sender.sendMessage(Messages.vaultStatsHeader());
+        for (var summary : summaries.subList(0, Math.min(MAX_VAULT_ENTRIES, summaries.size()))) {
+            sender.sendMessage(Messages.vaultStatsEntry(summary));
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    // Every stat is a counter or gauge already in memory, so they're read on the calling thread too
+    int executeStats(CommandContext<CommandSourceStack> ctx) {
+        var sender = ctx.getSource().getSender();
+        var stats = diagnostics.getStats();
+
+        sender.sendMessage(Messages.statsPool(stats.pool()));
+        sender.sendMessage(Messages.statsTasks(stats));
+        sender.sendMessage(Messages.statsAsyncTasks(stats));
+        for (var operation : stats.operations().entrySet()) {
+            sender.sendMessage(Messages.statsOperation(operation.getKey(), operation.getValue()));
+        }
+        for (var cache : stats.caches().entrySet()) {
+            sender.sendMessage(Messages.statsCache(cache.getKey(), cache.getValue()));
+        }
+        sender.sendMessage(Messages.statsBalanceReads(stats));
+        sender.sendMessage(Messages.statsLedger(stats));
+        sender.sendMessage(Messages.statsErrors(stats));
+
+        return Command.SINGLE_SUCCESS;
+    }
+}
@@ -1,5 +1,6 @@
 package com.ericgrandt.totaleconomy.paper.command;
 
+import com.ericgrandt.totaleconomy.api.exception.EconomyBusyException;
 import com.ericgrandt.totaleconomy.api.infra.AsyncTaskRunner;
 import com.ericgrandt.totaleconomy.api.service.EconomyService;
 import com.ericgrandt.totaleconomy.model.TECurrency;
@@ -50,18 +51,22 @@ public class BalanceCommand {
         var player = (Player) ctx.getSource().getSender();
         var currencyCode = ctx.getArgument("currency", String.class);
 
-        taskRunner.runAsync(
-            () -> {
-                try {
-                    var balanceResult = economyService.getAccountBalance(player.getUniqueId(), currencyCode);
-                    var formattedBalance = balanceResult.currency().format(balanceResult.balance());
+        try {
+            taskRunner.runAsync(
+                () -> {
+                    try {
+                        var balanceResult = economyService.getAccountBalance(player.getUniqueId(), currencyCode);
+                        var formattedBalance = balanceResult.currency().format(balanceResult.balance());
 
-                    player.sendMessage(Messages.balance(formattedBalance));
-                } catch (Exception e) {
-                    player.sendMessage(exceptionMapper.handleException(e));
+                        player.sendMessage(Messages.balance(formattedBalance));
+                    } catch (Exception e) {
+                        player.sendMessage(exceptionMapper.handleException(e));
+                    }
                 }
-            }
-        );
+            );
+        } catch (EconomyBusyException e) {
+            player.sendMessage(exceptionMapper.handleException(e));
+        }
 
         return Command.SINGLE_SUCCESS;
     }
@@ -69,18 +74,22 @@ public class BalanceCommand {
     int executeWithDefault(CommandContext<CommandSourceStack> ctx) {
         var player = (Player) ctx.getSource().getSender();
 
-        taskRunner.runAsync(
-            () -> {
-                try {
-                    var balanceResult = economyService.getAccountBalance(player.getUniqueId());
-                    var formattedBalance = balanceResult.currency().format(balanceResult.balance());
+        try {
+            taskRunner.runAsync(
+                () -> {
+                    try {
+                        var balanceResult = economyService.getAccountBalance(player.getUniqueId());
+                        var formattedBalance = balanceResult.currency().format(balanceResult.balance());
 
-                    player.sendMessage(Messages.balance(formattedBalance));
-                } catch (Exception e) {
-                    player.sendMessage(exceptionMapper.handleException(e));
+                        player.sendMessage(Messages.balance(formattedBalance));
+                    } catch (Exception e) {
+                        player.sendMessage(exceptionMapper.handleException(e));
+                    }
                 }
-            }
-        );
+            );
+        } catch (EconomyBusyException e) {
+            player.sendMessage(exceptionMapper.handleException(e));
+        }
 
         return Command.SINGLE_SUCCESS;
     }
@@ -0,0 +1,121 @@
+package com.ericgrandt.totaleconomy.paper.command;
+
+import com.ericgrandt.totaleconomy.api.dto.GetTopBalancesResult;
+import com.ericgrandt.totaleconomy.api.exception.EconomyBusyException;
+import com.ericgrandt.totaleconomy.api.infra.AsyncTaskRunner;
+import com.ericgrandt.totaleconomy.api.service.EconomyService;
+import com.ericgrandt.totaleconomy.model.TECurrency;
+import com.ericgrandt.totaleconomy.paper.mapper.CommandExceptionMapper;
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public class BaltopCommand {
+    static final int PAGE_SIZE = 10;
+    // Keeps the offset of the last page within an int
+    static final int MAX_PAGE = Integer.MAX_VALUE / PAGE_SIZE;
+
+    private final Plugin plugin;
+    private final AsyncTaskRunner taskRunner;
+    private final CommandExceptionMapper exceptionMapper;
+    private final EconomyService<TECurrency> economyService;
+
+    public BaltopCommand(
+        Plugin plugin,
+        AsyncTaskRunner taskRunner,
+        CommandExceptionMapper exceptionMapper,
+        EconomyService<TECurrency> economyService
+    ) {
+        this.plugin = plugin;
+        this.taskRunner = taskRunner;
+        this.exceptionMapper = exceptionMapper;
+        this.economyService = economyService;
+    }
+
+    public LiteralCommandNode<CommandSourceStack> build() {
+        return Commands.literal("baltop")
+            .then(Commands.argument("page", IntegerArgumentType.integer(1, MAX_PAGE))
+                .then(Commands.argument("currency", StringArgumentType.string())
+                    .suggests(this::listCurrencies)
+                    .executes(this::executeWithCurrency)
+                ).executes(this::executeWithPage)
+            ).executes(this::executeWithDefault)
+            .build();
+    }
+
+    int executeWithCurrency(CommandContext<CommandSourceStack> ctx) {
+        var page = ctx.getArgument("page", Integer.class);
+        var currencyCode = ctx.getArgument("currency", String.class);
+
+        return execute(
+            ctx.getSource().getSender(),
+            page,
+            () -> economyService.getTopBalances(currencyCode, (page - 1) * PAGE_SIZE, PAGE_SIZE)
+        );
+    }
+
+    int executeWithPage(CommandContext<CommandSourceStack> ctx) {
+        var page = ctx.getArgument("page", Integer.class);
+
+        return execute(
+            ctx.getSource().getSender(),
+            page,
+            () -> economyService.getTopBalances((page - 1) * PAGE_SIZE, PAGE_SIZE)
+        );
+    }
+
+    int executeWithDefault(CommandContext<CommandSourceStack> ctx) {
+        return execute(ctx.getSource().getSender(), 1, () -> economyService.getTopBalances(0, PAGE_SIZE));
+    }
+
+    private int execute(CommandSender sender, int page, Supplier<GetTopBalancesResult> query) {
+        try {
+            taskRunner.runAsync(
+                () -> {
+                    try {
+                        var result = query.get();
+                        sender.sendMessage(Messages.baltopHeader(result.currency().pluralName(), page));
+                        for (var topBalance : result.balances()) {
+                            var playerName = plugin.getServer().getOfflinePlayer(topBalance.playerId()).getName();
+                            sender.sendMessage(
+                                Messages.baltopEntry(
+                                    topBalance.rank(),
+                                    playerName != null ? playerName : topBalance.playerId().toString(),
+                                    result.currency().format(topBalance.balance())
+                                )
+                            );
+                        }
+                    } catch (Exception e) {
+                        sender.sendMessage(exceptionMapper.handleException(e));
+                    }
+                }
+            );
+        } catch (EconomyBusyException e) {
+            sender.sendMessage(exceptionMapper.handleException(e));
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private CompletableFuture<Suggestions> listCurrencies(
+        CommandContext<CommandSourceStack> ctx,
+        SuggestionsBuilder builder
+    ) {
+        for (var currencyCode : economyService.getSupportedCurrencies().keySet()) {
+            builder.suggest(currencyCode);
+        }
+
+        return builder.buildFuture();
+    }
+}
@@ -0,0 +1,153 @@
+package com.ericgrandt.totaleconomy.paper.command;
+
+import com.ericgrandt.totaleconomy.api.dto.BatchResult;
+import com.ericgrandt.totaleconomy.api.exception.EconomyBusyException;
+import com.ericgrandt.totaleconomy.api.infra.AsyncTaskRunner;
+import com.ericgrandt.totaleconomy.api.service.EconomyService;
+import com.ericgrandt.totaleconomy.model.TECurrency;
+import com.ericgrandt.totaleconomy.paper.mapper.CommandExceptionMapper;
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import io.papermc.paper.command.brigadier.argument.ArgumentTypes;
+import io.papermc.paper.command.brigadier.argument.resolvers.selector.PlayerSelectorArgumentResolver;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/// Gives, takes or sets the balances of every player a selector matches, such as `@a` for an event payout. However
+/// many players match, the change is made as one batch in a single transaction.
+public class EcoCommand {
+    private final AsyncTaskRunner taskRunner;
+    private final CommandExceptionMapper exceptionMapper;
+    private final EconomyService<TECurrency> economyService;
+
+    public EcoCommand(
+        AsyncTaskRunner taskRunner,
+        CommandExceptionMapper exceptionMapper,
+        EconomyService<TECurrency> economyService
+    ) {
+        this.taskRunner = taskRunner;
+        this.exceptionMapper = exceptionMapper;
+        this.economyService = economyService;
+    }
+
+    enum Action {
+        GIVE("give", 0.01),
+        TAKE("take", 0.01),
+        SET("set", 0);
+
+        private final String literal;
+        private final double minAmount;
+
+        Action(String literal, double minAmount) {
+            this.literal = literal;
+            this.minAmount = minAmount;
+        }
+    }
+
+    public LiteralCommandNode<CommandSourceStack> build() {
+        var command = Commands.literal("eco")
+            .requires(source -> source.getSender().hasPermission("totaleconomy.admin"));
+        for (var action : Action.values()) {
+            command.then(buildAction(action));
+        }
+
+        return command.build();
+    }
+
+    private LiteralArgumentBuilder<CommandSourceStack> buildAction(Action action) {
+        return Commands.literal(action.literal)
+            .then(Commands.argument("targets", ArgumentTypes.players())
+                .then(Commands.argument("amount", DoubleArgumentType.doubleArg(action.minAmount))
+                    .then(Commands.argument("currency", StringArgumentType.string())
+                        .suggests(this::listCurrencies)
+                        .executes(ctx -> execute(ctx, action, ctx.getArgument("currency", String.class)))
+                    )
+                    .executes(ctx -> execute(ctx, action, null))));
+    }
+
+    /// @param currencyCode the currency to change, or `null` for the default currency
+    int execute(
+        CommandContext<CommandSourceStack> ctx,
+        Action action,
+        String currencyCode
+    ) throws CommandSyntaxException {
+        var sender = ctx.getSource().getSender();
+        var players = ctx.getArgument("targets", PlayerSelectorArgumentResolver.class).resolve(ctx.getSource());
+        var amount = BigDecimal.valueOf(ctx.getArgument("amount", Double.class));
+
+        // Players are read here, on the server thread, and only their ids and names are handed to the task
+        var amounts = new LinkedHashMap<UUID, BigDecimal>();
+        var names = new HashMap<UUID, String>();
+        for (var player : players) {
+            amounts.put(player.getUniqueId(), amount);
+            names.put(player.getUniqueId(), player.getName());
+        }
+
+        try {
+            taskRunner.runAsync(
+                () -> {
+                    try {
+                        var result = apply(action, amounts, currencyCode);
+                        var appliedCount = result.results().size();
+                        sender.sendMessage(Messages.ecoApplied(action.literal, appliedCount, amounts.size()));
+                        for (var failure : result.failures().entrySet()) {
+                            sender.sendMessage(
+                                Messages.ecoFailed(
+                                    names.get(failure.getKey()),
+                                    exceptionMapper.handleException(failure.getValue())
+                                )
+                            );
+                        }
+                    } catch (Exception e) {
+                        sender.sendMessage(exceptionMapper.handleException(e));
+                    }
+                }
+            );
+        } catch (EconomyBusyException e) {
+            sender.sendMessage(exceptionMapper.handleException(e));
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private BatchResult<?> apply(Action action, Map<UUID, BigDecimal> amounts, String currencyCode) {
+        if (currencyCode == null) {
+            return switch (action) {
+                case GIVE -> economyService.depositAll(amounts);
+                case TAKE -> economyService.withdrawAll(amounts);
+                case SET -> economyService.setAll(amounts);
+            };
+        }
+
+        return switch (action) {
+            case GIVE -> economyService.depositAll(amounts, currencyCode);
+            case TAKE -> economyService.withdrawAll(amounts, currencyCode);
+            case SET -> economyService.setAll(amounts, currencyCode);
+        };
+    }
+
+    private CompletableFuture<Suggestions> listCurrencies(
+        CommandContext<CommandSourceStack> ctx,
+        SuggestionsBuilder builder
+    ) {
+        for (var currencyCode : economyService.getSupportedCurrencies().keySet()) {
+            builder.suggest(currencyCode);
+        }
+
+        return builder.buildFuture();
+    }
+}
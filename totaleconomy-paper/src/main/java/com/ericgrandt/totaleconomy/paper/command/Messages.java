@@ -1,7 +1,15 @@
 package com.ericgrandt.totaleconomy.paper.command;
 
+import com.ericgrandt.totaleconomy.api.dto.CacheStats;
+import com.ericgrandt.totaleconomy.api.dto.ConnectionPoolStats;
+import com.ericgrandt.totaleconomy.api.dto.EconomyStats;
+import com.ericgrandt.totaleconomy.api.dto.OperationStats;
+import com.ericgrandt.totaleconomy.common.metrics.LatencyHistogram;
+import com.ericgrandt.totaleconomy.paper.impl.VaultMetrics;
 import net.kyori.adventure.text.Component;
 
+import java.time.Duration;
+
 public class Messages {
     public static Component balance(Component formattedBalance) {
         return Component.text("Balance: ").append(formattedBalance);
@@ -20,4 +28,109 @@ public class Messages {
             .append(Component.text(" from "))
             .append(Component.text(fromPlayerName));
     }
+
+    public static Component baltopHeader(String currencyPluralName, int page) {
+        return Component.text("Top " + currencyPluralName + " (page " + page + ")");
+    }
+
+    public static Component baltopEntry(int rank, String playerName, Component formattedBalance) {
+        return Component.text(rank + ". " + playerName + ": ").append(formattedBalance);
+    }
+
+    public static Component ecoApplied(String action, int appliedCount, int playerCount) {
+        return Component.text("Applied " + action + " to " + appliedCount + " of " + playerCount + " players");
+    }
+
+    public static Component ecoFailed(String playerName, Component reason) {
+        return Component.text(playerName + ": ").append(reason);
+    }
+
+    public static Component vaultStatsHeader() {
+        return Component.text("Vault calls by plugin, most server thread time first");
+    }
+
+    public static Component vaultStatsEmpty() {
+        return Component.text("No Vault calls recorded yet");
+    }
+
+    public static Component vaultStatsEntry(VaultMetrics.Summary summary) {
+        return Component.text(
+            summary.method().vaultName() + " from " + summary.plugin()
+                + ": server thread " + latencies(summary.mainThread())
+                + ", async " + latencies(summary.async())
+        );
+    }
+
+    public static Component statsPool(ConnectionPoolStats pool) {
+        return Component.text(
+            "Pool: " + pool.activeConnections() + "/" + pool.maximumPoolSize() + " connections in use, "
+                + pool.threadsAwaitingConnection() + " waiting, average wait " + millis(pool.averageWaitTime())
+                + ", " + pool.connectionTimeouts() + " timeouts"
+        );
+    }
+
+    public static Component statsTasks(EconomyStats stats) {
+        return Component.text(
+            "Tasks: " + stats.activeTasks() + " running, " + stats.queuedTasks() + " queued, "
+                + stats.rejectedTasks() + " rejected"
+        );
+    }
+
+    public static Component statsAsyncTasks(EconomyStats stats) {
+        return Component.text(
+            "Async API: " + stats.activeAsyncTasks() + " running, " + stats.queuedAsyncTasks() + " queued, "
+                + stats.rejectedAsyncTasks() + " rejected"
+        );
+    }
+
+    public static Component statsOperation(String operation, OperationStats stats) {
+        return Component.text(
+            operation + ": " + stats.calls() + " calls (p50 " + millis(stats.p50())
+                + ", p99 " + millis(stats.p99())
+                + ", max " + millis(stats.max()) + ")"
+        );
+    }
+
+    public static Component statsCache(String cache, CacheStats stats) {
+        return Component.text(
+            cache + " cache: " + String.format("%.1f%%", stats.hitRate() * 100) + " hit rate ("
+                + stats.hits() + " hits, " + stats.misses() + " misses)"
+        );
+    }
+
+    public static Component statsBalanceReads(EconomyStats stats) {
+        return Component.text(
+            "Balance reads: " + stats.coalescedBalanceReads() + " coalesced, recent balances at most "
+                + millis(stats.recentBalancesStaleness()) + " old"
+        );
+    }
+
+    public static Component statsLedger(EconomyStats stats) {
+        return Component.text(
+            "Ledger: " + stats.queuedLedgerEntries() + " queued, " + stats.droppedLedgerEntries()
+                + " dropped for a full queue, " + stats.rejectedLedgerEntries() + " rejected by the database"
+        );
+    }
+
+    public static Component statsErrors(EconomyStats stats) {
+        return Component.text(
+            "Database: " + stats.databaseErrors() + " errors, " + stats.transactionRetries() + " retries"
+        );
+    }
+
+    private static String latencies(LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            return "0 calls";
+        }
+
+        return histogram.getCount() + " calls"
+            + " (total " + millis(histogram.getTotal())
+            + ", p50 " + millis(histogram.getValueAtPercentile(50))
+            + ", p99 " + millis(histogram.getValueAtPercentile(99))
+            + ", max " + millis(histogram.getMax()) + ")";
+    }
+
+    private static String millis(Duration duration) {
+        return String.format("%.2fms", duration.toNanos() / 1_000_000.0);
+    }
 }
@@ -1,5 +1,6 @@
 package com.ericgrandt.totaleconomy.paper.command;
 
+import com.ericgrandt.totaleconomy.api.exception.EconomyBusyException;
 import com.ericgrandt.totaleconomy.api.infra.AsyncTaskRunner;
 import com.ericgrandt.totaleconomy.api.service.EconomyService;
 import com.ericgrandt.totaleconomy.paper.mapper.CommandExceptionMapper;
@@ -57,24 +58,28 @@ public class PayCommand {
         var amount = BigDecimal.valueOf(ctx.getArgument("amount", Double.class));
         var currency = ctx.getArgument("currency", String.class);
 
-        taskRunner.runAsync(
-            () -> {
-                try {
-                    var transferResult = economyService.transfer(
-                        fromPlayer.getUniqueId(),
-                        toPlayer.getUniqueId(),
-                        currency,
-                        amount
-                    );
-                    var formattedBalance = transferResult.currency().format(transferResult.amount());
+        try {
+            taskRunner.runAsync(
+                () -> {
+                    try {
+                        var transferResult = economyService.transfer(
+                            fromPlayer.getUniqueId(),
+                            toPlayer.getUniqueId(),
+                            currency,
+                            amount
+                        );
+                        var formattedBalance = transferResult.currency().format(transferResult.amount());
 
-                    fromPlayer.sendMessage(Messages.payFrom(formattedBalance, toPlayer.getName()));
-                    toPlayer.sendMessage(Messages.payTo(formattedBalance, fromPlayer.getName()));
-                } catch (Exception e) {
-                    fromPlayer.sendMessage(exceptionMapper.handleException(e));
+                        fromPlayer.sendMessage(Messages.payFrom(formattedBalance, toPlayer.getName()));
+                        toPlayer.sendMessage(Messages.payTo(formattedBalance, fromPlayer.getName()));
+                    } catch (Exception e) {
+                        fromPlayer.sendMessage(exceptionMapper.handleException(e));
+                    }
                 }
-            }
-        );
+            );
+        } catch (EconomyBusyException e) {
+            fromPlayer.sendMessage(exceptionMapper.handleException(e));
+        }
 
         return Command.SINGLE_SUCCESS;
     }
@@ -87,23 +92,27 @@ public class PayCommand {
         var amountDouble = ctx.getArgument("amount", Double.class);
         var amount = BigDecimal.valueOf(amountDouble);
 
-        taskRunner.runAsync(
-            () -> {
-                try {
-                    var transferResult = economyService.transfer(
-                        fromPlayer.getUniqueId(),
-                        toPlayer.getUniqueId(),
-                        amount
-                    );
-                    var formattedBalance = transferResult.currency().format(transferResult.amount());
+        try {
+            taskRunner.runAsync(
+                () -> {
+                    try {
+                        var transferResult = economyService.transfer(
+                            fromPlayer.getUniqueId(),
+                            toPlayer.getUniqueId(),
+                            amount
+                        );
+                        var formattedBalance = transferResult.currency().format(transferResult.amount());
 
-                    fromPlayer.sendMessage(Messages.payFrom(formattedBalance, toPlayer.getName()));
-                    toPlayer.sendMessage(Messages.payTo(formattedBalance, fromPlayer.getName()));
-                } catch (Exception e) {
-                    fromPlayer.sendMessage(exceptionMapper.handleException(e));
+                        fromPlayer.sendMessage(Messages.payFrom(formattedBalance, toPlayer.getName()));
+                        toPlayer.sendMessage(Messages.payTo(formattedBalance, fromPlayer.getName()));
+                    } catch (Exception e) {
+                        fromPlayer.sendMessage(exceptionMapper.handleException(e));
+                    }
                 }
-            }
-        );
+            );
+        } catch (EconomyBusyException e) {
+            fromPlayer.sendMessage(exceptionMapper.handleException(e));
+        }
 
         return Command.SINGLE_SUCCESS;
     }
@@ -1,19 +1,55 @@
 package com.ericgrandt.totaleconomy.paper.config;
 
+import com.ericgrandt.totaleconomy.common.infra.RejectionPolicy;
+import com.ericgrandt.totaleconomy.config.BalanceCacheConfig;
+import com.ericgrandt.totaleconomy.config.BalanceSnapshotConfig;
+import com.ericgrandt.totaleconomy.config.BankConfig;
 import com.ericgrandt.totaleconomy.config.DatabaseConfig;
+import com.ericgrandt.totaleconomy.config.DatabaseType;
 import com.ericgrandt.totaleconomy.config.DefaultCurrencyConfig;
+import com.ericgrandt.totaleconomy.config.LeaderboardConfig;
+import com.ericgrandt.totaleconomy.config.LedgerConfig;
+import com.ericgrandt.totaleconomy.config.PoolConfig;
+import com.ericgrandt.totaleconomy.config.StatementCacheConfig;
 import com.ericgrandt.totaleconomy.config.TEConfig;
+import com.ericgrandt.totaleconomy.config.TaskRunnerConfig;
+import com.ericgrandt.totaleconomy.config.VaultMetricsConfig;
+import com.ericgrandt.totaleconomy.data.Database;
 import org.bukkit.configuration.file.FileConfiguration;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 
 public class ConfigLoader {
-    public static TEConfig from(FileConfiguration fileConfig) {
+    /// @param dataFolder the plugin's folder, which holds the embedded database
+    public static TEConfig from(FileConfiguration fileConfig, Path dataFolder) {
+        var databaseType = DatabaseType.valueOf(fileConfig.getString("database.type", "MYSQL").toUpperCase());
+        var databaseUrl = databaseType == DatabaseType.EMBEDDED
+            ? Database.embeddedUrl(dataFolder.resolve(fileConfig.getString("database.embedded.file", "totaleconomy")))
+            : fileConfig.getString("database.url");
+
         return new TEConfig(
             new DatabaseConfig(
-                fileConfig.getString("database.url"),
+                databaseType,
+                databaseUrl,
                 fileConfig.getString("database.user"),
-                fileConfig.getString("database.password")
+                fileConfig.getString("database.password"),
+                new PoolConfig(
+                    fileConfig.getInt("database.pool.maximumPoolSize", 10),
+                    fileConfig.getInt("database.pool.minimumIdle", 3),
+                    fileConfig.getLong("database.pool.connectionTimeoutMillis", 30000),
+                    fileConfig.getLong("database.pool.idleTimeoutMillis", 600000),
+                    fileConfig.getLong("database.pool.maxLifetimeMillis", 1800000),
+                    fileConfig.getLong("database.pool.keepaliveTimeMillis", 120000),
+                    fileConfig.getLong("database.pool.validationTimeoutMillis", 5000),
+                    fileConfig.getLong("database.pool.leakDetectionThresholdMillis", 0)
+                ),
+                new StatementCacheConfig(
+                    fileConfig.getBoolean("database.statementCache.enabled", true),
+                    fileConfig.getInt("database.statementCache.size", 250),
+                    fileConfig.getInt("database.statementCache.sqlLimit", 2048),
+                    fileConfig.getBoolean("database.statementCache.serverSide", true)
+                )
             ),
             new DefaultCurrencyConfig(
                 fileConfig.getString("defaultCurrency.code", "USD"),
@@ -22,6 +58,23 @@ public class ConfigLoader {
                 fileConfig.getString("defaultCurrency.symbol", "$"),
                 fileConfig.getInt("defaultCurrency.fractionalDigits", 2),
                 BigDecimal.valueOf(fileConfig.getDouble("defaultCurrency.startingBalance", 100))
+            ),
+            new BalanceCacheConfig(
+                fileConfig.getBoolean("balanceCache.enabled", false),
+                fileConfig.getInt("balanceCache.flushIntervalSeconds", 30)
+            ),
+            new LedgerConfig(
+                fileConfig.getBoolean("ledger.enabled", true),
+                fileConfig.getInt("ledger.queueCapacity", 100000),
+                fileConfig.getInt("ledger.maxBatchSize", 500)
+            ),
+            new LeaderboardConfig(fileConfig.getInt("leaderboard.size", 1000)),
+            new BalanceSnapshotConfig(fileConfig.getInt("balanceSnapshot.maxStalenessSeconds", 5)),
+            new BankConfig(Math.max(1, fileConfig.getInt("bank.shards", 8))),
+            new VaultMetricsConfig(fileConfig.getInt("vaultMetrics.logIntervalSeconds", 300)),
+            new TaskRunnerConfig(
+                fileConfig.getInt("taskRunner.maxQueuedTasks", 1000),
+                RejectionPolicy.valueOf(fileConfig.getString("taskRunner.rejectionPolicy", "REJECT").toUpperCase())
             )
         );
     }
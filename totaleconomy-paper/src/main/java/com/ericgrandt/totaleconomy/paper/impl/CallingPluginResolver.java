@@ -0,0 +1,56 @@
+package com.ericgrandt.totaleconomy.paper.impl;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/// Names the plugin whose code called into the economy, for the transaction ledger and [VaultMetrics].
+///
+/// The stack is walked for the first class that another plugin loaded. When there is none, such as for this plugin's
+/// commands or calls handed off to the async economy service's threads, the call is attributed to this plugin.
+public class CallingPluginResolver implements Supplier<String> {
+    // Deep enough to get past Vault and this plugin's own frames without walking the whole stack
+    private static final int MAX_DEPTH = 64;
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final String pluginName;
+    private final ClassLoader pluginClassLoader;
+    private final ClassLoader serverClassLoader = Bukkit.class.getClassLoader();
+
+    // Looking up a class's plugin is cached per class, so walking the stack is the only cost after the first call
+    private final ClassValue<Optional<String>> owningPlugins = new ClassValue<>() {
+        @Override
+        protected Optional<String> computeValue(Class<?> type) {
+            return findOwningPlugin(type);
+        }
+    };
+
+    public CallingPluginResolver(JavaPlugin plugin) {
+        this.pluginName = plugin.getName();
+        this.pluginClassLoader = plugin.getClass().getClassLoader();
+    }
+
+    @Override
+    public String get() {
+        return WALKER.walk(frames -> frames.limit(MAX_DEPTH)
+            .map(frame -> owningPlugins.get(frame.getDeclaringClass()))
+            .flatMap(Optional::stream)
+            .findFirst()
+        ).orElse(pluginName);
+    }
+
+    private Optional<String> findOwningPlugin(Class<?> type) {
+        var classLoader = type.getClassLoader();
+        if (classLoader == null || classLoader == serverClassLoader || classLoader == pluginClassLoader) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(JavaPlugin.getProvidingPlugin(type).getName());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -4,8 +4,10 @@ import com.ericgrandt.totaleconomy.api.exception.AccountNotFoundException;
 import com.ericgrandt.totaleconomy.api.exception.CurrencyNotFoundException;
 import com.ericgrandt.totaleconomy.api.exception.DatabaseException;
 import com.ericgrandt.totaleconomy.api.exception.InsufficientFundsException;
+import com.ericgrandt.totaleconomy.api.exception.MissingDefaultCurrencyException;
 import com.ericgrandt.totaleconomy.api.model.Currency;
 import com.ericgrandt.totaleconomy.api.service.EconomyService;
+import com.ericgrandt.totaleconomy.service.BankService;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.milkbowl.vault.economy.Economy;
 import net.milkbowl.vault.economy.EconomyResponse;
@@ -19,11 +21,15 @@ import java.util.List;
 public class VaultImpl implements Economy {
     private final Logger logger;
     private final EconomyService economyService;
+    private final BankService bankService;
+    private final VaultMetrics metrics;
     private final Currency currency;
 
-    public VaultImpl(Logger logger, EconomyService economyService) {
+    public VaultImpl(Logger logger, EconomyService economyService, BankService bankService, VaultMetrics metrics) {
         this.logger = logger;
         this.economyService = economyService;
+        this.bankService = bankService;
+        this.metrics = metrics;
         this.currency = economyService.getDefaultCurrency();
     }
 
@@ -39,7 +45,7 @@ public class VaultImpl implements Economy {
 
     @Override
     public boolean hasBankSupport() {
-        return false;
+        return true;
     }
 
     @Override
@@ -66,42 +72,52 @@ public class VaultImpl implements Economy {
 
     @Override
     public boolean hasAccount(OfflinePlayer player) {
+        var startNanos = System.nanoTime();
         try {
-            return economyService.getAccountBalance(player.getUniqueId()) != null;
-        } catch (CurrencyNotFoundException | AccountNotFoundException e) {
+            return economyService.hasAccount(player.getUniqueId());
+        } catch (MissingDefaultCurrencyException e) {
             return false;
         } catch (DatabaseException e) {
             logger.error("error while checking for account existence", e);
             return false;
+        } finally {
+            metrics.record(VaultMetrics.Method.HAS_ACCOUNT, startNanos);
         }
     }
 
     @Override
     public double getBalance(OfflinePlayer player) {
+        var startNanos = System.nanoTime();
         try {
-            return economyService.getAccountBalance(player.getUniqueId()).balance().doubleValue();
+            return economyService.getRecentAccountBalance(player.getUniqueId()).balance().doubleValue();
         } catch (CurrencyNotFoundException | AccountNotFoundException e) {
             return 0;
         } catch (DatabaseException e) {
             logger.error("error while getting balance", e);
             return 0;
+        } finally {
+            metrics.record(VaultMetrics.Method.GET_BALANCE, startNanos);
         }
     }
 
     @Override
     public boolean has(OfflinePlayer player, double amount) {
+        var startNanos = System.nanoTime();
         try {
-            return economyService.getAccountBalance(player.getUniqueId()).balance().doubleValue() >= amount;
+            return economyService.getRecentAccountBalance(player.getUniqueId()).balance().doubleValue() >= amount;
         } catch (CurrencyNotFoundException | AccountNotFoundException e) {
             return false;
         } catch (DatabaseException e) {
             logger.error("error while checking if player has sufficient funds", e);
             return false;
+        } finally {
+            metrics.record(VaultMetrics.Method.HAS, startNanos);
         }
     }
 
     @Override
     public EconomyResponse withdrawPlayer(OfflinePlayer player, double amount) {
+        var startNanos = System.nanoTime();
         try {
             var result = economyService.withdraw(player.getUniqueId(), BigDecimal.valueOf(amount));
             return new EconomyResponse(
@@ -119,11 +135,14 @@ public class VaultImpl implements Economy {
         } catch (DatabaseException e) {
             logger.error("error while withdrawing from player", e);
             return new EconomyResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "internal server error");
+        } finally {
+            metrics.record(VaultMetrics.Method.WITHDRAW_PLAYER, startNanos);
         }
     }
 
     @Override
     public EconomyResponse depositPlayer(OfflinePlayer player, double amount) {
+        var startNanos = System.nanoTime();
         try {
             var result = economyService.deposit(player.getUniqueId(), BigDecimal.valueOf(amount));
             return new EconomyResponse(
@@ -139,11 +158,14 @@ public class VaultImpl implements Economy {
         } catch (DatabaseException e) {
             logger.error("error while withdrawing from player", e);
             return new EconomyResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "internal server error");
+        } finally {
+            metrics.record(VaultMetrics.Method.DEPOSIT_PLAYER, startNanos);
         }
     }
 
     @Override
     public boolean createPlayerAccount(OfflinePlayer player) {
+        var startNanos = System.nanoTime();
         try {
             economyService.createAccount(player.getUniqueId(), currency.code());
             return true;
@@ -152,6 +174,8 @@ public class VaultImpl implements Economy {
         } catch (DatabaseException e) {
             logger.error("error while creating player account", e);
             return false;
+        } finally {
+            metrics.record(VaultMetrics.Method.CREATE_PLAYER_ACCOUNT, startNanos);
         }
     }
 
@@ -187,47 +211,135 @@ public class VaultImpl implements Economy {
 
     @Override
     public EconomyResponse createBank(String name, OfflinePlayer player) {
-        throw new UnsupportedOperationException();
+        try {
+            if (!bankService.createBank(name, player.getUniqueId())) {
+                return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "bank already exists");
+            }
+
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.SUCCESS, "");
+        } catch (IllegalArgumentException e) {
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "bank name is too long");
+        } catch (MissingDefaultCurrencyException e) {
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "currency not found");
+        } catch (DatabaseException e) {
+            logger.error("error while creating bank", e);
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "internal server error");
+        }
     }
 
     @Override
     public EconomyResponse deleteBank(String name) {
-        throw new UnsupportedOperationException();
+        try {
+            if (!bankService.deleteBank(name)) {
+                return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "bank not found");
+            }
+
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.SUCCESS, "");
+        } catch (DatabaseException e) {
+            logger.error("error while deleting bank", e);
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "internal server error");
+        }
     }
 
     @Override
     public EconomyResponse bankBalance(String name) {
-        throw new UnsupportedOperationException();
+        try {
+            var balance = bankService.getBalance(name);
+            return new EconomyResponse(0, balance.doubleValue(), EconomyResponse.ResponseType.SUCCESS, "");
+        } catch (AccountNotFoundException e) {
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "bank not found");
+        } catch (DatabaseException e) {
+            logger.error("error while getting bank balance", e);
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "internal server error");
+        }
     }
 
     @Override
     public EconomyResponse bankHas(String name, double amount) {
-        throw new UnsupportedOperationException();
+        try {
+            var balance = bankService.getBalance(name);
+            if (balance.doubleValue() < amount) {
+                return new EconomyResponse(
+                    amount,
+                    balance.doubleValue(),
+                    EconomyResponse.ResponseType.FAILURE,
+                    "insufficient funds"
+                );
+            }
+
+            return new EconomyResponse(amount, balance.doubleValue(), EconomyResponse.ResponseType.SUCCESS, "");
+        } catch (AccountNotFoundException e) {
+            return new EconomyResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "bank not found");
+        } catch (DatabaseException e) {
+            logger.error("error while checking if bank has sufficient funds", e);
+            return new EconomyResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "internal server error");
+        }
     }
 
     @Override
     public EconomyResponse bankWithdraw(String name, double amount) {
-        throw new UnsupportedOperationException();
+        try {
+            var balance = bankService.withdraw(name, BigDecimal.valueOf(amount));
+            return new EconomyResponse(amount, balance.doubleValue(), EconomyResponse.ResponseType.SUCCESS, "");
+        } catch (IllegalArgumentException e) {
+            return new EconomyResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "amount must be positive");
+        } catch (AccountNotFoundException e) {
+            return new EconomyResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "bank not found");
+        } catch (InsufficientFundsException e) {
+            return new EconomyResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "insufficient funds");
+        } catch (DatabaseException e) {
+            logger.error("error while withdrawing from bank", e);
+            return new EconomyResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "internal server error");
+        }
     }
 
     @Override
     public EconomyResponse bankDeposit(String name, double amount) {
-        throw new UnsupportedOperationException();
+        try {
+            var balance = bankService.deposit(name, BigDecimal.valueOf(amount));
+            return new EconomyResponse(amount, balance.doubleValue(), EconomyResponse.ResponseType.SUCCESS, "");
+        } catch (IllegalArgumentException e) {
+            return new EconomyResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "amount must be positive");
+        } catch (AccountNotFoundException e) {
+            return new EconomyResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "bank not found");
+        } catch (DatabaseException e) {
+            logger.error("error while depositing into bank", e);
+            return new EconomyResponse(amount, 0, EconomyResponse.ResponseType.FAILURE, "internal server error");
+        }
     }
 
     @Override
     public EconomyResponse isBankOwner(String name, OfflinePlayer player) {
-        throw new UnsupportedOperationException();
+        try {
+            var bank = bankService.getBank(name);
+            if (bank.isEmpty()) {
+                return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "bank not found");
+            }
+            if (!bank.get().ownerId().equals(player.getUniqueId())) {
+                return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "not the bank owner");
+            }
+
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.SUCCESS, "");
+        } catch (DatabaseException e) {
+            logger.error("error while checking bank owner", e);
+            return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "internal server error");
+        }
     }
 
+    // Banks have no members besides their owner
     @Override
     public EconomyResponse isBankMember(String name, OfflinePlayer player) {
-        throw new UnsupportedOperationException();
+        return isBankOwner(name, player);
     }
 
     @Override
     public List<String> getBanks() {
-        throw new UnsupportedOperationException();
+        try {
+            return bankService.getBankNames();
+        } catch (DatabaseException e) {
+            logger.error("error while getting banks", e);
+            return List.of();
+        }
     }
 
     @Override
@@ -0,0 +1,79 @@
+package com.ericgrandt.totaleconomy.paper.impl;
+
+import com.ericgrandt.totaleconomy.common.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/// Times calls into [VaultImpl] per method and per calling plugin, split by whether they were made on the server
+/// thread, to find the plugin whose economy calls are slowing down ticks.
+public class VaultMetrics {
+    public enum Method {
+        GET_BALANCE("getBalance"),
+        HAS("has"),
+        WITHDRAW_PLAYER("withdrawPlayer"),
+        DEPOSIT_PLAYER("depositPlayer"),
+        HAS_ACCOUNT("hasAccount"),
+        CREATE_PLAYER_ACCOUNT("createPlayerAccount");
+
+        private final String vaultName;
+
+        Method(String vaultName) {
+            this.vaultName = vaultName;
+        }
+
+        public String vaultName() {
+            return vaultName;
+        }
+    }
+
+    private final Supplier<String> callingPluginResolver;
+    private final BooleanSupplier isMainThread;
+
+    // Keyed by method first so recording a call doesn't allocate a key
+    private final Map<Method, Map<String, Summary>> stats = new EnumMap<>(Method.class);
+
+    /// @param callingPluginResolver names the plugin making the current call
+    /// @param isMainThread          whether the current call is being made on the server thread
+    public VaultMetrics(Supplier<String> callingPluginResolver, BooleanSupplier isMainThread) {
+        this.callingPluginResolver = callingPluginResolver;
+        this.isMainThread = isMainThread;
+        for (var method : Method.values()) {
+            stats.put(method, new ConcurrentHashMap<>());
+        }
+    }
+
+    /// Records a call that started at `startNanos`, as returned by [System#nanoTime()], and has just finished.
+    public void record(Method method, long startNanos) {
+        var elapsedNanos = System.nanoTime() - startNanos;
+        var summary = stats.get(method).computeIfAbsent(
+            callingPluginResolver.get(),
+            plugin -> new Summary(method, plugin, new LatencyHistogram(), new LatencyHistogram())
+        );
+
+        var latency = isMainThread.getAsBoolean() ? summary.mainThread() : summary.async();
+        latency.record(elapsedNanos);
+    }
+
+    /// @return every method and plugin that has been called, most total time spent on the server thread first
+    public List<Summary> getSummaries() {
+        var summaries = new ArrayList<Summary>();
+        for (var methodStats : stats.values()) {
+            summaries.addAll(methodStats.values());
+        }
+
+        summaries.sort(Comparator.comparing((Summary summary) -> summary.mainThread().getTotal()).reversed());
+        return summaries;
+    }
+
+    /// @param mainThread the latencies of calls made on the server thread
+    /// @param async      the latencies of calls made on any other thread
+    public record Summary(Method method, String plugin, LatencyHistogram mainThread, LatencyHistogram async) {
+    }
+}
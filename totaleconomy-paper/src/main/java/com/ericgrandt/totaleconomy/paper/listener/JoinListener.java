@@ -3,40 +3,53 @@ package com.ericgrandt.totaleconomy.paper.listener;
 import com.ericgrandt.totaleconomy.api.infra.AsyncTaskRunner;
 import com.ericgrandt.totaleconomy.api.service.EconomyService;
 import com.ericgrandt.totaleconomy.model.TECurrency;
+import com.ericgrandt.totaleconomy.service.BalanceSnapshot;
+import com.ericgrandt.totaleconomy.service.BalanceStore;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.slf4j.Logger;
 
+import java.util.concurrent.RejectedExecutionException;
+
 public class JoinListener implements Listener {
     private final AsyncTaskRunner taskRunner;
     private final Logger logger;
     private final EconomyService<TECurrency> economyService;
+    private final BalanceStore balanceStore;
+    private final BalanceSnapshot balanceSnapshot;
 
     public JoinListener(
         AsyncTaskRunner taskRunner,
         Logger logger,
-        EconomyService<TECurrency> economyService
+        EconomyService<TECurrency> economyService,
+        BalanceStore balanceStore,
+        BalanceSnapshot balanceSnapshot
     ) {
         this.taskRunner = taskRunner;
         this.logger = logger;
         this.economyService = economyService;
+        this.balanceStore = balanceStore;
+        this.balanceSnapshot = balanceSnapshot;
     }
 
-    // TODO: Test
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         var player = event.getPlayer();
-        taskRunner.runAsync(
-            () -> {
-                try {
-                    for (var entry : economyService.getSupportedCurrencies().entrySet()) {
-                        economyService.createAccount(player.getUniqueId(), entry.getKey());
+        balanceSnapshot.track(player.getUniqueId());
+        try {
+            taskRunner.runAsync(
+                () -> {
+                    try {
+                        economyService.createAccounts(player.getUniqueId());
+                        balanceStore.load(player.getUniqueId());
+                    } catch (Exception e) {
+                        logger.error("failed to create account on player join", e);
                     }
-                } catch (Exception e) {
-                    logger.error("failed to create account on player join", e);
                 }
-            }
-        );
+            );
+        } catch (RejectedExecutionException e) {
+            logger.warn("task runner closed, skipped creating and loading the player's accounts");
+        }
     }
 }
@@ -0,0 +1,49 @@
+package com.ericgrandt.totaleconomy.paper.listener;
+
+import com.ericgrandt.totaleconomy.api.infra.AsyncTaskRunner;
+import com.ericgrandt.totaleconomy.service.BalanceSnapshot;
+import com.ericgrandt.totaleconomy.service.BalanceStore;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.slf4j.Logger;
+
+import java.util.concurrent.RejectedExecutionException;
+
+public class QuitListener implements Listener {
+    private final AsyncTaskRunner taskRunner;
+    private final Logger logger;
+    private final BalanceStore balanceStore;
+    private final BalanceSnapshot balanceSnapshot;
+
+    public QuitListener(
+        AsyncTaskRunner taskRunner,
+        Logger logger,
+        BalanceStore balanceStore,
+        BalanceSnapshot balanceSnapshot
+    ) {
+        this.taskRunner = taskRunner;
+        this.logger = logger;
+        this.balanceStore = balanceStore;
+        this.balanceSnapshot = balanceSnapshot;
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        var playerId = event.getPlayer().getUniqueId();
+        balanceSnapshot.untrack(playerId);
+        try {
+            taskRunner.runAsync(
+                () -> {
+                    try {
+                        balanceStore.unload(playerId);
+                    } catch (Exception e) {
+                        logger.error("failed to flush balances on player quit", e);
+                    }
+                }
+            );
+        } catch (RejectedExecutionException ignored) {
+            // Only once the plugin is disabled, which flushes every balance itself
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.ericgrandt.totaleconomy.paper.mapper;
 
 import com.ericgrandt.totaleconomy.api.exception.AccountNotFoundException;
 import com.ericgrandt.totaleconomy.api.exception.CurrencyNotFoundException;
+import com.ericgrandt.totaleconomy.api.exception.EconomyBusyException;
 import com.ericgrandt.totaleconomy.api.exception.InsufficientFundsException;
 import com.ericgrandt.totaleconomy.api.exception.MissingDefaultCurrencyException;
 import com.ericgrandt.totaleconomy.api.exception.SelfTransferException;
@@ -30,6 +31,9 @@ public class CommandExceptionMapper {
             case InsufficientFundsException ignored -> Component
                 .text("Insufficient funds.")
                 .color(NamedTextColor.YELLOW);
+            case EconomyBusyException ignored -> Component
+                .text("The economy is busy right now. Please try again in a moment.")
+                .color(NamedTextColor.YELLOW);
             case MissingDefaultCurrencyException ignored -> {
                 logger.error("default currency does not exist", t);
                 yield Component
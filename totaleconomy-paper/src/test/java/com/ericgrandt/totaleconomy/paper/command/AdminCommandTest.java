@@ -0,0 +1,131 @@
+package com.ericgrandt.totaleconomy.paper.command;
+
+import com.ericgrandt.totaleconomy.api.dto.CacheStats;
+import com.ericgrandt.totaleconomy.api.dto.ConnectionPoolStats;
+import com.ericgrandt.totaleconomy.api.dto.EconomyStats;
+import com.ericgrandt.totaleconomy.api.dto.OperationStats;
+import com.ericgrandt.totaleconomy.api.infra.EconomyDiagnostics;
+import com.ericgrandt.totaleconomy.paper.impl.VaultMetrics;
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.context.CommandContext;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AdminCommandTest {
+    @Mock
+    private CommandSender senderMock;
+
+    @Mock
+    private EconomyDiagnostics diagnosticsMock;
+
+    @Test
+    @Tag("Unit")
+    @SuppressWarnings("unchecked")
+    public void executeVault_WithRecordedCall_ShouldSendEntry() {
+        // Arrange
+        var vaultMetrics = new VaultMetrics(() -> "ShopPlugin", () -> true);
+        vaultMetrics.record(VaultMetrics.Method.WITHDRAW_PLAYER, System.nanoTime());
+
+        var ctx = mock(CommandContext.class);
+        var source = mock(CommandSourceStack.class);
+        when(ctx.getSource()).thenReturn(source);
+        when(source.getSender()).thenReturn(senderMock);
+
+        var sut = new AdminCommand(vaultMetrics, diagnosticsMock);
+
+        // Act
+        var actual = sut.executeVault(ctx);
+        var expected = Command.SINGLE_SUCCESS;
+
+        // Assert
+        assertEquals(expected, actual);
+        verify(senderMock).sendMessage(Messages.vaultStatsHeader());
+        verify(senderMock).sendMessage(Messages.vaultStatsEntry(vaultMetrics.getSummaries().getFirst()));
+    }
+
+    @Test
+    @Tag("Unit")
+    @SuppressWarnings("unchecked")
+    public void executeVault_WithNoCalls_ShouldSendEmptyMessage() {
+        // Arrange
+        var ctx = mock(CommandContext.class);
+        var source = mock(CommandSourceStack.class);
+        when(ctx.getSource()).thenReturn(source);
+        when(source.getSender()).thenReturn(senderMock);
+
+        var sut = new AdminCommand(new VaultMetrics(() -> "ShopPlugin", () -> true), diagnosticsMock);
+
+        // Act
+        var actual = sut.executeVault(ctx);
+        var expected = Command.SINGLE_SUCCESS;
+
+        // Assert
+        assertEquals(expected, actual);
+        verify(senderMock).sendMessage(Messages.vaultStatsEmpty());
+    }
+
+    @Test
+    @Tag("Unit")
+    @SuppressWarnings("unchecked")
+    public void executeStats_WithStats_ShouldSendEachStat() {
+        // Arrange
+        var pool = new ConnectionPoolStats(2, 8, 10, 10, 0, 100, Duration.ofMillis(1), 0);
+        var operation = new OperationStats(5, Duration.ofMillis(1), Duration.ofMillis(3), Duration.ofMillis(4));
+        var cache = new CacheStats(9, 1);
+        var stats = new EconomyStats(
+            pool,
+            1,
+            2,
+            0,
+            0,
+            1,
+            0,
+            Map.of("withdraw", operation),
+            Map.of("currencies", cache),
+            5,
+            Duration.ofSeconds(1),
+            6,
+            0,
+            0,
+            3,
+            4
+        );
+        when(diagnosticsMock.getStats()).thenReturn(stats);
+
+        var ctx = mock(CommandContext.class);
+        var source = mock(CommandSourceStack.class);
+        when(ctx.getSource()).thenReturn(source);
+        when(source.getSender()).thenReturn(senderMock);
+
+        var sut = new AdminCommand(new VaultMetrics(() -> "ShopPlugin", () -> true), diagnosticsMock);
+
+        // Act
+        var actual = sut.executeStats(ctx);
+        var expected = Command.SINGLE_SUCCESS;
+
+        // Assert
+        assertEquals(expected, actual);
+        verify(senderMock).sendMessage(Messages.statsPool(pool));
+        verify(senderMock).sendMessage(Messages.statsTasks(stats));
+        verify(senderMock).sendMessage(Messages.statsAsyncTasks(stats));
+        verify(senderMock).sendMessage(Messages.statsOperation("withdraw", operation));
+        verify(senderMock).sendMessage(Messages.statsCache("currencies", cache));
+        verify(senderMock).sendMessage(Messages.statsBalanceReads(stats));
+        verify(senderMock).sendMessage(Messages.statsLedger(stats));
+        verify(senderMock).sendMessage(Messages.statsErrors(stats));
+    }
+}
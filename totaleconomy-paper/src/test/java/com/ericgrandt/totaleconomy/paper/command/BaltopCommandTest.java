@@ -0,0 +1,125 @@
+package com.ericgrandt.totaleconomy.paper.command;
+
+import com.ericgrandt.totaleconomy.api.infra.AsyncTaskRunner;
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
+import com.ericgrandt.totaleconomy.common.testutils.TestTaskRunner;
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import com.ericgrandt.totaleconomy.data.AccountData;
+import com.ericgrandt.totaleconomy.data.CurrencyData;
+import com.ericgrandt.totaleconomy.data.DatabaseBootstrapper;
+import com.ericgrandt.totaleconomy.paper.mapper.CommandExceptionMapper;
+import com.ericgrandt.totaleconomy.service.BalanceSnapshot;
+import com.ericgrandt.totaleconomy.service.BalanceStore;
+import com.ericgrandt.totaleconomy.service.CacheService;
+import com.ericgrandt.totaleconomy.service.Leaderboard;
+import com.ericgrandt.totaleconomy.service.TEEconomyService;
+import com.ericgrandt.totaleconomy.service.TransactionLedger;
+import com.ericgrandt.totaleconomy.testutils.TestSeeder;
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import net.kyori.adventure.text.Component;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BaltopCommandTest {
+    @Mock
+    private Plugin pluginMock;
+
+    @Mock
+    private Server serverMock;
+
+    @Mock
+    private Logger loggerMock;
+
+    @Mock
+    private CommandSender senderMock;
+
+    @Mock
+    private OfflinePlayer offlinePlayerMock;
+
+    private final AsyncTaskRunner taskRunner = new TestTaskRunner();
+    private final CurrencyData currencyData = new CurrencyData();
+    private final AccountData accountData = new AccountData(new H2Dialect());
+
+    @Test
+    @Tag("Integration")
+    @SuppressWarnings("unchecked")
+    public void executeWithDefault_WithAccount_ShouldSendRankedBalancesForDefaultCurrency() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var account = TestSeeder.seedAccount(dataSource, null);
+
+        when(pluginMock.getServer()).thenReturn(serverMock);
+        when(serverMock.getOfflinePlayer(UUID.fromString(account.playerId()))).thenReturn(offlinePlayerMock);
+        when(offlinePlayerMock.getName()).thenReturn("Steve");
+
+        var transactionUtil = new TransactionUtil(dataSource);
+        var exceptionMapper = new CommandExceptionMapper(loggerMock);
+        var cacheService = new CacheService(transactionUtil, currencyData);
+        var economyService = new TEEconomyService(
+            transactionUtil,
+            cacheService,
+            BalanceStore.disabled(),
+            accountData,
+            TransactionLedger.disabled(),
+            new Leaderboard(transactionUtil, accountData, BalanceStore.disabled(), 100),
+            new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ZERO)
+        );
+
+        var ctx = mock(CommandContext.class);
+        var source = mock(CommandSourceStack.class);
+        when(ctx.getSource()).thenReturn(source);
+        when(source.getSender()).thenReturn(senderMock);
+
+        var sut = new BaltopCommand(pluginMock, taskRunner, exceptionMapper, economyService);
+
+        // Act
+        var actual = sut.executeWithDefault(ctx);
+        var expected = Command.SINGLE_SUCCESS;
+
+        // Assert
+        assertEquals(expected, actual);
+        verify(senderMock).sendMessage(Messages.baltopHeader("Dollars", 1));
+        verify(senderMock).sendMessage(Messages.baltopEntry(1, "Steve", Component.text("$10.00")));
+    }
+
+    @Test
+    @Tag("Unit")
+    public void build_WithPagePastLastPage_ShouldRejectPage() {
+        // Arrange
+        var sut = new BaltopCommand(pluginMock, taskRunner, new CommandExceptionMapper(loggerMock), null);
+        var dispatcher = new CommandDispatcher<CommandSourceStack>();
+        dispatcher.getRoot().addChild(sut.build());
+        var source = mock(CommandSourceStack.class);
+
+        // Act/Assert
+        assertThrows(
+            CommandSyntaxException.class,
+            () -> dispatcher.execute("baltop " + (BaltopCommand.MAX_PAGE + 1), source)
+        );
+    }
+}
@@ -0,0 +1,173 @@
+package com.ericgrandt.totaleconomy.paper.command;
+
+import com.ericgrandt.totaleconomy.api.exception.InsufficientFundsException;
+import com.ericgrandt.totaleconomy.api.infra.AsyncTaskRunner;
+import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
+import com.ericgrandt.totaleconomy.common.testutils.TestTaskRunner;
+import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
+import com.ericgrandt.totaleconomy.data.AccountData;
+import com.ericgrandt.totaleconomy.data.CurrencyData;
+import com.ericgrandt.totaleconomy.data.DatabaseBootstrapper;
+import com.ericgrandt.totaleconomy.paper.mapper.CommandExceptionMapper;
+import com.ericgrandt.totaleconomy.service.BalanceSnapshot;
+import com.ericgrandt.totaleconomy.service.BalanceStore;
+import com.ericgrandt.totaleconomy.service.CacheService;
+import com.ericgrandt.totaleconomy.service.Leaderboard;
+import com.ericgrandt.totaleconomy.service.TEEconomyService;
+import com.ericgrandt.totaleconomy.service.TransactionLedger;
+import com.ericgrandt.totaleconomy.testutils.TestSeeder;
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.argument.resolvers.selector.PlayerSelectorArgumentResolver;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EcoCommandTest {
+    @Mock
+    private Logger loggerMock;
+
+    @Mock
+    private CommandSender senderMock;
+
+    @Mock
+    private Player playerMock;
+
+    @Mock
+    private Player otherPlayerMock;
+
+    @Mock
+    private PlayerSelectorArgumentResolver resolverMock;
+
+    private final AsyncTaskRunner taskRunner = new TestTaskRunner();
+    private final CurrencyData currencyData = new CurrencyData();
+    private final AccountData accountData = new AccountData(new H2Dialect());
+
+    @Test
+    @Tag("Integration")
+    public void execute_WithGiveToSeveralPlayers_ShouldDepositIntoEveryAccount()
+        throws SQLException, CommandSyntaxException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var playerId = UUID.fromString(TestSeeder.seedAccount(dataSource, null).playerId());
+        var otherPlayerId = UUID.fromString(TestSeeder.seedAccount(dataSource, null).playerId());
+
+        when(playerMock.getUniqueId()).thenReturn(playerId);
+        when(otherPlayerMock.getUniqueId()).thenReturn(otherPlayerId);
+
+        var economyService = createEconomyService(dataSource);
+        var ctx = mockContext(List.of(playerMock, otherPlayerMock), 5.0);
+
+        var sut = new EcoCommand(taskRunner, new CommandExceptionMapper(loggerMock), economyService);
+
+        // Act
+        var actual = sut.execute(ctx, EcoCommand.Action.GIVE, null);
+        var expected = Command.SINGLE_SUCCESS;
+
+        // Assert
+        assertEquals(expected, actual);
+        verify(senderMock).sendMessage(Messages.ecoApplied("give", 2, 2));
+        assertEquals(0, BigDecimal.valueOf(15).compareTo(economyService.getAccountBalance(playerId).balance()));
+        assertEquals(0, BigDecimal.valueOf(15).compareTo(economyService.getAccountBalance(otherPlayerId).balance()));
+    }
+
+    @Test
+    @Tag("Integration")
+    public void execute_WithTakeMoreThanBalance_ShouldReportFailedPlayer() throws SQLException, CommandSyntaxException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        TestSeeder.seedDefaultCurrency(dataSource);
+        var playerId = UUID.fromString(TestSeeder.seedAccount(dataSource, null).playerId());
+
+        when(playerMock.getUniqueId()).thenReturn(playerId);
+        when(playerMock.getName()).thenReturn("Steve");
+
+        var exceptionMapper = new CommandExceptionMapper(loggerMock);
+        var economyService = createEconomyService(dataSource);
+        var ctx = mockContext(List.of(playerMock), 11.0);
+
+        var sut = new EcoCommand(taskRunner, exceptionMapper, economyService);
+
+        // Act
+        sut.execute(ctx, EcoCommand.Action.TAKE, null);
+
+        // Assert
+        verify(senderMock).sendMessage(Messages.ecoApplied("take", 0, 1));
+        verify(senderMock).sendMessage(
+            Messages.ecoFailed("Steve", exceptionMapper.handleException(new InsufficientFundsException()))
+        );
+    }
+
+    @Test
+    @Tag("Integration")
+    public void execute_WithSet_ShouldReplaceBalance() throws SQLException, CommandSyntaxException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var currency = TestSeeder.seedCurrency(dataSource);
+        var playerId = UUID.fromString(TestSeeder.seedAccount(dataSource, currency.code()).playerId());
+
+        when(playerMock.getUniqueId()).thenReturn(playerId);
+
+        var economyService = createEconomyService(dataSource);
+        var ctx = mockContext(List.of(playerMock), 3.0);
+
+        var sut = new EcoCommand(taskRunner, new CommandExceptionMapper(loggerMock), economyService);
+
+        // Act
+        sut.execute(ctx, EcoCommand.Action.SET, currency.code());
+
+        // Assert
+        var actual = economyService.getAccountBalance(playerId, currency.code()).balance();
+        assertEquals(0, BigDecimal.valueOf(3).compareTo(actual));
+    }
+
+    private TEEconomyService createEconomyService(DataSource dataSource) {
+        var transactionUtil = new TransactionUtil(dataSource);
+        return new TEEconomyService(
+            transactionUtil,
+            new CacheService(transactionUtil, currencyData),
+            BalanceStore.disabled(),
+            accountData,
+            TransactionLedger.disabled(),
+            new Leaderboard(transactionUtil, accountData, BalanceStore.disabled(), 0),
+            new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ZERO)
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private CommandContext<CommandSourceStack> mockContext(List<Player> players, double amount)
+        throws CommandSyntaxException {
+        var ctx = mock(CommandContext.class);
+        var source = mock(CommandSourceStack.class);
+        when(ctx.getSource()).thenReturn(source);
+        when(source.getSender()).thenReturn(senderMock);
+        when(ctx.getArgument("targets", PlayerSelectorArgumentResolver.class)).thenReturn(resolverMock);
+        when(resolverMock.resolve(any())).thenReturn(players);
+        when(ctx.getArgument("amount", Double.class)).thenReturn(amount);
+
+        return ctx;
+    }
+}
@@ -2,14 +2,19 @@ package com.ericgrandt.totaleconomy.paper.command;
 
 import com.ericgrandt.totaleconomy.api.infra.AsyncTaskRunner;
 import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
 import com.ericgrandt.totaleconomy.common.testutils.TestTaskRunner;
 import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
 import com.ericgrandt.totaleconomy.data.AccountData;
 import com.ericgrandt.totaleconomy.data.CurrencyData;
 import com.ericgrandt.totaleconomy.data.DatabaseBootstrapper;
 import com.ericgrandt.totaleconomy.paper.mapper.CommandExceptionMapper;
+import com.ericgrandt.totaleconomy.service.BalanceSnapshot;
+import com.ericgrandt.totaleconomy.service.BalanceStore;
 import com.ericgrandt.totaleconomy.service.CacheService;
+import com.ericgrandt.totaleconomy.service.Leaderboard;
 import com.ericgrandt.totaleconomy.service.TEEconomyService;
+import com.ericgrandt.totaleconomy.service.TransactionLedger;
 import com.ericgrandt.totaleconomy.testutils.TestSeeder;
 import com.mojang.brigadier.Command;
 import com.mojang.brigadier.context.CommandContext;
@@ -29,6 +34,7 @@ import org.slf4j.Logger;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -57,7 +63,7 @@ public class PayCommandTest {
 
     private final AsyncTaskRunner taskRunner = new TestTaskRunner();
     private final CurrencyData currencyData = new CurrencyData();
-    private final AccountData accountData = new AccountData();
+    private final AccountData accountData = new AccountData(new H2Dialect());
 
     @Test
     @Tag("Integration")
@@ -77,7 +83,15 @@ public class PayCommandTest {
         var transactionUtil = new TransactionUtil(dataSource);
         var exceptionMapper = new CommandExceptionMapper(loggerMock);
         var cacheService = new CacheService(transactionUtil, currencyData);
-        var economyService = new TEEconomyService(transactionUtil, cacheService, currencyData, accountData);
+        var economyService = new TEEconomyService(
+            transactionUtil,
+            cacheService,
+            BalanceStore.disabled(),
+            accountData,
+            TransactionLedger.disabled(),
+            new Leaderboard(transactionUtil, accountData, BalanceStore.disabled(), 0),
+            new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ZERO)
+        );
 
         var ctx = mock(CommandContext.class);
         var source = mock(CommandSourceStack.class);
@@ -130,7 +144,15 @@ public class PayCommandTest {
         var transactionUtil = new TransactionUtil(dataSource);
         var exceptionMapper = new CommandExceptionMapper(loggerMock);
         var cacheService = new CacheService(transactionUtil, currencyData);
-        var economyService = new TEEconomyService(transactionUtil, cacheService, currencyData, accountData);
+        var economyService = new TEEconomyService(
+            transactionUtil,
+            cacheService,
+            BalanceStore.disabled(),
+            accountData,
+            TransactionLedger.disabled(),
+            new Leaderboard(transactionUtil, accountData, BalanceStore.disabled(), 0),
+            new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ZERO)
+        );
 
         var ctx = mock(CommandContext.class);
         var source = mock(CommandSourceStack.class);
@@ -7,10 +7,13 @@ import com.ericgrandt.totaleconomy.api.exception.AccountNotFoundException;
 import com.ericgrandt.totaleconomy.api.exception.CurrencyNotFoundException;
 import com.ericgrandt.totaleconomy.api.exception.DatabaseException;
 import com.ericgrandt.totaleconomy.api.exception.InsufficientFundsException;
+import com.ericgrandt.totaleconomy.api.exception.MissingDefaultCurrencyException;
 import com.ericgrandt.totaleconomy.api.model.Account;
 import com.ericgrandt.totaleconomy.api.model.Currency;
 import com.ericgrandt.totaleconomy.api.service.EconomyService;
+import com.ericgrandt.totaleconomy.model.TEBank;
 import com.ericgrandt.totaleconomy.model.TECurrency;
+import com.ericgrandt.totaleconomy.service.BankService;
 import net.milkbowl.vault.economy.Economy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import org.bukkit.entity.Player;
@@ -23,6 +26,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 
 import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -41,21 +46,25 @@ public class VaultImplTest {
     @Mock
     private EconomyService economyServiceMock;
 
+    @Mock
+    private BankService bankServiceMock;
+
     private Economy sut;
 
+    private final VaultMetrics metrics = new VaultMetrics(() -> "ShopPlugin", () -> true);
     private final Currency currency = new TECurrency("USD", "Dollar", "Dollars", "$", 2, BigDecimal.ONE, true);
 
     @BeforeEach
     public void setup() {
         when(economyServiceMock.getDefaultCurrency()).thenReturn(currency);
-        sut = new VaultImpl(loggerMock, economyServiceMock);
+        sut = new VaultImpl(loggerMock, economyServiceMock, bankServiceMock, metrics);
     }
 
     @Test
     @Tag("Unit")
     public void isEnabled_ShouldReturnTrue() {
         // Arrange
-        var sut = new VaultImpl(loggerMock, economyServiceMock);
+        var sut = new VaultImpl(loggerMock, economyServiceMock, bankServiceMock, metrics);
 
         // Act
         var actual = sut.isEnabled();
@@ -77,12 +86,12 @@ public class VaultImplTest {
 
     @Test
     @Tag("Unit")
-    public void hasBankSupport_ShouldReturnFalse() {
+    public void hasBankSupport_ShouldReturnTrue() {
         // Act
         var actual = sut.hasBankSupport();
 
         // Assert
-        assertFalse(actual);
+        assertTrue(actual);
     }
 
     @Test
@@ -123,10 +132,7 @@ public class VaultImplTest {
     public void hasAccount_WithAccount_ShouldReturnTrue() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenReturn(new GetAccountBalanceResult(
-            currency,
-            BigDecimal.ONE
-        ));
+        when(economyServiceMock.hasAccount(any())).thenReturn(true);
 
         // Act
         var actual = sut.hasAccount(playerMock);
@@ -137,10 +143,10 @@ public class VaultImplTest {
 
     @Test
     @Tag("Unit")
-    public void hasAccount_WithCurrencyNotFoundException_ShouldReturnFalse() {
+    public void hasAccount_WithMissingDefaultCurrencyException_ShouldReturnFalse() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenThrow(CurrencyNotFoundException.class);
+        when(economyServiceMock.hasAccount(any())).thenThrow(MissingDefaultCurrencyException.class);
 
         // Act
         var actual = sut.hasAccount(playerMock);
@@ -151,10 +157,10 @@ public class VaultImplTest {
 
     @Test
     @Tag("Unit")
-    public void hasAccount_WithAccountNotFoundException_ShouldReturnFalse() {
+    public void hasAccount_WithoutAccount_ShouldReturnFalse() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenThrow(AccountNotFoundException.class);
+        when(economyServiceMock.hasAccount(any())).thenReturn(false);
 
         // Act
         var actual = sut.hasAccount(playerMock);
@@ -168,7 +174,7 @@ public class VaultImplTest {
     public void hasAccount_WithDatabaseException_ShouldLogAndReturnFalse() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenThrow(DatabaseException.class);
+        when(economyServiceMock.hasAccount(any())).thenThrow(DatabaseException.class);
 
         // Act
         var actual = sut.hasAccount(playerMock);
@@ -183,7 +189,7 @@ public class VaultImplTest {
     public void getBalance_WithBalance_ShouldReturnAmountInBalance() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenReturn(new GetAccountBalanceResult(
+        when(economyServiceMock.getRecentAccountBalance(any())).thenReturn(new GetAccountBalanceResult(
             currency,
             BigDecimal.ONE
         ));
@@ -196,12 +202,29 @@ public class VaultImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @Tag("Unit")
+    public void getBalance_WithCurrencyNotFoundException_ShouldRecordCall() {
+        // Arrange
+        var playerMock = mock(Player.class);
+        when(economyServiceMock.getRecentAccountBalance(any())).thenThrow(CurrencyNotFoundException.class);
+
+        // Act
+        sut.getBalance(playerMock);
+        var actual = metrics.getSummaries().getFirst();
+
+        // Assert
+        assertEquals(VaultMetrics.Method.GET_BALANCE, actual.method());
+        assertEquals("ShopPlugin", actual.plugin());
+        assertEquals(1, actual.mainThread().getCount());
+    }
+
     @Test
     @Tag("Unit")
     public void getBalance_WithCurrencyNotFoundException_ShouldReturnZero() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenThrow(CurrencyNotFoundException.class);
+        when(economyServiceMock.getRecentAccountBalance(any())).thenThrow(CurrencyNotFoundException.class);
 
         // Act
         var actual = sut.getBalance(playerMock);
@@ -216,7 +239,7 @@ public class VaultImplTest {
     public void getBalance_WithAccountNotFoundException_ShouldReturnZero() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenThrow(AccountNotFoundException.class);
+        when(economyServiceMock.getRecentAccountBalance(any())).thenThrow(AccountNotFoundException.class);
 
         // Act
         var actual = sut.getBalance(playerMock);
@@ -231,7 +254,7 @@ public class VaultImplTest {
     public void getBalance_WithDatabaseException_ShouldLogAndReturnZero() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenThrow(DatabaseException.class);
+        when(economyServiceMock.getRecentAccountBalance(any())).thenThrow(DatabaseException.class);
 
         // Act
         var actual = sut.getBalance(playerMock);
@@ -247,7 +270,7 @@ public class VaultImplTest {
     public void has_WithSufficientFunds_ShouldReturnTrue() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenReturn(new GetAccountBalanceResult(
+        when(economyServiceMock.getRecentAccountBalance(any())).thenReturn(new GetAccountBalanceResult(
             currency,
             BigDecimal.TEN
         ));
@@ -264,7 +287,7 @@ public class VaultImplTest {
     public void has_WithExactBalance_ShouldReturnTrue() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenReturn(new GetAccountBalanceResult(
+        when(economyServiceMock.getRecentAccountBalance(any())).thenReturn(new GetAccountBalanceResult(
             currency,
             BigDecimal.TEN
         ));
@@ -281,7 +304,7 @@ public class VaultImplTest {
     public void has_WithInsufficientFunds_ShouldReturnFalse() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenReturn(new GetAccountBalanceResult(
+        when(economyServiceMock.getRecentAccountBalance(any())).thenReturn(new GetAccountBalanceResult(
             currency,
             BigDecimal.TEN
         ));
@@ -298,7 +321,7 @@ public class VaultImplTest {
     public void has_WithCurrencyNotFoundException_ShouldReturnFalse() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenThrow(CurrencyNotFoundException.class);
+        when(economyServiceMock.getRecentAccountBalance(any())).thenThrow(CurrencyNotFoundException.class);
 
         // Act
         var actual = sut.has(playerMock, 10);
@@ -312,7 +335,7 @@ public class VaultImplTest {
     public void has_WithAccountNotFoundException_ShouldReturnFalse() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenThrow(AccountNotFoundException.class);
+        when(economyServiceMock.getRecentAccountBalance(any())).thenThrow(AccountNotFoundException.class);
 
         // Act
         var actual = sut.has(playerMock, 10);
@@ -326,7 +349,7 @@ public class VaultImplTest {
     public void has_WithDatabaseException_ShouldLogAndReturnFalse() {
         // Arrange
         var playerMock = mock(Player.class);
-        when(economyServiceMock.getAccountBalance(any())).thenThrow(DatabaseException.class);
+        when(economyServiceMock.getRecentAccountBalance(any())).thenThrow(DatabaseException.class);
 
         // Act
         var actual = sut.has(playerMock, 10);
@@ -550,4 +573,94 @@ public class VaultImplTest {
         verify(loggerMock, times(1)).error(any(), any(DatabaseException.class));
         assertFalse(actual);
     }
+
+    @Test
+    @Tag("Unit")
+    public void createBank_WithExistingBank_ShouldReturnFailure() {
+        // Arrange
+        var playerMock = mock(Player.class);
+        when(bankServiceMock.createBank(any(), any())).thenReturn(false);
+
+        // Act
+        var actual = sut.createBank("treasury", playerMock);
+
+        // Assert
+        assertEquals(EconomyResponse.ResponseType.FAILURE, actual.type);
+        assertEquals("bank already exists", actual.errorMessage);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void bankDeposit_WithSuccess_ShouldReturnNewBalance() {
+        // Arrange
+        when(bankServiceMock.deposit("treasury", BigDecimal.valueOf(1.0))).thenReturn(BigDecimal.TEN);
+
+        // Act
+        var actual = sut.bankDeposit("treasury", 1);
+        var expected = new EconomyResponse(1, 10, EconomyResponse.ResponseType.SUCCESS, "");
+
+        // Assert
+        assertEquals(expected.amount, actual.amount);
+        assertEquals(expected.balance, actual.balance);
+        assertEquals(expected.type, actual.type);
+        assertEquals(expected.errorMessage, actual.errorMessage);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void bankWithdraw_WithInsufficientFunds_ShouldReturnFailure() {
+        // Arrange
+        when(bankServiceMock.withdraw(any(), any())).thenThrow(InsufficientFundsException.class);
+
+        // Act
+        var actual = sut.bankWithdraw("treasury", 1);
+
+        // Assert
+        assertEquals(EconomyResponse.ResponseType.FAILURE, actual.type);
+        assertEquals("insufficient funds", actual.errorMessage);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void bankWithdraw_WithNegativeAmount_ShouldReturnFailure() {
+        // Arrange
+        when(bankServiceMock.withdraw(any(), any())).thenThrow(IllegalArgumentException.class);
+
+        // Act
+        var actual = sut.bankWithdraw("treasury", -1);
+
+        // Assert
+        assertEquals(EconomyResponse.ResponseType.FAILURE, actual.type);
+        assertEquals("amount must be positive", actual.errorMessage);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void bankBalance_WithMissingBank_ShouldReturnFailure() {
+        // Arrange
+        when(bankServiceMock.getBalance(any())).thenThrow(AccountNotFoundException.class);
+
+        // Act
+        var actual = sut.bankBalance("treasury");
+
+        // Assert
+        assertEquals(EconomyResponse.ResponseType.FAILURE, actual.type);
+        assertEquals("bank not found", actual.errorMessage);
+    }
+
+    @Test
+    @Tag("Unit")
+    public void isBankOwner_WithOwner_ShouldReturnSuccess() {
+        // Arrange
+        var ownerId = UUID.randomUUID();
+        var playerMock = mock(Player.class);
+        when(playerMock.getUniqueId()).thenReturn(ownerId);
+        when(bankServiceMock.getBank("treasury")).thenReturn(Optional.of(new TEBank("treasury", ownerId, "USD", 8)));
+
+        // Act
+        var actual = sut.isBankOwner("treasury", playerMock);
+
+        // Assert
+        assertEquals(EconomyResponse.ResponseType.SUCCESS, actual.type);
+    }
 }
@@ -0,0 +1,49 @@
+package com.ericgrandt.totaleconomy.paper.impl;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class VaultMetricsTest {
+    @Test
+    @Tag("Unit")
+    public void record_WithAsyncCall_ShouldCountAsAsync() {
+        // Arrange
+        var sut = new VaultMetrics(() -> "ShopPlugin", () -> false);
+
+        // Act
+        sut.record(VaultMetrics.Method.HAS, System.nanoTime());
+        var actual = sut.getSummaries().getFirst();
+
+        // Assert
+        assertEquals(0, actual.mainThread().getCount());
+        assertEquals(1, actual.async().getCount());
+    }
+
+    @Test
+    @Tag("Unit")
+    public void getSummaries_WithSeveralPlugins_ShouldReturnMostMainThreadTimeFirst() {
+        // Arrange
+        var plugin = new AtomicReference<>("QuickPlugin");
+        var isMainThread = new AtomicBoolean(true);
+        var sut = new VaultMetrics(plugin::get, isMainThread::get);
+
+        sut.record(VaultMetrics.Method.GET_BALANCE, System.nanoTime() - 1_000);
+        plugin.set("SlowPlugin");
+        sut.record(VaultMetrics.Method.GET_BALANCE, System.nanoTime() - 1_000_000);
+        isMainThread.set(false);
+        plugin.set("AsyncPlugin");
+        sut.record(VaultMetrics.Method.GET_BALANCE, System.nanoTime() - 1_000_000_000);
+
+        // Act
+        var actual = sut.getSummaries().stream().map(VaultMetrics.Summary::plugin).toList();
+
+        // Assert
+        assertEquals(List.of("SlowPlugin", "QuickPlugin", "AsyncPlugin"), actual);
+    }
+}
@@ -2,15 +2,21 @@ package com.ericgrandt.totaleconomy.paper.listener;
 
 import com.ericgrandt.totaleconomy.api.infra.AsyncTaskRunner;
 import com.ericgrandt.totaleconomy.common.data.TransactionUtil;
+import com.ericgrandt.totaleconomy.common.data.dialect.H2Dialect;
 import com.ericgrandt.totaleconomy.common.testutils.TestTaskRunner;
 import com.ericgrandt.totaleconomy.common.testutils.TestUtils;
 import com.ericgrandt.totaleconomy.data.AccountData;
 import com.ericgrandt.totaleconomy.data.CurrencyData;
 import com.ericgrandt.totaleconomy.data.DatabaseBootstrapper;
 import com.ericgrandt.totaleconomy.model.TEAccount;
+import com.ericgrandt.totaleconomy.service.BalanceSnapshot;
+import com.ericgrandt.totaleconomy.service.BalanceStore;
 import com.ericgrandt.totaleconomy.service.CacheService;
+import com.ericgrandt.totaleconomy.service.Leaderboard;
 import com.ericgrandt.totaleconomy.service.TEEconomyService;
+import com.ericgrandt.totaleconomy.service.TransactionLedger;
 import com.ericgrandt.totaleconomy.testutils.TestSeeder;
+import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -21,9 +27,13 @@ import org.slf4j.Logger;
 
 import java.math.RoundingMode;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class JoinListenerTest {
@@ -33,9 +43,12 @@ public class JoinListenerTest {
     @Mock
     private PlayerJoinEvent playerJoinEventMock;
 
+    @Mock
+    private Player playerMock;
+
     private final AsyncTaskRunner taskRunner = new TestTaskRunner();
     private final CurrencyData currencyData = new CurrencyData();
-    private final AccountData accountData = new AccountData();
+    private final AccountData accountData = new AccountData(new H2Dialect());
 
     @Test
     @Tag("Integration")
@@ -49,9 +62,23 @@ public class JoinListenerTest {
 
         var transactionUtil = new TransactionUtil(dataSource);
         var cacheService = new CacheService(transactionUtil, currencyData);
-        var economyService = new TEEconomyService(transactionUtil, cacheService, currencyData, accountData);
+        var economyService = new TEEconomyService(
+            transactionUtil,
+            cacheService,
+            BalanceStore.disabled(),
+            accountData,
+            TransactionLedger.disabled(),
+            new Leaderboard(transactionUtil, accountData, BalanceStore.disabled(), 0),
+            new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ZERO)
+        );
 
-        var sut = new JoinListener(taskRunner, loggerMock, economyService);
+        var sut = new JoinListener(
+            taskRunner,
+            loggerMock,
+            economyService,
+            BalanceStore.disabled(),
+            new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ZERO)
+        );
 
         // Act
         sut.onPlayerJoin(playerJoinEventMock);
@@ -86,4 +113,47 @@ public class JoinListenerTest {
         );
         assertEquals(expected.currencyCode(), actual.currency().code());
     }
+
+    @Test
+    @Tag("Integration")
+    public void onPlayerJoin_WithNewPlayer_ShouldCreateAccountInEachCurrency() throws SQLException {
+        // Arrange
+        var dataSource = TestUtils.startTestDb(true, DatabaseBootstrapper::initSchema);
+        var defaultCurrency = TestSeeder.seedDefaultCurrency(dataSource);
+        var currency = TestSeeder.seedCurrency(dataSource);
+        var playerId = UUID.randomUUID();
+
+        when(playerJoinEventMock.getPlayer()).thenReturn(playerMock);
+        when(playerMock.getUniqueId()).thenReturn(playerId);
+
+        var transactionUtil = new TransactionUtil(dataSource);
+        var cacheService = new CacheService(transactionUtil, currencyData);
+        var economyService = new TEEconomyService(
+            transactionUtil,
+            cacheService,
+            BalanceStore.disabled(),
+            accountData,
+            TransactionLedger.disabled(),
+            new Leaderboard(transactionUtil, accountData, BalanceStore.disabled(), 0),
+            new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ZERO)
+        );
+
+        var sut = new JoinListener(
+            taskRunner,
+            loggerMock,
+            economyService,
+            BalanceStore.disabled(),
+            new BalanceSnapshot(transactionUtil, accountData, BalanceStore.disabled(), Duration.ZERO)
+        );
+
+        // Act
+        sut.onPlayerJoin(playerJoinEventMock);
+
+        // Assert
+        var actual = transactionUtil.runInTransaction(conn -> accountData.getAccounts(conn, playerId))
+            .stream()
+            .map(TEAccount::currencyCode)
+            .collect(Collectors.toSet());
+        assertEquals(Set.of(defaultCurrency.code(), currency.code()), actual);
+    }
 }
@@ -2,6 +2,7 @@ package com.ericgrandt.totaleconomy.paper.mapper;
 
 import com.ericgrandt.totaleconomy.api.exception.AccountNotFoundException;
 import com.ericgrandt.totaleconomy.api.exception.CurrencyNotFoundException;
+import com.ericgrandt.totaleconomy.api.exception.EconomyBusyException;
 import com.ericgrandt.totaleconomy.api.exception.MissingDefaultCurrencyException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -46,6 +47,18 @@ public class CommandExceptionMapperTest {
         verifyNoInteractions(loggerMock);
     }
 
+    @Test
+    public void handleException_WithEconomyBusyException_ShouldNotLog() {
+        // Arrange
+        var sut = new CommandExceptionMapper(loggerMock);
+
+        // Act
+        sut.handleException(new EconomyBusyException());
+
+        // Assert
+        verifyNoInteractions(loggerMock);
+    }
+
     @Test
     public void handleException_WithMissingDefaultCurrencyException_ShouldLog() {
         // Arrange